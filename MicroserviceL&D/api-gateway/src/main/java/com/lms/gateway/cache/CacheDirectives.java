@@ -0,0 +1,75 @@
+package com.lms.gateway.cache;
+
+import lombok.Getter;
+
+/**
+ * Parsed Cache-Control directives relevant to a shared cache
+ */
+@Getter
+public class CacheDirectives {
+
+    private static final CacheDirectives NONE = new CacheDirectives(-1, -1, false, false, false);
+
+    private final long maxAgeSeconds;
+    private final long staleWhileRevalidateSeconds;
+    private final boolean noStore;
+    private final boolean noCache;
+    private final boolean privateResponse;
+
+    private CacheDirectives(long maxAgeSeconds, long staleWhileRevalidateSeconds,
+                            boolean noStore, boolean noCache, boolean privateResponse) {
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.staleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+        this.noStore = noStore;
+        this.noCache = noCache;
+        this.privateResponse = privateResponse;
+    }
+
+    /**
+     * Parse a Cache-Control header value; s-maxage wins over max-age for a shared cache
+     */
+    public static CacheDirectives parse(String cacheControl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return NONE;
+        }
+
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        long staleWhileRevalidate = -1;
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean privateResponse = false;
+
+        for (String token : cacheControl.split(",")) {
+            String directive = token.trim().toLowerCase();
+            if (directive.equals("no-store")) {
+                noStore = true;
+            } else if (directive.startsWith("no-cache")) {
+                noCache = true;
+            } else if (directive.startsWith("private")) {
+                privateResponse = true;
+            } else if (directive.startsWith("s-maxage=")) {
+                sharedMaxAge = seconds(directive.substring(9));
+            } else if (directive.startsWith("max-age=")) {
+                maxAge = seconds(directive.substring(8));
+            } else if (directive.startsWith("stale-while-revalidate=")) {
+                staleWhileRevalidate = seconds(directive.substring(23));
+            }
+        }
+
+        return new CacheDirectives(sharedMaxAge >= 0 ? sharedMaxAge : maxAge, staleWhileRevalidate,
+                noStore, noCache, privateResponse);
+    }
+
+    public boolean isStorable() {
+        return !noStore && !privateResponse;
+    }
+
+    private static long seconds(String value) {
+        try {
+            return Long.parseLong(value.replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
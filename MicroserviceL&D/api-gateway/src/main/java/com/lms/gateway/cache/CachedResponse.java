@@ -0,0 +1,87 @@
+package com.lms.gateway.cache;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of an upstream response held by the gateway cache
+ */
+@Getter
+public class CachedResponse {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            "x-cache");
+
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String etag;
+    private final long storedAtMillis;
+    private final long freshUntilMillis;
+    private final long staleUntilMillis;
+    private final long sizeBytes;
+
+    public CachedResponse(int status, HttpHeaders headers, byte[] body,
+                          long storedAtMillis, long freshUntilMillis, long staleUntilMillis) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.etag = headers.getETag();
+        this.storedAtMillis = storedAtMillis;
+        this.freshUntilMillis = freshUntilMillis;
+        this.staleUntilMillis = staleUntilMillis;
+        this.sizeBytes = body.length + headerBytes(headers) + ENTRY_OVERHEAD_BYTES;
+    }
+
+    /**
+     * Same body with a renewed freshness window, used after a 304 revalidation
+     */
+    public CachedResponse refreshed(long now, long freshUntil, long staleUntil) {
+        return new CachedResponse(status, headers, body, now, freshUntil, staleUntil);
+    }
+
+    /**
+     * Copy of upstream headers that can be replayed to other clients
+     * Hop-by-hop and CORS headers are dropped; the gateway adds CORS per request
+     */
+    public static HttpHeaders replayableHeaders(HttpHeaders upstream) {
+        HttpHeaders replayable = new HttpHeaders();
+        upstream.forEach((name, values) -> {
+            String lower = name.toLowerCase();
+            if (!HOP_BY_HOP_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                replayable.put(name, values);
+            }
+        });
+        return replayable;
+    }
+
+    public boolean isFresh(long now) {
+        return now < freshUntilMillis;
+    }
+
+    public boolean isStaleServable(long now) {
+        return now < staleUntilMillis;
+    }
+
+    public long ageSeconds(long now) {
+        return Math.max(0, (now - storedAtMillis) / 1000);
+    }
+
+    private static long headerBytes(HttpHeaders headers) {
+        long total = 0;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                total += header.getKey().length() + value.length();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,126 @@
+package com.lms.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Response decorator that aggregates the upstream body so it can be cached or fanned out
+ * Bodies that announce a Content-Length above the limit are streamed through untouched, and so are bodies
+ * without one (chunked) as soon as the bytes received so far exceed it
+ */
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final long maxBodyBytes;
+    private final BodyListener listener;
+    private final AtomicBoolean handled = new AtomicBoolean();
+
+    public CapturingResponseDecorator(ServerHttpResponse delegate, long maxBodyBytes, BodyListener listener) {
+        super(delegate);
+        this.maxBodyBytes = maxBodyBytes;
+        this.listener = listener;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!handled.compareAndSet(false, true)) {
+            return super.writeWith(body);
+        }
+
+        long contentLength = getDelegate().getHeaders().getContentLength();
+        if (contentLength > maxBodyBytes) {
+            listener.onSkipped();
+            return super.writeWith(body);
+        }
+
+        // The first batch is either the whole body or, once the limit is crossed, the prefix read so far;
+        // every later buffer then arrives in its own batch and is passed straight through
+        AtomicLong received = new AtomicLong();
+        return Flux.from(body)
+                .map(DataBuffer.class::cast)
+                .bufferUntil(buffer -> received.addAndGet(buffer.readableByteCount()) > maxBodyBytes)
+                .switchOnFirst((first, batches) -> {
+                    if (!first.hasValue()) {
+                        return first.isOnComplete() ? writeCaptured(EMPTY) : Mono.<Void>error(first.getThrowable());
+                    }
+                    if (size(first.get()) > maxBodyBytes) {
+                        listener.onSkipped();
+                        return super.writeWith(batches.concatMapIterable(batch -> batch));
+                    }
+                    return batches.next().map(CapturingResponseDecorator::drain).flatMap(this::writeCaptured);
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).flatMapSequential(chunk -> chunk));
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        if (handled.compareAndSet(false, true)) {
+            return writeCaptured(EMPTY);
+        }
+        return super.setComplete();
+    }
+
+    private static long size(List<DataBuffer> buffers) {
+        long size = 0;
+        for (DataBuffer buffer : buffers) {
+            size += buffer.readableByteCount();
+        }
+        return size;
+    }
+
+    private static byte[] drain(List<DataBuffer> buffers) {
+        byte[] bytes = new byte[(int) size(buffers)];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+
+    private Mono<Void> writeCaptured(byte[] bytes) {
+        ServerHttpResponse delegate = getDelegate();
+        byte[] out = listener.onBody(delegate, bytes);
+        if (out.length == 0) {
+            return delegate.setComplete();
+        }
+        delegate.getHeaders().setContentLength(out.length);
+        return delegate.writeWith(Mono.just(delegate.bufferFactory().wrap(out)));
+    }
+
+    /**
+     * Callback invoked once with the complete upstream body
+     */
+    public interface BodyListener {
+
+        /**
+         * Inspect the captured body; the returned bytes are what the client receives
+         * The response status and headers may be rewritten before returning
+         */
+        byte[] onBody(ServerHttpResponse response, byte[] body);
+
+        /**
+         * The body was too large to capture and is being streamed through
+         */
+        default void onSkipped() {
+        }
+    }
+}
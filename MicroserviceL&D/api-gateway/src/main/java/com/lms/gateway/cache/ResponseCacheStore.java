@@ -0,0 +1,83 @@
+package com.lms.gateway.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU store for cached gateway responses
+ * Eviction is driven by the byte size of bodies and headers, not by entry count
+ */
+@Component
+@Slf4j
+public class ResponseCacheStore {
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes;
+
+    public ResponseCacheStore(@Value("${gateway.response-cache.max-bytes:67108864}") long maxBytes,
+                              @Value("${gateway.response-cache.max-entry-bytes:1048576}") long maxEntryBytes,
+                              MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        Gauge.builder("gateway.response.cache.bytes", this, ResponseCacheStore::currentBytes)
+                .register(meterRegistry);
+        Gauge.builder("gateway.response.cache.entries", this, ResponseCacheStore::size)
+                .register(meterRegistry);
+    }
+
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Store a response, evicting least recently used entries until the byte budget fits
+     */
+    public synchronized void put(String key, CachedResponse response) {
+        if (response.getSizeBytes() > maxEntryBytes) {
+            remove(key);
+            return;
+        }
+
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            currentBytes -= previous.getSizeBytes();
+        }
+        currentBytes += response.getSizeBytes();
+
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = eldest.next();
+            currentBytes -= entry.getValue().getSizeBytes();
+            eldest.remove();
+            log.debug("Evicted cached response: {}", entry.getKey());
+        }
+    }
+
+    public synchronized void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.getSizeBytes();
+        }
+    }
+
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public synchronized long currentBytes() {
+        return currentBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
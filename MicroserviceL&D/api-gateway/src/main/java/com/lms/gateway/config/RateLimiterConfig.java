@@ -6,6 +6,7 @@ import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
@@ -34,10 +35,11 @@ public class RateLimiterConfig {
 
     /**
      * User ID based rate limiter
-     * Limits requests per authenticated user
+     * Limits requests per authenticated user; the default for rate limiters that do not name a resolver
      * @return KeyResolver for user-based rate limiting
      */
     @Bean(name = "userIdKeyResolver")
+    @Primary
     public KeyResolver userIdKeyResolver() {
         return exchange -> Mono.just(
                 exchange.getRequest().getHeaders().getFirst("X-User-Id") != null ?
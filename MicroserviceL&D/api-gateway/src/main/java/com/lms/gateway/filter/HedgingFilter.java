@@ -0,0 +1,66 @@
+package com.lms.gateway.filter;
+
+import com.lms.gateway.hedge.HedgeBudget;
+import com.lms.gateway.hedge.LatencyWindow;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * Hedging Filter
+ * Opt-in per route: if a GET has not answered within the route's p95 latency, a second attempt
+ * is sent to a different instance and whichever answers first is returned
+ * Hedges are capped by a budget expressed as a percentage of primary requests
+ * This filter only marks the request; the attempts are made by {@link HedgingRoutingFilter} in place of the
+ * normal routing step, so every other filter of the route still runs around the hedged response
+ */
+@Component
+public class HedgingFilter extends AbstractGatewayFilterFactory<HedgingFilter.Config> {
+
+    public static final String HEDGE_ATTR = HedgingFilter.class.getName() + ".hedge";
+
+    public HedgingFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Hedge hedge = new Hedge(config,
+                new LatencyWindow(config.getWindowSize(), config.getMinSamples()),
+                new HedgeBudget(config.getMaxExtraLoadPercent()),
+                WebClient.builder()
+                        .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(config.getMaxBodyBytes()))
+                        .build());
+
+        return (exchange, chain) -> {
+            if (exchange.getRequest().getMethod() == HttpMethod.GET) {
+                exchange.getAttributes().put(HEDGE_ATTR, hedge);
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    /**
+     * Per-route hedging state shared by all requests of the route
+     */
+    public record Hedge(Config config, LatencyWindow latencies, HedgeBudget budget, WebClient client) {
+    }
+
+    @Data
+    public static class Config {
+        // Hedges may add at most this percentage of extra upstream load
+        private double maxExtraLoadPercent = 10;
+        // Delay used until the route has enough latency samples for a p95
+        private Duration defaultDelay = Duration.ofMillis(250);
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration timeout = Duration.ofSeconds(30);
+        private int windowSize = 1024;
+        private int minSamples = 100;
+        private int maxBodyBytes = 4 * 1024 * 1024;
+    }
+}
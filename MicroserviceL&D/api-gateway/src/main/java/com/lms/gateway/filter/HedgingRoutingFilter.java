@@ -0,0 +1,188 @@
+package com.lms.gateway.filter;
+
+import com.lms.gateway.cache.CachedResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hedging Routing Filter
+ * Routes requests marked by {@link HedgingFilter}: the instance picked by the load balancer is called first
+ * and a hedge goes to another instance once the route's p95 has passed. It runs just ahead of the Netty routing
+ * filter, so it sends the fully filtered request and writes the winner through every response decorator
+ */
+@Component
+@Slf4j
+public class HedgingRoutingFilter implements GlobalFilter, Ordered {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int ALTERNATE_PICKS = 3;
+
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final MeterRegistry meterRegistry;
+
+    public HedgingRoutingFilter(LoadBalancerClientFactory loadBalancerClientFactory, MeterRegistry meterRegistry) {
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        HedgingFilter.Hedge hedge = exchange.getAttribute(HedgingFilter.HEDGE_ATTR);
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        Response<ServiceInstance> chosen = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (hedge == null || route == null || url == null || chosen == null || !chosen.hasServer()
+                || ServerWebExchangeUtils.isAlreadyRouted(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer =
+                loadBalancerClientFactory.getInstance(route.getUri().getHost());
+        if (loadBalancer == null) {
+            return chain.filter(exchange);
+        }
+
+        hedge.budget().onRequest();
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        return hedged(exchange, route.getId(), url, loadBalancer, chosen.getServer(), hedge)
+                .then(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    private Mono<Void> hedged(ServerWebExchange exchange, String routeId, URI url,
+                              ReactiveLoadBalancer<ServiceInstance> loadBalancer, ServiceInstance primary,
+                              HedgingFilter.Hedge hedge) {
+        HedgingFilter.Config config = hedge.config();
+        long p95 = hedge.latencies().p95Millis();
+        Duration delay = p95 < 0 ? config.getDefaultDelay()
+                : Duration.ofMillis(Math.max(p95, config.getMinDelay().toMillis()));
+
+        Mono<Attempt> first = attempt(hedge, url, exchange, false);
+        Mono<Attempt> second = Mono.delay(delay)
+                .filter(tick -> {
+                    if (hedge.budget().tryAcquire()) {
+                        return true;
+                    }
+                    count(routeId, "budget_exhausted");
+                    return false;
+                })
+                .flatMap(tick -> chooseAlternate(loadBalancer, primary)
+                        .switchIfEmpty(Mono.fromRunnable(() -> count(routeId, "no_alternate"))))
+                .flatMap(alternate -> {
+                    count(routeId, "sent");
+                    URI alternateUrl = UriComponentsBuilder.fromUri(alternate.getUri())
+                            .replacePath(url.getRawPath())
+                            .replaceQuery(url.getRawQuery())
+                            .build(true)
+                            .toUri();
+                    return attempt(hedge, alternateUrl, exchange, true);
+                });
+
+        return Mono.firstWithValue(first, second)
+                .timeout(config.getTimeout())
+                .onErrorMap(TimeoutException.class,
+                        e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Upstream request timed out", e))
+                .onErrorMap(e -> !(e instanceof ResponseStatusException),
+                        e -> new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Upstream request failed", e))
+                .flatMap(result -> {
+                    if (result.hedge()) {
+                        count(routeId, "won");
+                    }
+                    return write(exchange, result);
+                });
+    }
+
+    /**
+     * Call one instance directly; latency is recorded only when the attempt completes, so losers cancelled
+     * by the race do not pull the p95 down
+     */
+    private Mono<Attempt> attempt(HedgingFilter.Hedge hedge, URI uri, ServerWebExchange exchange, boolean isHedge) {
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return hedge.client().get()
+                    .uri(uri)
+                    .headers(headers -> requestHeaders.forEach((name, values) -> {
+                        if (!name.equalsIgnoreCase(HttpHeaders.HOST)) {
+                            headers.put(name, values);
+                        }
+                    }))
+                    .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(EMPTY)
+                            .map(body -> new Attempt(response.statusCode(), response.headers().asHttpHeaders(), body, isHedge)))
+                    .doOnSuccess(result -> hedge.latencies().record((System.nanoTime() - start) / 1_000_000));
+        });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Attempt result) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(result.status());
+        CachedResponse.replayableHeaders(result.headers()).forEach(response.getHeaders()::put);
+        if (result.body().length == 0) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(result.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(result.body())));
+    }
+
+    private Mono<ServiceInstance> choose(ReactiveLoadBalancer<ServiceInstance> loadBalancer) {
+        return Mono.from(loadBalancer.choose())
+                .filter(Response::hasServer)
+                .map(Response::getServer);
+    }
+
+    /**
+     * Pick an instance other than the primary; empty when the service has a single instance
+     */
+    private Mono<ServiceInstance> chooseAlternate(ReactiveLoadBalancer<ServiceInstance> loadBalancer,
+                                                  ServiceInstance primary) {
+        return Flux.range(0, ALTERNATE_PICKS)
+                .concatMap(i -> choose(loadBalancer))
+                .filter(candidate -> !sameInstance(candidate, primary))
+                .next();
+    }
+
+    private static boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+        if (a.getInstanceId() != null && b.getInstanceId() != null) {
+            return a.getInstanceId().equals(b.getInstanceId());
+        }
+        return Objects.equals(a.getHost(), b.getHost()) && a.getPort() == b.getPort();
+    }
+
+    private void count(String routeId, String result) {
+        meterRegistry.counter("gateway.hedging", "route", routeId, "result", result).increment();
+    }
+
+    private record Attempt(HttpStatusCode status, HttpHeaders headers, byte[] body, boolean hedge) {
+    }
+}
@@ -1,28 +1,47 @@
 package com.lms.gateway.filter;
 
-import com.lms.gateway.util.JwtUtil;
+import com.lms.gateway.security.AuthDecision;
+import com.lms.gateway.security.AuthDecisionCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * JWT Authentication Filter for API Gateway
  * Validates JWT tokens and adds user information to request headers
+ * Validation results are cached per token, so repeat requests only copy a precomputed header set
  */
 @Component
 @Slf4j
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final byte[] MISSING_HEADER_BODY = errorBody("Authorization header is missing");
+    private static final byte[] INVALID_FORMAT_BODY = errorBody("Invalid authorization header format");
+    private static final byte[] INVALID_TOKEN_BODY = errorBody("Invalid or expired JWT token");
+
     @Autowired
-    private JwtUtil jwtUtil;
+    private AuthDecisionCache authDecisionCache;
+
+    // Log one in every N successful authentications at INFO
+    @Value("${jwt.auth-log-sample-rate:100}")
+    private int authLogSampleRate = 100;
+
+    private final AtomicLong authenticatedCount = new AtomicLong();
 
     public JwtAuthenticationFilter() {
         super(Config.class);
@@ -32,58 +51,46 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
+            String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
-            // Check if Authorization header is present
-            if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-                return onError(exchange, "Authorization header is missing", HttpStatus.UNAUTHORIZED);
+            if (authHeader == null) {
+                return unauthorized(exchange, MISSING_HEADER_BODY);
+            }
+            if (!authHeader.startsWith(BEARER_PREFIX)) {
+                return unauthorized(exchange, INVALID_FORMAT_BODY);
             }
 
-            String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-            
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                return onError(exchange, "Invalid authorization header format", HttpStatus.UNAUTHORIZED);
+            AuthDecision decision = authDecisionCache.resolve(authHeader);
+            if (decision == null) {
+                log.debug("Invalid or expired JWT token attempt from path: {}", request.getPath());
+                return unauthorized(exchange, INVALID_TOKEN_BODY);
             }
 
-            String token = authHeader.substring(7);
-
-            try {
-                // Validate token
-                if (!jwtUtil.validateToken(token)) {
-                    log.warn("Invalid or expired JWT token attempt from path: {}", request.getURI().getPath());
-                    return onError(exchange, "Invalid or expired JWT token", HttpStatus.UNAUTHORIZED);
-                }
-
-                // Extract user information
-                String email = jwtUtil.extractEmail(token);
-                String userId = jwtUtil.extractUserId(token);
-                String role = jwtUtil.extractRole(token);
-
-                // Add user information to headers for downstream services
-                // Remove Authorization header to prevent re-validation at service level
-                ServerHttpRequest modifiedRequest = request.mutate()
-                        .header("X-User-Id", userId)
-                        .header("X-User-Email", email)
-                        .header("X-User-Role", role)
-                        .header("X-Authenticated-By", "API-GATEWAY")
-                        .header("X-Authentication-Time", String.valueOf(System.currentTimeMillis()))
-                        .build();
-
-                log.info("JWT authenticated - User: {}, Role: {}, Path: {}", email, role, request.getURI().getPath());
-
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
-
-            } catch (Exception e) {
-                log.error("JWT authentication failed for path {}: {}", request.getURI().getPath(), e.getMessage());
-                return onError(exchange, "Authentication failed: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+            if (authLogSampleRate > 0 && authenticatedCount.incrementAndGet() % authLogSampleRate == 0) {
+                log.info("JWT authenticated (sampled 1/{}) - User: {}, Role: {}, Path: {}",
+                        authLogSampleRate, decision.getEmail(), decision.getRole(), request.getPath());
             }
+
+            // Replace any client-supplied identity headers with the validated ones
+            return chain.filter(exchange.mutate()
+                    .request(builder -> builder.headers(headers -> headers.putAll(decision.getHeaders())))
+                    .build());
         };
     }
 
-    private Mono<Void> onError(ServerWebExchange exchange, String errorMessage, HttpStatus httpStatus) {
+    private Mono<Void> unauthorized(ServerWebExchange exchange, byte[] body) {
         ServerHttpResponse response = exchange.getResponse();
-        response.setStatusCode(httpStatus);
-        log.error("Authentication error: {}", errorMessage);
-        return response.setComplete();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        headers.set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static byte[] errorBody(String message) {
+        return ("{\"status\":401,\"error\":\"Unauthorized\",\"message\":\"" + message + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
     }
 
     public static class Config {
@@ -0,0 +1,168 @@
+package com.lms.gateway.filter;
+
+import com.lms.gateway.cache.CachedResponse;
+import com.lms.gateway.cache.CapturingResponseDecorator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request Coalescing Filter
+ * Collapses concurrent identical GETs into a single upstream call and fans the response out to all waiters
+ * Must run after JwtAuthenticationFilter: requests are only shared between callers with the same role
+ */
+@Component
+@Slf4j
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    private static final String ROLE_HEADER = "X-User-Role";
+    private static final String COALESCED_HEADER = "X-Coalesced";
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter collapsed;
+    private final Counter rejected;
+    private final Counter timeouts;
+
+    public RequestCoalescingFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.leaders = counter(meterRegistry, "leader");
+        this.collapsed = counter(meterRegistry, "collapsed");
+        this.rejected = counter(meterRegistry, "rejected");
+        this.timeouts = counter(meterRegistry, "timeout");
+        Gauge.builder("gateway.request.coalescing.in.flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = flightKey(exchange);
+            Flight flight = new Flight();
+            Flight leader = inFlight.putIfAbsent(key, flight);
+
+            if (leader != null) {
+                if (leader.waiters.incrementAndGet() > config.getMaxWaiters()) {
+                    leader.waiters.decrementAndGet();
+                    rejected.increment();
+                    return chain.filter(exchange);
+                }
+                return leader.result.asMono()
+                        .timeout(config.getWaitTimeout(), Mono.fromRunnable(timeouts::increment))
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(shared -> {
+                            if (shared.isEmpty()) {
+                                return chain.filter(exchange);
+                            }
+                            collapsed.increment();
+                            return serve(exchange.getResponse(), shared.get());
+                        });
+            }
+
+            leaders.increment();
+            CapturingResponseDecorator decorator = new CapturingResponseDecorator(
+                    exchange.getResponse(), config.getMaxBodyBytes(), new CapturingResponseDecorator.BodyListener() {
+                @Override
+                public byte[] onBody(ServerHttpResponse response, byte[] body) {
+                    HttpStatusCode status = response.getStatusCode();
+                    // Server errors and cookie-bearing responses are not fanned out; waiters retry on their own
+                    if (status != null && !status.is5xxServerError()
+                            && !response.getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                        flight.result.tryEmitValue(new CachedResponse(status.value(),
+                                CachedResponse.replayableHeaders(response.getHeaders()), body, 0, 0, 0));
+                    } else {
+                        flight.result.tryEmitEmpty();
+                    }
+                    return body;
+                }
+
+                @Override
+                public void onSkipped() {
+                    flight.result.tryEmitEmpty();
+                }
+            });
+
+            return chain.filter(exchange.mutate().response(decorator).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, flight);
+                        flight.result.tryEmitEmpty();
+                    });
+        };
+    }
+
+    private Mono<Void> serve(ServerHttpResponse response, CachedResponse shared) {
+        response.setStatusCode(HttpStatusCode.valueOf(shared.getStatus()));
+        shared.getHeaders().forEach(response.getHeaders()::put);
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        if (shared.getBody().length == 0) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(shared.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.getBody())));
+    }
+
+    /**
+     * Requests are identical when route, role, path, query and Accept-Encoding all match
+     */
+    private String flightKey(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        URI uri = exchange.getRequest().getURI();
+        String role = headers.getFirst(ROLE_HEADER);
+        String acceptEncoding = headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        return (route != null ? route.getId() : "") + '|' + (role != null ? role : "") + '|'
+                + uri.getRawPath() + '?' + (uri.getRawQuery() != null ? uri.getRawQuery() : "") + '|'
+                + (acceptEncoding != null ? acceptEncoding.replace(" ", "").toLowerCase() : "");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.request.coalescing")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One upstream call shared by every request with the same key
+     */
+    private static final class Flight {
+        private final Sinks.One<CachedResponse> result = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    @Data
+    public static class Config {
+        // Waiters beyond this limit bypass coalescing and call upstream themselves
+        private int maxWaiters = 1000;
+        private Duration waitTimeout = Duration.ofSeconds(3);
+        private long maxBodyBytes = 1048576;
+    }
+}
@@ -0,0 +1,325 @@
+package com.lms.gateway.filter;
+
+import com.lms.gateway.cache.CacheDirectives;
+import com.lms.gateway.cache.CachedResponse;
+import com.lms.gateway.cache.CapturingResponseDecorator;
+import com.lms.gateway.cache.ResponseCacheStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response Cache Filter
+ * Caches GET responses of public routes in memory, keyed by route, path, query and Accept-Encoding
+ * Honors upstream Cache-Control and ETag, serves stale-while-revalidate and coalesces concurrent misses
+ */
+@Component
+@Slf4j
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ResponseCacheStore store;
+    private final WebClient revalidationClient;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter revalidations;
+
+    public ResponseCacheFilter(ResponseCacheStore store,
+                               @LoadBalanced WebClient.Builder webClientBuilder,
+                               MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.store = store;
+        this.revalidationClient = webClientBuilder.build();
+        this.hits = counter(meterRegistry, "hit");
+        this.staleHits = counter(meterRegistry, "stale");
+        this.misses = counter(meterRegistry, "miss");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.revalidations = counter(meterRegistry, "revalidated");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || CacheDirectives.parse(
+                    request.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL)).isNoStore()) {
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(exchange);
+            long now = System.currentTimeMillis();
+            CachedResponse cached = store.get(key);
+
+            if (cached != null && cached.isFresh(now)) {
+                hits.increment();
+                return serve(exchange, cached, "HIT");
+            }
+            if (cached != null && cached.isStaleServable(now)) {
+                staleHits.increment();
+                revalidateInBackground(key, cached, exchange, config);
+                return serve(exchange, cached, "STALE");
+            }
+
+            return fetch(exchange, chain, key, cached, config);
+        };
+    }
+
+    /**
+     * Fetch from upstream, or wait for an identical request that is already in flight
+     */
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain,
+                             String key, CachedResponse stale, Config config) {
+        Sinks.One<CachedResponse> flight = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, flight);
+
+        if (leader != null) {
+            coalesced.increment();
+            return leader.asMono()
+                    .timeout(config.getCoalesceTimeout(), Mono.empty())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> shared.isPresent()
+                            ? serve(exchange, shared.get(), "HIT")
+                            : chain.filter(exchange));
+        }
+
+        misses.increment();
+        boolean conditional = stale != null && stale.getEtag() != null
+                && !exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH);
+        ServerWebExchange upstream = conditional
+                ? exchange.mutate().request(r -> r.header(HttpHeaders.IF_NONE_MATCH, stale.getEtag())).build()
+                : exchange;
+
+        CapturingResponseDecorator decorator = new CapturingResponseDecorator(
+                exchange.getResponse(), store.getMaxEntryBytes(), new CapturingResponseDecorator.BodyListener() {
+            @Override
+            public byte[] onBody(ServerHttpResponse response, byte[] body) {
+                long now = System.currentTimeMillis();
+                if (conditional && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    CachedResponse refreshed = refresh(stale, response.getHeaders(), now, config);
+                    store.put(key, refreshed);
+                    flight.tryEmitValue(refreshed);
+                    revalidations.increment();
+                    response.setStatusCode(HttpStatusCode.valueOf(refreshed.getStatus()));
+                    writeHeaders(response, refreshed, "REVALIDATED", now);
+                    return refreshed.getBody();
+                }
+
+                CachedResponse entry = toCacheable(response, body, now, config);
+                if (entry != null) {
+                    store.put(key, entry);
+                    flight.tryEmitValue(entry);
+                } else {
+                    flight.tryEmitEmpty();
+                }
+                response.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                return body;
+            }
+
+            @Override
+            public void onSkipped() {
+                flight.tryEmitEmpty();
+            }
+        });
+
+        return chain.filter(upstream.mutate().response(decorator).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, flight);
+                    flight.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * Refresh a stale entry off the request path; only one revalidation per key runs at a time
+     */
+    private void revalidateInBackground(String key, CachedResponse stale, ServerWebExchange exchange, Config config) {
+        URI uri = upstreamUri(exchange);
+        if (uri == null || !revalidating.add(key)) {
+            return;
+        }
+
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        revalidationClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    requestHeaders.forEach((name, values) -> {
+                        if (!name.equalsIgnoreCase(HttpHeaders.HOST) && !name.toLowerCase().startsWith("if-")) {
+                            headers.put(name, values);
+                        }
+                    });
+                    if (stale.getEtag() != null) {
+                        headers.setIfNoneMatch(stale.getEtag());
+                    }
+                })
+                .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                        .defaultIfEmpty(EMPTY)
+                        .doOnNext(body -> {
+                            long now = System.currentTimeMillis();
+                            HttpHeaders headers = response.headers().asHttpHeaders();
+                            if (response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                                store.put(key, refresh(stale, headers, now, config));
+                                revalidations.increment();
+                            } else if (response.statusCode() == HttpStatus.OK) {
+                                CachedResponse entry = cacheable(HttpStatus.OK.value(), headers, body, now, config);
+                                if (entry != null) {
+                                    store.put(key, entry);
+                                } else {
+                                    store.remove(key);
+                                }
+                            }
+                        }))
+                .timeout(config.getRevalidateTimeout())
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(body -> { }, error -> log.debug("Background revalidation failed for {}: {}", key, error.getMessage()));
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        long now = System.currentTimeMillis();
+        writeHeaders(response, cached, cacheStatus, now);
+
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (cached.getEtag() != null && ifNoneMatch.contains(cached.getEtag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.getStatus()));
+        response.getHeaders().setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private void writeHeaders(ServerHttpResponse response, CachedResponse cached, String cacheStatus, long now) {
+        HttpHeaders headers = response.getHeaders();
+        cached.getHeaders().forEach(headers::put);
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(now)));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+    }
+
+    private CachedResponse toCacheable(ServerHttpResponse response, byte[] body, long now, Config config) {
+        HttpStatusCode status = response.getStatusCode();
+        if (status == null) {
+            return null;
+        }
+        return cacheable(status.value(), response.getHeaders(), body, now, config);
+    }
+
+    /**
+     * Build a cache entry if the upstream response allows shared caching
+     */
+    private CachedResponse cacheable(int status, HttpHeaders headers, byte[] body, long now, Config config) {
+        if (status != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        for (String vary : headers.getVary()) {
+            if (!vary.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING) && !vary.equalsIgnoreCase(HttpHeaders.ORIGIN)) {
+                return null;
+            }
+        }
+
+        CacheDirectives directives = CacheDirectives.parse(headers.getCacheControl());
+        if (!directives.isStorable()) {
+            return null;
+        }
+
+        long[] window = freshnessWindow(directives, now, config);
+        return new CachedResponse(status, CachedResponse.replayableHeaders(headers), body, now, window[0], window[1]);
+    }
+
+    private CachedResponse refresh(CachedResponse stale, HttpHeaders headers, long now, Config config) {
+        String cacheControl = headers.getCacheControl();
+        CacheDirectives directives = CacheDirectives.parse(cacheControl != null ? cacheControl : stale.getHeaders().getCacheControl());
+        long[] window = freshnessWindow(directives, now, config);
+        return stale.refreshed(now, window[0], window[1]);
+    }
+
+    /**
+     * Fresh-until and stale-until timestamps; no-cache forces revalidation on every request
+     */
+    private long[] freshnessWindow(CacheDirectives directives, long now, Config config) {
+        long ttl = directives.isNoCache() ? 0
+                : directives.getMaxAgeSeconds() >= 0 ? directives.getMaxAgeSeconds() : config.getDefaultTtlSeconds();
+        long staleWhileRevalidate = directives.isNoCache() ? 0
+                : directives.getStaleWhileRevalidateSeconds() >= 0 ? directives.getStaleWhileRevalidateSeconds()
+                : config.getStaleWhileRevalidateSeconds();
+        long freshUntil = now + ttl * 1000;
+        return new long[]{freshUntil, freshUntil + staleWhileRevalidate * 1000};
+    }
+
+    private String cacheKey(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI uri = exchange.getRequest().getURI();
+        String acceptEncoding = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        return (route != null ? route.getId() : "") + '|' + uri.getRawPath() + '?'
+                + (uri.getRawQuery() != null ? uri.getRawQuery() : "") + '|'
+                + (acceptEncoding != null ? acceptEncoding.replace(" ", "").toLowerCase() : "");
+    }
+
+    /**
+     * Upstream URI for a load-balanced route; other route types are not revalidated in the background
+     */
+    private URI upstreamUri(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !"lb".equals(route.getUri().getScheme())) {
+            return null;
+        }
+        URI requestUri = exchange.getRequest().getURI();
+        return UriComponentsBuilder.fromUri(route.getUri())
+                .scheme("http")
+                .replacePath(requestUri.getRawPath())
+                .replaceQuery(requestUri.getRawQuery())
+                .build(true)
+                .toUri();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.response.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Data
+    public static class Config {
+        // Freshness used when the upstream response carries no max-age
+        private long defaultTtlSeconds = 30;
+        // Stale window used when the upstream response carries no stale-while-revalidate
+        private long staleWhileRevalidateSeconds = 60;
+        private Duration coalesceTimeout = Duration.ofSeconds(5);
+        private Duration revalidateTimeout = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,36 @@
+package com.lms.gateway.hedge;
+
+/**
+ * Caps hedged attempts at a percentage of primary requests
+ * Counters are halved periodically so the budget follows recent traffic
+ */
+public class HedgeBudget {
+
+    private static final long DECAY_THRESHOLD = 10_000;
+
+    private final double maxExtraLoadPercent;
+    private long requests;
+    private long hedges;
+
+    public HedgeBudget(double maxExtraLoadPercent) {
+        this.maxExtraLoadPercent = maxExtraLoadPercent;
+    }
+
+    public synchronized void onRequest() {
+        if (++requests >= DECAY_THRESHOLD) {
+            requests /= 2;
+            hedges /= 2;
+        }
+    }
+
+    /**
+     * Reserve one hedge if it keeps extra load within the budget
+     */
+    public synchronized boolean tryAcquire() {
+        if ((hedges + 1) * 100.0 > requests * maxExtraLoadPercent) {
+            return false;
+        }
+        hedges++;
+        return true;
+    }
+}
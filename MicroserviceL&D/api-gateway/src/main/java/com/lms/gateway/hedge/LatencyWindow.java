@@ -0,0 +1,45 @@
+package com.lms.gateway.hedge;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent upstream latencies for one route
+ * The percentile is recomputed every few samples instead of on every read
+ */
+public class LatencyWindow {
+
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples;
+    private final int minSamples;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long p95Millis = -1;
+
+    public LatencyWindow(int capacity, int minSamples) {
+        this.samples = new long[capacity];
+        this.minSamples = minSamples;
+    }
+
+    public synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (++sinceRecompute >= RECOMPUTE_EVERY && count >= minSamples) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            p95Millis = sorted[(int) Math.ceil(count * 0.95) - 1];
+        }
+    }
+
+    /**
+     * 95th percentile latency, or -1 until enough samples have been seen
+     */
+    public long p95Millis() {
+        return p95Millis;
+    }
+}
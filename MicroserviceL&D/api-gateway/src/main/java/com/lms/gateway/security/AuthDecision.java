@@ -0,0 +1,46 @@
+package com.lms.gateway.security;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Result of validating one bearer token
+ * Downstream identity headers are built once and reused for every request carrying the same token
+ */
+@Getter
+public class AuthDecision {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String AUTHENTICATED_BY_HEADER = "X-Authenticated-By";
+    public static final String AUTHENTICATION_TIME_HEADER = "X-Authentication-Time";
+
+    private final String email;
+    private final String role;
+    private final long expiresAtMillis;
+    private final HttpHeaders headers;
+
+    public AuthDecision(String userId, String email, String role, long authenticatedAtMillis, long expiresAtMillis) {
+        this.email = email;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+
+        HttpHeaders identity = new HttpHeaders();
+        identity.set(USER_ID_HEADER, nullToEmpty(userId));
+        identity.set(USER_EMAIL_HEADER, nullToEmpty(email));
+        identity.set(USER_ROLE_HEADER, nullToEmpty(role));
+        identity.set(AUTHENTICATED_BY_HEADER, "API-GATEWAY");
+        // Time the token was validated, not the time of this particular request
+        identity.set(AUTHENTICATION_TIME_HEADER, Long.toString(authenticatedAtMillis));
+        this.headers = HttpHeaders.readOnlyHttpHeaders(identity);
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAtMillis;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,83 @@
+package com.lms.gateway.security;
+
+import com.lms.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of token validation results keyed by the raw Authorization header
+ * Entries never outlive the token's own expiry, so a cached decision is never more permissive than a fresh parse
+ */
+@Component
+@Slf4j
+public class AuthDecisionCache {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final int maxEntries;
+    private final long maxTtlMillis;
+    private final Map<String, AuthDecision> decisions = new ConcurrentHashMap<>();
+
+    public AuthDecisionCache(JwtUtil jwtUtil,
+                             @Value("${jwt.decision-cache.max-entries:10000}") int maxEntries,
+                             @Value("${jwt.decision-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.jwtUtil = jwtUtil;
+        this.maxEntries = maxEntries;
+        this.maxTtlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Resolve a "Bearer ..." header value to a decision, or null if the token is not valid
+     */
+    public AuthDecision resolve(String authorizationHeader) {
+        long now = System.currentTimeMillis();
+        AuthDecision cached = decisions.get(authorizationHeader);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            decisions.remove(authorizationHeader, cached);
+        }
+
+        Claims claims = jwtUtil.parseClaims(authorizationHeader.substring(BEARER_PREFIX.length()));
+        if (claims == null) {
+            return null;
+        }
+
+        Date expiration = claims.getExpiration();
+        long expiresAt = now + maxTtlMillis;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+
+        AuthDecision decision = new AuthDecision(claims.get("userId", String.class), claims.getSubject(),
+                claims.get("role", String.class), now, expiresAt);
+        if (decisions.size() >= maxEntries) {
+            evict(now);
+        }
+        decisions.put(authorizationHeader, decision);
+        return decision;
+    }
+
+    public int size() {
+        return decisions.size();
+    }
+
+    /**
+     * Drop expired decisions; if the cache is still full, start over rather than track recency per hit
+     */
+    private void evict(long now) {
+        decisions.values().removeIf(decision -> decision.isExpired(now));
+        if (decisions.size() >= maxEntries) {
+            log.debug("Auth decision cache full ({} entries), clearing", decisions.size());
+            decisions.clear();
+        }
+    }
+}
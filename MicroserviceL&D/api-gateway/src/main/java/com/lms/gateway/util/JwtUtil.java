@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
@@ -20,6 +21,8 @@ public class JwtUtil {
     @Value("${jwt.secret:your-secret-key-change-this-in-production}")
     private String jwtSecret;
 
+    private volatile SecretKey signingKey;
+
     /**
      * Validate JWT token
      */
@@ -33,6 +36,23 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Parse and verify a token in one pass
+     * Returns null for invalid or expired tokens instead of throwing
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return Jwts.parser()
+                    .verifyWith(signingKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token rejected: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Extract email from token
      */
@@ -68,7 +88,7 @@ public class JwtUtil {
     private Claims extractAllClaims(String token) {
         try {
             return Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                    .verifyWith(signingKey())
                     .build()
                     .parseSignedClaims(token)
                     .getPayload();
@@ -90,6 +110,15 @@ public class JwtUtil {
         }
     }
 
+    private SecretKey signingKey() {
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+
     /**
      * Check if token is expired
      */
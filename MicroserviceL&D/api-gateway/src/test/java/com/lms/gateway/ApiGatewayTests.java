@@ -1,14 +1,13 @@
 package com.lms.gateway;
-import org.springframework.boot.test.context.SpringBootTest;
-}
 
-    }
-        // Test if the application context loads successfully
-    void contextLoads() {
-    @Test
-
-class ApiGatewayTests {
-@SpringBootTest
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
 
+@SpringBootTest
+class ApiGatewayTests {
 
+    @Test
+    void contextLoads() {
+        // Test if the application context loads successfully
+    }
+}
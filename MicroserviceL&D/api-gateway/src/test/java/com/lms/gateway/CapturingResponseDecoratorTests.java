@@ -0,0 +1,70 @@
+package com.lms.gateway;
+
+import com.lms.gateway.cache.CapturingResponseDecorator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that bodies without a Content-Length are captured only while they fit under the limit
+ */
+class CapturingResponseDecoratorTests {
+
+    @Test
+    void capturesChunkedBodyWithinLimit() {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        AtomicReference<String> captured = new AtomicReference<>();
+        CapturingResponseDecorator decorator = new CapturingResponseDecorator(response, 10, (r, body) -> {
+            captured.set(new String(body, StandardCharsets.UTF_8));
+            return body;
+        });
+
+        StepVerifier.create(decorator.writeWith(chunks("abc", "def", "ghij"))).verifyComplete();
+
+        assertEquals("abcdefghij", captured.get());
+        assertEquals("abcdefghij", response.getBodyAsString().block());
+    }
+
+    @Test
+    void streamsChunkedBodyOnceItExceedsLimit() {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        AtomicReference<String> captured = new AtomicReference<>();
+        AtomicBoolean skipped = new AtomicBoolean();
+        CapturingResponseDecorator decorator = new CapturingResponseDecorator(response, 5,
+                new CapturingResponseDecorator.BodyListener() {
+                    @Override
+                    public byte[] onBody(ServerHttpResponse r, byte[] body) {
+                        captured.set(new String(body, StandardCharsets.UTF_8));
+                        return body;
+                    }
+
+                    @Override
+                    public void onSkipped() {
+                        skipped.set(true);
+                    }
+                });
+
+        StepVerifier.create(decorator.writeWith(chunks("abc", "def", "ghi", "jkl"))).verifyComplete();
+
+        assertTrue(skipped.get());
+        assertNull(captured.get());
+        assertEquals("abcdefghijkl", response.getBodyAsString().block());
+    }
+
+    private static Flux<DataBuffer> chunks(String... parts) {
+        DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+        return Flux.fromArray(parts).map(part -> factory.wrap(part.getBytes(StandardCharsets.UTF_8)));
+    }
+}
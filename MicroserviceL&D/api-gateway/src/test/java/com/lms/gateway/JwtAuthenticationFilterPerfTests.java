@@ -0,0 +1,69 @@
+package com.lms.gateway;
+
+import com.lms.gateway.filter.JwtAuthenticationFilter;
+import com.lms.gateway.security.AuthDecisionCache;
+import com.lms.gateway.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Throughput measurement for the JWT authentication filter on cached decisions
+ * Tagged perf and excluded from the default build; run with mvn test -Dgroups=perf -DexcludedGroups=none
+ */
+@Tag("perf")
+@Slf4j
+class JwtAuthenticationFilterPerfTests {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    @Test
+    void cachedDecisionThroughput() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        JwtAuthenticationFilter factory = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(factory, "authDecisionCache", new AuthDecisionCache(jwtUtil, 10_000, 300));
+        GatewayFilter filter = factory.apply(new JwtAuthenticationFilter.Config());
+        String bearer = "Bearer " + Jwts.builder()
+                .subject("learner@lms.com")
+                .claim("userId", "4f1c2b7e-8a61-4c3e-9a57-0d9c1f3b2e10")
+                .claim("role", "LEARNER")
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        GatewayFilterChain chain = exchange -> Mono.empty();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            filter.filter(exchange(bearer), chain).block();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            filter.filter(exchange(bearer), chain).block();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        log.info("JwtAuthenticationFilter: {} ops/s ({} us/op)",
+                Math.round(MEASURED_ITERATIONS / (elapsedNanos / 1_000_000_000.0)),
+                String.format("%.2f", elapsedNanos / 1000.0 / MEASURED_ITERATIONS));
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/trainings")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+}
@@ -0,0 +1,115 @@
+package com.lms.gateway;
+
+import com.lms.gateway.filter.JwtAuthenticationFilter;
+import com.lms.gateway.security.AuthDecisionCache;
+import com.lms.gateway.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Correctness checks for the JWT authentication filter
+ * Runs without a Spring context; the filter is driven directly with mock exchanges
+ */
+class JwtAuthenticationFilterTests {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private GatewayFilter filter;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+
+        JwtAuthenticationFilter factory = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(factory, "authDecisionCache", new AuthDecisionCache(jwtUtil, 10_000, 300));
+        filter = factory.apply(new JwtAuthenticationFilter.Config());
+
+        bearer = "Bearer " + Jwts.builder()
+                .subject("learner@lms.com")
+                .claim("userId", "4f1c2b7e-8a61-4c3e-9a57-0d9c1f3b2e10")
+                .claim("role", "LEARNER")
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Test
+    void validTokenForwardsIdentityHeaders() {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        MockServerWebExchange exchange = exchange(bearer);
+
+        StepVerifier.create(filter.filter(exchange, capture(forwarded))).verifyComplete();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals("4f1c2b7e-8a61-4c3e-9a57-0d9c1f3b2e10", headers.getFirst("X-User-Id"));
+        assertEquals("learner@lms.com", headers.getFirst("X-User-Email"));
+        assertEquals("LEARNER", headers.getFirst("X-User-Role"));
+        assertEquals("API-GATEWAY", headers.getFirst("X-Authenticated-By"));
+    }
+
+    @Test
+    void spoofedIdentityHeadersAreReplaced() {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/trainings")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .header("X-User-Role", "ADMIN"));
+
+        StepVerifier.create(filter.filter(exchange, capture(forwarded))).verifyComplete();
+
+        assertEquals("LEARNER", forwarded.get().getRequest().getHeaders().getFirst("X-User-Role"));
+    }
+
+    @Test
+    void missingHeaderWritesJsonUnauthorized() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/trainings"));
+
+        StepVerifier.create(filter.filter(exchange, capture(new AtomicReference<>()))).verifyComplete();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .assertNext(body -> assertTrue(body.contains("\"message\":\"Authorization header is missing\"")))
+                .verifyComplete();
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        MockServerWebExchange exchange = exchange(bearer.substring(0, bearer.length() - 2) + "xx");
+
+        StepVerifier.create(filter.filter(exchange, capture(new AtomicReference<>()))).verifyComplete();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/trainings")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+
+    private static GatewayFilterChain capture(AtomicReference<ServerWebExchange> forwarded) {
+        return exchange -> {
+            forwarded.set(exchange);
+            return Mono.empty();
+        };
+    }
+}
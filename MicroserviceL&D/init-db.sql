@@ -128,6 +128,7 @@ CREATE TABLE training_enrollments (
 CREATE INDEX idx_enrollment_user ON training_enrollments(user_id);
 CREATE INDEX idx_enrollment_training ON training_enrollments(training_id);
 CREATE INDEX idx_enrollment_status ON training_enrollments(enrollment_status);
+CREATE INDEX idx_enrollment_user_completed ON training_enrollments(user_id, training_id) WHERE enrollment_status = 'COMPLETED';
 
 -- Quizzes
 CREATE TABLE quizzes (
@@ -135,7 +136,8 @@ CREATE TABLE quizzes (
     module_id UUID REFERENCES training_modules(id) ON DELETE CASCADE,
     title VARCHAR(255) NOT NULL,
     passing_score INT,
-    time_limit_minutes INT
+    time_limit_minutes INT,
+    version INT DEFAULT 1
 );
 
 -- Quiz questions
@@ -160,7 +162,13 @@ CREATE TABLE assignments (
     assigned_by UUID REFERENCES users(id),
     assignment_type VARCHAR(20) DEFAULT 'OPTIONAL',
     due_date TIMESTAMP,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    mandatory_training_id UUID UNIQUE,
+    status VARCHAR(20) DEFAULT 'PENDING',
+    users_scanned INT DEFAULT 0,
+    users_assigned INT DEFAULT 0,
+    last_user_id UUID,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
 -- User assignments
@@ -172,7 +180,8 @@ CREATE TABLE user_assignments (
     assigned_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     started_at TIMESTAMP,
     completed_at TIMESTAMP,
-    completion_percentage INT DEFAULT 0
+    completion_percentage INT DEFAULT 0,
+    UNIQUE (assignment_id, user_id)
 );
 
 -- Mandatory trainings
@@ -191,7 +200,16 @@ CREATE TABLE assignment_reminders (
     user_assignment_id UUID REFERENCES user_assignments(id) ON DELETE CASCADE,
     reminder_type VARCHAR(20),
     scheduled_at TIMESTAMP,
-    sent_at TIMESTAMP
+    sent_at TIMESTAMP,
+    partition_key SMALLINT NOT NULL DEFAULT floor(random() * 64),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Reminder partitions leased by training-service instances
+CREATE TABLE reminder_leases (
+    partition_key SMALLINT PRIMARY KEY,
+    owner VARCHAR(100),
+    lease_until TIMESTAMP NOT NULL DEFAULT 'epoch'
 );
 
 -- ============================================
@@ -219,7 +237,9 @@ CREATE TABLE quiz_attempts (
     max_score INT,
     attempt_number INT,
     answers JSONB,
-    completed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    completed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Attempt numbers are assigned as MAX + 1 at insert time; concurrent submits retry on conflict
+    CONSTRAINT uq_quiz_attempts_number UNIQUE (user_id, quiz_id, attempt_number)
 );
 
 -- Video progress
@@ -227,6 +247,8 @@ CREATE TABLE video_progress (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     user_id UUID REFERENCES users(id) ON DELETE CASCADE,
     video_id UUID,
+    -- Union of watched [start, end) seconds; watched_duration is its total
+    watched_ranges INT4MULTIRANGE NOT NULL DEFAULT '{}',
     watched_duration INT DEFAULT 0,
     total_duration INT,
     last_position INT DEFAULT 0,
@@ -241,17 +263,48 @@ CREATE TABLE completion_certificates (
     training_id UUID REFERENCES trainings(id) ON DELETE CASCADE,
     issued_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     certificate_url VARCHAR(500),
-    verification_code VARCHAR(50) UNIQUE
+    verification_code VARCHAR(50) UNIQUE,
+    status VARCHAR(20) DEFAULT 'PENDING',
+    UNIQUE(user_id, training_id)
+);
+
+-- Sequence numbers permuted into verification codes
+CREATE SEQUENCE certificate_code_seq;
+CREATE INDEX idx_certificates_user ON completion_certificates(user_id, issued_at DESC);
+-- Work queue of the certificate issuer
+CREATE INDEX idx_certificates_pending ON completion_certificates(issued_at) WHERE status = 'PENDING';
+
+-- Learning paths
+CREATE TABLE learning_paths (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    created_by UUID REFERENCES users(id),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Ordered trainings of a learning path
+CREATE TABLE learning_path_trainings (
+    path_id UUID REFERENCES learning_paths(id) ON DELETE CASCADE,
+    training_id UUID REFERENCES trainings(id) ON DELETE CASCADE,
+    position INT NOT NULL,
+    PRIMARY KEY (path_id, training_id)
+);
+
+-- Reverse index: a completed training finds the paths containing it
+CREATE INDEX idx_path_trainings_training ON learning_path_trainings(training_id);
+
 -- Learning path progress
 CREATE TABLE learning_path_progress (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     user_id UUID REFERENCES users(id) ON DELETE CASCADE,
-    path_id UUID,
+    path_id UUID REFERENCES learning_paths(id) ON DELETE CASCADE,
     completed_trainings INT DEFAULT 0,
     total_trainings INT,
-    progress_percentage INT DEFAULT 0
+    progress_percentage INT DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (user_id, path_id)
 );
 
 -- ============================================
@@ -267,7 +320,9 @@ CREATE TABLE notifications (
     message TEXT,
     read_status BOOLEAN DEFAULT FALSE,
     action_url VARCHAR(500),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Kafka event the notification was created for, so a redelivered event notifies nobody twice
+    event_id UUID
 );
 
 -- Notification preferences
@@ -277,6 +332,7 @@ CREATE TABLE notification_preferences (
     push_enabled BOOLEAN DEFAULT TRUE,
     in_app_enabled BOOLEAN DEFAULT TRUE,
     sms_enabled BOOLEAN DEFAULT FALSE,
+    -- IMMEDIATE, DAILY or WEEKLY
     digest_frequency VARCHAR(20) DEFAULT 'DAILY'
 );
 
@@ -297,7 +353,13 @@ CREATE TABLE notification_delivery_log (
     channel VARCHAR(20),
     status VARCHAR(20),
     sent_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    error_message TEXT
+    error_message TEXT,
+    -- Failed sends return to PENDING until the attempt limit, then stay FAILED
+    attempts INT NOT NULL DEFAULT 0,
+    -- Set while a row is claimed as SENDING, so abandoned claims can be released
+    claimed_at TIMESTAMP,
+    -- When an immediate email is due to be sent; NULL for rows waiting for a digest
+    next_attempt_at TIMESTAMP
 );
 
 -- ============================================
@@ -315,6 +377,7 @@ CREATE TABLE content_metadata (
     cdn_url VARCHAR(500),
     uploaded_by UUID REFERENCES users(id),
     upload_status VARCHAR(20) DEFAULT 'PENDING',
+    checksum_sha256 VARCHAR(64),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
@@ -328,14 +391,16 @@ CREATE TABLE video_metadata (
     hls_playlist_url VARCHAR(500)
 );
 
--- Content access log
+-- Content access log, append-only and partitioned by day; training-service creates the daily
+-- partitions ahead of time and drops the ones past retention
 CREATE TABLE content_access_log (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    content_id UUID REFERENCES content_metadata(id) ON DELETE CASCADE,
-    user_id UUID REFERENCES users(id) ON DELETE CASCADE,
-    accessed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    ip_address VARCHAR(50)
-);
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    content_id UUID NOT NULL,
+    user_id UUID,
+    accessed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ip_address VARCHAR(50),
+    PRIMARY KEY (id, accessed_at)
+) PARTITION BY RANGE (accessed_at);
 
 -- ============================================
 -- ANALYTICS SERVICE TABLES
@@ -344,19 +409,21 @@ CREATE TABLE content_access_log (
 -- Training analytics
 CREATE TABLE training_analytics (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    training_id UUID REFERENCES trainings(id) ON DELETE CASCADE,
+    training_id UUID UNIQUE REFERENCES trainings(id) ON DELETE CASCADE,
     total_enrollments INT DEFAULT 0,
     total_completions INT DEFAULT 0,
     average_score DECIMAL(5,2),
     average_completion_time_hours DECIMAL(8,2),
     completion_rate DECIMAL(5,2),
-    calculated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    calculated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Time of the last full rebuild; counters from events before it are already in the row
+    rebuilt_at TIMESTAMPTZ
 );
 
 -- User analytics
 CREATE TABLE user_analytics (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    user_id UUID REFERENCES users(id) ON DELETE CASCADE,
+    user_id UUID UNIQUE REFERENCES users(id) ON DELETE CASCADE,
     total_trainings_completed INT DEFAULT 0,
     total_hours_learned DECIMAL(8,2),
     average_quiz_score DECIMAL(5,2),
@@ -367,7 +434,7 @@ CREATE TABLE user_analytics (
 -- Department analytics
 CREATE TABLE department_analytics (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    department VARCHAR(100),
+    department VARCHAR(100) UNIQUE,
     total_users INT DEFAULT 0,
     active_users INT DEFAULT 0,
     completion_rate DECIMAL(5,2),
@@ -380,13 +447,45 @@ CREATE TABLE report_requests (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     requested_by UUID REFERENCES users(id),
     report_type VARCHAR(50),
+    format VARCHAR(10) DEFAULT 'CSV',
     filters JSONB,
     status VARCHAR(20) DEFAULT 'PENDING',
+    progress_rows BIGINT DEFAULT 0,
+    attempts INT DEFAULT 0,
     file_url VARCHAR(500),
+    error_message TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     completed_at TIMESTAMP
 );
 
+CREATE INDEX idx_report_requests_user ON report_requests(requested_by, created_at DESC);
+-- Work queue of the report workers
+CREATE INDEX idx_report_requests_pending ON report_requests(created_at) WHERE status = 'PENDING';
+
+-- Periodic copies of the Redis leaderboards; boards read "METRIC:PERIOD:SCOPE"
+CREATE TABLE leaderboard_snapshots (
+    board VARCHAR(255),
+    member VARCHAR(255),
+    score DOUBLE PRECISION NOT NULL,
+    rank INT NOT NULL,
+    snapshot_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (board, member)
+);
+
+CREATE INDEX idx_leaderboard_snapshots_rank ON leaderboard_snapshots(board, rank);
+
+-- Kafka events each consumer group has handled, so redeliveries are skipped; purged after a retention window
+CREATE TABLE processed_events (
+    consumer_group VARCHAR(100),
+    event_id UUID,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (consumer_group, event_id)
+);
+
+CREATE INDEX idx_processed_events_processed_at ON processed_events(processed_at);
+
 -- ============================================
 -- WORKFLOW SERVICE TABLES
 -- ============================================
@@ -399,6 +498,9 @@ CREATE TABLE workflows (
     entity_type VARCHAR(50),
     initiated_by UUID REFERENCES users(id),
     status VARCHAR(20) DEFAULT 'PENDING',
+    current_step INT DEFAULT 1,
+    -- Bumped by every step decision; decisions compare-and-set it
+    version INT DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     completed_at TIMESTAMP
 );
@@ -412,6 +514,7 @@ CREATE TABLE workflow_steps (
     approver_id UUID REFERENCES users(id),
     status VARCHAR(20) DEFAULT 'PENDING',
     comments TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     approved_at TIMESTAMP
 );
 
@@ -448,13 +551,21 @@ CREATE INDEX idx_user_assignments_user_status ON user_assignments(user_id, statu
 
 -- Progress Service Indexes
 CREATE INDEX idx_user_progress_user_training ON user_progress(user_id, training_id);
-CREATE INDEX idx_quiz_attempts_user_quiz ON quiz_attempts(user_id, quiz_id);
 CREATE INDEX idx_video_progress_user_video ON video_progress(user_id, video_id);
 
 -- Notification Service Indexes
-CREATE INDEX idx_notifications_user_id ON notifications(user_id);
-CREATE INDEX idx_notifications_read_status ON notifications(read_status);
+CREATE INDEX idx_notifications_user_created ON notifications(user_id, created_at DESC);
+-- Unread rows only, so counting a user's unread notifications never touches read ones
+CREATE INDEX idx_notifications_unread ON notifications(user_id) WHERE read_status = FALSE;
 CREATE INDEX idx_notifications_created_at ON notifications(created_at);
+CREATE UNIQUE INDEX idx_notifications_event_user ON notifications(event_id, user_id) WHERE event_id IS NOT NULL;
+-- Email deliveries waiting for a digest
+CREATE INDEX idx_delivery_log_pending ON notification_delivery_log(notification_id) WHERE status = 'PENDING';
+-- Claims to release when an instance died mid-send
+CREATE INDEX idx_delivery_log_sending ON notification_delivery_log(claimed_at) WHERE status = 'SENDING';
+-- Immediate emails waiting for the sender
+CREATE INDEX idx_delivery_log_due ON notification_delivery_log(next_attempt_at)
+    WHERE status = 'PENDING' AND next_attempt_at IS NOT NULL;
 
 -- Content Service Indexes
 CREATE INDEX idx_content_metadata_uploaded_by ON content_metadata(uploaded_by);
@@ -470,6 +581,12 @@ CREATE INDEX idx_department_analytics_department ON department_analytics(departm
 CREATE INDEX idx_workflows_entity_id ON workflows(entity_id);
 CREATE INDEX idx_workflows_status ON workflows(status);
 CREATE INDEX idx_workflow_steps_workflow_id ON workflow_steps(workflow_id);
+-- Approval inbox per role: only the current step of a workflow is PENDING
+CREATE INDEX idx_workflow_steps_pending_role ON workflow_steps(approver_role, created_at) WHERE status = 'PENDING';
+-- At most one open workflow of a type per entity
+CREATE UNIQUE INDEX idx_workflows_open_entity ON workflows(workflow_type, entity_id) WHERE status = 'PENDING';
+-- Reminder scheduler pages unsent reminders by due time
+CREATE INDEX idx_assignment_reminders_unsent ON assignment_reminders(scheduled_at, id, partition_key) WHERE sent_at IS NULL;
 
 -- ============================================
 -- SEED DATA
@@ -495,7 +612,18 @@ INSERT INTO notification_templates (type, channel, subject, body_template, varia
 
 ('TRAINING_OVERDUE', 'EMAIL', 'Training Overdue',
  'Reminder: Your training {{training_title}} is overdue',
- '{"user_name": "string", "training_title": "string"}'::jsonb);
+ '{"user_name": "string", "training_title": "string"}'::jsonb),
+
+('TRAINING_DUE_SOON', 'EMAIL', 'Training Due Soon',
+ 'Reminder: Your training {{training_title}} is due on {{due_date}}',
+ '{"user_name": "string", "training_title": "string", "due_date": "string"}'::jsonb);
+
+-- Reminder partitions, leased out to scheduler instances
+INSERT INTO reminder_leases (partition_key) SELECT generate_series(0, 63);
+
+-- Training publication needs an ADMIN review, then SUPER_ADMIN sign-off
+INSERT INTO workflow_templates (workflow_type, steps) VALUES
+('TRAINING_PUBLICATION', '[{"approverRole": "ADMIN"}, {"approverRole": "SUPER_ADMIN"}]'::jsonb);
 
 -- Insert a default super admin user (password: Admin@123)
 INSERT INTO users (email, password_hash, first_name, last_name, employee_id, department, role, status)
@@ -0,0 +1,14 @@
+package com.lms.trainingservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled jobs and @Async methods used by background writers and rebuild jobs
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class AsyncConfig {
+}
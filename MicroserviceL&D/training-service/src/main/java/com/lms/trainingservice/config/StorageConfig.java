@@ -0,0 +1,24 @@
+package com.lms.trainingservice.config;
+
+import io.minio.MinioClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Object storage configuration
+ * The MinIO client is S3-compatible and does not connect until first use
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    public MinioClient minioClient(@Value("${storage.minio.endpoint:http://localhost:9000}") String endpoint,
+                                   @Value("${storage.minio.access-key:minioadmin}") String accessKey,
+                                   @Value("${storage.minio.secret-key:minioadmin123}") String secretKey) {
+        return MinioClient.builder()
+                .endpoint(endpoint)
+                .credentials(accessKey, secretKey)
+                .build();
+    }
+}
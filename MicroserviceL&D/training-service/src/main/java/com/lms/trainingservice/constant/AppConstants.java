@@ -0,0 +1,87 @@
+package com.lms.trainingservice.constant;
+
+/**
+ * Application constants
+ */
+public class AppConstants {
+
+    // Enrollment Status
+    public static final String ENROLLMENT_STATUS_ENROLLED = "ENROLLED";
+    public static final String ENROLLMENT_STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String ENROLLMENT_STATUS_COMPLETED = "COMPLETED";
+
+    // Assignment
+    public static final String ASSIGNMENT_TYPE_MANDATORY = "MANDATORY";
+    public static final String ASSIGNMENT_STATUS_PENDING = "PENDING";
+    public static final String ASSIGNMENT_STATUS_RUNNING = "RUNNING";
+    public static final String ASSIGNMENT_STATUS_COMPLETED = "COMPLETED";
+    public static final String ASSIGNMENT_STATUS_FAILED = "FAILED";
+    public static final String REMINDER_TYPE_DUE_SOON = "DUE_SOON";
+    public static final String REMINDER_TYPE_OVERDUE = "OVERDUE";
+
+    // Notifications
+    public static final String NOTIFICATION_TYPE_TRAINING_ASSIGNED = "TRAINING_ASSIGNED";
+    public static final String NOTIFICATION_TYPE_TRAINING_COMPLETED = "TRAINING_COMPLETED";
+    public static final String NOTIFICATION_TYPE_TRAINING_OVERDUE = "TRAINING_OVERDUE";
+    public static final String NOTIFICATION_TYPE_TRAINING_DUE_SOON = "TRAINING_DUE_SOON";
+    public static final String NOTIFICATION_CHANNEL_EMAIL = "EMAIL";
+    public static final String DIGEST_IMMEDIATE = "IMMEDIATE";
+    public static final String DIGEST_DAILY = "DAILY";
+    public static final String DIGEST_WEEKLY = "WEEKLY";
+    public static final String DELIVERY_STATUS_PENDING = "PENDING";
+    public static final String DELIVERY_STATUS_SENDING = "SENDING";
+    public static final String DELIVERY_STATUS_SENT = "SENT";
+    public static final String DELIVERY_STATUS_FAILED = "FAILED";
+
+    // Content uploads
+    public static final String UPLOAD_STATUS_UPLOADING = "UPLOADING";
+    public static final String UPLOAD_STATUS_PROCESSING = "PROCESSING";
+    public static final String UPLOAD_STATUS_READY = "READY";
+    public static final String UPLOAD_STATUS_FAILED = "FAILED";
+
+    // Reports
+    public static final String REPORT_STATUS_PENDING = "PENDING";
+    public static final String REPORT_STATUS_RUNNING = "RUNNING";
+    public static final String REPORT_STATUS_COMPLETED = "COMPLETED";
+    public static final String REPORT_STATUS_FAILED = "FAILED";
+
+    // Certificates
+    public static final String CERTIFICATE_STATUS_PENDING = "PENDING";
+    public static final String CERTIFICATE_STATUS_ISSUED = "ISSUED";
+
+    // Leaderboards
+    public static final String LEADERBOARD_METRIC_COMPLETIONS = "COMPLETIONS";
+    public static final String LEADERBOARD_METRIC_QUIZ_POINTS = "QUIZ_POINTS";
+    public static final String LEADERBOARD_PERIOD_ALL = "ALL";
+
+    // Workflows
+    public static final String WORKFLOW_TYPE_TRAINING_PUBLICATION = "TRAINING_PUBLICATION";
+    public static final String WORKFLOW_ENTITY_TRAINING = "TRAINING";
+    public static final String WORKFLOW_STATUS_PENDING = "PENDING";
+    public static final String WORKFLOW_STATUS_APPROVED = "APPROVED";
+    public static final String WORKFLOW_STATUS_REJECTED = "REJECTED";
+
+    // Redis Keys
+    public static final String REDIS_KEY_NOTIFICATION_UNREAD = "notifications:unread:";
+    public static final String REDIS_KEY_NOTIFICATION_INBOX = "notifications:inbox:";
+    public static final String REDIS_KEY_NOTIFICATION_READ = "notifications:read:";
+    public static final String REDIS_KEY_LEADERBOARD = "leaderboard:board:";
+    public static final String REDIS_KEY_LEADERBOARD_QUIZ_BEST = "leaderboard:best:";
+    public static final String REDIS_KEY_LEADERBOARD_COMPLETED = "leaderboard:completed:";
+    public static final String REDIS_KEY_LEADERBOARD_REBUILD = "leaderboard:rebuild:";
+    public static final String REDIS_KEY_LEADERBOARD_REBUILD_ACTIVE = "leaderboard:rebuild-active";
+    public static final String REDIS_KEY_LEADERBOARD_REBUILD_JOURNAL = "leaderboard:rebuild-journal";
+
+    // Kafka Topics
+    public static final String KAFKA_TOPIC_ENROLLMENT_CREATED = "training.enrollment.created";
+    public static final String KAFKA_TOPIC_ENROLLMENT_PROGRESS = "training.enrollment.progress";
+    public static final String KAFKA_TOPIC_ENROLLMENT_COMPLETED = "training.enrollment.completed";
+    public static final String KAFKA_TOPIC_ENROLLMENT_DROPPED = "training.enrollment.dropped";
+    public static final String KAFKA_TOPIC_ASSIGNMENT_BATCH = "training.assignment.batch";
+    public static final String KAFKA_TOPIC_QUIZ_GRADED = "training.quiz.graded";
+
+    // Kafka Consumer Groups
+    public static final String KAFKA_GROUP_ANALYTICS = "training-analytics";
+    public static final String KAFKA_GROUP_NOTIFICATIONS = "training-notifications";
+    public static final String KAFKA_GROUP_LEADERBOARDS = "training-leaderboards";
+}
@@ -0,0 +1,53 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.CertificateResponse;
+import com.lms.trainingservice.service.CertificateService;
+import com.lms.trainingservice.service.CertificateTemplate;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for the current user's completion certificates
+ * Public verification by code is served by PublicCatalogController
+ */
+@RestController
+@RequestMapping("/api/certificates")
+@RequiredArgsConstructor
+public class CertificateController {
+
+    private final CertificateService certificateService;
+
+    @GetMapping
+    public ResponseEntity<List<CertificateResponse>> getCertificates(HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(certificateService.getCertificates(userId(httpRequest)));
+    }
+
+    @GetMapping("/{id}/download")
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable UUID id, HttpServletRequest httpRequest) {
+        CertificateService.CertificateFile file = certificateService.openCertificate(userId(httpRequest), id);
+        StreamingResponseBody body = out -> {
+            try (InputStream in = file.stream()) {
+                in.transferTo(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CertificateTemplate.CONTENT_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.fileName()).build().toString())
+                .body(body);
+    }
+
+    private static UUID userId(HttpServletRequest httpRequest) {
+        return UUID.fromString((String) httpRequest.getAttribute("userId"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.service.ContentStreamingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * REST Controller for streaming training content files
+ */
+@RestController
+@RequestMapping("/api/content")
+@RequiredArgsConstructor
+public class ContentStreamingController {
+
+    private final ContentStreamingService contentStreamingService;
+
+    /**
+     * Stream a content file; honors Range and If-Range for seeking and resumable downloads
+     */
+    @GetMapping("/{id}/stream")
+    public void streamContent(@PathVariable UUID id,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        contentStreamingService.stream(id, request, response);
+    }
+}
@@ -0,0 +1,70 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.LeaderboardRebuildResponse;
+import com.lms.trainingservice.dto.LeaderboardResponse;
+import com.lms.trainingservice.service.LeaderboardRebuildJob;
+import com.lms.trainingservice.service.LeaderboardService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST Controller for learner and department leaderboards
+ * metric is COMPLETIONS or QUIZ_POINTS; period is ALL or a month as yyyy-MM, the current month by default
+ */
+@RestController
+@RequestMapping("/api/leaderboards")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardRebuildJob rebuildJob;
+
+    /**
+     * Top learners overall, or within one department
+     */
+    @GetMapping("/users")
+    public ResponseEntity<LeaderboardResponse> getUserBoard(
+            @RequestParam(defaultValue = "COMPLETIONS") String metric,
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getUserBoard(metric, period, department, limit));
+    }
+
+    /**
+     * Top departments
+     */
+    @GetMapping("/departments")
+    public ResponseEntity<LeaderboardResponse> getDepartmentBoard(
+            @RequestParam(defaultValue = "COMPLETIONS") String metric,
+            @RequestParam(required = false) String period,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getDepartmentBoard(metric, period, limit));
+    }
+
+    /**
+     * The current user's rank and the learners around it
+     */
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardResponse> getMyRank(
+            @RequestParam(defaultValue = "COMPLETIONS") String metric,
+            @RequestParam(required = false) String period,
+            @RequestParam(defaultValue = "false") boolean department,
+            @RequestParam(defaultValue = "2") int around,
+            HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.ok(leaderboardService.getMyRank(userId, metric, period, department, around));
+    }
+
+    /**
+     * Recompute all leaderboards from enrollments and quiz attempts (admin)
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<LeaderboardRebuildResponse> rebuild() {
+        return ResponseEntity.ok(rebuildJob.rebuild());
+    }
+}
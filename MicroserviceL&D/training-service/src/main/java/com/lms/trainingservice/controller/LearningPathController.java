@@ -0,0 +1,91 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.LearningPathProgressResponse;
+import com.lms.trainingservice.dto.LearningPathRequest;
+import com.lms.trainingservice.dto.LearningPathResponse;
+import com.lms.trainingservice.service.LearningPathService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for Learning Path APIs
+ */
+@RestController
+@RequestMapping("/api/learning-paths")
+@RequiredArgsConstructor
+public class LearningPathController {
+
+    private final LearningPathService learningPathService;
+
+    /**
+     * Create a learning path (admin)
+     */
+    @PostMapping
+    public ResponseEntity<LearningPathResponse> createLearningPath(
+            @Valid @RequestBody LearningPathRequest request,
+            HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(learningPathService.createLearningPath(userId, request));
+    }
+
+    /**
+     * Update a learning path and its trainings (admin)
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<LearningPathResponse> updateLearningPath(
+            @PathVariable UUID id,
+            @Valid @RequestBody LearningPathRequest request) {
+        return ResponseEntity.ok(learningPathService.updateLearningPath(id, request));
+    }
+
+    /**
+     * Get all learning paths
+     */
+    @GetMapping
+    public ResponseEntity<List<LearningPathResponse>> getLearningPaths() {
+        return ResponseEntity.ok(learningPathService.getLearningPaths());
+    }
+
+    /**
+     * Get a learning path
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<LearningPathResponse> getLearningPath(@PathVariable UUID id) {
+        return ResponseEntity.ok(learningPathService.getLearningPath(id));
+    }
+
+    /**
+     * Enroll the current user in a learning path
+     */
+    @PostMapping("/{id}/enroll")
+    public ResponseEntity<LearningPathProgressResponse> enroll(@PathVariable UUID id, HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.status(HttpStatus.CREATED).body(learningPathService.enroll(userId, id));
+    }
+
+    /**
+     * Get the current user's progress on a learning path
+     */
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<LearningPathProgressResponse> getProgress(@PathVariable UUID id, HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.ok(learningPathService.getProgress(userId, id));
+    }
+
+    /**
+     * Get the current user's progress on all enrolled learning paths
+     */
+    @GetMapping("/progress")
+    public ResponseEntity<List<LearningPathProgressResponse>> getMyProgress(HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.ok(learningPathService.getUserProgress(userId));
+    }
+}
@@ -0,0 +1,62 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.AssignmentProgressResponse;
+import com.lms.trainingservice.dto.MandatoryTrainingRequest;
+import com.lms.trainingservice.dto.MandatoryTrainingResponse;
+import com.lms.trainingservice.service.MandatoryTrainingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for Mandatory Training APIs
+ */
+@RestController
+@RequestMapping("/api/mandatory-trainings")
+@RequiredArgsConstructor
+public class MandatoryTrainingController {
+
+    private final MandatoryTrainingService mandatoryTrainingService;
+
+    /**
+     * Make a training mandatory for a role and/or department (admin)
+     */
+    @PostMapping
+    public ResponseEntity<MandatoryTrainingResponse> createMandatoryTraining(
+            @Valid @RequestBody MandatoryTrainingRequest request,
+            HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(mandatoryTrainingService.createMandatoryTraining(userId, request));
+    }
+
+    /**
+     * Get all mandatory training rules
+     */
+    @GetMapping
+    public ResponseEntity<List<MandatoryTrainingResponse>> getMandatoryTrainings() {
+        return ResponseEntity.ok(mandatoryTrainingService.getMandatoryTrainings());
+    }
+
+    /**
+     * Get assignment progress of a rule
+     */
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<AssignmentProgressResponse> getProgress(@PathVariable UUID id) {
+        return ResponseEntity.ok(mandatoryTrainingService.getProgress(id));
+    }
+
+    /**
+     * Re-run the assignment of a rule, e.g. after an interrupted run
+     */
+    @PostMapping("/{id}/run")
+    public ResponseEntity<AssignmentProgressResponse> rerun(@PathVariable UUID id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(mandatoryTrainingService.rerun(id));
+    }
+}
@@ -0,0 +1,67 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.NotificationResponse;
+import com.lms.trainingservice.dto.UnreadCountResponse;
+import com.lms.trainingservice.service.NotificationService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST Controller for the current user's notifications
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    /**
+     * Get notifications, newest first; pass the createdAt of the last one as before for the next page
+     */
+    @GetMapping
+    public ResponseEntity<List<NotificationResponse>> getNotifications(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(notificationService.getNotifications(userId(httpRequest), before,
+                Math.max(1, Math.min(size, 100))));
+    }
+
+    /**
+     * Get the unread notification count
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount(HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(notificationService.getUnreadCount(userId(httpRequest)));
+    }
+
+    /**
+     * Mark a notification read
+     */
+    @PutMapping("/{id}/read")
+    public ResponseEntity<Void> markRead(@PathVariable UUID id, HttpServletRequest httpRequest) {
+        notificationService.markRead(userId(httpRequest), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Mark all notifications read
+     */
+    @PutMapping("/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllRead(HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllRead(userId(httpRequest))));
+    }
+
+    private static UUID userId(HttpServletRequest httpRequest) {
+        return UUID.fromString((String) httpRequest.getAttribute("userId"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.service.CatalogBrowseService;
+import com.lms.trainingservice.service.CatalogFacetIndex;
+import com.lms.trainingservice.service.CertificateService;
+import com.lms.trainingservice.service.ResponseBytesCache;
+import com.lms.trainingservice.service.TrainingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * REST Controller for the public training catalog
+ * Responses are served from pre-serialized bytes written straight to the output stream
+ */
+@RestController
+@RequestMapping("/api/trainings")
+@RequiredArgsConstructor
+public class PublicCatalogController {
+
+    private final TrainingService trainingService;
+    private final ResponseBytesCache responseBytesCache;
+    private final CertificateService certificateService;
+    private final CatalogBrowseService catalogBrowseService;
+
+    @GetMapping("/published")
+    public void getPublishedTrainings(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) throws IOException {
+        Pageable pageable = PageRequest.of(page, size);
+        ResponseBytesCache.Entry entry = responseBytesCache.get(
+                ResponseBytesCache.PUBLISHED_PREFIX + page + ":" + size,
+                () -> trainingService.getPublishedTrainings(pageable));
+        responseBytesCache.write(entry, httpRequest, httpResponse);
+    }
+
+    /**
+     * Published trainings filtered by category, difficulty, tag and duration bucket, with facet counts
+     * Repeat a parameter to select several values of one facet
+     */
+    @GetMapping("/public/browse")
+    public void browse(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> difficulty,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(required = false) List<String> duration,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) throws IOException {
+        // Sorted so equivalent queries share one cache entry
+        Map<String, Set<String>> filters = new TreeMap<>();
+        addFilter(filters, CatalogFacetIndex.CATEGORY, category);
+        addFilter(filters, CatalogFacetIndex.DIFFICULTY, difficulty);
+        addFilter(filters, CatalogFacetIndex.TAG, tag);
+        addFilter(filters, CatalogFacetIndex.DURATION, duration);
+        ResponseBytesCache.Entry entry = responseBytesCache.get(
+                ResponseBytesCache.BROWSE_PREFIX + filters + ":" + page + ":" + size,
+                () -> catalogBrowseService.browse(filters, page, size));
+        responseBytesCache.write(entry, httpRequest, httpResponse);
+    }
+
+    @GetMapping("/public/{id}")
+    public void getPublicTraining(
+            @PathVariable UUID id,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) throws IOException {
+        ResponseBytesCache.Entry entry = responseBytesCache.get(
+                ResponseBytesCache.PUBLIC_PREFIX + id,
+                () -> trainingService.getPublicTraining(id));
+        responseBytesCache.write(entry, httpRequest, httpResponse);
+    }
+
+    @GetMapping("/public/{id}/outline")
+    public void getTrainingOutline(
+            @PathVariable UUID id,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) throws IOException {
+        ResponseBytesCache.Entry entry = responseBytesCache.get(
+                ResponseBytesCache.OUTLINE_PREFIX + id,
+                () -> trainingService.getTrainingOutline(id));
+        responseBytesCache.write(entry, httpRequest, httpResponse);
+    }
+
+    /**
+     * Verify a certificate by the code printed on it; issued certificates never change, so hits stay cached
+     */
+    @GetMapping("/public/certificates/{code}")
+    public void verifyCertificate(
+            @PathVariable String code,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) throws IOException {
+        String canonical = certificateService.canonicalCode(code);
+        ResponseBytesCache.Entry entry = responseBytesCache.get(
+                ResponseBytesCache.CERTIFICATE_PREFIX + canonical,
+                () -> certificateService.verify(canonical));
+        responseBytesCache.write(entry, httpRequest, httpResponse);
+    }
+
+    private static void addFilter(Map<String, Set<String>> filters, String facet, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            filters.put(facet, new TreeSet<>(values));
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.lms.trainingservice.controller;
 
+import com.lms.trainingservice.dto.QuizAttemptResponse;
 import com.lms.trainingservice.dto.QuizRequest;
 import com.lms.trainingservice.dto.QuizResponse;
+import com.lms.trainingservice.dto.QuizSubmissionRequest;
+import com.lms.trainingservice.service.QuizAttemptService;
 import com.lms.trainingservice.service.QuizService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +25,7 @@ import java.util.UUID;
 public class QuizController {
 
     private final QuizService quizService;
+    private final QuizAttemptService quizAttemptService;
 
     @PostMapping
     public ResponseEntity<QuizResponse> createQuiz(@Valid @RequestBody QuizRequest request) {
@@ -50,4 +55,27 @@ public class QuizController {
         return ResponseEntity.ok(quizService.getQuizzesByModule(moduleId));
     }
 
+    /**
+     * Submit answers for grading as the current user
+     */
+    @PostMapping("/{id}/attempts")
+    public ResponseEntity<QuizAttemptResponse> submitAttempt(
+            @PathVariable UUID id,
+            @Valid @RequestBody QuizSubmissionRequest request,
+            HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.status(HttpStatus.CREATED).body(quizAttemptService.submitAttempt(userId, id, request));
+    }
+
+    /**
+     * Get the current user's attempts for a quiz
+     */
+    @GetMapping("/{id}/attempts/my")
+    public ResponseEntity<List<QuizAttemptResponse>> getMyAttempts(
+            @PathVariable UUID id,
+            HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.ok(quizAttemptService.getUserAttempts(userId, id));
+    }
+
 }
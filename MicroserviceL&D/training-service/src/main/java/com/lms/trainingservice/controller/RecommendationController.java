@@ -0,0 +1,52 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.RecommendationRebuildResponse;
+import com.lms.trainingservice.dto.TrainingRecommendationResponse;
+import com.lms.trainingservice.service.RecommendationService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for co-enrollment based training recommendations
+ */
+@RestController
+@RequestMapping("/api/recommendations")
+@RequiredArgsConstructor
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+
+    /**
+     * Recommendations for the current user
+     */
+    @GetMapping
+    public ResponseEntity<List<TrainingRecommendationResponse>> getRecommendations(
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.ok(recommendationService.getRecommendations(userId, limit));
+    }
+
+    /**
+     * Learners who took this training also took
+     */
+    @GetMapping("/trainings/{trainingId}/similar")
+    public ResponseEntity<List<TrainingRecommendationResponse>> getSimilarTrainings(
+            @PathVariable UUID trainingId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(recommendationService.getSimilarTrainings(trainingId, limit));
+    }
+
+    /**
+     * Rebuild the similarity index now (admin)
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<RecommendationRebuildResponse> rebuild() {
+        return ResponseEntity.ok(recommendationService.rebuild());
+    }
+}
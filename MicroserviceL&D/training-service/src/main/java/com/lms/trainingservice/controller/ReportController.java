@@ -0,0 +1,78 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.ReportRequest;
+import com.lms.trainingservice.dto.ReportResponse;
+import com.lms.trainingservice.service.ReportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for asynchronous report generation (admin)
+ */
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+
+    /**
+     * Queue a report; poll its status and download it once COMPLETED
+     */
+    @PostMapping
+    public ResponseEntity<ReportResponse> submitReport(
+            @Valid @RequestBody ReportRequest request,
+            HttpServletRequest httpRequest) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportService.submit(userId(httpRequest), request));
+    }
+
+    /**
+     * Get the current user's recent reports
+     */
+    @GetMapping
+    public ResponseEntity<List<ReportResponse>> getReports(HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(reportService.getReports(userId(httpRequest)));
+    }
+
+    /**
+     * Get report status and progress
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportResponse> getReport(@PathVariable UUID id, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(reportService.getReport(userId(httpRequest), id));
+    }
+
+    /**
+     * Download a finished report
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable UUID id, HttpServletRequest httpRequest) {
+        ReportService.ReportFile file = reportService.openReport(userId(httpRequest), id);
+        StreamingResponseBody body = out -> {
+            try (InputStream in = file.stream()) {
+                in.transferTo(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.fileName()).build().toString())
+                .body(body);
+    }
+
+    private static UUID userId(HttpServletRequest httpRequest) {
+        return UUID.fromString((String) httpRequest.getAttribute("userId"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.AnalyticsRebuildResponse;
+import com.lms.trainingservice.dto.AnalyticsRollupResponse;
+import com.lms.trainingservice.dto.TrainingAnalyticsResponse;
+import com.lms.trainingservice.service.AnalyticsRollupJob;
+import com.lms.trainingservice.service.TrainingAnalyticsAggregator;
+import com.lms.trainingservice.service.TrainingAnalyticsRebuildJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST Controller for Training Analytics APIs
+ */
+@RestController
+@RequestMapping("/api/trainings")
+@RequiredArgsConstructor
+public class TrainingAnalyticsController {
+
+    private final TrainingAnalyticsAggregator analyticsAggregator;
+    private final TrainingAnalyticsRebuildJob rebuildJob;
+    private final AnalyticsRollupJob rollupJob;
+
+    /**
+     * Get enrollment and completion analytics of a training
+     */
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<TrainingAnalyticsResponse> getTrainingAnalytics(@PathVariable UUID id) {
+        return ResponseEntity.ok(analyticsAggregator.get(id));
+    }
+
+    /**
+     * Recompute analytics of all trainings from enrollments (admin)
+     */
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<AnalyticsRebuildResponse> rebuildAnalytics() {
+        return ResponseEntity.ok(rebuildJob.rebuild());
+    }
+
+    /**
+     * Roll enrollments up into user and department analytics (admin)
+     */
+    @PostMapping("/analytics/rollup")
+    public ResponseEntity<AnalyticsRollupResponse> rollupAnalytics(
+            @RequestParam(defaultValue = "false") boolean full) {
+        return ResponseEntity.ok(rollupJob.run(full));
+    }
+}
@@ -1,14 +1,19 @@
 package com.lms.trainingservice.controller;
 
+import com.lms.trainingservice.dto.ContentUploadResponse;
 import com.lms.trainingservice.dto.TrainingContentRequest;
 import com.lms.trainingservice.dto.TrainingContentResponse;
+import com.lms.trainingservice.service.ContentUploadService;
 import com.lms.trainingservice.service.TrainingContentService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,12 +26,30 @@ import java.util.UUID;
 public class TrainingContentController {
 
     private final TrainingContentService trainingContentService;
+    private final ContentUploadService contentUploadService;
 
     @PostMapping
     public ResponseEntity<TrainingContentResponse> createContent(@Valid @RequestBody TrainingContentRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(trainingContentService.createContent(request));
     }
 
+    /**
+     * Upload a file as new content of a module; the first file part of the multipart body is stored
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ContentUploadResponse> uploadContent(@RequestParam UUID moduleId,
+                                                               @RequestParam String contentType,
+                                                               HttpServletRequest httpRequest) throws IOException {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(contentUploadService.upload(moduleId, contentType, userId, httpRequest));
+    }
+
+    @GetMapping("/uploads/{id}")
+    public ResponseEntity<ContentUploadResponse> getUpload(@PathVariable UUID id) {
+        return ResponseEntity.ok(contentUploadService.getUpload(id));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TrainingContentResponse> getContent(@PathVariable UUID id) {
         return ResponseEntity.ok(trainingContentService.getContentById(id));
@@ -95,17 +95,12 @@ public class TrainingController {
         return ResponseEntity.ok(trainingService.searchTrainings(query, pageable));
     }
 
-    @GetMapping("/published")
-    public ResponseEntity<Page<TrainingResponse>> getPublishedTrainings(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(trainingService.getPublishedTrainings(pageable));
-    }
-
     @PostMapping("/{id}/publish")
-    public ResponseEntity<TrainingResponse> publishTraining(@PathVariable UUID id) {
-        return ResponseEntity.ok(trainingService.publishTraining(id));
+    public ResponseEntity<TrainingResponse> publishTraining(
+            @PathVariable UUID id,
+            HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.ok(trainingService.publishTraining(id, userId));
     }
 
 }
@@ -1,7 +1,10 @@
 package com.lms.trainingservice.controller;
 
+import com.lms.trainingservice.dto.CourseImportRequest;
+import com.lms.trainingservice.dto.CourseImportResponse;
 import com.lms.trainingservice.dto.TrainingModuleRequest;
 import com.lms.trainingservice.dto.TrainingModuleResponse;
+import com.lms.trainingservice.service.CourseImportService;
 import com.lms.trainingservice.service.TrainingModuleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -21,12 +24,22 @@ import java.util.UUID;
 public class TrainingModuleController {
 
     private final TrainingModuleService trainingModuleService;
+    private final CourseImportService courseImportService;
 
     @PostMapping
     public ResponseEntity<TrainingModuleResponse> createModule(@Valid @RequestBody TrainingModuleRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(trainingModuleService.createModule(request));
     }
 
+    /**
+     * Create a training's modules, content, quizzes and questions from one course document
+     */
+    @PostMapping("/training/{trainingId}/import")
+    public ResponseEntity<CourseImportResponse> importCourse(@PathVariable UUID trainingId,
+                                                             @Valid @RequestBody CourseImportRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(courseImportService.importCourse(trainingId, request));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TrainingModuleResponse> getModule(@PathVariable UUID id) {
         return ResponseEntity.ok(trainingModuleService.getModuleById(id));
@@ -0,0 +1,62 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.PrerequisiteCheckResponse;
+import com.lms.trainingservice.dto.PrerequisiteRequest;
+import com.lms.trainingservice.dto.PrerequisiteResponse;
+import com.lms.trainingservice.service.PrerequisiteService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST Controller for Training Prerequisite APIs
+ */
+@RestController
+@RequestMapping("/api/trainings/{id}/prerequisites")
+@RequiredArgsConstructor
+public class TrainingPrerequisiteController {
+
+    private final PrerequisiteService prerequisiteService;
+
+    /**
+     * Get direct and transitive prerequisites of a training
+     */
+    @GetMapping
+    public ResponseEntity<PrerequisiteResponse> getPrerequisites(@PathVariable UUID id) {
+        return ResponseEntity.ok(prerequisiteService.getPrerequisites(id));
+    }
+
+    /**
+     * Add a prerequisite to a training (admin)
+     */
+    @PostMapping
+    public ResponseEntity<PrerequisiteResponse> addPrerequisite(
+            @PathVariable UUID id,
+            @Valid @RequestBody PrerequisiteRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(prerequisiteService.addPrerequisite(id, request.getPrerequisiteTrainingId()));
+    }
+
+    /**
+     * Remove a prerequisite from a training (admin)
+     */
+    @DeleteMapping("/{prerequisiteId}")
+    public ResponseEntity<Void> removePrerequisite(@PathVariable UUID id, @PathVariable UUID prerequisiteId) {
+        prerequisiteService.removePrerequisite(id, prerequisiteId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Check whether the current user has completed every prerequisite of a training
+     */
+    @GetMapping("/check")
+    public ResponseEntity<PrerequisiteCheckResponse> check(@PathVariable UUID id, HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.ok(prerequisiteService.check(userId, id));
+    }
+}
@@ -0,0 +1,47 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.VideoHeartbeatBatchRequest;
+import com.lms.trainingservice.dto.VideoProgressResponse;
+import com.lms.trainingservice.service.VideoProgressService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST Controller for video progress heartbeats
+ */
+@RestController
+@RequestMapping("/api/content")
+@RequiredArgsConstructor
+public class VideoProgressController {
+
+    private final VideoProgressService videoProgressService;
+
+    /**
+     * Submit buffered player heartbeats for the current user
+     */
+    @PostMapping("/heartbeats")
+    public ResponseEntity<Map<String, Integer>> recordHeartbeats(
+            @Valid @RequestBody VideoHeartbeatBatchRequest request,
+            HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        int accepted = videoProgressService.recordHeartbeats(userId, request);
+        return ResponseEntity.accepted().body(Map.of("accepted", accepted));
+    }
+
+    /**
+     * Get the current user's progress on a video
+     */
+    @GetMapping("/{videoId}/progress/my")
+    public ResponseEntity<VideoProgressResponse> getMyProgress(
+            @PathVariable UUID videoId,
+            HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        return ResponseEntity.ok(videoProgressService.getProgress(userId, videoId));
+    }
+}
@@ -0,0 +1,65 @@
+package com.lms.trainingservice.controller;
+
+import com.lms.trainingservice.dto.ApprovalInboxEntry;
+import com.lms.trainingservice.dto.WorkflowDecisionRequest;
+import com.lms.trainingservice.dto.WorkflowResponse;
+import com.lms.trainingservice.service.WorkflowEngine;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for approval workflows
+ */
+@RestController
+@RequestMapping("/api/workflows")
+@RequiredArgsConstructor
+public class WorkflowController {
+
+    private final WorkflowEngine workflowEngine;
+
+    /**
+     * Steps awaiting the current user's role
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<List<ApprovalInboxEntry>> getInbox(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletRequest httpRequest) {
+        String role = (String) httpRequest.getAttribute("userRole");
+        return ResponseEntity.ok(workflowEngine.getInbox(role, page, size));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<WorkflowResponse> getWorkflow(@PathVariable UUID id) {
+        return ResponseEntity.ok(workflowEngine.getWorkflow(id));
+    }
+
+    @PostMapping("/steps/{stepId}/approve")
+    public ResponseEntity<WorkflowResponse> approve(
+            @PathVariable UUID stepId,
+            @RequestBody(required = false) WorkflowDecisionRequest request,
+            HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(decide(stepId, true, request, httpRequest));
+    }
+
+    @PostMapping("/steps/{stepId}/reject")
+    public ResponseEntity<WorkflowResponse> reject(
+            @PathVariable UUID stepId,
+            @RequestBody(required = false) WorkflowDecisionRequest request,
+            HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(decide(stepId, false, request, httpRequest));
+    }
+
+    private WorkflowResponse decide(UUID stepId, boolean approved, WorkflowDecisionRequest request,
+                                    HttpServletRequest httpRequest) {
+        UUID userId = UUID.fromString((String) httpRequest.getAttribute("userId"));
+        String role = (String) httpRequest.getAttribute("userRole");
+        WorkflowDecisionRequest decision = request != null ? request : new WorkflowDecisionRequest();
+        return workflowEngine.decide(stepId, userId, role, approved, decision.getComments(), decision.getVersion());
+    }
+}
@@ -0,0 +1,21 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Analytics Rebuild Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsRebuildResponse {
+
+    private Integer trainings;
+    private Integer chunks;
+    private Long durationMillis;
+
+}
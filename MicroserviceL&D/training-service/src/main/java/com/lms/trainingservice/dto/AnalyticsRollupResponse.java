@@ -0,0 +1,22 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Analytics Rollup Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsRollupResponse {
+
+    private String mode;
+    private Integer departments;
+    private Integer users;
+    private Long durationMillis;
+
+}
@@ -0,0 +1,32 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Approval Inbox Entry DTO: a pending step awaiting the caller's role; entityTitle is set for trainings
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApprovalInboxEntry {
+
+    private UUID stepId;
+    private UUID workflowId;
+    private String workflowType;
+    private Integer stepNumber;
+    private String approverRole;
+    private String entityType;
+    private UUID entityId;
+    private String entityTitle;
+    private UUID initiatedBy;
+    private Integer version;
+    private LocalDateTime requestedAt;
+
+}
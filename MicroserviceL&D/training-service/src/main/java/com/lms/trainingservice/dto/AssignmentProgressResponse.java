@@ -0,0 +1,28 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Assignment Progress Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentProgressResponse {
+
+    private UUID assignmentId;
+    private UUID trainingId;
+    private String status;
+    private Integer usersScanned;
+    private Integer usersAssigned;
+    private LocalDateTime dueDate;
+    private LocalDateTime updatedAt;
+
+}
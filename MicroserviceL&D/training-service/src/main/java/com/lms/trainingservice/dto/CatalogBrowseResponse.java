@@ -0,0 +1,26 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog Browse Response DTO; facets maps each facet to its value counts, largest first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogBrowseResponse {
+
+    private List<TrainingResponse> trainings;
+    private Long totalElements;
+    private Integer page;
+    private Integer size;
+    private Map<String, Map<String, Integer>> facets;
+
+}
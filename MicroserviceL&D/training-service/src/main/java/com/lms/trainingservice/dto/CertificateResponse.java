@@ -0,0 +1,28 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Certificate Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateResponse {
+
+    private UUID id;
+    private UUID trainingId;
+    private String trainingTitle;
+    private String status;
+    private String verificationCode;
+    private String downloadUrl;
+    private LocalDateTime issuedAt;
+
+}
@@ -0,0 +1,24 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Public certificate verification DTO; holds only what is printed on the certificate
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateVerificationResponse {
+
+    private String verificationCode;
+    private String holderName;
+    private String trainingTitle;
+    private LocalDateTime issuedAt;
+
+}
@@ -0,0 +1,33 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Content Upload Response DTO
+ * The upload id is also the id of the training content created for the file
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentUploadResponse {
+
+    private UUID id;
+    private String contentType;
+    private String fileName;
+    private String mimeType;
+    private Long fileSize;
+    private String checksumSha256;
+    private String uploadStatus;
+    private Integer durationSeconds;
+    private String resolution;
+    private String codec;
+    private LocalDateTime createdAt;
+
+}
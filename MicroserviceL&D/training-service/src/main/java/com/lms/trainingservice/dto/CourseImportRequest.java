@@ -0,0 +1,113 @@
+package com.lms.trainingservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Course Import Request DTO
+ * A whole course tree for one training: modules with their content, quizzes and questions.
+ * JSON-valued fields (metadata, options, correctAnswer) are JSON documents passed as strings
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseImportRequest {
+
+    @NotEmpty(message = "At least one module is required")
+    @Size(max = 500, message = "At most 500 modules can be imported at once")
+    @Valid
+    private List<Module> modules;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Module {
+
+        @NotBlank(message = "Module title is required")
+        @Size(max = 255, message = "Module title must be at most 255 characters")
+        private String title;
+
+        private String description;
+
+        // Appended after the training's existing modules when omitted
+        private Integer sequenceOrder;
+
+        @Size(max = 50, message = "Module content type must be at most 50 characters")
+        private String contentType;
+
+        private Integer estimatedDurationMinutes;
+
+        @Size(max = 1000, message = "At most 1000 content items per module")
+        @Valid
+        private List<Content> contents;
+
+        @Size(max = 100, message = "At most 100 quizzes per module")
+        @Valid
+        private List<Quiz> quizzes;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Content {
+
+        @Size(max = 500, message = "Content URL must be at most 500 characters")
+        private String contentUrl;
+
+        @Size(max = 50, message = "Content type must be at most 50 characters")
+        private String contentType;
+
+        private Long fileSize;
+
+        private String metadata;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quiz {
+
+        @NotBlank(message = "Quiz title is required")
+        @Size(max = 255, message = "Quiz title must be at most 255 characters")
+        private String title;
+
+        private Integer passingScore;
+
+        private Integer timeLimitMinutes;
+
+        @Size(max = 1000, message = "At most 1000 questions per quiz")
+        @Valid
+        private List<Question> questions;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Question {
+
+        @NotBlank(message = "Question text is required")
+        private String questionText;
+
+        @Size(max = 20, message = "Question type must be at most 20 characters")
+        private String questionType;
+
+        private String options;
+
+        private String correctAnswer;
+
+        private Integer points;
+    }
+}
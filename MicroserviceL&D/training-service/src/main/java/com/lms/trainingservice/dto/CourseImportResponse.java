@@ -0,0 +1,28 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Course Import Response DTO
+ * The created modules with their content, quizzes and questions, in document order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseImportResponse {
+
+    private UUID trainingId;
+    private int moduleCount;
+    private int contentCount;
+    private int quizCount;
+    private int questionCount;
+    private List<TrainingModuleResponse> modules;
+
+}
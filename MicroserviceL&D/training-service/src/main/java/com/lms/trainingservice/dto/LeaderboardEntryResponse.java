@@ -0,0 +1,25 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Leaderboard Entry Response DTO; userId and name are empty on department boards
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryResponse {
+
+    private Long rank;
+    private UUID userId;
+    private String name;
+    private String department;
+    private Double score;
+
+}
@@ -0,0 +1,22 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Leaderboard Rebuild Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardRebuildResponse {
+
+    private Long completionRows;
+    private Long quizRows;
+    private Integer keys;
+    private Long durationMillis;
+
+}
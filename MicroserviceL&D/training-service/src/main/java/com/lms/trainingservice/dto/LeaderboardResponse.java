@@ -0,0 +1,29 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Leaderboard Response DTO
+ * snapshotAt is set when the entries come from a Postgres snapshot instead of the live board
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardResponse {
+
+    private String metric;
+    private String period;
+    private String scope;
+    private Long rank;
+    private Double score;
+    private List<LeaderboardEntryResponse> entries;
+    private LocalDateTime snapshotAt;
+
+}
@@ -0,0 +1,27 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Learning Path Progress Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LearningPathProgressResponse {
+
+    private UUID pathId;
+    private UUID userId;
+    private Integer completedTrainings;
+    private Integer totalTrainings;
+    private Integer progressPercentage;
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,28 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Learning Path Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LearningPathResponse {
+
+    private UUID id;
+    private String title;
+    private String description;
+    private List<UUID> trainingIds;
+    private UUID createdBy;
+    private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,30 @@
+package com.lms.trainingservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Mandatory Training Request DTO
+ * At least one of role and department should be set; a rule with neither targets every user
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MandatoryTrainingRequest {
+
+    @NotNull(message = "Training ID is required")
+    private UUID trainingId;
+
+    private String role;
+    private String department;
+    private LocalDateTime effectiveFrom;
+    private LocalDateTime dueDate;
+
+}
@@ -0,0 +1,27 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Mandatory Training Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MandatoryTrainingResponse {
+
+    private UUID id;
+    private UUID trainingId;
+    private String role;
+    private String department;
+    private LocalDateTime effectiveFrom;
+    private AssignmentProgressResponse assignment;
+
+}
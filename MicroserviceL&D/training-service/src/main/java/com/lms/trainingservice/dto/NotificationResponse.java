@@ -0,0 +1,29 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Notification Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationResponse {
+
+    private UUID id;
+    private UUID userId;
+    private String type;
+    private String title;
+    private String message;
+    private Boolean readStatus;
+    private String actionUrl;
+    private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,24 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Prerequisite Check Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrerequisiteCheckResponse {
+
+    private UUID trainingId;
+    private Boolean eligible;
+    private List<UUID> missingPrerequisites;
+
+}
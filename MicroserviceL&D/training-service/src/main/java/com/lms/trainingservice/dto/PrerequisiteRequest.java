@@ -0,0 +1,23 @@
+package com.lms.trainingservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Prerequisite Request DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrerequisiteRequest {
+
+    @NotNull(message = "Prerequisite training ID is required")
+    private UUID prerequisiteTrainingId;
+
+}
@@ -0,0 +1,24 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Prerequisite Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrerequisiteResponse {
+
+    private UUID trainingId;
+    private List<UUID> directPrerequisites;
+    private List<UUID> transitivePrerequisites;
+
+}
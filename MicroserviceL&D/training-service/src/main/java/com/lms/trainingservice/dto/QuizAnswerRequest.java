@@ -0,0 +1,29 @@
+package com.lms.trainingservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Answer to a single quiz question
+ * Choice questions use selectedOptions (zero-based option indexes), free-text questions use textAnswer
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizAnswerRequest {
+
+    @NotNull(message = "Question ID is required")
+    private UUID questionId;
+
+    private List<Integer> selectedOptions;
+
+    private String textAnswer;
+
+}
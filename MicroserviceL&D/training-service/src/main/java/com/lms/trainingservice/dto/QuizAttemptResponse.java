@@ -0,0 +1,31 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Quiz Attempt Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizAttemptResponse {
+
+    private UUID id;
+    private UUID quizId;
+    private UUID userId;
+    private Integer score;
+    private Integer maxScore;
+    private Integer correctAnswers;
+    private Integer totalQuestions;
+    private Boolean passed;
+    private Integer attemptNumber;
+    private LocalDateTime completedAt;
+
+}
@@ -0,0 +1,25 @@
+package com.lms.trainingservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Quiz Submission Request DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizSubmissionRequest {
+
+    @NotNull(message = "Answers are required")
+    @Valid
+    private List<QuizAnswerRequest> answers;
+
+}
@@ -0,0 +1,22 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Recommendation Rebuild Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationRebuildResponse {
+
+    private Integer trainings;
+    private Integer learners;
+    private Long enrollments;
+    private Long durationMillis;
+
+}
@@ -0,0 +1,27 @@
+package com.lms.trainingservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Report Request DTO
+ * Supported filters: trainingId, department, status, from and to (ISO date or date-time)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportRequest {
+
+    @NotBlank(message = "Report type is required")
+    private String reportType;
+
+    private String format;
+    private Map<String, Object> filters;
+
+}
@@ -0,0 +1,27 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Training Analytics Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingAnalyticsResponse {
+
+    private UUID trainingId;
+    private Long totalEnrollments;
+    private Long totalCompletions;
+    private Double completionRate;
+    private Double averageCompletionTimeHours;
+    private LocalDateTime calculatedAt;
+
+}
@@ -0,0 +1,25 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Training Recommendation Response DTO; score is null for popularity fallbacks
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingRecommendationResponse {
+
+    private UUID trainingId;
+    private String title;
+    private String category;
+    private String difficultyLevel;
+    private Double score;
+
+}
@@ -0,0 +1,24 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Compact user entry read from the users table by bulk jobs
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDirectoryEntry {
+
+    private UUID id;
+    private String department;
+    private String role;
+    private String status;
+
+}
@@ -0,0 +1,27 @@
+package com.lms.trainingservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch of heartbeats buffered by a player
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoHeartbeatBatchRequest {
+
+    @NotEmpty(message = "Heartbeats are required")
+    @Size(max = 500, message = "At most 500 heartbeats per batch")
+    @Valid
+    private List<VideoHeartbeatRequest> heartbeats;
+
+}
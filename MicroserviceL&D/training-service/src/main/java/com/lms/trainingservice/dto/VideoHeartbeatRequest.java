@@ -0,0 +1,35 @@
+package com.lms.trainingservice.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One player heartbeat: the span of the video played since the previous heartbeat, in seconds
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoHeartbeatRequest {
+
+    @NotNull(message = "Video ID is required")
+    private UUID videoId;
+
+    @NotNull(message = "Start position is required")
+    @Min(value = 0, message = "Start position must not be negative")
+    private Integer startPosition;
+
+    @NotNull(message = "Position is required")
+    @Min(value = 0, message = "Position must not be negative")
+    private Integer position;
+
+    @Min(value = 1, message = "Total duration must be positive")
+    private Integer totalDuration;
+
+}
@@ -0,0 +1,26 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Video Progress Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoProgressResponse {
+
+    private UUID videoId;
+    private UUID userId;
+    private Integer watchedDuration;
+    private Integer totalDuration;
+    private Integer lastPosition;
+    private Boolean completed;
+
+}
@@ -0,0 +1,20 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Workflow Decision Request DTO; version, when given, must match the workflow's current version
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowDecisionRequest {
+
+    private String comments;
+    private Integer version;
+
+}
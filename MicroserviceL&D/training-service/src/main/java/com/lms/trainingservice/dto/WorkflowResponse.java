@@ -0,0 +1,33 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Workflow Response DTO; version is passed back with a decision to detect concurrent changes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowResponse {
+
+    private UUID id;
+    private String workflowType;
+    private String entityType;
+    private UUID entityId;
+    private UUID initiatedBy;
+    private String status;
+    private Integer currentStep;
+    private Integer version;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private List<WorkflowStepResponse> steps;
+
+}
@@ -0,0 +1,29 @@
+package com.lms.trainingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Workflow Step Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowStepResponse {
+
+    private UUID id;
+    private Integer stepNumber;
+    private String approverRole;
+    private UUID approverId;
+    private String status;
+    private String comments;
+    private LocalDateTime createdAt;
+    private LocalDateTime approvedAt;
+
+}
@@ -0,0 +1,65 @@
+package com.lms.trainingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Assignment Entity
+ * Assignment of a training to a set of users, with the progress of its fan-out into user_assignments
+ */
+@Entity
+@Table(name = "assignments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Assignment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "training_id", nullable = false)
+    private UUID trainingId;
+
+    @Column(name = "assigned_by")
+    private UUID assignedBy;
+
+    @Column(name = "assignment_type", length = 20)
+    private String assignmentType; // OPTIONAL, MANDATORY
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "mandatory_training_id", unique = true)
+    private UUID mandatoryTrainingId;
+
+    @Column(length = 20)
+    private String status; // PENDING, RUNNING, COMPLETED, FAILED
+
+    @Column(name = "users_scanned")
+    private Integer usersScanned;
+
+    @Column(name = "users_assigned")
+    private Integer usersAssigned;
+
+    @Column(name = "last_user_id")
+    private UUID lastUserId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+}
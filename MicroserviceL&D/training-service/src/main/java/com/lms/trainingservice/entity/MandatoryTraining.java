@@ -0,0 +1,43 @@
+package com.lms.trainingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * MandatoryTraining Entity
+ * Rule making a training mandatory for every user matching a role and/or department
+ */
+@Entity
+@Table(name = "mandatory_trainings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MandatoryTraining {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "training_id", nullable = false)
+    private UUID trainingId;
+
+    @Column(length = 50)
+    private String role;
+
+    @Column(length = 100)
+    private String department;
+
+    @Column(name = "effective_from")
+    private LocalDateTime effectiveFrom;
+
+    @Column(name = "created_by")
+    private UUID createdBy;
+
+}
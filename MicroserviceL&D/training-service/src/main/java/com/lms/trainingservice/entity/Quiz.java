@@ -37,6 +37,10 @@ public class Quiz {
     @Column(name = "time_limit_minutes")
     private Integer timeLimitMinutes;
 
+    // Bumped whenever the quiz or its answer key changes; compiled answer keys are cached per version
+    @Column(name = "version")
+    private Integer version;
+
     @OneToMany(mappedBy = "quizId", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<QuizQuestion> questions;
 
@@ -0,0 +1,48 @@
+package com.lms.trainingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * QuizAttempt Entity
+ * Represents one graded submission of a quiz by a user
+ */
+@Entity
+@Table(name = "quiz_attempts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAttempt {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private UUID quizId;
+
+    @Column
+    private Integer score;
+
+    @Column(name = "max_score")
+    private Integer maxScore;
+
+    @Column(name = "attempt_number")
+    private Integer attemptNumber;
+
+    @Column(columnDefinition = "jsonb")
+    private String answers;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+}
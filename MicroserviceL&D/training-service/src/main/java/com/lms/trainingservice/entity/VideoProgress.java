@@ -0,0 +1,46 @@
+package com.lms.trainingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * VideoProgress Entity
+ * Watched time and resume position of a user on a video content item
+ * Rows are written by VideoProgressAggregator with batched upserts
+ */
+@Entity
+@Table(name = "video_progress",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "video_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoProgress {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "video_id", nullable = false)
+    private UUID videoId;
+
+    @Column(name = "watched_duration")
+    private Integer watchedDuration;
+
+    @Column(name = "total_duration")
+    private Integer totalDuration;
+
+    @Column(name = "last_position")
+    private Integer lastPosition;
+
+    @Column
+    private Boolean completed;
+
+}
@@ -0,0 +1,43 @@
+package com.lms.trainingservice.kafka;
+
+import com.lms.trainingservice.constant.AppConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kafka producer for assignment events
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssignmentEventProducer {
+
+    private final KafkaEventPublisher eventPublisher;
+
+    /**
+     * Publish one event for a whole batch of users assigned a training, instead of one event per user
+     */
+    public void publishBatchAssigned(UUID assignmentId, UUID trainingId, String assignmentType,
+                                     LocalDateTime dueDate, List<UUID> userIds) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventId", UUID.randomUUID().toString());
+        event.put("assignmentId", assignmentId.toString());
+        event.put("trainingId", trainingId.toString());
+        event.put("assignmentType", assignmentType);
+        event.put("dueDate", dueDate != null ? dueDate.toString() : null);
+        event.put("userIds", userIds.stream().map(UUID::toString).toList());
+        event.put("userCount", userIds.size());
+        event.put("eventType", "ASSIGNMENT_BATCH_CREATED");
+        event.put("timestamp", LocalDateTime.now());
+
+        eventPublisher.publish(AppConstants.KAFKA_TOPIC_ASSIGNMENT_BATCH, assignmentId.toString(), event);
+        log.debug("Published assignment batch of {} users for assignment {}", userIds.size(), assignmentId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.lms.trainingservice.kafka;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.entity.TrainingEnrollment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kafka producer for enrollment lifecycle events
+ * Events are keyed by training id so every event of one training lands on the same partition, in order
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentEventProducer {
+
+    private final KafkaEventPublisher eventPublisher;
+
+    /**
+     * Publish enrollment created event
+     */
+    public void publishEnrolled(TrainingEnrollment enrollment) {
+        Map<String, Object> event = baseEvent(enrollment, "ENROLLMENT_CREATED");
+        send(AppConstants.KAFKA_TOPIC_ENROLLMENT_CREATED, enrollment, event);
+    }
+
+    /**
+     * Publish enrollment progress event
+     */
+    public void publishProgress(TrainingEnrollment enrollment) {
+        Map<String, Object> event = baseEvent(enrollment, "ENROLLMENT_PROGRESS");
+        event.put("progressPercentage", enrollment.getProgressPercentage());
+        send(AppConstants.KAFKA_TOPIC_ENROLLMENT_PROGRESS, enrollment, event);
+    }
+
+    /**
+     * Publish enrollment completed event
+     */
+    public void publishCompleted(UUID userId, UUID trainingId, LocalDateTime enrolledAt, LocalDateTime completedAt) {
+        Map<String, Object> event = baseEvent(userId, trainingId, "ENROLLMENT_COMPLETED");
+        event.put("completionHours", completionHours(enrolledAt, completedAt));
+        send(AppConstants.KAFKA_TOPIC_ENROLLMENT_COMPLETED, trainingId, event);
+    }
+
+    /**
+     * Publish enrollment dropped event; carries the completion so aggregates can be reversed
+     */
+    public void publishDropped(TrainingEnrollment enrollment) {
+        Map<String, Object> event = baseEvent(enrollment, "ENROLLMENT_DROPPED");
+        boolean completed = AppConstants.ENROLLMENT_STATUS_COMPLETED.equals(enrollment.getEnrollmentStatus());
+        event.put("completed", completed);
+        if (completed) {
+            event.put("completionHours", completionHours(enrollment.getEnrolledAt(), enrollment.getCompletedAt()));
+        }
+        send(AppConstants.KAFKA_TOPIC_ENROLLMENT_DROPPED, enrollment, event);
+    }
+
+    private Map<String, Object> baseEvent(TrainingEnrollment enrollment, String eventType) {
+        return baseEvent(enrollment.getUserId(), enrollment.getTraining().getId(), eventType);
+    }
+
+    private Map<String, Object> baseEvent(UUID userId, UUID trainingId, String eventType) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventId", UUID.randomUUID().toString());
+        event.put("userId", userId.toString());
+        event.put("trainingId", trainingId.toString());
+        event.put("eventType", eventType);
+        event.put("timestamp", LocalDateTime.now());
+        return event;
+    }
+
+    private static Double completionHours(LocalDateTime enrolledAt, LocalDateTime completedAt) {
+        if (enrolledAt == null || completedAt == null) {
+            return null;
+        }
+        return Math.max(0, Duration.between(enrolledAt, completedAt).toSeconds()) / 3600.0;
+    }
+
+    private void send(String topic, TrainingEnrollment enrollment, Map<String, Object> event) {
+        send(topic, enrollment.getTraining().getId(), event);
+    }
+
+    private void send(String topic, UUID trainingId, Map<String, Object> event) {
+        eventPublisher.publish(topic, trainingId.toString(), event);
+    }
+}
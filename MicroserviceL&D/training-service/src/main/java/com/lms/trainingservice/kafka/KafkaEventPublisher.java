@@ -0,0 +1,42 @@
+package com.lms.trainingservice.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Sends events to Kafka once the surrounding transaction commits, or immediately outside a transaction
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaEventPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public void publish(String topic, String key, Map<String, Object> event) {
+        Runnable send = () -> kafkaTemplate.send(topic, key, event)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.warn("Failed to publish {} with key {}: {}", event.get("eventType"), key, error.getMessage());
+                    }
+                });
+
+        // Only announce changes that actually committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lms.trainingservice.kafka;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kafka consumer feeding completions and graded quizzes into the leaderboards
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardEventConsumer {
+
+    private final LeaderboardService leaderboardService;
+
+    @KafkaListener(topics = AppConstants.KAFKA_TOPIC_ENROLLMENT_COMPLETED, groupId = AppConstants.KAFKA_GROUP_LEADERBOARDS)
+    public void onEnrollmentCompleted(Map<String, Object> event) {
+        if (event.get("userId") == null || event.get("trainingId") == null) {
+            log.warn("Ignoring completion event without user or training: {}", event.get("eventId"));
+            return;
+        }
+        leaderboardService.recordCompletion(UUID.fromString(event.get("userId").toString()),
+                UUID.fromString(event.get("trainingId").toString()));
+    }
+
+    @KafkaListener(topics = AppConstants.KAFKA_TOPIC_QUIZ_GRADED, groupId = AppConstants.KAFKA_GROUP_LEADERBOARDS)
+    public void onQuizGraded(Map<String, Object> event) {
+        if (event.get("userId") == null || event.get("quizId") == null || !(event.get("score") instanceof Number score)) {
+            log.warn("Ignoring quiz graded event without user, quiz or score: {}", event.get("eventId"));
+            return;
+        }
+        leaderboardService.recordQuizScore(UUID.fromString(event.get("userId").toString()),
+                UUID.fromString(event.get("quizId").toString()), score.intValue());
+    }
+}
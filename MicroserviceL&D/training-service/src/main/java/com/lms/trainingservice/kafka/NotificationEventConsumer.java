@@ -0,0 +1,74 @@
+package com.lms.trainingservice.kafka;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.entity.Training;
+import com.lms.trainingservice.repository.TrainingRepository;
+import com.lms.trainingservice.service.NotificationDispatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kafka consumer turning assignment and enrollment events into user notifications
+ * The event id travels with the notifications, so a redelivered event skips the users it already reached
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationEventConsumer {
+
+    private final NotificationDispatcher dispatcher;
+    private final TrainingRepository trainingRepository;
+
+    @KafkaListener(topics = AppConstants.KAFKA_TOPIC_ASSIGNMENT_BATCH, groupId = AppConstants.KAFKA_GROUP_NOTIFICATIONS)
+    public void onAssignmentBatch(Map<String, Object> event) {
+        if (!(event.get("userIds") instanceof List<?> userIds) || event.get("trainingId") == null) {
+            log.warn("Ignoring assignment batch event without users or training: {}", event.get("eventId"));
+            return;
+        }
+        UUID trainingId = UUID.fromString(event.get("trainingId").toString());
+        Map<String, String> variables = variables(trainingId);
+        if (event.get("dueDate") != null) {
+            variables.put("due_date", event.get("dueDate").toString());
+        }
+        dispatcher.dispatch(AppConstants.NOTIFICATION_TYPE_TRAINING_ASSIGNED,
+                userIds.stream().map(id -> UUID.fromString(id.toString())).toList(),
+                variables, actionUrl(trainingId), eventId(event));
+    }
+
+    @KafkaListener(topics = AppConstants.KAFKA_TOPIC_ENROLLMENT_COMPLETED, groupId = AppConstants.KAFKA_GROUP_NOTIFICATIONS)
+    public void onEnrollmentCompleted(Map<String, Object> event) {
+        if (event.get("userId") == null || event.get("trainingId") == null) {
+            log.warn("Ignoring completion event without user or training: {}", event.get("eventId"));
+            return;
+        }
+        UUID trainingId = UUID.fromString(event.get("trainingId").toString());
+        dispatcher.dispatch(AppConstants.NOTIFICATION_TYPE_TRAINING_COMPLETED,
+                List.of(UUID.fromString(event.get("userId").toString())),
+                variables(trainingId), actionUrl(trainingId), eventId(event));
+    }
+
+    private Map<String, String> variables(UUID trainingId) {
+        Map<String, String> variables = new HashMap<>();
+        variables.put("training_title", trainingRepository.findById(trainingId).map(Training::getTitle).orElse(""));
+        return variables;
+    }
+
+    private static UUID eventId(Map<String, Object> event) {
+        try {
+            return event.get("eventId") != null ? UUID.fromString(event.get("eventId").toString()) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String actionUrl(UUID trainingId) {
+        return "/trainings/" + trainingId;
+    }
+}
@@ -0,0 +1,36 @@
+package com.lms.trainingservice.kafka;
+
+import com.lms.trainingservice.constant.AppConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kafka producer for graded quiz attempts
+ * Events are keyed by user id so one user's attempts are consumed in order
+ */
+@Service
+@RequiredArgsConstructor
+public class QuizEventProducer {
+
+    private final KafkaEventPublisher eventPublisher;
+
+    /**
+     * Publish quiz graded event
+     */
+    public void publishGraded(UUID userId, UUID quizId, int score, int maxScore) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventId", UUID.randomUUID().toString());
+        event.put("userId", userId.toString());
+        event.put("quizId", quizId.toString());
+        event.put("score", score);
+        event.put("maxScore", maxScore);
+        event.put("eventType", "QUIZ_GRADED");
+        event.put("timestamp", LocalDateTime.now());
+        eventPublisher.publish(AppConstants.KAFKA_TOPIC_QUIZ_GRADED, userId.toString(), event);
+    }
+}
@@ -0,0 +1,57 @@
+package com.lms.trainingservice.kafka;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.service.ProcessedEventStore;
+import com.lms.trainingservice.service.TrainingAnalyticsAggregator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kafka consumer feeding enrollment lifecycle events into the analytics aggregator
+ * Redelivered events are skipped by event id; the record timestamp places each event against analytics rebuilds
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrainingAnalyticsConsumer {
+
+    private final TrainingAnalyticsAggregator analyticsAggregator;
+    private final ProcessedEventStore processedEventStore;
+
+    @KafkaListener(topics = {
+            AppConstants.KAFKA_TOPIC_ENROLLMENT_CREATED,
+            AppConstants.KAFKA_TOPIC_ENROLLMENT_COMPLETED,
+            AppConstants.KAFKA_TOPIC_ENROLLMENT_DROPPED
+    }, groupId = AppConstants.KAFKA_GROUP_ANALYTICS)
+    public void onEnrollmentEvent(Map<String, Object> event, @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp) {
+        Object trainingId = event.get("trainingId");
+        if (trainingId == null) {
+            log.warn("Ignoring enrollment event without training id: {}", event.get("eventId"));
+            return;
+        }
+        UUID id = UUID.fromString(trainingId.toString());
+        if (!processedEventStore.markProcessed(AppConstants.KAFKA_GROUP_ANALYTICS, event.get("eventId"))) {
+            log.debug("Skipping redelivered enrollment event {}", event.get("eventId"));
+            return;
+        }
+
+        switch (String.valueOf(event.get("eventType"))) {
+            case "ENROLLMENT_CREATED" -> analyticsAggregator.onEnrolled(id, timestamp);
+            case "ENROLLMENT_COMPLETED" -> analyticsAggregator.onCompleted(id, hours(event), timestamp);
+            case "ENROLLMENT_DROPPED" -> analyticsAggregator.onDropped(id,
+                    Boolean.TRUE.equals(event.get("completed")), hours(event), timestamp);
+            default -> log.debug("Ignoring enrollment event type {}", event.get("eventType"));
+        }
+    }
+
+    private static Double hours(Map<String, Object> event) {
+        return event.get("completionHours") instanceof Number hours ? hours.doubleValue() : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.lms.trainingservice.repository;
+
+import com.lms.trainingservice.entity.Assignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for Assignment entity
+ * Fan-out progress columns are updated by AssignmentEngine through JDBC; this repository is used for reads and creation
+ */
+@Repository
+public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
+
+    /**
+     * Find the assignment generated by a mandatory training rule
+     */
+    Optional<Assignment> findByMandatoryTrainingId(UUID mandatoryTrainingId);
+
+}
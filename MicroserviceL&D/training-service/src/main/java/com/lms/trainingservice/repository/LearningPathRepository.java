@@ -0,0 +1,15 @@
+package com.lms.trainingservice.repository;
+
+import com.lms.trainingservice.entity.LearningPath;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository for LearningPath entity
+ */
+@Repository
+public interface LearningPathRepository extends JpaRepository<LearningPath, UUID> {
+
+}
@@ -0,0 +1,27 @@
+package com.lms.trainingservice.repository;
+
+import com.lms.trainingservice.entity.MandatoryTraining;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for MandatoryTraining entity
+ */
+@Repository
+public interface MandatoryTrainingRepository extends JpaRepository<MandatoryTraining, UUID> {
+
+    /**
+     * Find rules already in effect
+     */
+    List<MandatoryTraining> findByEffectiveFromLessThanEqual(LocalDateTime now);
+
+    /**
+     * Find rules of a training
+     */
+    List<MandatoryTraining> findByTrainingId(UUID trainingId);
+
+}
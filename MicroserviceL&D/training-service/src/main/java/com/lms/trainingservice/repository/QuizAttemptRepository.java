@@ -0,0 +1,22 @@
+package com.lms.trainingservice.repository;
+
+import com.lms.trainingservice.entity.QuizAttempt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for QuizAttempt entity
+ * Inserts go through QuizAttemptWriter in batches; this repository is used for reads
+ */
+@Repository
+public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, UUID> {
+
+    /**
+     * Find a user's attempts for a quiz, most recent first
+     */
+    List<QuizAttempt> findByUserIdAndQuizIdOrderByCompletedAtDesc(UUID userId, UUID quizId);
+
+}
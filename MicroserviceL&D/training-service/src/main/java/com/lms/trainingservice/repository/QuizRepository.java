@@ -2,9 +2,12 @@ package com.lms.trainingservice.repository;
 
 import com.lms.trainingservice.entity.Quiz;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -18,4 +21,10 @@ public interface QuizRepository extends JpaRepository<Quiz, UUID> {
      */
     List<Quiz> findByModuleId(UUID moduleId);
 
+    /**
+     * Current answer-key version of a quiz
+     */
+    @Query("SELECT COALESCE(q.version, 1) FROM Quiz q WHERE q.id = :id")
+    Optional<Integer> findVersionById(@Param("id") UUID id);
+
 }
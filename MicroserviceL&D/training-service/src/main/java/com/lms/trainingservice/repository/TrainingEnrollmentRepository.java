@@ -1,9 +1,11 @@
 package com.lms.trainingservice.repository;
 
 import com.lms.trainingservice.entity.TrainingEnrollment;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,6 +24,13 @@ public interface TrainingEnrollmentRepository extends JpaRepository<TrainingEnro
      */
     Optional<TrainingEnrollment> findByUserIdAndTrainingId(UUID userId, UUID trainingId);
 
+    /**
+     * Find enrollment by user and training, locking it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM TrainingEnrollment e WHERE e.userId = :userId AND e.training.id = :trainingId")
+    Optional<TrainingEnrollment> findForUpdate(@Param("userId") UUID userId, @Param("trainingId") UUID trainingId);
+
     /**
      * Find all enrollments for a user
      */
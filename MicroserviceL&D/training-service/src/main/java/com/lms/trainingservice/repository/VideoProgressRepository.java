@@ -0,0 +1,21 @@
+package com.lms.trainingservice.repository;
+
+import com.lms.trainingservice.entity.VideoProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for VideoProgress entity
+ */
+@Repository
+public interface VideoProgressRepository extends JpaRepository<VideoProgress, UUID> {
+
+    /**
+     * Find progress of a user on a video
+     */
+    Optional<VideoProgress> findByUserIdAndVideoId(UUID userId, UUID videoId);
+
+}
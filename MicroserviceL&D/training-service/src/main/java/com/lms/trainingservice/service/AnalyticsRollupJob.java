@@ -0,0 +1,411 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.AnalyticsRollupResponse;
+import com.lms.trainingservice.dto.UserDirectoryEntry;
+import com.lms.trainingservice.exception.TrainingException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rolls enrollments and quiz attempts up into user_analytics and department_analytics
+ * Departments come from the users table and are joined in memory through dense
+ * UUID to index maps; department totals are computed with fork-join over primitive arrays.
+ * The incremental mode recomputes only departments with activity or membership changes since this instance's
+ * last run, a superset of what changed since any instance last ran. The watermark is the database's clock at
+ * the start of the run and is re-read with an overlap margin, so neither JVM clock skew nor late commits drop
+ * activity. A transaction-scoped advisory lock keeps runs on different instances from overlapping
+ */
+@Component
+@Slf4j
+public class AnalyticsRollupJob {
+
+    private static final String UNASSIGNED_DEPARTMENT = "UNASSIGNED";
+
+    private static final String RUN_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('analytics_rollup'))";
+
+    private static final String ENROLLMENT_STATS_SQL =
+            "SELECT e.user_id, COUNT(*) AS enrollments, "
+                    + "COUNT(*) FILTER (WHERE e.enrollment_status = 'COMPLETED') AS completions, "
+                    + "COALESCE(SUM(t.duration_hours) FILTER (WHERE e.enrollment_status = 'COMPLETED'), 0) AS hours, "
+                    + "MAX(e.last_accessed_at) AS last_activity "
+                    + "FROM training_enrollments e JOIN trainings t ON t.id = e.training_id ";
+
+    private static final String QUIZ_STATS_SQL =
+            "SELECT user_id, SUM(score * 100.0 / max_score) AS score_sum, COUNT(*) AS attempts, "
+                    + "MAX(completed_at) AS last_activity FROM quiz_attempts WHERE max_score > 0 ";
+
+    private static final String WATERMARK_SQL = "SELECT LOCALTIMESTAMP";
+
+    private static final String TOUCHED_USERS_SQL =
+            "SELECT user_id FROM training_enrollments WHERE updated_at > ? "
+                    + "UNION SELECT user_id FROM quiz_attempts WHERE completed_at > ?";
+
+    private static final String UPSERT_DEPARTMENT_SQL =
+            "INSERT INTO department_analytics (department, total_users, active_users, completion_rate, average_score, calculated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP) "
+                    + "ON CONFLICT (department) DO UPDATE SET "
+                    + "total_users = EXCLUDED.total_users, active_users = EXCLUDED.active_users, "
+                    + "completion_rate = EXCLUDED.completion_rate, average_score = EXCLUDED.average_score, "
+                    + "calculated_at = EXCLUDED.calculated_at";
+
+    private static final String UPSERT_USER_SQL =
+            "INSERT INTO user_analytics (user_id, total_trainings_completed, total_hours_learned, average_quiz_score, "
+                    + "last_activity_at, calculated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP) "
+                    + "ON CONFLICT (user_id) DO UPDATE SET "
+                    + "total_trainings_completed = EXCLUDED.total_trainings_completed, "
+                    + "total_hours_learned = EXCLUDED.total_hours_learned, "
+                    + "average_quiz_score = EXCLUDED.average_quiz_score, "
+                    + "last_activity_at = EXCLUDED.last_activity_at, calculated_at = EXCLUDED.calculated_at";
+
+    private static final String DELETE_STALE_DEPARTMENTS_SQL =
+            "DELETE FROM department_analytics WHERE department IS NULL OR NOT (department = ANY(?))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserDirectoryService userDirectoryService;
+    private final ForkJoinPool pool;
+    private final Duration activeWindow;
+    private final Duration watermarkOverlap;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    // State of the previous run, used by the incremental mode
+    private Directory lastDirectory;
+    private LocalDateTime lastRunStartedAt;
+
+    public AnalyticsRollupJob(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              UserDirectoryService userDirectoryService,
+                              @Value("${analytics.rollup.parallelism:4}") int parallelism,
+                              @Value("${analytics.rollup.active-days:30}") int activeDays,
+                              @Value("${analytics.rollup.watermark-overlap-ms:120000}") long watermarkOverlapMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userDirectoryService = userDirectoryService;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.activeWindow = Duration.ofDays(activeDays);
+        this.watermarkOverlap = Duration.ofMillis(watermarkOverlapMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.incremental-interval-ms:300000}",
+            initialDelayString = "${analytics.rollup.initial-delay-ms:60000}")
+    public void scheduledIncremental() {
+        runQuietly(false);
+    }
+
+    @Scheduled(cron = "${analytics.rollup.full-cron:0 0 3 * * *}")
+    public void scheduledFull() {
+        runQuietly(true);
+    }
+
+    /**
+     * Run the rollup; an incremental run falls back to a full one when there is no previous run to diff against
+     */
+    public AnalyticsRollupResponse run(boolean full) {
+        AnalyticsRollupResponse response = tryRun(full);
+        if (response == null) {
+            throw new TrainingException("Analytics rollup is already running");
+        }
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Run the rollup unless a run is already in progress here or on another instance; null when skipped
+     */
+    private AnalyticsRollupResponse tryRun(boolean full) {
+        if (!runLock.tryLock()) {
+            return null;
+        }
+        try {
+            // The whole run is one transaction so the advisory lock is held until the results commit
+            return transactionTemplate.execute(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(RUN_LOCK_SQL, Boolean.class))) {
+                    return null;
+                }
+                return full || lastDirectory == null ? runFull() : runIncremental();
+            });
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private void runQuietly(boolean full) {
+        try {
+            if (tryRun(full) == null) {
+                log.debug("Skipped {} analytics rollup, another run holds the lock", full ? "full" : "incremental");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Scheduled {} analytics rollup failed: {}", full ? "full" : "incremental", e.getMessage());
+        }
+    }
+
+    private AnalyticsRollupResponse runFull() {
+        long started = System.currentTimeMillis();
+        LocalDateTime runStartedAt = watermark();
+        Directory directory = loadDirectory();
+
+        DepartmentRollup.UserStats stats = loadStats(directory, null);
+        BitSet allDepartments = new BitSet();
+        allDepartments.set(0, directory.departments.size());
+        int users = write(directory, stats, allDepartments, true);
+
+        remember(directory, runStartedAt);
+        return response("FULL", directory.departments.size(), users, started);
+    }
+
+    private AnalyticsRollupResponse runIncremental() {
+        long started = System.currentTimeMillis();
+        LocalDateTime runStartedAt = watermark();
+        Directory directory = loadDirectory();
+
+        BitSet touched = membershipChanges(lastDirectory, directory);
+        Timestamp since = Timestamp.valueOf(lastRunStartedAt.minus(watermarkOverlap));
+        jdbcTemplate.query(TOUCHED_USERS_SQL, rs -> {
+            Integer user = directory.userIndex.get(rs.getObject(1, UUID.class));
+            if (user != null) {
+                touched.set(directory.userDepartment[user]);
+            }
+        }, since, since);
+
+        if (touched.isEmpty()) {
+            remember(directory, runStartedAt);
+            return response("INCREMENTAL", 0, 0, started);
+        }
+
+        List<UUID> userIds = new ArrayList<>();
+        for (int u = 0; u < directory.userIds.length; u++) {
+            if (touched.get(directory.userDepartment[u])) {
+                userIds.add(directory.userIds[u]);
+            }
+        }
+        DepartmentRollup.UserStats stats = loadStats(directory, userIds);
+        int users = write(directory, stats, touched, false);
+
+        remember(directory, runStartedAt);
+        return response("INCREMENTAL", touched.cardinality(), users, started);
+    }
+
+    private int write(Directory directory, DepartmentRollup.UserStats stats, BitSet departments, boolean full) {
+        boolean[] active = activeUsers(directory, stats);
+        DepartmentRollup rollup = DepartmentRollup.aggregate(stats, directory.userDepartment, active,
+                directory.departments.size(), full ? null : departments, pool);
+
+        List<Integer> departmentRows = departments.stream().boxed().toList();
+        List<Integer> userRows = new ArrayList<>();
+        for (int u = 0; u < directory.userIds.length; u++) {
+            if (departments.get(directory.userDepartment[u])) {
+                userRows.add(u);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPSERT_DEPARTMENT_SQL, departmentRows, 1000, (ps, d) -> {
+                ps.setString(1, directory.departments.get(d));
+                ps.setLong(2, rollup.users[d]);
+                ps.setLong(3, rollup.activeUsers[d]);
+                ps.setDouble(4, round(rollup.completionRate(d)));
+                ps.setObject(5, roundOrNull(rollup.averageScore(d)));
+            });
+            jdbcTemplate.batchUpdate(UPSERT_USER_SQL, userRows, 1000, (ps, u) -> {
+                ps.setObject(1, directory.userIds[u]);
+                ps.setInt(2, stats.completions[u]);
+                ps.setDouble(3, round(stats.hours[u]));
+                ps.setObject(4, roundOrNull(stats.averageScore(u)));
+                ps.setTimestamp(5, stats.lastActivityMillis[u] > 0 ? new Timestamp(stats.lastActivityMillis[u]) : null);
+            });
+            if (full) {
+                jdbcTemplate.update(DELETE_STALE_DEPARTMENTS_SQL, ps -> ps.setArray(1,
+                        ps.getConnection().createArrayOf("varchar", directory.departments.toArray())));
+            }
+        });
+        return userRows.size();
+    }
+
+    /**
+     * Start of the run by the database clock; inside the run's transaction this is the transaction start
+     */
+    private LocalDateTime watermark() {
+        return jdbcTemplate.queryForObject(WATERMARK_SQL, LocalDateTime.class);
+    }
+
+    private Directory loadDirectory() {
+        Directory directory = new Directory();
+        userDirectoryService.forEachPage(page -> page.forEach(directory::add));
+        return directory.seal();
+    }
+
+    /**
+     * Learning statistics of the given users, or of everyone when userIds is null
+     */
+    private DepartmentRollup.UserStats loadStats(Directory directory, List<UUID> userIds) {
+        DepartmentRollup.UserStats stats = new DepartmentRollup.UserStats(directory.userIds.length);
+        String filter = userIds != null ? "user_id = ANY(?) " : "TRUE ";
+        PreparedStatementSetter args = userIds != null
+                ? ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", userIds.toArray()))
+                : ps -> { };
+
+        jdbcTemplate.query(ENROLLMENT_STATS_SQL + "WHERE e." + filter + "GROUP BY e.user_id", args, rs -> {
+            Integer u = directory.userIndex.get(rs.getObject("user_id", UUID.class));
+            if (u != null) {
+                stats.enrollments[u] = rs.getInt("enrollments");
+                stats.completions[u] = rs.getInt("completions");
+                stats.hours[u] = rs.getDouble("hours");
+                stats.lastActivityMillis[u] = Math.max(stats.lastActivityMillis[u], millis(rs, "last_activity"));
+            }
+        });
+        jdbcTemplate.query(QUIZ_STATS_SQL + "AND " + filter + "GROUP BY user_id", args, rs -> {
+            Integer u = directory.userIndex.get(rs.getObject("user_id", UUID.class));
+            if (u != null) {
+                stats.scoreSum[u] = rs.getDouble("score_sum");
+                stats.attempts[u] = rs.getInt("attempts");
+                stats.lastActivityMillis[u] = Math.max(stats.lastActivityMillis[u], millis(rs, "last_activity"));
+            }
+        });
+        return stats;
+    }
+
+    private boolean[] activeUsers(Directory directory, DepartmentRollup.UserStats stats) {
+        long activeSince = System.currentTimeMillis() - activeWindow.toMillis();
+        boolean[] active = new boolean[directory.userIds.length];
+        for (int u = 0; u < active.length; u++) {
+            active[u] = directory.statusActive[u] && stats.lastActivityMillis[u] >= activeSince;
+        }
+        return active;
+    }
+
+    /**
+     * Departments of the new directory whose membership or member status differs from the previous one
+     */
+    private static BitSet membershipChanges(Directory previous, Directory current) {
+        BitSet touched = new BitSet(current.departments.size());
+        boolean[] seen = new boolean[previous.userIds.length];
+        for (int u = 0; u < current.userIds.length; u++) {
+            Integer old = previous.userIndex.get(current.userIds[u]);
+            if (old == null) {
+                touched.set(current.userDepartment[u]);
+                continue;
+            }
+            seen[old] = true;
+            String oldDepartment = previous.departments.get(previous.userDepartment[old]);
+            if (!oldDepartment.equals(current.departments.get(current.userDepartment[u]))
+                    || previous.statusActive[old] != current.statusActive[u]) {
+                touched.set(current.userDepartment[u]);
+                Integer oldInCurrent = current.departmentIndex.get(oldDepartment);
+                if (oldInCurrent != null) {
+                    touched.set(oldInCurrent);
+                }
+            }
+        }
+        for (int old = 0; old < seen.length; old++) {
+            if (!seen[old]) {
+                Integer department = current.departmentIndex.get(previous.departments.get(previous.userDepartment[old]));
+                if (department != null) {
+                    touched.set(department);
+                }
+            }
+        }
+        return touched;
+    }
+
+    private void remember(Directory directory, LocalDateTime runStartedAt) {
+        lastDirectory = directory;
+        lastRunStartedAt = runStartedAt;
+    }
+
+    private static AnalyticsRollupResponse response(String mode, int departments, int users, long started) {
+        long duration = System.currentTimeMillis() - started;
+        log.info("{} analytics rollup wrote {} departments and {} users in {} ms", mode, departments, users, duration);
+        return AnalyticsRollupResponse.builder()
+                .mode(mode)
+                .departments(departments)
+                .users(users)
+                .durationMillis(duration)
+                .build();
+    }
+
+    private static long millis(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.getTime() : 0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static Double roundOrNull(Double value) {
+        return value != null ? round(value) : null;
+    }
+
+    /**
+     * Directory snapshot with dense user and department indexes
+     */
+    private static final class Directory {
+
+        private final Map<UUID, Integer> userIndex = new HashMap<>();
+        private final Map<String, Integer> departmentIndex = new HashMap<>();
+        private final List<String> departments = new ArrayList<>();
+        private final List<UUID> ids = new ArrayList<>();
+        private final List<Integer> departmentOf = new ArrayList<>();
+        private final List<Boolean> activeOf = new ArrayList<>();
+
+        private UUID[] userIds;
+        private int[] userDepartment;
+        private boolean[] statusActive;
+
+        void add(UserDirectoryEntry entry) {
+            if (entry.getId() == null || userIndex.containsKey(entry.getId())) {
+                return;
+            }
+            String department = entry.getDepartment() != null && !entry.getDepartment().isBlank()
+                    ? entry.getDepartment().trim() : UNASSIGNED_DEPARTMENT;
+            int d = departmentIndex.computeIfAbsent(department, name -> {
+                departments.add(name);
+                return departments.size() - 1;
+            });
+            userIndex.put(entry.getId(), ids.size());
+            ids.add(entry.getId());
+            departmentOf.add(d);
+            activeOf.add("ACTIVE".equals(entry.getStatus()));
+        }
+
+        Directory seal() {
+            int count = ids.size();
+            userIds = ids.toArray(new UUID[0]);
+            userDepartment = new int[count];
+            statusActive = new boolean[count];
+            for (int u = 0; u < count; u++) {
+                userDepartment[u] = departmentOf.get(u);
+                statusActive[u] = activeOf.get(u);
+            }
+            ids.clear();
+            departmentOf.clear();
+            activeOf.clear();
+            return this;
+        }
+    }
+}
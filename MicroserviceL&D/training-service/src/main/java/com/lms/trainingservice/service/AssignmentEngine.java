@@ -0,0 +1,222 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.UserDirectoryEntry;
+import com.lms.trainingservice.entity.Assignment;
+import com.lms.trainingservice.entity.MandatoryTraining;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.kafka.AssignmentEventProducer;
+import com.lms.trainingservice.repository.AssignmentRepository;
+import com.lms.trainingservice.repository.MandatoryTrainingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fans mandatory training rules out into user_assignments
+ * Target users are streamed page by page from the user directory; each page is diffed against existing
+ * rows, inserted with one JDBC batch and announced with one aggregated event, in the same transaction
+ * as the progress cursor. Re-runs are idempotent and an interrupted run resumes after its last page
+ */
+@Component
+@Slf4j
+public class AssignmentEngine {
+
+    private static final String CLAIM_SQL =
+            "UPDATE assignments SET status = 'RUNNING', updated_at = CURRENT_TIMESTAMP, "
+                    + "users_scanned = CASE WHEN last_user_id IS NULL THEN 0 ELSE users_scanned END "
+                    + "WHERE id = ? AND (status <> 'RUNNING' OR updated_at < ?)";
+
+    private static final String EXISTING_SQL =
+            "SELECT user_id FROM user_assignments WHERE assignment_id = ? AND user_id = ANY(?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_assignments (id, assignment_id, user_id, status, assigned_at, completion_percentage) "
+                    + "VALUES (?, ?, ?, 'ASSIGNED', CURRENT_TIMESTAMP, 0) "
+                    + "ON CONFLICT (assignment_id, user_id) DO NOTHING";
+
+    private static final String REMINDER_SQL =
+            "INSERT INTO assignment_reminders (user_assignment_id, reminder_type, scheduled_at) "
+                    + "SELECT ua.id, ?, ? FROM user_assignments ua WHERE ua.assignment_id = ? AND ua.user_id = ANY(?)";
+
+    private static final String PROGRESS_SQL =
+            "UPDATE assignments SET users_scanned = users_scanned + ?, users_assigned = users_assigned + ?, "
+                    + "last_user_id = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final String FINISH_SQL =
+            "UPDATE assignments SET status = ?, last_user_id = CASE WHEN ? THEN NULL ELSE last_user_id END, "
+                    + "updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserDirectoryService userDirectoryService;
+    private final AssignmentRepository assignmentRepository;
+    private final MandatoryTrainingRepository mandatoryTrainingRepository;
+    private final AssignmentEventProducer assignmentEventProducer;
+    private final long staleRunMillis;
+    private final int dueSoonDays;
+
+    public AssignmentEngine(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            UserDirectoryService userDirectoryService,
+                            AssignmentRepository assignmentRepository,
+                            MandatoryTrainingRepository mandatoryTrainingRepository,
+                            AssignmentEventProducer assignmentEventProducer,
+                            @Value("${assignments.stale-run-ms:900000}") long staleRunMillis,
+                            @Value("${reminders.due-soon-days:2}") int dueSoonDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userDirectoryService = userDirectoryService;
+        this.assignmentRepository = assignmentRepository;
+        this.mandatoryTrainingRepository = mandatoryTrainingRepository;
+        this.assignmentEventProducer = assignmentEventProducer;
+        this.staleRunMillis = staleRunMillis;
+        this.dueSoonDays = dueSoonDays;
+    }
+
+    @Async
+    public void runAsync(UUID assignmentId) {
+        run(assignmentId);
+    }
+
+    /**
+     * Re-run every rule in effect so users who joined a department or role since the last run are assigned
+     */
+    @Scheduled(cron = "${assignments.mandatory.sync-cron:0 0 1 * * *}")
+    public void syncAll() {
+        for (MandatoryTraining rule : mandatoryTrainingRepository.findByEffectiveFromLessThanEqual(LocalDateTime.now())) {
+            assignmentRepository.findByMandatoryTrainingId(rule.getId()).ifPresent(assignment -> {
+                try {
+                    run(assignment.getId());
+                } catch (RuntimeException e) {
+                    log.warn("Mandatory training sync of rule {} failed: {}", rule.getId(), e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Fan one assignment out to its target users; returns false when another run holds it
+     */
+    public boolean run(UUID assignmentId) {
+        Timestamp staleBefore = new Timestamp(System.currentTimeMillis() - staleRunMillis);
+        if (jdbcTemplate.update(CLAIM_SQL, assignmentId, staleBefore) == 0) {
+            log.info("Assignment {} is already being processed", assignmentId);
+            return false;
+        }
+
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new TrainingNotFoundException("Assignment not found with ID: " + assignmentId));
+        MandatoryTraining rule = assignment.getMandatoryTrainingId() != null
+                ? mandatoryTrainingRepository.findById(assignment.getMandatoryTrainingId()).orElse(null)
+                : null;
+        if (rule == null) {
+            finish(assignmentId, AppConstants.ASSIGNMENT_STATUS_FAILED);
+            throw new TrainingNotFoundException("Mandatory training rule not found for assignment: " + assignmentId);
+        }
+
+        try {
+            long started = System.currentTimeMillis();
+            int scanned = userDirectoryService.forEachPage(rule.getDepartment(), rule.getRole(),
+                    assignment.getLastUserId(), page -> processPage(assignment, page));
+            finish(assignmentId, AppConstants.ASSIGNMENT_STATUS_COMPLETED);
+            log.info("Assignment {} scanned {} users in {} ms", assignmentId, scanned, System.currentTimeMillis() - started);
+            return true;
+        } catch (RuntimeException e) {
+            // The cursor of the last committed page stays, so the next run resumes from there
+            finish(assignmentId, AppConstants.ASSIGNMENT_STATUS_FAILED);
+            log.error("Assignment {} failed: {}", assignmentId, e.getMessage());
+            throw e;
+        }
+    }
+
+    private void processPage(Assignment assignment, List<UserDirectoryEntry> page) {
+        List<UUID> candidates = new ArrayList<>(page.size());
+        for (UserDirectoryEntry entry : page) {
+            if ("ACTIVE".equals(entry.getStatus())) {
+                candidates.add(entry.getId());
+            }
+        }
+        UUID lastUserId = page.get(page.size() - 1).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<UUID> missing = missingUsers(assignment.getId(), candidates);
+            if (!missing.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, missing, missing.size(), (ps, userId) -> {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, assignment.getId());
+                    ps.setObject(3, userId);
+                });
+                scheduleReminders(assignment, missing);
+                assignmentEventProducer.publishBatchAssigned(assignment.getId(), assignment.getTrainingId(),
+                        assignment.getAssignmentType(), assignment.getDueDate(), missing);
+            }
+            jdbcTemplate.update(PROGRESS_SQL, page.size(), missing.size(), lastUserId, assignment.getId());
+        });
+    }
+
+    /**
+     * Queue the due-soon and overdue reminders of newly assigned users; ReminderScheduler sends them
+     */
+    private void scheduleReminders(Assignment assignment, List<UUID> userIds) {
+        LocalDateTime dueDate = assignment.getDueDate();
+        if (dueDate == null) {
+            return;
+        }
+        LocalDateTime dueSoon = dueDate.minusDays(dueSoonDays);
+        if (dueSoon.isAfter(LocalDateTime.now())) {
+            insertReminders(assignment.getId(), AppConstants.REMINDER_TYPE_DUE_SOON, dueSoon, userIds);
+        }
+        insertReminders(assignment.getId(), AppConstants.REMINDER_TYPE_OVERDUE, dueDate, userIds);
+    }
+
+    private void insertReminders(UUID assignmentId, String type, LocalDateTime scheduledAt, List<UUID> userIds) {
+        jdbcTemplate.update(REMINDER_SQL, ps -> {
+            ps.setString(1, type);
+            ps.setTimestamp(2, Timestamp.valueOf(scheduledAt));
+            ps.setObject(3, assignmentId);
+            ps.setArray(4, ps.getConnection().createArrayOf("uuid", userIds.toArray()));
+        });
+    }
+
+    private List<UUID> missingUsers(UUID assignmentId, List<UUID> candidates) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<UUID> existing = new HashSet<>();
+        jdbcTemplate.query(EXISTING_SQL,
+                ps -> {
+                    ps.setObject(1, assignmentId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("uuid", candidates.toArray()));
+                },
+                rs -> {
+                    existing.add(rs.getObject(1, UUID.class));
+                });
+        if (existing.isEmpty()) {
+            return candidates;
+        }
+        List<UUID> missing = new ArrayList<>(candidates.size() - existing.size());
+        for (UUID userId : candidates) {
+            if (!existing.contains(userId)) {
+                missing.add(userId);
+            }
+        }
+        return missing;
+    }
+
+    private void finish(UUID assignmentId, String status) {
+        jdbcTemplate.update(FINISH_SQL, status, AppConstants.ASSIGNMENT_STATUS_COMPLETED.equals(status), assignmentId);
+    }
+}
@@ -0,0 +1,192 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.CatalogBrowseResponse;
+import com.lms.trainingservice.dto.TrainingResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service for faceted browsing of the published catalog
+ * Queries and facet counts are answered from the in-memory CatalogFacetIndex. Local training writes update
+ * it in place after commit; a periodic full reload picks up writes from other instances and tag changes
+ */
+@Service
+@Slf4j
+public class CatalogBrowseService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String COLUMNS =
+            "SELECT id, title, description, category, difficulty_level, duration_hours, thumbnail_url, created_by, "
+                    + "created_at, updated_at FROM trainings WHERE status = 'PUBLISHED'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResponseBytesCache responseBytesCache;
+    private final Object writeLock = new Object();
+
+    private volatile CatalogFacetIndex index;
+
+    public CatalogBrowseService(JdbcTemplate jdbcTemplate, ResponseBytesCache responseBytesCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.responseBytesCache = responseBytesCache;
+    }
+
+    public CatalogBrowseResponse browse(Map<String, Set<String>> filters, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        CatalogFacetIndex.Result result = index().query(filters, pageNumber * pageSize, pageSize);
+        List<TrainingResponse> trainings = new ArrayList<>(result.documents().size());
+        for (CatalogFacetIndex.Document document : result.documents()) {
+            trainings.add(TrainingResponse.builder()
+                    .id(document.id())
+                    .title(document.title())
+                    .description(document.description())
+                    .category(document.category())
+                    .difficultyLevel(document.difficultyLevel())
+                    .durationHours(document.durationHours())
+                    .thumbnailUrl(document.thumbnailUrl())
+                    .createdBy(document.createdBy())
+                    .status("PUBLISHED")
+                    .createdAt(document.createdAt())
+                    .updatedAt(document.updatedAt())
+                    .build());
+        }
+        return CatalogBrowseResponse.builder()
+                .trainings(trainings)
+                .totalElements(result.total())
+                .page(pageNumber)
+                .size(pageSize)
+                .facets(result.counts())
+                .build();
+    }
+
+    /**
+     * Re-read one training into the index once the surrounding transaction commits
+     */
+    public void trainingChanged(UUID trainingId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update(trainingId);
+                }
+            });
+        } else {
+            update(trainingId);
+        }
+    }
+
+    /**
+     * Pick up writes from other instances and tag changes
+     */
+    @Scheduled(fixedDelayString = "${catalog.facets.refresh-interval-ms:300000}",
+            initialDelayString = "${catalog.facets.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            synchronized (writeLock) {
+                index = load();
+            }
+            responseBytesCache.invalidateBrowse();
+        } catch (RuntimeException e) {
+            log.warn("Catalog facet index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void update(UUID trainingId) {
+        CatalogFacetIndex current = index;
+        if (current == null) {
+            return;
+        }
+        try {
+            synchronized (writeLock) {
+                List<CatalogFacetIndex.Document> documents = documents(COLUMNS + " AND id = ?", trainingId);
+                if (documents.isEmpty()) {
+                    current.remove(trainingId);
+                } else {
+                    current.put(documents.get(0));
+                }
+            }
+            responseBytesCache.invalidateBrowse();
+        } catch (RuntimeException e) {
+            log.warn("Failed to update training {} in the catalog facet index: {}", trainingId, e.getMessage());
+        }
+    }
+
+    private CatalogFacetIndex index() {
+        CatalogFacetIndex current = index;
+        if (current == null) {
+            synchronized (writeLock) {
+                current = index;
+                if (current == null) {
+                    current = load();
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private CatalogFacetIndex load() {
+        long started = System.currentTimeMillis();
+        try {
+            CatalogFacetIndex loaded = CatalogFacetIndex.of(documents(COLUMNS));
+            log.debug("Loaded catalog facet index with {} trainings in {} ms", loaded.size(),
+                    System.currentTimeMillis() - started);
+            return loaded;
+        } catch (RuntimeException e) {
+            throw new TrainingException("Failed to load catalog facet index", e);
+        }
+    }
+
+    private List<CatalogFacetIndex.Document> documents(String sql, Object... args) {
+        List<CatalogFacetIndex.Document> documents = jdbcTemplate.query(sql, (rs, rowNum) ->
+                new CatalogFacetIndex.Document(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("title"),
+                        rs.getString("description"),
+                        rs.getString("category"),
+                        rs.getString("difficulty_level"),
+                        rs.getBigDecimal("duration_hours"),
+                        rs.getString("thumbnail_url"),
+                        rs.getObject("created_by", UUID.class),
+                        toLocalDateTime(rs.getTimestamp("created_at")),
+                        toLocalDateTime(rs.getTimestamp("updated_at")),
+                        new LinkedHashSet<>()), args);
+        if (documents.isEmpty()) {
+            return documents;
+        }
+        Map<UUID, CatalogFacetIndex.Document> byId = new HashMap<>(documents.size() * 2);
+        for (CatalogFacetIndex.Document document : documents) {
+            byId.put(document.id(), document);
+        }
+        Object[] ids = byId.keySet().toArray();
+        jdbcTemplate.query("SELECT training_id, tag FROM training_tags WHERE training_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+                rs -> {
+                    CatalogFacetIndex.Document document = byId.get(rs.getObject("training_id", UUID.class));
+                    if (document != null) {
+                        document.tags().add(rs.getString("tag"));
+                    }
+                });
+        return documents;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
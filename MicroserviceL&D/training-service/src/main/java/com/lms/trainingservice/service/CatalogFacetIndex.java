@@ -0,0 +1,257 @@
+package com.lms.trainingservice.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet index of published trainings
+ * Every training holds a dense slot; each facet value keeps a bitset posting list of slots, so a browse
+ * request is a few ORs and ANDs over bitsets plus one cardinality per facet value. Counts for a facet
+ * ignore that facet's own selection, so the other values of a multi-select facet stay visible
+ */
+public class CatalogFacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String DIFFICULTY = "difficulty";
+    public static final String TAG = "tag";
+    public static final String DURATION = "duration";
+    public static final List<String> FACETS = List.of(CATEGORY, DIFFICULTY, TAG, DURATION);
+
+    private static final Comparator<Document> ORDER = Comparator
+            .comparing((Document document) -> document.title() != null ? document.title().toLowerCase() : "")
+            .thenComparing(Document::id);
+
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, Map<String, BitSet>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public CatalogFacetIndex() {
+        for (String facet : FACETS) {
+            postings.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * A published training as the catalog shows it
+     */
+    public record Document(UUID id, String title, String description, String category, String difficultyLevel,
+                           BigDecimal durationHours, String thumbnailUrl, UUID createdBy,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, Set<String> tags) {
+    }
+
+    /**
+     * One page of matching trainings with the facet counts of the whole match
+     */
+    public record Result(long total, List<Document> documents, Map<String, Map<String, Integer>> counts) {
+    }
+
+    public static CatalogFacetIndex of(Collection<Document> documents) {
+        CatalogFacetIndex index = new CatalogFacetIndex();
+        for (Document document : documents) {
+            index.put(document);
+        }
+        return index;
+    }
+
+    /**
+     * Duration bucket of a training, or null when it has no duration
+     */
+    public static String durationBucket(BigDecimal hours) {
+        if (hours == null) {
+            return null;
+        }
+        if (hours.compareTo(BigDecimal.ONE) < 0) {
+            return "under-1h";
+        }
+        if (hours.compareTo(BigDecimal.valueOf(3)) < 0) {
+            return "1-3h";
+        }
+        if (hours.compareTo(BigDecimal.valueOf(8)) < 0) {
+            return "3-8h";
+        }
+        return "8h-plus";
+    }
+
+    /**
+     * Add a training or replace its previous version
+     */
+    public void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(document.id());
+            if (slot != null) {
+                unindex(slot);
+            } else {
+                slot = freeSlots.isEmpty() ? documents.size() : freeSlots.pop();
+                if (slot == documents.size()) {
+                    documents.add(null);
+                }
+                slots.put(document.id(), slot);
+            }
+            documents.set(slot, document);
+            live.set(slot);
+            post(CATEGORY, document.category(), slot);
+            post(DIFFICULTY, document.difficultyLevel(), slot);
+            post(DURATION, durationBucket(document.durationHours()), slot);
+            if (document.tags() != null) {
+                for (String tag : document.tags()) {
+                    post(TAG, tag, slot);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID trainingId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(trainingId);
+            if (slot != null) {
+                unindex(slot);
+                documents.set(slot, null);
+                live.clear(slot);
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Trainings matching every filtered facet (any of its selected values), ordered by title
+     */
+    public Result query(Map<String, Set<String>> filters, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<String, BitSet> selections = new HashMap<>();
+            for (String facet : FACETS) {
+                Set<String> values = filters.get(facet);
+                if (values != null && !values.isEmpty()) {
+                    BitSet selection = new BitSet();
+                    for (String value : values) {
+                        BitSet posting = postings.get(facet).get(value);
+                        if (posting != null) {
+                            selection.or(posting);
+                        }
+                    }
+                    selections.put(facet, selection);
+                }
+            }
+
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                counts.put(facet, count(facet, matchExcept(selections, facet), filters.get(facet)));
+            }
+
+            BitSet match = matchExcept(selections, null);
+            List<Document> matching = new ArrayList<>(match.cardinality());
+            for (int slot = match.nextSetBit(0); slot >= 0; slot = match.nextSetBit(slot + 1)) {
+                matching.add(documents.get(slot));
+            }
+            matching.sort(ORDER);
+            int from = Math.min(offset, matching.size());
+            int to = Math.min(from + limit, matching.size());
+            return new Result(matching.size(), new ArrayList<>(matching.subList(from, to)), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet matchExcept(Map<String, BitSet> selections, String skippedFacet) {
+        BitSet match = (BitSet) live.clone();
+        for (Map.Entry<String, BitSet> selection : selections.entrySet()) {
+            if (!selection.getKey().equals(skippedFacet)) {
+                match.and(selection.getValue());
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Non-zero value counts of a facet within the match, largest first; selected values are always listed
+     */
+    private Map<String, Integer> count(String facet, BitSet match, Set<String> selected) {
+        List<Map.Entry<String, Integer>> values = new ArrayList<>();
+        BitSet scratch = new BitSet();
+        for (Map.Entry<String, BitSet> posting : postings.get(facet).entrySet()) {
+            scratch.clear();
+            scratch.or(posting.getValue());
+            scratch.and(match);
+            int count = scratch.cardinality();
+            if (count > 0 || (selected != null && selected.contains(posting.getKey()))) {
+                values.add(Map.entry(posting.getKey(), count));
+            }
+        }
+        if (selected != null) {
+            for (String value : selected) {
+                if (!postings.get(facet).containsKey(value)) {
+                    values.add(Map.entry(value, 0));
+                }
+            }
+        }
+        values.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> value : values) {
+            counts.put(value.getKey(), value.getValue());
+        }
+        return counts;
+    }
+
+    private void post(String facet, String value, int slot) {
+        if (value != null && !value.isBlank()) {
+            postings.get(facet).computeIfAbsent(value, key -> new BitSet()).set(slot);
+        }
+    }
+
+    private void unindex(int slot) {
+        Document previous = documents.get(slot);
+        unpost(CATEGORY, previous.category(), slot);
+        unpost(DIFFICULTY, previous.difficultyLevel(), slot);
+        unpost(DURATION, durationBucket(previous.durationHours()), slot);
+        if (previous.tags() != null) {
+            for (String tag : previous.tags()) {
+                unpost(TAG, tag, slot);
+            }
+        }
+    }
+
+    private void unpost(String facet, String value, int slot) {
+        if (value == null) {
+            return;
+        }
+        BitSet posting = postings.get(facet).get(value);
+        if (posting != null) {
+            posting.clear(slot);
+            if (posting.isEmpty()) {
+                postings.get(facet).remove(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.exception.TrainingException;
+
+/**
+ * Short verification codes derived from a database sequence
+ * A keyed 40-bit Feistel permutation turns each sequence number into a distinct, non-sequential value,
+ * written as 8 Crockford base32 characters; codes cannot collide, so issuance never retries
+ */
+public final class CertificateCodes {
+
+    public static final int LENGTH = 8;
+    public static final long CAPACITY = 1L << 40;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int HALF_BITS = 20;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public CertificateCodes(long key) {
+        long state = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[i] = mix(state);
+        }
+    }
+
+    /**
+     * The code of a sequence number in [0, CAPACITY)
+     */
+    public String encode(long sequence) {
+        if (sequence < 0 || sequence >= CAPACITY) {
+            throw new TrainingException("Verification code space exhausted at sequence " + sequence);
+        }
+        long left = sequence >>> HALF_BITS;
+        long right = sequence & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (mix(right ^ roundKey) & HALF_MASK);
+            left = right;
+            right = next;
+        }
+        long value = (left << HALF_BITS) | right;
+        char[] code = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(code);
+    }
+
+    /**
+     * Canonical form of user-typed code: case, separators and the usual O/I/L misreadings are ignored
+     * Returns null when the input cannot be a code
+     */
+    public static String normalize(String input) {
+        if (input == null) {
+            return null;
+        }
+        StringBuilder code = new StringBuilder(LENGTH);
+        for (int i = 0; i < input.length(); i++) {
+            char c = Character.toUpperCase(input.charAt(i));
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (c == 'O') {
+                c = '0';
+            } else if (c == 'I' || c == 'L') {
+                c = '1';
+            }
+            if (code.length() == LENGTH || !isCodeChar(c)) {
+                return null;
+            }
+            code.append(c);
+        }
+        return code.length() == LENGTH ? code.toString() : null;
+    }
+
+    private static boolean isCodeChar(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z' && c != 'I' && c != 'L' && c != 'O' && c != 'U');
+    }
+
+    private static long mix(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+}
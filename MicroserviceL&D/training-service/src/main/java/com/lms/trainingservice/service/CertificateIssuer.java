@@ -0,0 +1,175 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.exception.TrainingException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Issues queued certificates in batches on a background thread
+ * Each batch claims PENDING rows with SKIP LOCKED, draws its verification codes from one sequence call,
+ * renders and writes the PDFs, then marks all rows ISSUED with one JDBC batch in the same transaction.
+ * A failed write rolls the batch back to PENDING for the next sweep; file names are the certificate ids,
+ * so a retry overwrites rather than duplicates
+ */
+@Component
+@Slf4j
+public class CertificateIssuer {
+
+    private static final String CLAIM_SQL =
+            "SELECT c.id, c.issued_at, u.first_name, u.last_name, t.title "
+                    + "FROM completion_certificates c JOIN trainings t ON t.id = c.training_id "
+                    + "LEFT JOIN users u ON u.id = c.user_id "
+                    + "WHERE c.status = 'PENDING' ORDER BY c.issued_at LIMIT ? FOR UPDATE OF c SKIP LOCKED";
+
+    private static final String ISSUE_SQL =
+            "UPDATE completion_certificates SET status = ?, verification_code = ?, certificate_url = ? WHERE id = ?";
+
+    private static final DateTimeFormatter ISSUED_ON = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectStorageService storageService;
+    private final CertificateTemplate template = new CertificateTemplate(CertificateTemplate.DEFAULT_LAYOUT);
+    private final CertificateCodes codes;
+    private final String locationPrefix;
+    private final String verifyUrl;
+    private final int batchSize;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "certificate-issuer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CertificateIssuer(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ObjectStorageService storageService,
+                             @Value("${certificates.code-key}") long codeKey,
+                             @Value("${certificates.location-prefix:file:certificates/}") String locationPrefix,
+                             @Value("${certificates.verify-url:http://localhost:8080/api/trainings/public/certificates/}") String verifyUrl,
+                             @Value("${certificates.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.storageService = storageService;
+        if (codeKey == 0) {
+            throw new IllegalStateException("certificates.code-key must be set to a secret non-zero value");
+        }
+        this.codes = new CertificateCodes(codeKey);
+        this.locationPrefix = locationPrefix;
+        this.verifyUrl = verifyUrl;
+        this.batchSize = batchSize;
+    }
+
+    private record ClaimedCertificate(UUID id, Timestamp issuedAt, String userName, String trainingTitle) {
+    }
+
+    /**
+     * Drain the queue in the background; a call during a drain queues exactly one more
+     */
+    public void poll() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                scheduled.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+        }
+    }
+
+    /**
+     * Retry batches that failed and pick up completions recorded on other instances
+     */
+    @Scheduled(fixedDelayString = "${certificates.poll-interval-ms:60000}")
+    public void sweep() {
+        poll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            Integer issued;
+            do {
+                issued = transactionTemplate.execute(status -> issueBatch());
+            } while (issued != null && issued == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Certificate issuance failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int issueBatch() {
+        List<ClaimedCertificate> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ClaimedCertificate(
+                rs.getObject("id", UUID.class),
+                rs.getTimestamp("issued_at"),
+                fullName(rs.getString("first_name"), rs.getString("last_name")),
+                rs.getString("title")), batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        long started = System.currentTimeMillis();
+        List<Long> sequences = jdbcTemplate.queryForList(
+                "SELECT nextval('certificate_code_seq') FROM generate_series(1, ?)", Long.class, claimed.size());
+        List<Object[]> issued = new ArrayList<>(claimed.size());
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < claimed.size(); i++) {
+            ClaimedCertificate certificate = claimed.get(i);
+            String code = codes.encode(sequences.get(i));
+            String fileUrl = locationPrefix + certificate.id() + ".pdf";
+
+            values.put("user_name", certificate.userName());
+            values.put("training_title", certificate.trainingTitle());
+            values.put("issued_on", certificate.issuedAt() != null
+                    ? ISSUED_ON.format(certificate.issuedAt().toLocalDateTime()) : "");
+            values.put("verification_code", code);
+            values.put("verification_url", verifyUrl + code);
+            write(fileUrl, template.render(values));
+            issued.add(new Object[]{AppConstants.CERTIFICATE_STATUS_ISSUED, code, fileUrl, certificate.id()});
+        }
+        jdbcTemplate.batchUpdate(ISSUE_SQL, issued);
+        log.info("Issued {} certificates in {} ms", issued.size(), System.currentTimeMillis() - started);
+        return issued.size();
+    }
+
+    private void write(String fileUrl, byte[] pdf) {
+        try (OutputStream out = storageService.create(storageService.resolve(fileUrl), CertificateTemplate.CONTENT_TYPE)) {
+            out.write(pdf);
+        } catch (IOException e) {
+            throw new TrainingException("Failed to write certificate " + fileUrl, e);
+        }
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        String first = firstName != null ? firstName.trim() : "";
+        String last = lastName != null ? lastName.trim() : "";
+        return first.isEmpty() ? last : last.isEmpty() ? first : first + " " + last;
+    }
+}
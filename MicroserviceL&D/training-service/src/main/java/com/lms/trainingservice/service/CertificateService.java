@@ -0,0 +1,146 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.CertificateResponse;
+import com.lms.trainingservice.dto.CertificateVerificationResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for completion certificates
+ * Completions only queue a PENDING row in the completing transaction; CertificateIssuer renders and
+ * issues them in batches. Verification reads one row through the unique verification_code index
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CertificateService {
+
+    private static final String QUEUE_SQL =
+            "INSERT INTO completion_certificates (id, user_id, training_id, issued_at, status) "
+                    + "VALUES (?, ?, ?, CURRENT_TIMESTAMP, ?) ON CONFLICT (user_id, training_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectStorageService storageService;
+    private final CertificateIssuer certificateIssuer;
+
+    /**
+     * Queue the certificate of a completed enrollment; a training is certified at most once per user
+     */
+    public void requestCertificate(UUID userId, UUID trainingId) {
+        int queued = jdbcTemplate.update(QUEUE_SQL, UUID.randomUUID(), userId, trainingId,
+                AppConstants.CERTIFICATE_STATUS_PENDING);
+        if (queued == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    certificateIssuer.poll();
+                }
+            });
+        } else {
+            certificateIssuer.poll();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<CertificateResponse> getCertificates(UUID userId) {
+        return jdbcTemplate.query(
+                "SELECT c.id, c.training_id, t.title, c.status, c.verification_code, c.issued_at "
+                        + "FROM completion_certificates c JOIN trainings t ON t.id = c.training_id "
+                        + "WHERE c.user_id = ? ORDER BY c.issued_at DESC",
+                (rs, rowNum) -> {
+                    UUID id = rs.getObject("id", UUID.class);
+                    String status = rs.getString("status");
+                    return CertificateResponse.builder()
+                            .id(id)
+                            .trainingId(rs.getObject("training_id", UUID.class))
+                            .trainingTitle(rs.getString("title"))
+                            .status(status)
+                            .verificationCode(rs.getString("verification_code"))
+                            .downloadUrl(AppConstants.CERTIFICATE_STATUS_ISSUED.equals(status)
+                                    ? "/api/certificates/" + id + "/download" : null)
+                            .issuedAt(toLocalDateTime(rs.getTimestamp("issued_at")))
+                            .build();
+                },
+                userId);
+    }
+
+    /**
+     * Canonical form of a verification code as typed by a user
+     */
+    public String canonicalCode(String code) {
+        String canonical = CertificateCodes.normalize(code);
+        if (canonical == null) {
+            throw new TrainingNotFoundException("Certificate not found with code: " + code);
+        }
+        return canonical;
+    }
+
+    /**
+     * Look up an issued certificate by its canonical verification code
+     */
+    @Transactional(readOnly = true)
+    public CertificateVerificationResponse verify(String code) {
+        return jdbcTemplate.query(
+                        "SELECT c.verification_code, c.issued_at, u.first_name, u.last_name, t.title "
+                                + "FROM completion_certificates c JOIN trainings t ON t.id = c.training_id "
+                                + "LEFT JOIN users u ON u.id = c.user_id WHERE c.verification_code = ?",
+                        (rs, rowNum) -> CertificateVerificationResponse.builder()
+                                .verificationCode(rs.getString("verification_code"))
+                                .holderName(String.join(" ",
+                                        rs.getString("first_name") != null ? rs.getString("first_name") : "",
+                                        rs.getString("last_name") != null ? rs.getString("last_name") : "").trim())
+                                .trainingTitle(rs.getString("title"))
+                                .issuedAt(toLocalDateTime(rs.getTimestamp("issued_at")))
+                                .build(),
+                        code)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new TrainingNotFoundException("Certificate not found with code: " + code));
+    }
+
+    /**
+     * Open the PDF of one of the user's issued certificates
+     */
+    public CertificateFile openCertificate(UUID userId, UUID certificateId) {
+        List<String[]> found = jdbcTemplate.query(
+                "SELECT status, certificate_url FROM completion_certificates WHERE id = ? AND user_id = ?",
+                (rs, rowNum) -> new String[]{rs.getString("status"), rs.getString("certificate_url")},
+                certificateId, userId);
+        if (found.isEmpty()) {
+            throw new TrainingNotFoundException("Certificate not found with id: " + certificateId);
+        }
+        String[] certificate = found.get(0);
+        if (!AppConstants.CERTIFICATE_STATUS_ISSUED.equals(certificate[0])) {
+            throw new TrainingException("Certificate is not issued yet");
+        }
+        InputStream stream = storageService.open(storageService.resolve(certificate[1]));
+        return new CertificateFile(stream, "certificate-" + certificateId + ".pdf");
+    }
+
+    /**
+     * An opened certificate PDF; the caller closes the stream
+     */
+    public record CertificateFile(InputStream stream, String fileName) {
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
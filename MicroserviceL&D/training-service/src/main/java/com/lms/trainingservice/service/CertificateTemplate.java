@@ -0,0 +1,190 @@
+package com.lms.trainingservice.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-page PDF certificate rendered from a layout compiled once
+ * The catalog, page and font objects never change, so they are encoded up front with their offsets;
+ * a render only builds the content stream from the compiled line templates and appends the xref table.
+ * Text uses the standard Helvetica fonts, centered with their built-in width metrics
+ */
+public final class CertificateTemplate {
+
+    public static final String CONTENT_TYPE = "application/pdf";
+
+    public static final List<Line> DEFAULT_LAYOUT = List.of(
+            new Line("Certificate of Completion", true, 36, 440),
+            new Line("This certifies that", false, 16, 375),
+            new Line("{{user_name}}", true, 30, 325),
+            new Line("has successfully completed", false, 16, 280),
+            new Line("{{training_title}}", true, 22, 238),
+            new Line("Issued on {{issued_on}}", false, 12, 150),
+            new Line("Verification code: {{verification_code}}", false, 12, 130),
+            new Line("{{verification_url}}", false, 9, 112));
+
+    private static final int PAGE_WIDTH = 842;
+    private static final int PAGE_HEIGHT = 595;
+    private static final int MARGIN = 60;
+
+    // Helvetica and Helvetica-Bold advance widths (1/1000 em) of characters 32..126
+    private static final int[] REGULAR_WIDTHS = {
+            278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+            1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+            333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+            556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584};
+    private static final int[] BOLD_WIDTHS = {
+            278, 333, 474, 556, 556, 889, 722, 238, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 333, 333, 584, 584, 584, 611,
+            975, 722, 722, 722, 722, 667, 611, 778, 722, 278, 556, 722, 611, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 333, 278, 333, 584, 556,
+            333, 556, 611, 556, 611, 556, 333, 611, 611, 278, 278, 556, 278, 889, 611, 611,
+            611, 611, 389, 556, 333, 611, 556, 778, 556, 556, 500, 389, 280, 389, 584};
+    // Latin-1 letters and symbols are close enough to the average width for centering
+    private static final int DEFAULT_WIDTH = 556;
+
+    private static final String[] FIXED_OBJECTS = {
+            "<< /Type /Catalog /Pages 2 0 R >>",
+            "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+            "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "] "
+                    + "/Resources << /Font << /F1 4 0 R /F2 5 0 R >> >> /Contents 6 0 R >>",
+            "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>",
+            "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>"};
+
+    // Double border drawn behind the text
+    private static final byte[] FRAME = ("q 0.2 0.3 0.5 RG 3 w 24 24 " + (PAGE_WIDTH - 48) + " " + (PAGE_HEIGHT - 48)
+            + " re S 1 w 34 34 " + (PAGE_WIDTH - 68) + " " + (PAGE_HEIGHT - 68) + " re S Q\n")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final List<CompiledLine> lines;
+    private final byte[] header;
+    private final int[] offsets;
+
+    /**
+     * A line of text centered on the page; text may contain "{{var}}" placeholders
+     */
+    public record Line(String text, boolean bold, int size, int y) {
+    }
+
+    private record CompiledLine(NotificationTemplate text, boolean bold, int size, int y) {
+    }
+
+    public CertificateTemplate(List<Line> layout) {
+        this.lines = layout.stream()
+                .map(line -> new CompiledLine(NotificationTemplate.compile(line.text()), line.bold(), line.size(), line.y()))
+                .toList();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        // The binary comment marks the file as binary for transfer tools
+        write(out, "%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n");
+        this.offsets = new int[FIXED_OBJECTS.length];
+        for (int i = 0; i < FIXED_OBJECTS.length; i++) {
+            offsets[i] = out.size();
+            write(out, (i + 1) + " 0 obj\n" + FIXED_OBJECTS[i] + "\nendobj\n");
+        }
+        this.header = out.toByteArray();
+    }
+
+    /**
+     * Render the certificate with the given placeholder values
+     */
+    public byte[] render(Map<String, String> values) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream(1024);
+        content.writeBytes(FRAME);
+        for (CompiledLine line : lines) {
+            byte[] text = encode(line.text().render(values));
+            if (text.length == 0) {
+                continue;
+            }
+            // Long names and titles shrink to fit between the margins instead of running off the page
+            float size = line.size();
+            float width = textWidth(text, line.bold()) * size / 1000f;
+            if (width > PAGE_WIDTH - 2 * MARGIN) {
+                size = size * (PAGE_WIDTH - 2 * MARGIN) / width;
+                width = PAGE_WIDTH - 2 * MARGIN;
+            }
+            write(content, "BT /" + (line.bold() ? "F2 " : "F1 ") + number(size) + " Tf "
+                    + number((PAGE_WIDTH - width) / 2) + " " + line.y() + " Td (");
+            writeEscaped(content, text);
+            write(content, ") Tj ET\n");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(header.length + content.size() + 512);
+        out.writeBytes(header);
+        int contentOffset = out.size();
+        write(out, (FIXED_OBJECTS.length + 1) + " 0 obj\n<< /Length " + content.size() + " >>\nstream\n");
+        out.writeBytes(content.toByteArray());
+        write(out, "\nendstream\nendobj\n");
+
+        int xref = out.size();
+        StringBuilder trailer = new StringBuilder(64 + 20 * (FIXED_OBJECTS.length + 2));
+        trailer.append("xref\n0 ").append(FIXED_OBJECTS.length + 2).append('\n');
+        trailer.append("0000000000 65535 f \n");
+        for (int i = 0; i < FIXED_OBJECTS.length; i++) {
+            appendXref(trailer, offsets[i]);
+        }
+        appendXref(trailer, contentOffset);
+        trailer.append("trailer\n<< /Size ").append(FIXED_OBJECTS.length + 2).append(" /Root 1 0 R >>\n")
+                .append("startxref\n").append(xref).append("\n%%EOF\n");
+        write(out, trailer.toString());
+        return out.toByteArray();
+    }
+
+    /**
+     * Width of WinAnsi-encoded text in 1/1000 em
+     */
+    static int textWidth(byte[] text, boolean bold) {
+        int[] widths = bold ? BOLD_WIDTHS : REGULAR_WIDTHS;
+        int width = 0;
+        for (byte b : text) {
+            int c = b & 0xFF;
+            width += c >= 32 && c <= 126 ? widths[c - 32] : DEFAULT_WIDTH;
+        }
+        return width;
+    }
+
+    /**
+     * WinAnsi bytes of the text; WinAnsi matches Latin-1 for printable characters, anything else becomes '?'
+     */
+    static byte[] encode(String text) {
+        byte[] bytes = new byte[text.length()];
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 32) {
+                bytes[i] = ' ';
+            } else if (c <= 126 || (c >= 160 && c <= 255)) {
+                bytes[i] = (byte) c;
+            } else {
+                bytes[i] = '?';
+            }
+        }
+        return bytes;
+    }
+
+    private static void writeEscaped(ByteArrayOutputStream out, byte[] text) {
+        for (byte b : text) {
+            if (b == '(' || b == ')' || b == '\\') {
+                out.write('\\');
+            }
+            out.write(b);
+        }
+    }
+
+    private static void appendXref(StringBuilder out, int offset) {
+        String digits = Integer.toString(offset);
+        out.append("0".repeat(10 - digits.length())).append(digits).append(" 00000 n \n");
+    }
+
+    private static String number(float value) {
+        int tenths = Math.round(value * 10);
+        return tenths % 10 == 0 ? Integer.toString(tenths / 10) : (tenths / 10) + "." + (tenths % 10);
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
@@ -0,0 +1,283 @@
+package com.lms.trainingservice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sparse user x training enrollment matrix over dense int indexes
+ * Stored twice in compressed sparse row form, trainings per user and users per training, as flat int arrays:
+ * about 8 bytes per enrollment and no boxing. Item-to-item cosine similarity is computed per training by
+ * walking its learners' other trainings with a dense counter array, in parallel blocks of trainings
+ */
+public final class CoEnrollmentMatrix {
+
+    private static final int BLOCK = 64;
+
+    private final int itemCount;
+    private final int[] userOffsets;
+    private final int[] userItems;
+    private final int[] itemOffsets;
+    private final int[] itemUsers;
+
+    private CoEnrollmentMatrix(int itemCount, int[] userOffsets, int[] userItems, int userCount) {
+        this.itemCount = itemCount;
+        this.userOffsets = userOffsets;
+        this.userItems = userItems;
+
+        // Transpose with a counting pass, so users per training come out in user order
+        int[] offsets = new int[itemCount + 1];
+        int entries = userOffsets[userCount];
+        for (int e = 0; e < entries; e++) {
+            offsets[userItems[e] + 1]++;
+        }
+        for (int i = 0; i < itemCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] users = new int[entries];
+        int[] next = Arrays.copyOf(offsets, itemCount);
+        for (int u = 0; u < userCount; u++) {
+            for (int e = userOffsets[u]; e < userOffsets[u + 1]; e++) {
+                users[next[userItems[e]]++] = u;
+            }
+        }
+        this.itemOffsets = offsets;
+        this.itemUsers = users;
+    }
+
+    public static Builder builder(int itemCount, int maxItemsPerUser) {
+        return new Builder(itemCount, maxItemsPerUser);
+    }
+
+    public int itemCount() {
+        return itemCount;
+    }
+
+    public int userCount() {
+        return userOffsets.length - 1;
+    }
+
+    public int enrollmentCount() {
+        return itemUsers.length;
+    }
+
+    /**
+     * Learners enrolled in a training
+     */
+    public int degree(int item) {
+        return itemOffsets[item + 1] - itemOffsets[item];
+    }
+
+    /**
+     * Top-k most similar trainings of every training by cosine similarity of their learner sets;
+     * pairs with fewer than minCommon shared learners are ignored
+     */
+    public SimilarItems similarItems(int k, int minCommon, int parallelism) throws InterruptedException {
+        int[] neighbors = new int[itemCount * k];
+        float[] scores = new float[itemCount * k];
+        Arrays.fill(neighbors, -1);
+
+        int threads = Math.max(1, Math.min(parallelism, (itemCount + BLOCK - 1) / BLOCK));
+        AtomicInteger nextBlock = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    int[] common = new int[itemCount];
+                    int[] touched = new int[itemCount];
+                    int block;
+                    while ((block = nextBlock.getAndIncrement() * BLOCK) < itemCount) {
+                        for (int item = block; item < Math.min(block + BLOCK, itemCount); item++) {
+                            rank(item, k, minCommon, common, touched, neighbors, scores);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Similarity computation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new SimilarItems(k, neighbors, scores);
+    }
+
+    private void rank(int item, int k, int minCommon, int[] common, int[] touched, int[] neighbors, float[] scores) {
+        int touchedCount = 0;
+        for (int e = itemOffsets[item]; e < itemOffsets[item + 1]; e++) {
+            int user = itemUsers[e];
+            for (int f = userOffsets[user]; f < userOffsets[user + 1]; f++) {
+                int other = userItems[f];
+                if (other != item && common[other]++ == 0) {
+                    touched[touchedCount++] = other;
+                }
+            }
+        }
+
+        // Min-heap of the best k so far, stored in this item's slice of the result arrays
+        int base = item * k;
+        int size = 0;
+        double itemDegree = degree(item);
+        for (int t = 0; t < touchedCount; t++) {
+            int other = touched[t];
+            int shared = common[other];
+            common[other] = 0;
+            if (shared < minCommon) {
+                continue;
+            }
+            float score = (float) (shared / Math.sqrt(itemDegree * degree(other)));
+            if (size < k) {
+                neighbors[base + size] = other;
+                scores[base + size] = score;
+                siftUp(neighbors, scores, base, size++);
+            } else if (score > scores[base]) {
+                neighbors[base] = other;
+                scores[base] = score;
+                siftDown(neighbors, scores, base, size);
+            }
+        }
+
+        // Heap sort in place, leaving the slice in descending score order
+        for (int end = size - 1; end > 0; end--) {
+            swap(neighbors, scores, base, base + end);
+            siftDown(neighbors, scores, base, end);
+        }
+    }
+
+    private static void siftUp(int[] neighbors, float[] scores, int base, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (scores[base + parent] <= scores[base + index]) {
+                return;
+            }
+            swap(neighbors, scores, base + parent, base + index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] neighbors, float[] scores, int base, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && scores[base + left] < scores[base + smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[base + right] < scores[base + smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(neighbors, scores, base + index, base + smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] neighbors, float[] scores, int a, int b) {
+        int neighbor = neighbors[a];
+        neighbors[a] = neighbors[b];
+        neighbors[b] = neighbor;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    /**
+     * Top-k neighbors per training, best first; unused slots hold -1
+     */
+    public static final class SimilarItems {
+
+        private final int k;
+        private final int[] neighbors;
+        private final float[] scores;
+
+        private SimilarItems(int k, int[] neighbors, float[] scores) {
+            this.k = k;
+            this.neighbors = neighbors;
+            this.scores = scores;
+        }
+
+        public int k() {
+            return k;
+        }
+
+        public int neighbor(int item, int position) {
+            return neighbors[item * k + position];
+        }
+
+        public float score(int item, int position) {
+            return scores[item * k + position];
+        }
+    }
+
+    /**
+     * Collects enrollments user by user; users above the per-user cap are dropped, since bulk-enrolled
+     * accounts say little about similarity and dominate the pair count
+     */
+    public static final class Builder {
+
+        private final int itemCount;
+        private final int maxItemsPerUser;
+        private int[] userOffsets = new int[1024];
+        private int[] userItems = new int[4096];
+        private int userCount;
+        private int size;
+
+        private Builder(int itemCount, int maxItemsPerUser) {
+            this.itemCount = itemCount;
+            this.maxItemsPerUser = maxItemsPerUser;
+        }
+
+        public void add(int item) {
+            if (item < 0 || item >= itemCount) {
+                throw new IllegalArgumentException("Item index out of range: " + item);
+            }
+            if (size == userItems.length) {
+                userItems = Arrays.copyOf(userItems, size * 2);
+            }
+            userItems[size++] = item;
+        }
+
+        /**
+         * Close the current user's row
+         */
+        public void endUser() {
+            int start = userOffsets[userCount];
+            if (size - start > maxItemsPerUser) {
+                size = start;
+            }
+            // Duplicate enrollments would count a pair twice
+            Arrays.sort(userItems, start, size);
+            int end = start;
+            for (int e = start; e < size; e++) {
+                if (e == start || userItems[e] != userItems[e - 1]) {
+                    userItems[end++] = userItems[e];
+                }
+            }
+            size = end;
+            if (size == start) {
+                return;
+            }
+            if (userCount + 2 > userOffsets.length) {
+                userOffsets = Arrays.copyOf(userOffsets, userOffsets.length * 2);
+            }
+            userOffsets[++userCount] = size;
+        }
+
+        public CoEnrollmentMatrix build() {
+            endUser();
+            return new CoEnrollmentMatrix(itemCount, Arrays.copyOf(userOffsets, userCount + 1),
+                    Arrays.copyOf(userItems, size), userCount);
+        }
+    }
+}
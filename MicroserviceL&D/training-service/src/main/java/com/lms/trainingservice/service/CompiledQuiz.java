@@ -0,0 +1,249 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.dto.QuizAnswerRequest;
+import com.lms.trainingservice.entity.Quiz;
+import com.lms.trainingservice.entity.QuizQuestion;
+import com.lms.trainingservice.exception.TrainingException;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Answer key of one quiz version, compiled from the jsonb question columns
+ * Choice questions are held as option bitmasks and free-text questions as normalized strings,
+ * so grading a submission never touches JSON
+ */
+@Getter
+public final class CompiledQuiz {
+
+    private static final int MAX_OPTIONS = Long.SIZE;
+
+    private final UUID quizId;
+    private final int version;
+    private final int passingScore;
+    private final int maxScore;
+    private final int questionCount;
+    private final Map<UUID, Integer> questionIndex;
+    private final boolean[] textQuestion;
+    private final long[] correctMasks;
+    private final Set<String>[] acceptedAnswers;
+    private final int[] points;
+
+    private volatile long checkedAtMillis;
+
+    private CompiledQuiz(UUID quizId, int version, int passingScore, int maxScore, Map<UUID, Integer> questionIndex,
+                         boolean[] textQuestion, long[] correctMasks, Set<String>[] acceptedAnswers, int[] points) {
+        this.quizId = quizId;
+        this.version = version;
+        this.passingScore = passingScore;
+        this.maxScore = maxScore;
+        this.questionCount = points.length;
+        this.questionIndex = Map.copyOf(questionIndex);
+        this.textQuestion = textQuestion;
+        this.correctMasks = correctMasks;
+        this.acceptedAnswers = acceptedAnswers;
+        this.points = points;
+    }
+
+    /**
+     * Compile the answer key for a quiz and its questions
+     */
+    @SuppressWarnings("unchecked")
+    public static CompiledQuiz compile(Quiz quiz, List<QuizQuestion> questions, ObjectMapper objectMapper) {
+        int count = questions.size();
+        Map<UUID, Integer> questionIndex = new HashMap<>(count * 2);
+        boolean[] textQuestion = new boolean[count];
+        long[] correctMasks = new long[count];
+        Set<String>[] acceptedAnswers = new Set[count];
+        int[] points = new int[count];
+
+        int maxScore = 0;
+        for (int i = 0; i < count; i++) {
+            QuizQuestion question = questions.get(i);
+            questionIndex.put(question.getId(), i);
+            points[i] = question.getPoints() != null ? question.getPoints() : 1;
+            maxScore += points[i];
+
+            JsonNode options = readTree(objectMapper, question.getOptions(), question.getId());
+            JsonNode answer = readTree(objectMapper, question.getCorrectAnswer(), question.getId());
+
+            if (isTextQuestion(question.getQuestionType(), options)) {
+                textQuestion[i] = true;
+                acceptedAnswers[i] = acceptedAnswers(answer);
+            } else {
+                correctMasks[i] = correctMask(options, answer, question.getId());
+            }
+        }
+
+        return new CompiledQuiz(quiz.getId(),
+                quiz.getVersion() != null ? quiz.getVersion() : 1,
+                quiz.getPassingScore() != null ? quiz.getPassingScore() : 0,
+                maxScore, questionIndex, textQuestion, correctMasks, acceptedAnswers, points);
+    }
+
+    /**
+     * Grade a submission; unanswered and unknown questions score zero
+     */
+    public GradeResult grade(List<QuizAnswerRequest> answers) {
+        boolean[] counted = new boolean[questionCount];
+        int score = 0;
+        int correct = 0;
+
+        for (QuizAnswerRequest answer : answers) {
+            Integer index = questionIndex.get(answer.getQuestionId());
+            if (index == null || counted[index]) {
+                continue;
+            }
+            counted[index] = true;
+
+            boolean isCorrect = textQuestion[index]
+                    ? answer.getTextAnswer() != null && acceptedAnswers[index].contains(normalize(answer.getTextAnswer()))
+                    : correctMasks[index] != 0 && selectionMask(answer.getSelectedOptions()) == correctMasks[index];
+            if (isCorrect) {
+                score += points[index];
+                correct++;
+            }
+        }
+
+        boolean passed = maxScore > 0 && score * 100L >= (long) passingScore * maxScore;
+        return new GradeResult(score, maxScore, correct, questionCount, passed);
+    }
+
+    public void markChecked(long now) {
+        this.checkedAtMillis = now;
+    }
+
+    /**
+     * Lower-case, trim and collapse internal whitespace so "  Foo   Bar " matches "foo bar"
+     */
+    static String normalize(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static long selectionMask(List<Integer> selectedOptions) {
+        if (selectedOptions == null) {
+            return 0;
+        }
+        long mask = 0;
+        for (Integer option : selectedOptions) {
+            if (option != null && option >= 0 && option < MAX_OPTIONS) {
+                mask |= 1L << option;
+            }
+        }
+        return mask;
+    }
+
+    private static boolean isTextQuestion(String questionType, JsonNode options) {
+        String type = questionType != null ? questionType.toUpperCase(Locale.ROOT) : "";
+        if (type.contains("SHORT") || type.contains("TEXT") || type.contains("FILL")) {
+            return true;
+        }
+        return options == null || !options.isArray() || options.isEmpty();
+    }
+
+    private static Set<String> acceptedAnswers(JsonNode answer) {
+        Set<String> accepted = new HashSet<>();
+        if (answer == null) {
+            return accepted;
+        }
+        if (answer.isArray()) {
+            answer.forEach(value -> accepted.add(normalize(value.asText())));
+        } else {
+            accepted.add(normalize(answer.asText()));
+        }
+        return Set.copyOf(accepted);
+    }
+
+    private static long correctMask(JsonNode options, JsonNode answer, UUID questionId) {
+        if (options.size() > MAX_OPTIONS) {
+            throw new TrainingException("Question " + questionId + " has more than " + MAX_OPTIONS + " options");
+        }
+
+        // Options may be plain strings or objects such as {"id": "a", "text": "..."}; any scalar field identifies the option
+        Map<String, Integer> optionIndex = new HashMap<>();
+        for (int i = 0; i < options.size(); i++) {
+            JsonNode option = options.get(i);
+            if (option.isObject()) {
+                for (JsonNode field : option) {
+                    if (field.isValueNode()) {
+                        optionIndex.putIfAbsent(normalize(field.asText()), i);
+                    }
+                }
+            } else {
+                optionIndex.putIfAbsent(normalize(option.asText()), i);
+            }
+        }
+
+        long mask = 0;
+        if (answer == null) {
+            return mask;
+        }
+        Iterable<JsonNode> values = answer.isArray() ? answer : List.of(answer);
+        for (JsonNode value : values) {
+            int index = resolveOption(value, optionIndex, options.size());
+            if (index < 0) {
+                throw new TrainingException("Correct answer of question " + questionId + " does not match any option");
+            }
+            mask |= 1L << index;
+        }
+        return mask;
+    }
+
+    /**
+     * Resolve an answer value to an option index: by number, by option text/id, or by letter (A, B, ...)
+     */
+    private static int resolveOption(JsonNode value, Map<String, Integer> optionIndex, int optionCount) {
+        if (value.isInt()) {
+            return value.asInt() >= 0 && value.asInt() < optionCount ? value.asInt() : -1;
+        }
+        String text = normalize(value.asText());
+        Integer byText = optionIndex.get(text);
+        if (byText != null) {
+            return byText;
+        }
+        if (text.length() == 1 && text.charAt(0) >= 'a' && text.charAt(0) < 'a' + optionCount) {
+            return text.charAt(0) - 'a';
+        }
+        return -1;
+    }
+
+    private static JsonNode readTree(ObjectMapper objectMapper, String json, UUID questionId) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new TrainingException("Invalid answer key JSON for question " + questionId, e);
+        }
+    }
+
+    /**
+     * Outcome of grading one submission
+     */
+    public record GradeResult(int score, int maxScore, int correctAnswers, int totalQuestions, boolean passed) {
+    }
+}
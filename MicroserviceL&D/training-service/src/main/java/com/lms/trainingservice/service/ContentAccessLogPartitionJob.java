@@ -0,0 +1,90 @@
+package com.lms.trainingservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Keeps the daily partitions of content_access_log
+ * Partitions are created a few days ahead so the writer never meets a missing range, and whole
+ * partitions past the retention period are dropped instead of deleting rows
+ */
+@Component
+@Slf4j
+public class ContentAccessLogPartitionJob {
+
+    private static final String PARENT = "content_access_log";
+    private static final String PREFIX = PARENT + "_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                    + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int daysAhead;
+    private final int retentionDays;
+
+    public ContentAccessLogPartitionJob(JdbcTemplate jdbcTemplate,
+                                        @Value("${content.access-log.partition-days-ahead:3}") int daysAhead,
+                                        @Value("${content.access-log.retention-days:90}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.daysAhead = daysAhead;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(fixedDelayString = "${content.access-log.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        try {
+            ensurePartitions();
+            dropExpired();
+        } catch (DataAccessException e) {
+            log.warn("Content access log partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Create today's partition and the next days' if they are missing
+     */
+    public void ensurePartitions() {
+        LocalDate today = LocalDate.now();
+        for (int day = 0; day <= daysAhead; day++) {
+            LocalDate from = today.plusDays(day);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PREFIX + SUFFIX.format(from)
+                        + " PARTITION OF " + PARENT
+                        + " FOR VALUES FROM ('" + from + "') TO ('" + from.plusDays(1) + "')");
+            } catch (DataAccessException e) {
+                // Another instance created it first
+                log.debug("Could not create access log partition for {}: {}", from, e.getMessage());
+            }
+        }
+    }
+
+    private void dropExpired() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, PARENT);
+        for (String partition : partitions) {
+            if (!partition.startsWith(PREFIX)) {
+                continue;
+            }
+            try {
+                LocalDate day = LocalDate.parse(partition.substring(PREFIX.length()), SUFFIX);
+                if (day.isBefore(cutoff)) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                    log.info("Dropped content access log partition {}", partition);
+                }
+            } catch (DateTimeParseException e) {
+                log.debug("Skipping access log partition {} without a date suffix", partition);
+            }
+        }
+    }
+}
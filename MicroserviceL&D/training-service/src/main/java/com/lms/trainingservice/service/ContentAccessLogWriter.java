@@ -0,0 +1,135 @@
+package com.lms.trainingservice.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous writer for content_access_log
+ * Request threads only append to a lock-free ring buffer; one writer thread drains it and inserts the
+ * rows with JDBC batches. When the buffer is full, or a batch fails, the entries are dropped and
+ * counted rather than holding up requests
+ */
+@Component
+@Slf4j
+public class ContentAccessLogWriter {
+
+    private static final int MAX_IP_LENGTH = 50;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO content_access_log (content_id, user_id, accessed_at, ip_address) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContentAccessLogPartitionJob partitionJob;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final MpscRingBuffer<Access> buffer;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+    private Thread writer;
+
+    public ContentAccessLogWriter(JdbcTemplate jdbcTemplate,
+                                  ContentAccessLogPartitionJob partitionJob,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${content.access-log.enabled:true}") boolean enabled,
+                                  @Value("${content.access-log.buffer-size:65536}") int bufferSize,
+                                  @Value("${content.access-log.batch-size:1000}") int batchSize,
+                                  @Value("${content.access-log.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionJob = partitionJob;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.buffer = new MpscRingBuffer<>(Integer.highestOneBit(Math.max(2, bufferSize)));
+        FunctionCounter.builder("content.access.log.written", written, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("content.access.log.dropped", dropped, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("content.access.log.queued", buffer, MpscRingBuffer::size).register(meterRegistry);
+    }
+
+    private record Access(UUID contentId, UUID userId, long accessedAt, String ipAddress) {
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "content-access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Queue one view of a content item; never blocks
+     */
+    public void record(UUID contentId, UUID userId, String ipAddress) {
+        if (!running) {
+            return;
+        }
+        String ip = ipAddress != null && ipAddress.length() > MAX_IP_LENGTH
+                ? ipAddress.substring(0, MAX_IP_LENGTH)
+                : ipAddress;
+        if (!buffer.offer(new Access(contentId, userId, System.currentTimeMillis(), ip))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void run() {
+        // Scheduled maintenance starts only after startup; make sure the current partitions exist first
+        partitionJob.maintain();
+        List<Access> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drain(batch::add, batchSize);
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+            if (running && buffer.size() < batchSize) {
+                // Let a partial batch fill up before the next insert
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+        log.info("Content access log writer stopped: {} written, {} dropped", written.get(), dropped.get());
+    }
+
+    private void write(List<Access> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, access) -> {
+                ps.setObject(1, access.contentId());
+                ps.setObject(2, access.userId());
+                ps.setTimestamp(3, new Timestamp(access.accessedAt()));
+                ps.setString(4, access.ipAddress());
+            });
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            dropped.addAndGet(batch.size());
+            log.warn("Dropped {} content access log entries: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.lms.trainingservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Local disk cache of fixed-size chunks of hot object-store content
+ * Objects are admitted after repeated requests; cached chunks are served with FileChannel.transferTo
+ */
+@Component
+@Slf4j
+public class ContentChunkCache {
+
+    private static final int MAX_TRACKED_OBJECTS = 10_000;
+
+    private final ObjectStorageService objectStorageService;
+    private final Path directory;
+    private final int chunkSize;
+    private final long maxBytes;
+    private final int admitAfterHits;
+
+    private final LinkedHashMap<String, Long> chunks = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes;
+    private final Map<String, AtomicInteger> objectHits = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Path>> loading = new ConcurrentHashMap<>();
+
+    public ContentChunkCache(ObjectStorageService objectStorageService,
+                             @Value("${storage.chunk-cache.dir:${java.io.tmpdir}/lms-chunk-cache}") String directory,
+                             @Value("${storage.chunk-cache.chunk-size:1048576}") int chunkSize,
+                             @Value("${storage.chunk-cache.max-bytes:1073741824}") long maxBytes,
+                             @Value("${storage.chunk-cache.admit-after-hits:2}") int admitAfterHits) {
+        this.objectStorageService = objectStorageService;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        this.maxBytes = maxBytes;
+        this.admitAfterHits = admitAfterHits;
+    }
+
+    /**
+     * Start from an empty directory; chunks left by a previous run are not in the index
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not remove stale cache chunk {}: {}", file, e.getMessage());
+                }
+            });
+        }
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Count a request for an object and report whether it is hot enough to go through the cache
+     */
+    public boolean admit(ObjectStorageService.StorageLocation location) {
+        if (objectHits.size() > MAX_TRACKED_OBJECTS) {
+            objectHits.clear();
+        }
+        return objectHits.computeIfAbsent(location.cacheKey(), key -> new AtomicInteger())
+                .incrementAndGet() >= admitAfterHits;
+    }
+
+    /**
+     * Local file holding one chunk of an object, fetched from the object store on a miss
+     * Concurrent misses for the same chunk share one download
+     */
+    public Path chunk(ObjectStorageService.StorageLocation location, ObjectStorageService.ObjectInfo info,
+                      long chunkIndex) throws IOException {
+        String name = chunkName(location, info.etag(), chunkIndex);
+        Path file = directory.resolve(name);
+        synchronized (chunks) {
+            if (chunks.get(name) != null) {
+                return file;
+            }
+        }
+
+        CompletableFuture<Path> download = new CompletableFuture<>();
+        CompletableFuture<Path> inProgress = loading.putIfAbsent(name, download);
+        if (inProgress != null) {
+            try {
+                return inProgress.join();
+            } catch (CompletionException e) {
+                throw new IOException("Chunk download failed", e.getCause());
+            }
+        }
+
+        try {
+            long offset = chunkIndex * chunkSize;
+            long length = Math.min(chunkSize, info.size() - offset);
+            Path partial = Files.createTempFile(directory, name, ".part");
+            try (InputStream in = objectStorageService.openRange(location, offset, length)) {
+                Files.copy(in, partial, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partial);
+                throw e;
+            }
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            register(name, length);
+            download.complete(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            download.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(name, download);
+        }
+    }
+
+    /**
+     * Forget a chunk whose file disappeared, e.g. after an eviction raced with a reader
+     */
+    public void forget(ObjectStorageService.StorageLocation location, ObjectStorageService.ObjectInfo info,
+                       long chunkIndex) {
+        String name = chunkName(location, info.etag(), chunkIndex);
+        synchronized (chunks) {
+            Long size = chunks.remove(name);
+            if (size != null) {
+                currentBytes -= size;
+            }
+        }
+    }
+
+    private void register(String name, long size) {
+        synchronized (chunks) {
+            Long previous = chunks.put(name, size);
+            currentBytes += size - (previous != null ? previous : 0);
+
+            Iterator<Map.Entry<String, Long>> eldest = chunks.entrySet().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                currentBytes -= entry.getValue();
+                eldest.remove();
+                try {
+                    // Readers that already opened the file keep reading it after the unlink
+                    Files.deleteIfExists(directory.resolve(entry.getKey()));
+                } catch (IOException e) {
+                    log.warn("Could not delete evicted cache chunk {}: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static String chunkName(ObjectStorageService.StorageLocation location, String etag, long chunkIndex) {
+        // The etag is part of the name so a replaced object never serves old chunks
+        UUID id = UUID.nameUUIDFromBytes((location.cacheKey() + "|" + etag).getBytes(StandardCharsets.UTF_8));
+        return id + "-" + chunkIndex;
+    }
+}
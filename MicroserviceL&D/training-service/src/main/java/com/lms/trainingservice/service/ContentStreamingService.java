@@ -0,0 +1,227 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.entity.TrainingContent;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.repository.TrainingContentRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Streams training content with HTTP Range support
+ * Local files use Tomcat sendfile when available and FileChannel.transferTo otherwise;
+ * object-store content is piped through without holding whole objects in memory
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentStreamingService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final TrainingContentRepository trainingContentRepository;
+    private final ObjectStorageService objectStorageService;
+    private final ContentChunkCache contentChunkCache;
+    private final ContentAccessLogWriter contentAccessLogWriter;
+
+    /**
+     * Write the requested content, or the requested byte range of it, to the response
+     */
+    public void stream(UUID contentId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        TrainingContent content = trainingContentRepository.findById(contentId)
+                .orElseThrow(() -> new TrainingNotFoundException("Content not found with ID: " + contentId));
+
+        ObjectStorageService.StorageLocation location = objectStorageService.resolve(content.getContentUrl());
+        ObjectStorageService.ObjectInfo info = objectStorageService.stat(location);
+        long size = info.size();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, info.etag());
+        response.setContentType(mediaType(info.contentType(), content.getContentType()));
+
+        // A stale If-Range means the client's partial copy is outdated: send the whole entity
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        ByteRange range = ifRange == null || ifRange.equals(info.etag())
+                ? ByteRange.parse(request.getHeader(HttpHeaders.RANGE), size)
+                : null;
+
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+
+        long start = range != null ? range.start() : 0;
+        long end = range != null ? range.end() : size - 1;
+        long length = end - start + 1;
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentLengthLong(length);
+        if (start == 0) {
+            // Seeks and resumed downloads ask for later ranges; only the opening request counts as a view
+            contentAccessLogWriter.record(contentId, userId(request), clientIp(request));
+        }
+        if (length == 0) {
+            return;
+        }
+
+        try {
+            if (location.isLocal()) {
+                sendLocal(location.path(), start, length, request, response);
+            } else if (contentChunkCache.admit(location)) {
+                sendCachedChunks(location, info, start, end, response);
+            } else {
+                try (InputStream in = objectStorageService.openRange(location, start, length)) {
+                    in.transferTo(response.getOutputStream());
+                }
+            }
+        } catch (IOException e) {
+            // Players routinely abort ranges while seeking; the status line is already sent
+            log.debug("Content stream {} ended early: {}", contentId, e.getMessage());
+        }
+    }
+
+    private void sendLocal(Path path, long start, long length,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat performs the copy with sendfile after the handler returns
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            transfer(file, start, length, response.getOutputStream());
+        }
+    }
+
+    private void sendCachedChunks(ObjectStorageService.StorageLocation location, ObjectStorageService.ObjectInfo info,
+                                  long start, long end, HttpServletResponse response) throws IOException {
+        int chunkSize = contentChunkCache.getChunkSize();
+        OutputStream out = response.getOutputStream();
+        for (long index = start / chunkSize; index <= end / chunkSize; index++) {
+            long chunkStart = index * chunkSize;
+            long from = Math.max(start, chunkStart) - chunkStart;
+            long to = Math.min(end, chunkStart + chunkSize - 1) - chunkStart;
+            try (FileChannel chunk = openChunk(location, info, index)) {
+                transfer(chunk, from, to - from + 1, out);
+            }
+        }
+    }
+
+    private FileChannel openChunk(ObjectStorageService.StorageLocation location, ObjectStorageService.ObjectInfo info,
+                                  long index) throws IOException {
+        try {
+            return FileChannel.open(contentChunkCache.chunk(location, info, index), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // Evicted between lookup and open; fetch it again
+            contentChunkCache.forget(location, info, index);
+            return FileChannel.open(contentChunkCache.chunk(location, info, index), StandardOpenOption.READ);
+        }
+    }
+
+    private static void transfer(FileChannel source, long position, long count, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        long sent = 0;
+        while (sent < count) {
+            long written = source.transferTo(position + sent, count - sent, target);
+            if (written <= 0) {
+                break;
+            }
+            sent += written;
+        }
+    }
+
+    private static UUID userId(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        try {
+            return userId != null ? UUID.fromString(userId.toString()) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            int comma = forwarded.indexOf(',');
+            return (comma >= 0 ? forwarded.substring(0, comma) : forwarded).trim();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static String mediaType(String storedType, String contentType) {
+        if (storedType != null && !MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(storedType)) {
+            return storedType;
+        }
+        if ("VIDEO".equalsIgnoreCase(contentType)) {
+            return "video/mp4";
+        }
+        if ("PDF".equalsIgnoreCase(contentType)) {
+            return MediaType.APPLICATION_PDF_VALUE;
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    /**
+     * Single inclusive byte range from a Range header
+     * Multi-range and malformed headers are ignored, which per RFC 9110 means serving the full entity
+     */
+    record ByteRange(long start, long end) {
+
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        static ByteRange parse(String header, long size) {
+            if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+                return null;
+            }
+            String spec = header.substring(6).trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            try {
+                if (dash == 0) {
+                    long suffix = Long.parseLong(spec.substring(1));
+                    if (suffix <= 0) {
+                        return UNSATISFIABLE;
+                    }
+                    return new ByteRange(Math.max(0, size - suffix), size - 1);
+                }
+                long start = Long.parseLong(spec.substring(0, dash));
+                long end = dash == spec.length() - 1 ? size - 1 : Long.parseLong(spec.substring(dash + 1));
+                if (end < start) {
+                    return null;
+                }
+                if (start >= size) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(start, Math.min(end, size - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
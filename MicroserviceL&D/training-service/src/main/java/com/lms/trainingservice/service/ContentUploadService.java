@@ -0,0 +1,269 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.ContentUploadResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.repository.TrainingModuleRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming content uploads
+ * The file part of a multipart request is copied straight from the request body into storage in fixed-size
+ * chunks, hashing it on the way, so nothing is buffered whole in memory or spooled to temp files. The upload
+ * is tracked in content_metadata (UPLOADING, PROCESSING, READY or FAILED) and becomes training content under
+ * the same id; video metadata is extracted afterwards on a small background pool. A semaphore caps the
+ * uploads streaming through one instance at a time
+ */
+@Service
+@Slf4j
+public class ContentUploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_FILE_NAME_LENGTH = 120;
+
+    private static final String INSERT_UPLOAD_SQL =
+            "INSERT INTO content_metadata (id, content_type, file_name, mime_type, storage_path, uploaded_by, upload_status) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPLOADED_SQL =
+            "UPDATE content_metadata SET file_size = ?, checksum_sha256 = ?, upload_status = ? WHERE id = ?";
+
+    private static final String INSERT_CONTENT_SQL =
+            "INSERT INTO training_content (id, module_id, content_url, content_type, file_size, metadata) "
+                    + "VALUES (?, ?, ?, ?, ?, ?::jsonb)";
+
+    private static final String STATUS_SQL = "UPDATE content_metadata SET upload_status = ? WHERE id = ?";
+
+    private static final String VIDEO_SQL =
+            "INSERT INTO video_metadata (content_id, duration_seconds, resolution, codec) VALUES (?, ?, ?, ?) "
+                    + "ON CONFLICT (content_id) DO UPDATE SET duration_seconds = EXCLUDED.duration_seconds, "
+                    + "resolution = EXCLUDED.resolution, codec = EXCLUDED.codec";
+
+    private static final String GET_SQL =
+            "SELECT m.id, m.content_type, m.file_name, m.mime_type, m.file_size, m.checksum_sha256, m.upload_status, "
+                    + "m.created_at, v.duration_seconds, v.resolution, v.codec "
+                    + "FROM content_metadata m LEFT JOIN video_metadata v ON v.content_id = m.id WHERE m.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectStorageService objectStorageService;
+    private final TrainingModuleRepository trainingModuleRepository;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final long maxBytes;
+    private final Semaphore uploadPermits;
+    private final ExecutorService extractor;
+
+    public ContentUploadService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ObjectStorageService objectStorageService,
+                                TrainingModuleRepository trainingModuleRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${content.upload.base-url:s3://training-content/uploads}") String baseUrl,
+                                @Value("${content.upload.max-bytes:5368709120}") long maxBytes,
+                                @Value("${content.upload.max-concurrent:4}") int maxConcurrent,
+                                @Value("${content.upload.extraction-threads:2}") int extractionThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectStorageService = objectStorageService;
+        this.trainingModuleRepository = trainingModuleRepository;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.maxBytes = maxBytes;
+        this.uploadPermits = new Semaphore(Math.max(1, maxConcurrent));
+        AtomicInteger threads = new AtomicInteger();
+        this.extractor = Executors.newFixedThreadPool(Math.max(1, extractionThreads), runnable -> {
+            Thread thread = new Thread(runnable, "content-metadata-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        extractor.shutdownNow();
+    }
+
+    /**
+     * Store the first file part of a multipart request as new content of a module
+     */
+    public ContentUploadResponse upload(UUID moduleId, String contentType, UUID uploadedBy,
+                                        HttpServletRequest request) throws IOException {
+        String boundary = MultipartStreamReader.boundary(request.getContentType());
+        if (boundary == null) {
+            throw new TrainingException("Upload must be a multipart/form-data request");
+        }
+        if (contentType == null || contentType.isBlank() || contentType.length() > 50) {
+            throw new TrainingException("A content type of at most 50 characters is required");
+        }
+        if (!trainingModuleRepository.existsById(moduleId)) {
+            throw new TrainingNotFoundException("Module not found with ID: " + moduleId);
+        }
+        if (!uploadPermits.tryAcquire()) {
+            throw new TrainingException("Too many uploads in progress; try again shortly");
+        }
+        try {
+            MultipartStreamReader reader = new MultipartStreamReader(request.getInputStream(), boundary);
+            MultipartStreamReader.Part part;
+            while ((part = reader.nextPart()) != null) {
+                if (part.fileName() != null && !part.fileName().isBlank()) {
+                    return store(moduleId, contentType, uploadedBy, part);
+                }
+            }
+            throw new TrainingException("Upload request has no file part");
+        } finally {
+            uploadPermits.release();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ContentUploadResponse getUpload(UUID uploadId) {
+        List<ContentUploadResponse> uploads = jdbcTemplate.query(GET_SQL, (rs, rowNum) -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            return ContentUploadResponse.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .contentType(rs.getString("content_type"))
+                    .fileName(rs.getString("file_name"))
+                    .mimeType(rs.getString("mime_type"))
+                    .fileSize(rs.getObject("file_size", Long.class))
+                    .checksumSha256(rs.getString("checksum_sha256"))
+                    .uploadStatus(rs.getString("upload_status"))
+                    .durationSeconds(rs.getObject("duration_seconds", Integer.class))
+                    .resolution(rs.getString("resolution"))
+                    .codec(rs.getString("codec"))
+                    .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                    .build();
+        }, uploadId);
+        if (uploads.isEmpty()) {
+            throw new TrainingNotFoundException("Upload not found with ID: " + uploadId);
+        }
+        return uploads.get(0);
+    }
+
+    private ContentUploadResponse store(UUID moduleId, String contentType, UUID uploadedBy,
+                                        MultipartStreamReader.Part part) throws IOException {
+        UUID uploadId = UUID.randomUUID();
+        String fileName = safeFileName(part.fileName());
+        String mimeType = part.contentType() != null && part.contentType().length() <= 100
+                ? part.contentType()
+                : "application/octet-stream";
+        String contentUrl = baseUrl + "/" + uploadId + "/" + fileName;
+        ObjectStorageService.StorageLocation location = objectStorageService.resolve(contentUrl);
+        jdbcTemplate.update(INSERT_UPLOAD_SQL, uploadId, contentType, fileName, mimeType, contentUrl, uploadedBy,
+                AppConstants.UPLOAD_STATUS_UPLOADING);
+
+        long size = 0;
+        MessageDigest digest = sha256();
+        long started = System.currentTimeMillis();
+        try {
+            try (InputStream in = part.body(); OutputStream out = objectStorageService.create(location, mimeType)) {
+                byte[] chunk = new byte[COPY_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(chunk)) >= 0) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new TrainingException("Upload exceeds the limit of " + maxBytes + " bytes");
+                    }
+                    digest.update(chunk, 0, read);
+                    out.write(chunk, 0, read);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // close() has completed whatever was written; remove the partial file
+            failUpload(uploadId, location);
+            throw e instanceof TrainingException training ? training : new TrainingException("Upload failed", e);
+        }
+
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        long fileSize = size;
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("fileName", fileName);
+        metadata.put("mimeType", mimeType);
+        metadata.put("sha256", checksum);
+        String metadataJson = objectMapper.writeValueAsString(metadata);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(UPLOADED_SQL, fileSize, checksum, AppConstants.UPLOAD_STATUS_PROCESSING, uploadId);
+            jdbcTemplate.update(INSERT_CONTENT_SQL, uploadId, moduleId, contentUrl, contentType, fileSize, metadataJson);
+        });
+        log.info("Stored upload {} ({} bytes) for module {} in {} ms", uploadId, fileSize, moduleId,
+                System.currentTimeMillis() - started);
+
+        extractor.execute(() -> extractMetadata(uploadId, location, contentType, mimeType, fileSize));
+        return getUpload(uploadId);
+    }
+
+    /**
+     * Probe a stored upload and mark it READY, or FAILED when the file cannot be read
+     */
+    private void extractMetadata(UUID uploadId, ObjectStorageService.StorageLocation location,
+                                 String contentType, String mimeType, long size) {
+        try {
+            if ("VIDEO".equalsIgnoreCase(contentType) || mimeType.toLowerCase(Locale.ROOT).startsWith("video/")) {
+                Mp4Probe.VideoInfo info = Mp4Probe.probe(
+                        (offset, length) -> objectStorageService.openRange(location, offset, length), size);
+                if (info != null) {
+                    jdbcTemplate.update(VIDEO_SQL, uploadId, info.durationSeconds(), info.resolution(), info.codec());
+                } else {
+                    log.info("Upload {} is not an MP4 this service can probe; no video metadata recorded", uploadId);
+                }
+            }
+            jdbcTemplate.update(STATUS_SQL, AppConstants.UPLOAD_STATUS_READY, uploadId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Metadata extraction for upload {} failed: {}", uploadId, e.getMessage());
+            jdbcTemplate.update(STATUS_SQL, AppConstants.UPLOAD_STATUS_FAILED, uploadId);
+        }
+    }
+
+    private void failUpload(UUID uploadId, ObjectStorageService.StorageLocation location) {
+        try {
+            jdbcTemplate.update(STATUS_SQL, AppConstants.UPLOAD_STATUS_FAILED, uploadId);
+            objectStorageService.delete(location);
+        } catch (RuntimeException e) {
+            log.warn("Cleanup of failed upload {} incomplete: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private static String safeFileName(String fileName) {
+        // Browsers may send a full client path
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1);
+        name = name.replaceAll("[^A-Za-z0-9._-]", "_").replaceAll("^\\.+", "");
+        if (name.isEmpty()) {
+            return "upload";
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(name.length() - MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.dto.CourseImportRequest;
+import com.lms.trainingservice.dto.CourseImportResponse;
+import com.lms.trainingservice.dto.QuizQuestionResponse;
+import com.lms.trainingservice.dto.QuizResponse;
+import com.lms.trainingservice.dto.TrainingContentResponse;
+import com.lms.trainingservice.dto.TrainingModuleResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.repository.TrainingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Imports a whole course tree for a training in one transaction
+ * The document is validated up front, ids are generated here so children can reference their parents
+ * without reading anything back, and each table is written with one JDBC batch in foreign-key order:
+ * modules, content, quizzes, then questions. The response is built from the same in-memory tree
+ * The per-list size limits multiply, so the document as a whole is also capped at a number of nodes
+ */
+@Service
+@Slf4j
+public class CourseImportService {
+
+    private static final String MODULE_SQL =
+            "INSERT INTO training_modules (id, training_id, title, description, sequence_order, content_type, "
+                    + "estimated_duration_minutes) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CONTENT_SQL =
+            "INSERT INTO training_content (id, module_id, content_url, content_type, file_size, metadata) "
+                    + "VALUES (?, ?, ?, ?, ?, ?::jsonb)";
+
+    private static final String QUIZ_SQL =
+            "INSERT INTO quizzes (id, module_id, title, passing_score, time_limit_minutes, version) "
+                    + "VALUES (?, ?, ?, ?, ?, 1)";
+
+    private static final String QUESTION_SQL =
+            "INSERT INTO quiz_questions (id, quiz_id, question_text, question_type, options, correct_answer, points) "
+                    + "VALUES (?, ?, ?, ?, ?::jsonb, ?::jsonb, ?)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TrainingRepository trainingRepository;
+    private final ResponseBytesCache responseBytesCache;
+    private final ObjectMapper objectMapper;
+    private final int maxNodes;
+
+    public CourseImportService(JdbcTemplate jdbcTemplate,
+                               TrainingRepository trainingRepository,
+                               ResponseBytesCache responseBytesCache,
+                               ObjectMapper objectMapper,
+                               @Value("${course-import.max-nodes:20000}") int maxNodes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.trainingRepository = trainingRepository;
+        this.responseBytesCache = responseBytesCache;
+        this.objectMapper = objectMapper;
+        this.maxNodes = maxNodes;
+    }
+
+    @Transactional
+    public CourseImportResponse importCourse(UUID trainingId, CourseImportRequest request) {
+        long nodes = countNodes(request);
+        if (nodes > maxNodes) {
+            throw new TrainingException("Course import has " + nodes + " modules, content items, quizzes and questions; "
+                    + "at most " + maxNodes + " can be imported at once");
+        }
+        if (!trainingRepository.existsById(trainingId)) {
+            throw new TrainingNotFoundException("Training not found with ID: " + trainingId);
+        }
+        validateJson(request, objectMapper);
+        long started = System.currentTimeMillis();
+
+        Integer lastOrder = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(sequence_order), 0) FROM training_modules WHERE training_id = ?",
+                Integer.class, trainingId);
+        List<Integer> orders = sequenceOrders(lastOrder != null ? lastOrder : 0, request.getModules());
+
+        List<TrainingModuleResponse> modules = new ArrayList<>(request.getModules().size());
+        List<TrainingContentResponse> contents = new ArrayList<>();
+        List<QuizResponse> quizzes = new ArrayList<>();
+        List<QuizQuestionResponse> questions = new ArrayList<>();
+        for (int m = 0; m < request.getModules().size(); m++) {
+            CourseImportRequest.Module item = request.getModules().get(m);
+            UUID moduleId = UUID.randomUUID();
+            List<TrainingContentResponse> moduleContents = new ArrayList<>();
+            for (CourseImportRequest.Content content : nullToEmpty(item.getContents())) {
+                moduleContents.add(TrainingContentResponse.builder()
+                        .id(UUID.randomUUID())
+                        .moduleId(moduleId)
+                        .contentUrl(content.getContentUrl())
+                        .contentType(content.getContentType())
+                        .fileSize(content.getFileSize())
+                        .metadata(content.getMetadata())
+                        .build());
+            }
+            List<QuizResponse> moduleQuizzes = new ArrayList<>();
+            for (CourseImportRequest.Quiz quiz : nullToEmpty(item.getQuizzes())) {
+                UUID quizId = UUID.randomUUID();
+                List<QuizQuestionResponse> quizQuestions = new ArrayList<>();
+                for (CourseImportRequest.Question question : nullToEmpty(quiz.getQuestions())) {
+                    quizQuestions.add(QuizQuestionResponse.builder()
+                            .id(UUID.randomUUID())
+                            .quizId(quizId)
+                            .questionText(question.getQuestionText())
+                            .questionType(question.getQuestionType())
+                            .options(question.getOptions())
+                            .correctAnswer(question.getCorrectAnswer())
+                            .points(question.getPoints())
+                            .build());
+                }
+                moduleQuizzes.add(QuizResponse.builder()
+                        .id(quizId)
+                        .moduleId(moduleId)
+                        .title(quiz.getTitle())
+                        .passingScore(quiz.getPassingScore())
+                        .timeLimitMinutes(quiz.getTimeLimitMinutes())
+                        .questions(quizQuestions)
+                        .build());
+                questions.addAll(quizQuestions);
+            }
+            modules.add(TrainingModuleResponse.builder()
+                    .id(moduleId)
+                    .trainingId(trainingId)
+                    .title(item.getTitle())
+                    .description(item.getDescription())
+                    .sequenceOrder(orders.get(m))
+                    .contentType(item.getContentType())
+                    .estimatedDurationMinutes(item.getEstimatedDurationMinutes())
+                    .contents(moduleContents)
+                    .quizzes(moduleQuizzes)
+                    .build());
+            contents.addAll(moduleContents);
+            quizzes.addAll(moduleQuizzes);
+        }
+
+        jdbcTemplate.batchUpdate(MODULE_SQL, modules, BATCH_SIZE, (ps, module) -> {
+            ps.setObject(1, module.getId());
+            ps.setObject(2, module.getTrainingId());
+            ps.setString(3, module.getTitle());
+            ps.setString(4, module.getDescription());
+            ps.setObject(5, module.getSequenceOrder(), Types.INTEGER);
+            ps.setString(6, module.getContentType());
+            ps.setObject(7, module.getEstimatedDurationMinutes(), Types.INTEGER);
+        });
+        jdbcTemplate.batchUpdate(CONTENT_SQL, contents, BATCH_SIZE, (ps, content) -> {
+            ps.setObject(1, content.getId());
+            ps.setObject(2, content.getModuleId());
+            ps.setString(3, content.getContentUrl());
+            ps.setString(4, content.getContentType());
+            ps.setObject(5, content.getFileSize(), Types.BIGINT);
+            ps.setString(6, content.getMetadata());
+        });
+        jdbcTemplate.batchUpdate(QUIZ_SQL, quizzes, BATCH_SIZE, (ps, quiz) -> {
+            ps.setObject(1, quiz.getId());
+            ps.setObject(2, quiz.getModuleId());
+            ps.setString(3, quiz.getTitle());
+            ps.setObject(4, quiz.getPassingScore(), Types.INTEGER);
+            ps.setObject(5, quiz.getTimeLimitMinutes(), Types.INTEGER);
+        });
+        jdbcTemplate.batchUpdate(QUESTION_SQL, questions, BATCH_SIZE, (ps, question) -> {
+            ps.setObject(1, question.getId());
+            ps.setObject(2, question.getQuizId());
+            ps.setString(3, question.getQuestionText());
+            ps.setString(4, question.getQuestionType());
+            ps.setString(5, question.getOptions());
+            ps.setString(6, question.getCorrectAnswer());
+            ps.setObject(7, question.getPoints(), Types.INTEGER);
+        });
+        responseBytesCache.invalidateTraining(trainingId);
+
+        log.info("Imported {} modules, {} content items, {} quizzes and {} questions into training {} in {} ms",
+                modules.size(), contents.size(), quizzes.size(), questions.size(), trainingId,
+                System.currentTimeMillis() - started);
+        return CourseImportResponse.builder()
+                .trainingId(trainingId)
+                .moduleCount(modules.size())
+                .contentCount(contents.size())
+                .quizCount(quizzes.size())
+                .questionCount(questions.size())
+                .modules(modules)
+                .build();
+    }
+
+    /**
+     * Modules, content items, quizzes and questions in the document
+     */
+    public static long countNodes(CourseImportRequest request) {
+        long nodes = 0;
+        for (CourseImportRequest.Module module : nullToEmpty(request.getModules())) {
+            nodes += 1 + nullToEmpty(module.getContents()).size();
+            for (CourseImportRequest.Quiz quiz : nullToEmpty(module.getQuizzes())) {
+                nodes += 1 + nullToEmpty(quiz.getQuestions()).size();
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * The sequence order of each module: an explicit one is kept, a missing one follows the highest order
+     * so far, starting after the training's existing modules
+     */
+    public static List<Integer> sequenceOrders(int lastOrder, List<CourseImportRequest.Module> modules) {
+        List<Integer> orders = new ArrayList<>(modules.size());
+        int nextOrder = lastOrder;
+        for (CourseImportRequest.Module module : modules) {
+            Integer requested = module.getSequenceOrder();
+            nextOrder = requested != null ? Math.max(nextOrder, requested) : nextOrder + 1;
+            orders.add(requested != null ? requested : nextOrder);
+        }
+        return orders;
+    }
+
+    /**
+     * Reject the whole document before writing anything if a JSON-valued field does not parse
+     */
+    public static void validateJson(CourseImportRequest request, ObjectMapper objectMapper) {
+        List<CourseImportRequest.Module> modules = request.getModules();
+        for (int m = 0; m < modules.size(); m++) {
+            List<CourseImportRequest.Content> contents = nullToEmpty(modules.get(m).getContents());
+            for (int c = 0; c < contents.size(); c++) {
+                checkJson(objectMapper, contents.get(c).getMetadata(), "modules[" + m + "].contents[" + c + "].metadata");
+            }
+            List<CourseImportRequest.Quiz> quizzes = nullToEmpty(modules.get(m).getQuizzes());
+            for (int q = 0; q < quizzes.size(); q++) {
+                List<CourseImportRequest.Question> questions = nullToEmpty(quizzes.get(q).getQuestions());
+                for (int i = 0; i < questions.size(); i++) {
+                    String path = "modules[" + m + "].quizzes[" + q + "].questions[" + i + "]";
+                    checkJson(objectMapper, questions.get(i).getOptions(), path + ".options");
+                    checkJson(objectMapper, questions.get(i).getCorrectAnswer(), path + ".correctAnswer");
+                }
+            }
+        }
+    }
+
+    private static void checkJson(ObjectMapper objectMapper, String value, String path) {
+        if (value == null) {
+            return;
+        }
+        try {
+            if (value.isBlank() || objectMapper.readTree(value).isMissingNode()) {
+                throw new TrainingException(path + " is not valid JSON");
+            }
+        } catch (JsonProcessingException e) {
+            throw new TrainingException(path + " is not valid JSON");
+        }
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> items) {
+        return items != null ? items : List.of();
+    }
+}
@@ -0,0 +1,140 @@
+package com.lms.trainingservice.service;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Per-department totals over dense user arrays, aggregated with fork-join
+ * Users are addressed by their directory index and departments by a dense department index,
+ * so the hot loop only touches primitive arrays
+ */
+final class DepartmentRollup {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    final long[] users;
+    final long[] activeUsers;
+    final long[] enrollments;
+    final long[] completions;
+    final double[] scoreSum;
+    final long[] attempts;
+
+    private DepartmentRollup(int departmentCount) {
+        users = new long[departmentCount];
+        activeUsers = new long[departmentCount];
+        enrollments = new long[departmentCount];
+        completions = new long[departmentCount];
+        scoreSum = new double[departmentCount];
+        attempts = new long[departmentCount];
+    }
+
+    /**
+     * Aggregate the given users; when departments is non-null only users of those departments are counted
+     */
+    static DepartmentRollup aggregate(UserStats stats, int[] userDepartment, boolean[] userActive,
+                                      int departmentCount, BitSet departments, ForkJoinPool pool) {
+        return pool.invoke(new Task(stats, userDepartment, userActive, departmentCount, departments,
+                0, userDepartment.length));
+    }
+
+    double completionRate(int department) {
+        return enrollments[department] > 0 ? completions[department] * 100.0 / enrollments[department] : 0;
+    }
+
+    Double averageScore(int department) {
+        return attempts[department] > 0 ? scoreSum[department] / attempts[department] : null;
+    }
+
+    private void merge(DepartmentRollup other) {
+        for (int d = 0; d < users.length; d++) {
+            users[d] += other.users[d];
+            activeUsers[d] += other.activeUsers[d];
+            enrollments[d] += other.enrollments[d];
+            completions[d] += other.completions[d];
+            scoreSum[d] += other.scoreSum[d];
+            attempts[d] += other.attempts[d];
+        }
+    }
+
+    /**
+     * Learning statistics of every directory user, indexed like the directory
+     */
+    static final class UserStats {
+
+        final int[] enrollments;
+        final int[] completions;
+        final double[] hours;
+        final double[] scoreSum;
+        final int[] attempts;
+        final long[] lastActivityMillis;
+
+        UserStats(int userCount) {
+            enrollments = new int[userCount];
+            completions = new int[userCount];
+            hours = new double[userCount];
+            scoreSum = new double[userCount];
+            attempts = new int[userCount];
+            lastActivityMillis = new long[userCount];
+        }
+
+        Double averageScore(int user) {
+            return attempts[user] > 0 ? scoreSum[user] / attempts[user] : null;
+        }
+    }
+
+    private static final class Task extends RecursiveTask<DepartmentRollup> {
+
+        private final UserStats stats;
+        private final int[] userDepartment;
+        private final boolean[] userActive;
+        private final int departmentCount;
+        private final BitSet departments;
+        private final int from;
+        private final int to;
+
+        Task(UserStats stats, int[] userDepartment, boolean[] userActive, int departmentCount,
+             BitSet departments, int from, int to) {
+            this.stats = stats;
+            this.userDepartment = userDepartment;
+            this.userActive = userActive;
+            this.departmentCount = departmentCount;
+            this.departments = departments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected DepartmentRollup compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return computeDirectly();
+            }
+            int middle = (from + to) >>> 1;
+            Task left = new Task(stats, userDepartment, userActive, departmentCount, departments, from, middle);
+            Task right = new Task(stats, userDepartment, userActive, departmentCount, departments, middle, to);
+            left.fork();
+            DepartmentRollup result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private DepartmentRollup computeDirectly() {
+            DepartmentRollup result = new DepartmentRollup(departmentCount);
+            for (int u = from; u < to; u++) {
+                int d = userDepartment[u];
+                if (departments != null && !departments.get(d)) {
+                    continue;
+                }
+                result.users[d]++;
+                if (userActive[u]) {
+                    result.activeUsers[d]++;
+                }
+                result.enrollments[d] += stats.enrollments[u];
+                result.completions[d] += stats.completions[u];
+                result.scoreSum[d] += stats.scoreSum[u];
+                result.attempts[d] += stats.attempts[u];
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.lms.trainingservice.service;
+
+/**
+ * Outbound email channel of the notification pipeline
+ */
+public interface EmailGateway {
+
+    record EmailMessage(String to, String subject, String body) {
+    }
+
+    /**
+     * Send one message; throws on delivery failure so the caller can log it
+     */
+    void send(EmailMessage message);
+}
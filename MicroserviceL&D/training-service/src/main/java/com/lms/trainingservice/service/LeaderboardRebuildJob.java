@@ -0,0 +1,235 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.LeaderboardRebuildResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recomputes every leaderboard from training_enrollments and quiz_attempts
+ * Aggregated rows stream from a cursor into staging keys with pipelined writes, then all keys are swapped in
+ * with RENAME, so readers never see a half-built board. Quiz points replay the incremental rule: each attempt
+ * earns its improvement on the user's previous best for the quiz, credited to the month it was made.
+ * Events consumed while a rebuild runs are journaled and replayed onto the staging keys before the swap, and
+ * once more onto the live keys after it; the snapshot is read in one repeatable-read transaction and replay is
+ * idempotent, so an event that is both in the snapshot and in the journal counts once.
+ * The whole run holds a Postgres advisory lock, so only one instance rebuilds at a time, and its staging keys carry
+ * a run id, so a run never publishes keys staged by another
+ */
+@Component
+@Slf4j
+public class LeaderboardRebuildJob {
+
+    private static final String COMPLETIONS_SQL =
+            "SELECT e.user_id, u.department, to_char(e.completed_at, 'YYYY-MM') AS month, COUNT(*) AS amount "
+                    + "FROM training_enrollments e LEFT JOIN users u ON u.id = e.user_id "
+                    + "WHERE e.enrollment_status = 'COMPLETED' AND e.user_id IS NOT NULL "
+                    + "GROUP BY e.user_id, u.department, month";
+
+    private static final String QUIZ_POINTS_SQL =
+            "SELECT g.user_id, u.department, to_char(g.completed_at, 'YYYY-MM') AS month, SUM(g.gain) AS amount "
+                    + "FROM (SELECT user_id, completed_at, "
+                    + "GREATEST(MAX(score) OVER w, 0) "
+                    + "- GREATEST(COALESCE(MAX(score) OVER (w ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0), 0) AS gain "
+                    + "FROM quiz_attempts WHERE score IS NOT NULL AND user_id IS NOT NULL "
+                    + "WINDOW w AS (PARTITION BY user_id, quiz_id ORDER BY completed_at, id)) g "
+                    + "LEFT JOIN users u ON u.id = g.user_id "
+                    + "WHERE g.gain > 0 GROUP BY g.user_id, u.department, month";
+
+    private static final String COMPLETED_TRAININGS_SQL =
+            "SELECT user_id, training_id FROM training_enrollments "
+                    + "WHERE enrollment_status = 'COMPLETED' AND user_id IS NOT NULL";
+
+    private static final String BEST_SCORES_SQL =
+            "SELECT user_id, quiz_id, MAX(score) AS best FROM quiz_attempts "
+                    + "WHERE score > 0 AND user_id IS NOT NULL GROUP BY user_id, quiz_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final LeaderboardStore store;
+    private final int monthsRetained;
+    private final int fetchSize;
+    private final int batchSize;
+    private final long journalTtlSeconds;
+
+    public LeaderboardRebuildJob(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 LeaderboardStore store,
+                                 @Value("${leaderboards.rebuild.months:3}") int monthsRetained,
+                                 @Value("${leaderboards.rebuild.fetch-size:2000}") int fetchSize,
+                                 @Value("${leaderboards.rebuild.batch-size:5000}") int batchSize,
+                                 @Value("${leaderboards.rebuild.journal-ttl-seconds:21600}") long journalTtlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        // A fresh transaction, so its snapshot is taken after journaling has started
+        this.snapshotTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+        this.store = store;
+        this.monthsRetained = monthsRetained;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+        this.journalTtlSeconds = journalTtlSeconds;
+    }
+
+    @Scheduled(cron = "${leaderboards.rebuild.cron:0 45 3 * * SUN}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (TrainingException e) {
+            log.warn("Scheduled leaderboard rebuild skipped: {}", e.getMessage());
+        }
+    }
+
+    public LeaderboardRebuildResponse rebuild() {
+        try {
+            // The cursors below join this transaction, so the lock is held until the swap is done
+            return transactionTemplate.execute(status -> {
+                Boolean locked = jdbcTemplate.queryForObject(
+                        "SELECT pg_try_advisory_xact_lock(hashtext('leaderboard_rebuild'))", Boolean.class);
+                if (!Boolean.TRUE.equals(locked)) {
+                    throw new TrainingException("Leaderboard rebuild is already running");
+                }
+                return rebuildLocked();
+            });
+        } catch (RuntimeException e) {
+            throw e instanceof TrainingException ? e : new TrainingException("Leaderboard rebuild failed", e);
+        }
+    }
+
+    private LeaderboardRebuildResponse rebuildLocked() {
+        String run = UUID.randomUUID().toString();
+        boolean published = false;
+        try {
+            long started = System.currentTimeMillis();
+            store.clearStaging();
+            store.startJournal(run, journalTtlSeconds);
+            // Months before the cutoff only count towards the all-time boards
+            String firstMonth = YearMonth.now().minusMonths(Math.max(1, monthsRetained) - 1L).toString();
+            long[] rows = snapshotTemplate.execute(status -> {
+                long completionRows = stageBoards(run, COMPLETIONS_SQL, AppConstants.LEADERBOARD_METRIC_COMPLETIONS,
+                        firstMonth);
+                long quizRows = stageBoards(run, QUIZ_POINTS_SQL, AppConstants.LEADERBOARD_METRIC_QUIZ_POINTS,
+                        firstMonth);
+                stageCompletedTrainings(run);
+                stageBestScores(run);
+                return new long[]{completionRows, quizRows};
+            });
+            long completionRows = rows[0];
+            long quizRows = rows[1];
+            long replayed = store.replayJournal(run);
+            int keys = store.publishStaging(run);
+            published = true;
+            // Events journaled after the last replay only reached the replaced keys
+            store.stopJournal();
+            replayed += store.replayJournal(null);
+
+            long duration = System.currentTimeMillis() - started;
+            log.info("Rebuilt leaderboards from {} completion and {} quiz rows and {} replayed events into {} keys in {} ms",
+                    completionRows, quizRows, replayed, keys, duration);
+            return LeaderboardRebuildResponse.builder()
+                    .completionRows(completionRows)
+                    .quizRows(quizRows)
+                    .keys(keys)
+                    .durationMillis(duration)
+                    .build();
+        } finally {
+            store.stopJournal();
+            store.discardJournal();
+            if (!published) {
+                store.discardStaging(run);
+            }
+        }
+    }
+
+    private long stageBoards(String run, String sql, String metric, String firstMonth) {
+        List<LeaderboardStore.Target> targets = new ArrayList<>(batchSize + 6);
+        List<Double> amounts = new ArrayList<>(batchSize + 6);
+        long[] rows = new long[1];
+        stream(sql, rs -> {
+            String month = rs.getString("month");
+            boolean recent = month != null && month.compareTo(firstMonth) >= 0;
+            double amount = rs.getDouble("amount");
+            for (LeaderboardStore.Target target : LeaderboardService.targets(metric, rs.getObject("user_id", UUID.class),
+                    rs.getString("department"), recent ? month : firstMonth)) {
+                if (recent || !LeaderboardStore.isMonthly(target.board())) {
+                    targets.add(target);
+                    amounts.add(amount);
+                }
+            }
+            rows[0]++;
+            if (targets.size() >= batchSize) {
+                store.stageIncrements(run, targets, amounts);
+                targets.clear();
+                amounts.clear();
+            }
+        });
+        if (!targets.isEmpty()) {
+            store.stageIncrements(run, targets, amounts);
+        }
+        return rows[0];
+    }
+
+    private void stageCompletedTrainings(String run) {
+        List<UUID> userIds = new ArrayList<>(batchSize);
+        List<UUID> trainingIds = new ArrayList<>(batchSize);
+        stream(COMPLETED_TRAININGS_SQL, rs -> {
+            userIds.add(rs.getObject("user_id", UUID.class));
+            trainingIds.add(rs.getObject("training_id", UUID.class));
+            if (userIds.size() >= batchSize) {
+                store.stageCompletions(run, userIds, trainingIds);
+                userIds.clear();
+                trainingIds.clear();
+            }
+        });
+        if (!userIds.isEmpty()) {
+            store.stageCompletions(run, userIds, trainingIds);
+        }
+    }
+
+    private void stageBestScores(String run) {
+        List<UUID> userIds = new ArrayList<>(batchSize);
+        List<UUID> quizIds = new ArrayList<>(batchSize);
+        List<Integer> scores = new ArrayList<>(batchSize);
+        stream(BEST_SCORES_SQL, rs -> {
+            userIds.add(rs.getObject("user_id", UUID.class));
+            quizIds.add(rs.getObject("quiz_id", UUID.class));
+            scores.add(rs.getInt("best"));
+            if (userIds.size() >= batchSize) {
+                store.stageBestScores(run, userIds, quizIds, scores);
+                userIds.clear();
+                quizIds.clear();
+                scores.clear();
+            }
+        });
+        if (!userIds.isEmpty()) {
+            store.stageBestScores(run, userIds, quizIds, scores);
+        }
+    }
+
+    /**
+     * Run a query with a cursor; PostgreSQL only honors the fetch size inside a transaction
+     */
+    private void stream(String sql, RowCallbackHandler handler) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, handler));
+    }
+}
@@ -0,0 +1,263 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.LeaderboardEntryResponse;
+import com.lms.trainingservice.dto.LeaderboardResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service for learner and department leaderboards
+ * Completion and quiz-grade events update the Redis boards in LeaderboardStore, so top-N and rank reads are
+ * O(log n) sorted-set lookups instead of scans of training_enrollments and quiz_attempts. Boards missing from
+ * Redis (expired months, Redis down) are served from the last Postgres snapshot
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardService {
+
+    public static final String SCOPE_USERS = "users";
+    public static final String SCOPE_DEPARTMENTS = "departments";
+    public static final String SCOPE_DEPARTMENT = "department:";
+
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_AROUND = 10;
+
+    private static final String SNAPSHOT_SQL =
+            "SELECT member, score, rank, snapshot_at FROM leaderboard_snapshots "
+                    + "WHERE board = ? AND rank BETWEEN ? AND ? ORDER BY rank";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaderboardStore store;
+
+    /**
+     * Boards one event of a user credits: overall, within the department and the department itself,
+     * each all-time and for the month
+     */
+    public static List<LeaderboardStore.Target> targets(String metric, UUID userId, String department, String month) {
+        List<LeaderboardStore.Target> targets = new ArrayList<>(6);
+        String member = userId.toString();
+        for (String period : List.of(AppConstants.LEADERBOARD_PERIOD_ALL, month)) {
+            targets.add(new LeaderboardStore.Target(LeaderboardStore.board(metric, period, SCOPE_USERS), member));
+            if (department != null && !department.isBlank()) {
+                targets.add(new LeaderboardStore.Target(
+                        LeaderboardStore.board(metric, period, SCOPE_DEPARTMENT + department), member));
+                targets.add(new LeaderboardStore.Target(
+                        LeaderboardStore.board(metric, period, SCOPE_DEPARTMENTS), department));
+            }
+        }
+        return targets;
+    }
+
+    public static String currentMonth() {
+        return YearMonth.now().toString();
+    }
+
+    public void recordCompletion(UUID userId, UUID trainingId) {
+        try {
+            if (!store.recordCompletion(userId, trainingId, targets(AppConstants.LEADERBOARD_METRIC_COMPLETIONS,
+                    userId, department(userId), currentMonth()))) {
+                log.debug("Completion of training {} by user {} is already on the leaderboards", trainingId, userId);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to record completion of user {} on leaderboards: {}", userId, e.getMessage());
+        }
+    }
+
+    public void recordQuizScore(UUID userId, UUID quizId, int score) {
+        try {
+            long earned = store.recordBestScore(userId, quizId, score,
+                    targets(AppConstants.LEADERBOARD_METRIC_QUIZ_POINTS, userId, department(userId), currentMonth()));
+            log.debug("User {} earned {} leaderboard points on quiz {}", userId, earned, quizId);
+        } catch (RuntimeException e) {
+            log.error("Failed to record quiz score of user {} on leaderboards: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Top learners overall or within one department
+     */
+    public LeaderboardResponse getUserBoard(String metric, String period, String department, int limit) {
+        String scope = department != null && !department.isBlank() ? SCOPE_DEPARTMENT + department : SCOPE_USERS;
+        return top(metric(metric), period(period), scope, limit);
+    }
+
+    /**
+     * Departments ranked by the total of their learners
+     */
+    public LeaderboardResponse getDepartmentBoard(String metric, String period, int limit) {
+        return top(metric(metric), period(period), SCOPE_DEPARTMENTS, limit);
+    }
+
+    /**
+     * The user's rank with the learners just above and below, overall or within the user's department
+     */
+    public LeaderboardResponse getMyRank(UUID userId, String metric, String period, boolean inDepartment, int around) {
+        String m = metric(metric);
+        String p = period(period);
+        String scope = SCOPE_USERS;
+        if (inDepartment) {
+            String department = department(userId);
+            if (department == null || department.isBlank()) {
+                throw new TrainingException("User has no department");
+            }
+            scope = SCOPE_DEPARTMENT + department;
+        }
+        String board = LeaderboardStore.board(m, p, scope);
+        int window = Math.max(0, Math.min(around, MAX_AROUND));
+
+        try {
+            LeaderboardStore.Entry mine = store.find(board, userId.toString());
+            if (mine != null) {
+                List<LeaderboardStore.Entry> entries = store.range(board,
+                        Math.max(1, mine.rank() - window), mine.rank() + window);
+                LeaderboardResponse response = response(m, p, scope, entries, null);
+                response.setRank(mine.rank());
+                response.setScore(mine.score());
+                return response;
+            }
+            if (store.size(board) > 0) {
+                return response(m, p, scope, List.of(), null);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Leaderboard {} unavailable, reading snapshot: {}", board, e.getMessage());
+        }
+
+        List<Object[]> snapshot = jdbcTemplate.query(
+                "SELECT rank, score FROM leaderboard_snapshots WHERE board = ? AND member = ?",
+                (rs, rowNum) -> new Object[]{rs.getLong("rank"), rs.getDouble("score")}, board, userId.toString());
+        if (snapshot.isEmpty()) {
+            return response(m, p, scope, List.of(), null);
+        }
+        long rank = (Long) snapshot.get(0)[0];
+        LeaderboardResponse response = fromSnapshot(m, p, scope, board, Math.max(1, rank - window), rank + window);
+        response.setRank(rank);
+        response.setScore((Double) snapshot.get(0)[1]);
+        return response;
+    }
+
+    private LeaderboardResponse top(String metric, String period, String scope, int limit) {
+        String board = LeaderboardStore.board(metric, period, scope);
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        try {
+            List<LeaderboardStore.Entry> entries = store.range(board, 1, size);
+            if (!entries.isEmpty()) {
+                return response(metric, period, scope, entries, null);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Leaderboard {} unavailable, reading snapshot: {}", board, e.getMessage());
+        }
+        return fromSnapshot(metric, period, scope, board, 1, size);
+    }
+
+    private LeaderboardResponse fromSnapshot(String metric, String period, String scope, String board, long fromRank, long toRank) {
+        List<LeaderboardStore.Entry> entries = new ArrayList<>();
+        LocalDateTime[] snapshotAt = new LocalDateTime[1];
+        jdbcTemplate.query(SNAPSHOT_SQL, rs -> {
+            entries.add(new LeaderboardStore.Entry(rs.getString("member"), rs.getDouble("score"), rs.getLong("rank")));
+            Timestamp at = rs.getTimestamp("snapshot_at");
+            if (at != null && (snapshotAt[0] == null || at.toLocalDateTime().isBefore(snapshotAt[0]))) {
+                snapshotAt[0] = at.toLocalDateTime();
+            }
+        }, board, fromRank, toRank);
+        return response(metric, period, scope, entries, snapshotAt[0]);
+    }
+
+    private LeaderboardResponse response(String metric, String period, String scope,
+                                         List<LeaderboardStore.Entry> entries, LocalDateTime snapshotAt) {
+        List<LeaderboardEntryResponse> rows = new ArrayList<>(entries.size());
+        if (SCOPE_DEPARTMENTS.equals(scope)) {
+            for (LeaderboardStore.Entry entry : entries) {
+                rows.add(LeaderboardEntryResponse.builder()
+                        .rank(entry.rank())
+                        .department(entry.member())
+                        .score(entry.score())
+                        .build());
+            }
+        } else {
+            Map<UUID, String[]> users = users(entries);
+            for (LeaderboardStore.Entry entry : entries) {
+                UUID userId = UUID.fromString(entry.member());
+                String[] user = users.getOrDefault(userId, new String[2]);
+                rows.add(LeaderboardEntryResponse.builder()
+                        .rank(entry.rank())
+                        .userId(userId)
+                        .name(user[0])
+                        .department(user[1])
+                        .score(entry.score())
+                        .build());
+            }
+        }
+        return LeaderboardResponse.builder()
+                .metric(metric)
+                .period(period)
+                .scope(scope)
+                .entries(rows)
+                .snapshotAt(snapshotAt)
+                .build();
+    }
+
+    private Map<UUID, String[]> users(List<LeaderboardStore.Entry> entries) {
+        Map<UUID, String[]> users = new HashMap<>();
+        if (entries.isEmpty()) {
+            return users;
+        }
+        Object[] ids = entries.stream().map(entry -> UUID.fromString(entry.member())).toArray();
+        jdbcTemplate.query("SELECT id, first_name, last_name, department FROM users WHERE id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+                rs -> {
+                    String first = rs.getString("first_name");
+                    String last = rs.getString("last_name");
+                    String name = ((first != null ? first : "") + " " + (last != null ? last : "")).trim();
+                    users.put(rs.getObject("id", UUID.class), new String[]{name, rs.getString("department")});
+                });
+        return users;
+    }
+
+    private String department(UUID userId) {
+        List<String> departments = jdbcTemplate.queryForList(
+                "SELECT department FROM users WHERE id = ?", String.class, userId);
+        return departments.isEmpty() ? null : departments.get(0);
+    }
+
+    private static String metric(String metric) {
+        String value = metric != null ? metric.trim().toUpperCase(Locale.ROOT) : AppConstants.LEADERBOARD_METRIC_COMPLETIONS;
+        if (!AppConstants.LEADERBOARD_METRIC_COMPLETIONS.equals(value)
+                && !AppConstants.LEADERBOARD_METRIC_QUIZ_POINTS.equals(value)) {
+            throw new TrainingException("Unsupported leaderboard metric: " + metric);
+        }
+        return value;
+    }
+
+    /**
+     * ALL, a month as yyyy-MM, or the current month when empty
+     */
+    private static String period(String period) {
+        if (period == null || period.isBlank()) {
+            return currentMonth();
+        }
+        if (AppConstants.LEADERBOARD_PERIOD_ALL.equalsIgnoreCase(period.trim())) {
+            return AppConstants.LEADERBOARD_PERIOD_ALL;
+        }
+        try {
+            return YearMonth.parse(period.trim()).toString();
+        } catch (DateTimeParseException e) {
+            throw new TrainingException("Invalid leaderboard period: " + period);
+        }
+    }
+}
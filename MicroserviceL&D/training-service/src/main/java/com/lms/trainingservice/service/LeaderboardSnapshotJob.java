@@ -0,0 +1,99 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies the live Redis leaderboards into leaderboard_snapshots
+ * Covers the all-time boards, the current month and the month before, so a month's final standings are in
+ * Postgres before its Redis keys expire. Boards are read page by page in rank order and upserted in batches;
+ * members that left a board are removed afterwards. Boards absent from Redis keep their last snapshot
+ */
+@Component
+@Slf4j
+public class LeaderboardSnapshotJob {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO leaderboard_snapshots (board, member, score, rank, snapshot_at) VALUES (?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (board, member) DO UPDATE SET score = EXCLUDED.score, rank = EXCLUDED.rank, "
+                    + "snapshot_at = EXCLUDED.snapshot_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaderboardStore store;
+    private final int pageSize;
+
+    public LeaderboardSnapshotJob(JdbcTemplate jdbcTemplate,
+                                  LeaderboardStore store,
+                                  @Value("${leaderboards.snapshot.page-size:1000}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.store = store;
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(cron = "${leaderboards.snapshot.cron:0 15 * * * *}")
+    public void snapshot() {
+        long started = System.currentTimeMillis();
+        List<String> departments = jdbcTemplate.queryForList(
+                "SELECT DISTINCT department FROM users WHERE department IS NOT NULL AND department <> ''", String.class);
+        List<String> scopes = new ArrayList<>(departments.size() + 2);
+        scopes.add(LeaderboardService.SCOPE_USERS);
+        scopes.add(LeaderboardService.SCOPE_DEPARTMENTS);
+        for (String department : departments) {
+            scopes.add(LeaderboardService.SCOPE_DEPARTMENT + department);
+        }
+        YearMonth month = YearMonth.now();
+        List<String> periods = List.of(AppConstants.LEADERBOARD_PERIOD_ALL, month.toString(), month.minusMonths(1).toString());
+
+        int boards = 0;
+        long rows = 0;
+        for (String metric : List.of(AppConstants.LEADERBOARD_METRIC_COMPLETIONS, AppConstants.LEADERBOARD_METRIC_QUIZ_POINTS)) {
+            for (String period : periods) {
+                for (String scope : scopes) {
+                    try {
+                        long copied = snapshotBoard(LeaderboardStore.board(metric, period, scope));
+                        if (copied > 0) {
+                            boards++;
+                            rows += copied;
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Snapshot of leaderboard {}:{}:{} failed: {}", metric, period, scope, e.getMessage());
+                    }
+                }
+            }
+        }
+        log.info("Snapshotted {} leaderboards ({} rows) in {} ms", boards, rows, System.currentTimeMillis() - started);
+    }
+
+    private long snapshotBoard(String board) {
+        Timestamp snapshotAt = new Timestamp(System.currentTimeMillis());
+        long copied = 0;
+        List<LeaderboardStore.Entry> page;
+        do {
+            page = store.range(board, copied + 1, copied + pageSize);
+            if (!page.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, page, page.size(), (ps, entry) -> {
+                    ps.setString(1, board);
+                    ps.setString(2, entry.member());
+                    ps.setDouble(3, entry.score());
+                    ps.setLong(4, entry.rank());
+                    ps.setTimestamp(5, snapshotAt);
+                });
+                copied += page.size();
+            }
+        } while (page.size() == pageSize);
+
+        if (copied > 0) {
+            jdbcTemplate.update("DELETE FROM leaderboard_snapshots WHERE board = ? AND snapshot_at < ?", board, snapshotAt);
+        }
+        return copied;
+    }
+}
@@ -0,0 +1,370 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis sorted sets holding the leaderboards, one per metric, period and scope
+ * A board id reads "METRIC:PERIOD:SCOPE", e.g. "COMPLETIONS:2026-10:users", "QUIZ_POINTS:ALL:departments" or
+ * "COMPLETIONS:ALL:department:Engineering". Every event is one Lua script over all boards it touches;
+ * monthly boards expire once their snapshot in Postgres is final. Ranks are 1-based, highest score first
+ * While a rebuild is marked active, each event is also appended to a journal the rebuild replays onto its
+ * staging keys; replay goes through the same idempotent scripts, so events already in its snapshot count once
+ */
+@Component
+@Slf4j
+public class LeaderboardStore {
+
+    // KEYS: completed trainings of the user, rebuild marker, rebuild journal, boards; ARGV: training id, ttl seconds,
+    // journal entry (empty on replay), then per board its member and 1 when the board expires.
+    // A redelivered completion finds its training already recorded and counts nothing
+    private static final RedisScript<Long> COMPLETION_SCRIPT = new DefaultRedisScript<>("""
+            if ARGV[3] ~= '' and redis.call('EXISTS', KEYS[2]) == 1 then redis.call('RPUSH', KEYS[3], ARGV[3]) end
+            if redis.call('SADD', KEYS[1], ARGV[1]) == 0 then return 0 end
+            for i = 4, #KEYS do
+              redis.call('ZINCRBY', KEYS[i], 1, ARGV[2 * i - 4])
+              if ARGV[2 * i - 3] == '1' then redis.call('EXPIRE', KEYS[i], ARGV[2]) end
+            end
+            return 1""", Long.class);
+
+    // KEYS: best scores of the user, rebuild marker, rebuild journal, boards; ARGV: quiz id, score, ttl seconds,
+    // journal entry, then per board its member and expiry flag
+    // Only an improvement on the user's best score for the quiz earns points, so retakes cannot farm them
+    private static final RedisScript<Long> BEST_SCORE_SCRIPT = new DefaultRedisScript<>("""
+            if ARGV[4] ~= '' and redis.call('EXISTS', KEYS[2]) == 1 then redis.call('RPUSH', KEYS[3], ARGV[4]) end
+            local best = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+            local score = tonumber(ARGV[2])
+            if score <= best then return 0 end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            for i = 4, #KEYS do
+              redis.call('ZINCRBY', KEYS[i], score - best, ARGV[2 * i - 3])
+              if ARGV[2 * i - 2] == '1' then redis.call('EXPIRE', KEYS[i], ARGV[3]) end
+            end
+            return score - best""", Long.class);
+
+    // Journal entries: kind, user id, training or quiz id, score (quiz only), then board and member pairs
+    private static final String JOURNAL_SEPARATOR = "\u001F";
+    private static final String JOURNAL_COMPLETION = "C";
+    private static final String JOURNAL_BEST_SCORE = "Q";
+    private static final int JOURNAL_BATCH = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final long monthlyTtlSeconds;
+
+    public LeaderboardStore(StringRedisTemplate redisTemplate,
+                            @Value("${leaderboards.monthly-ttl-days:100}") long monthlyTtlDays) {
+        this.redisTemplate = redisTemplate;
+        this.monthlyTtlSeconds = monthlyTtlDays * 86400;
+    }
+
+    /**
+     * A member's place on one board
+     */
+    public record Entry(String member, double score, long rank) {
+    }
+
+    /**
+     * A board an event updates and the member it credits
+     */
+    public record Target(String board, String member) {
+
+        boolean expires() {
+            return isMonthly(board);
+        }
+    }
+
+    public static String board(String metric, String period, String scope) {
+        return metric + ":" + period + ":" + scope;
+    }
+
+    static boolean isMonthly(String board) {
+        String[] parts = board.split(":", 3);
+        return parts.length == 3 && !AppConstants.LEADERBOARD_PERIOD_ALL.equals(parts[1]);
+    }
+
+    /**
+     * Count a completed enrollment once; returns false when the user's completion of the training was already counted
+     */
+    public boolean recordCompletion(UUID userId, UUID trainingId, List<Target> targets) {
+        String entry = journalEntry(List.of(JOURNAL_COMPLETION, userId.toString(), trainingId.toString()), targets);
+        return applyCompletion("", userId, trainingId, targets, entry);
+    }
+
+    /**
+     * Record a quiz score; returns the points earned, zero unless it beats the user's best on the quiz
+     */
+    public long recordBestScore(UUID userId, UUID quizId, int score, List<Target> targets) {
+        String entry = journalEntry(
+                List.of(JOURNAL_BEST_SCORE, userId.toString(), quizId.toString(), Integer.toString(score)), targets);
+        return applyBestScore("", userId, quizId, score, targets, entry);
+    }
+
+    /**
+     * Entries by rank, both ends 1-based and inclusive; O(log n + m)
+     */
+    public List<Entry> range(String board, long fromRank, long toRank) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .reverseRangeWithScores(key(board), Math.max(0, fromRank - 1), toRank - 1);
+        List<Entry> entries = new ArrayList<>(tuples != null ? tuples.size() : 0);
+        if (tuples != null) {
+            long rank = Math.max(1, fromRank);
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                entries.add(new Entry(tuple.getValue(), tuple.getScore() != null ? tuple.getScore() : 0, rank++));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * The member's entry, or null when it is not on the board; O(log n)
+     */
+    public Entry find(String board, String member) {
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection strings = (StringRedisConnection) connection;
+            strings.zRevRank(key(board), member);
+            strings.zScore(key(board), member);
+            return null;
+        });
+        if (results.size() < 2 || results.get(0) == null || results.get(1) == null) {
+            return null;
+        }
+        return new Entry(member, ((Number) results.get(1)).doubleValue(), ((Number) results.get(0)).longValue() + 1);
+    }
+
+    public long size(String board) {
+        Long size = redisTemplate.opsForZSet().zCard(key(board));
+        return size != null ? size : 0L;
+    }
+
+    // ---- Rebuild: boards are recomputed under staging keys of one run and swapped in with RENAME ----
+
+    /**
+     * Drop staging keys left behind by interrupted rebuilds; only call while holding the rebuild lock
+     */
+    public void clearStaging() {
+        deleteMatching(AppConstants.REDIS_KEY_LEADERBOARD_REBUILD + "*", Set.of());
+    }
+
+    /**
+     * Start journaling events for a rebuild; call before the rebuild reads its snapshot
+     */
+    public void startJournal(String run, long ttlSeconds) {
+        redisTemplate.delete(AppConstants.REDIS_KEY_LEADERBOARD_REBUILD_JOURNAL);
+        redisTemplate.opsForValue().set(AppConstants.REDIS_KEY_LEADERBOARD_REBUILD_ACTIVE, run,
+                Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Stop journaling; entries already in the journal stay there for a last replay
+     */
+    public void stopJournal() {
+        redisTemplate.delete(AppConstants.REDIS_KEY_LEADERBOARD_REBUILD_ACTIVE);
+    }
+
+    public void discardJournal() {
+        redisTemplate.delete(AppConstants.REDIS_KEY_LEADERBOARD_REBUILD_JOURNAL);
+    }
+
+    /**
+     * Apply journaled events to the run's staging keys, or to the live keys when run is null, and remove them
+     * from the journal; returns the number of events replayed
+     */
+    public long replayJournal(String run) {
+        String prefix = run != null ? stagingPrefix(run) : "";
+        long replayed = 0;
+        List<String> entries;
+        while ((entries = redisTemplate.opsForList()
+                .leftPop(AppConstants.REDIS_KEY_LEADERBOARD_REBUILD_JOURNAL, JOURNAL_BATCH)) != null
+                && !entries.isEmpty()) {
+            for (String entry : entries) {
+                replay(prefix, entry);
+            }
+            replayed += entries.size();
+        }
+        return replayed;
+    }
+
+    /**
+     * Drop the staging keys of one run
+     */
+    public void discardStaging(String run) {
+        deleteMatching(stagingPrefix(run) + "*", Set.of());
+    }
+
+    public void stageIncrements(String run, List<Target> targets, List<Double> amounts) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection strings = (StringRedisConnection) connection;
+            for (int i = 0; i < targets.size(); i++) {
+                strings.zIncrBy(stagingPrefix(run) + key(targets.get(i).board()), amounts.get(i),
+                        targets.get(i).member());
+            }
+            return null;
+        });
+    }
+
+    public void stageBestScores(String run, List<UUID> userIds, List<UUID> quizIds, List<Integer> scores) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection strings = (StringRedisConnection) connection;
+            for (int i = 0; i < userIds.size(); i++) {
+                strings.hSet(stagingPrefix(run) + AppConstants.REDIS_KEY_LEADERBOARD_QUIZ_BEST + userIds.get(i),
+                        quizIds.get(i).toString(), Integer.toString(scores.get(i)));
+            }
+            return null;
+        });
+    }
+
+    public void stageCompletions(String run, List<UUID> userIds, List<UUID> trainingIds) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection strings = (StringRedisConnection) connection;
+            for (int i = 0; i < userIds.size(); i++) {
+                strings.sAdd(stagingPrefix(run) + AppConstants.REDIS_KEY_LEADERBOARD_COMPLETED + userIds.get(i),
+                        trainingIds.get(i).toString());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Swap every board, best-score hash and completion set staged by the run in, deleting live keys it did not produce
+     */
+    public int publishStaging(String run) {
+        String prefix = stagingPrefix(run);
+        Set<String> staged = new HashSet<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(prefix + "*").count(1000).build())) {
+            cursor.forEachRemaining(staged::add);
+        }
+        List<String> stagedKeys = new ArrayList<>(staged);
+        Set<String> live = new HashSet<>();
+        for (String stagedKey : stagedKeys) {
+            live.add(stagedKey.substring(prefix.length()));
+        }
+        for (int from = 0; from < stagedKeys.size(); from += 1000) {
+            List<String> chunk = stagedKeys.subList(from, Math.min(from + 1000, stagedKeys.size()));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection strings = (StringRedisConnection) connection;
+                for (String stagedKey : chunk) {
+                    String liveKey = stagedKey.substring(prefix.length());
+                    if (isMonthlyBoard(liveKey)) {
+                        strings.expire(stagedKey, monthlyTtlSeconds);
+                    }
+                    strings.rename(stagedKey, liveKey);
+                }
+                return null;
+            });
+        }
+        deleteMatching(AppConstants.REDIS_KEY_LEADERBOARD + "*", live);
+        deleteMatching(AppConstants.REDIS_KEY_LEADERBOARD_QUIZ_BEST + "*", live);
+        deleteMatching(AppConstants.REDIS_KEY_LEADERBOARD_COMPLETED + "*", live);
+        return stagedKeys.size();
+    }
+
+    private void deleteMatching(String pattern, Set<String> keep) {
+        List<String> doomed = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
+            cursor.forEachRemaining(key -> {
+                if (!keep.contains(key)) {
+                    doomed.add(key);
+                }
+            });
+        }
+        for (int from = 0; from < doomed.size(); from += 1000) {
+            redisTemplate.delete(doomed.subList(from, Math.min(from + 1000, doomed.size())));
+        }
+    }
+
+    private boolean applyCompletion(String prefix, UUID userId, UUID trainingId, List<Target> targets, String entry) {
+        List<String> keys = new ArrayList<>(targets.size() + 3);
+        keys.add(prefix + AppConstants.REDIS_KEY_LEADERBOARD_COMPLETED + userId);
+        addJournalKeys(keys);
+        List<String> args = new ArrayList<>(3 + 2 * targets.size());
+        args.add(trainingId.toString());
+        args.add(Long.toString(monthlyTtlSeconds));
+        args.add(entry);
+        addTargets(prefix, targets, keys, args);
+        Long counted = redisTemplate.execute(COMPLETION_SCRIPT, keys, args.toArray());
+        return counted != null && counted > 0;
+    }
+
+    private long applyBestScore(String prefix, UUID userId, UUID quizId, int score, List<Target> targets, String entry) {
+        List<String> keys = new ArrayList<>(targets.size() + 3);
+        keys.add(prefix + AppConstants.REDIS_KEY_LEADERBOARD_QUIZ_BEST + userId);
+        addJournalKeys(keys);
+        List<String> args = new ArrayList<>(4 + 2 * targets.size());
+        args.add(quizId.toString());
+        args.add(Integer.toString(score));
+        args.add(Long.toString(monthlyTtlSeconds));
+        args.add(entry);
+        addTargets(prefix, targets, keys, args);
+        Long earned = redisTemplate.execute(BEST_SCORE_SCRIPT, keys, args.toArray());
+        return earned != null ? earned : 0L;
+    }
+
+    private void replay(String prefix, String entry) {
+        String[] fields = entry.split(JOURNAL_SEPARATOR, -1);
+        boolean completion = JOURNAL_COMPLETION.equals(fields[0]);
+        int first = completion ? 3 : 4;
+        List<Target> targets = new ArrayList<>((fields.length - first) / 2);
+        for (int i = first; i + 1 < fields.length; i += 2) {
+            targets.add(new Target(fields[i], fields[i + 1]));
+        }
+        UUID userId = UUID.fromString(fields[1]);
+        UUID itemId = UUID.fromString(fields[2]);
+        if (completion) {
+            applyCompletion(prefix, userId, itemId, targets, "");
+        } else {
+            applyBestScore(prefix, userId, itemId, Integer.parseInt(fields[3]), targets, "");
+        }
+    }
+
+    private static String journalEntry(List<String> fields, List<Target> targets) {
+        StringBuilder entry = new StringBuilder(String.join(JOURNAL_SEPARATOR, fields));
+        for (Target target : targets) {
+            entry.append(JOURNAL_SEPARATOR).append(target.board()).append(JOURNAL_SEPARATOR).append(target.member());
+        }
+        return entry.toString();
+    }
+
+    private static void addJournalKeys(List<String> keys) {
+        keys.add(AppConstants.REDIS_KEY_LEADERBOARD_REBUILD_ACTIVE);
+        keys.add(AppConstants.REDIS_KEY_LEADERBOARD_REBUILD_JOURNAL);
+    }
+
+    private static void addTargets(String prefix, List<Target> targets, List<String> keys, List<String> args) {
+        for (Target target : targets) {
+            keys.add(prefix + key(target.board()));
+            args.add(target.member());
+            args.add(target.expires() ? "1" : "0");
+        }
+    }
+
+    private static boolean isMonthlyBoard(String liveKey) {
+        return liveKey.startsWith(AppConstants.REDIS_KEY_LEADERBOARD)
+                && isMonthly(liveKey.substring(AppConstants.REDIS_KEY_LEADERBOARD.length()));
+    }
+
+    private static String key(String board) {
+        return AppConstants.REDIS_KEY_LEADERBOARD + board;
+    }
+
+    private static String stagingPrefix(String run) {
+        return AppConstants.REDIS_KEY_LEADERBOARD_REBUILD + run + ":";
+    }
+}
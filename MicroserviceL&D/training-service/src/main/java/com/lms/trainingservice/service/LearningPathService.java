@@ -0,0 +1,228 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.LearningPathProgressResponse;
+import com.lms.trainingservice.dto.LearningPathRequest;
+import com.lms.trainingservice.dto.LearningPathResponse;
+import com.lms.trainingservice.entity.LearningPath;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.repository.LearningPathRepository;
+import com.lms.trainingservice.repository.TrainingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service for learning paths and per-user path progress
+ * Progress rows are maintained incrementally: a training completed or reopened finds its paths through the
+ * learning_path_trainings(training_id) index and recounts only the user's rows of those paths from their enrollments
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LearningPathService {
+
+    private static final String PERCENT = "CASE WHEN %1$s > 0 THEN %2$s * 100 / %1$s ELSE 0 END";
+
+    private static final String LOCK_USER_PATHS_SQL =
+            "SELECT p.id FROM learning_path_progress p JOIN learning_path_trainings lpt ON lpt.path_id = p.path_id "
+                    + "WHERE lpt.training_id = ? AND p.user_id = ? ORDER BY p.id FOR UPDATE OF p";
+
+    // Recount of the user's progress rows on the paths containing one training
+    private static final String USER_RECOUNT_SQL =
+            "UPDATE learning_path_progress p SET total_trainings = c.total, completed_trainings = c.done, "
+                    + "progress_percentage = " + PERCENT.formatted("c.total", "c.done") + ", "
+                    + "updated_at = CURRENT_TIMESTAMP "
+                    + "FROM (SELECT pr.id, COUNT(lpt.training_id) AS total, COUNT(e.id) AS done "
+                    + "FROM learning_path_progress pr "
+                    + "JOIN learning_path_trainings lpt ON lpt.path_id = pr.path_id "
+                    + "LEFT JOIN training_enrollments e ON e.user_id = pr.user_id AND e.training_id = lpt.training_id "
+                    + "AND e.enrollment_status = 'COMPLETED' "
+                    + "WHERE pr.user_id = ? AND pr.path_id IN "
+                    + "(SELECT path_id FROM learning_path_trainings WHERE training_id = ?) GROUP BY pr.id) c "
+                    + "WHERE p.id = c.id";
+
+    private static final String ENROLL_SQL =
+            "INSERT INTO learning_path_progress (id, user_id, path_id, completed_trainings, total_trainings, "
+                    + "progress_percentage, updated_at) "
+                    + "SELECT ?, ?, ?, c.done, c.total, " + PERCENT.formatted("c.total", "c.done") + ", CURRENT_TIMESTAMP "
+                    + "FROM (SELECT COUNT(*) AS total, COUNT(e.id) AS done FROM learning_path_trainings lpt "
+                    + "LEFT JOIN training_enrollments e ON e.training_id = lpt.training_id AND e.user_id = ? "
+                    + "AND e.enrollment_status = 'COMPLETED' WHERE lpt.path_id = ?) c "
+                    + "ON CONFLICT (user_id, path_id) DO NOTHING";
+
+    // Full recount of one path's progress rows, only needed when the path's trainings change
+    private static final String RECOUNT_SQL =
+            "UPDATE learning_path_progress p SET total_trainings = c.total, completed_trainings = c.done, "
+                    + "progress_percentage = " + PERCENT.formatted("c.total", "c.done") + ", "
+                    + "updated_at = CURRENT_TIMESTAMP "
+                    + "FROM (SELECT pr.id, COUNT(lpt.training_id) AS total, COUNT(e.id) AS done "
+                    + "FROM learning_path_progress pr "
+                    + "JOIN learning_path_trainings lpt ON lpt.path_id = pr.path_id "
+                    + "LEFT JOIN training_enrollments e ON e.user_id = pr.user_id AND e.training_id = lpt.training_id "
+                    + "AND e.enrollment_status = 'COMPLETED' "
+                    + "WHERE pr.path_id = ? GROUP BY pr.id) c "
+                    + "WHERE p.id = c.id";
+
+    private static final String PROGRESS_COLUMNS =
+            "SELECT path_id, user_id, completed_trainings, total_trainings, progress_percentage, updated_at "
+                    + "FROM learning_path_progress ";
+
+    private static final RowMapper<LearningPathProgressResponse> PROGRESS_MAPPER = (rs, rowNum) -> {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return LearningPathProgressResponse.builder()
+                .pathId(rs.getObject("path_id", UUID.class))
+                .userId(rs.getObject("user_id", UUID.class))
+                .completedTrainings(rs.getInt("completed_trainings"))
+                .totalTrainings(rs.getInt("total_trainings"))
+                .progressPercentage(rs.getInt("progress_percentage"))
+                .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LearningPathRepository learningPathRepository;
+    private final TrainingRepository trainingRepository;
+
+    /**
+     * Create a learning path (admin)
+     */
+    @Transactional
+    public LearningPathResponse createLearningPath(UUID userId, LearningPathRequest request) {
+        List<UUID> trainingIds = validateTrainings(request.getTrainingIds());
+        LearningPath path = learningPathRepository.save(LearningPath.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .createdBy(userId)
+                .build());
+        insertTrainings(path.getId(), trainingIds);
+        log.info("Created learning path {} with {} trainings", path.getId(), trainingIds.size());
+        return mapToResponse(path, trainingIds);
+    }
+
+    /**
+     * Update a learning path; progress of enrolled users is recounted against the new trainings
+     */
+    @Transactional
+    public LearningPathResponse updateLearningPath(UUID pathId, LearningPathRequest request) {
+        LearningPath path = findPath(pathId);
+        List<UUID> trainingIds = validateTrainings(request.getTrainingIds());
+        path.setTitle(request.getTitle());
+        path.setDescription(request.getDescription());
+        path = learningPathRepository.save(path);
+
+        if (!trainingIds.equals(getTrainingIds(pathId))) {
+            jdbcTemplate.update("DELETE FROM learning_path_trainings WHERE path_id = ?", pathId);
+            insertTrainings(pathId, trainingIds);
+            int recounted = jdbcTemplate.update(RECOUNT_SQL, pathId);
+            log.info("Updated trainings of learning path {}, recounted {} progress rows", pathId, recounted);
+        }
+        return mapToResponse(path, trainingIds);
+    }
+
+    @Transactional(readOnly = true)
+    public LearningPathResponse getLearningPath(UUID pathId) {
+        return mapToResponse(findPath(pathId), getTrainingIds(pathId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LearningPathResponse> getLearningPaths() {
+        Map<UUID, List<UUID>> trainingsByPath = new HashMap<>();
+        jdbcTemplate.query("SELECT path_id, training_id FROM learning_path_trainings ORDER BY path_id, position",
+                rs -> {
+                    trainingsByPath.computeIfAbsent(rs.getObject(1, UUID.class), id -> new ArrayList<>())
+                            .add(rs.getObject(2, UUID.class));
+                });
+        return learningPathRepository.findAll().stream()
+                .map(path -> mapToResponse(path, trainingsByPath.getOrDefault(path.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Start tracking a user's progress on a path; trainings completed earlier count right away
+     */
+    @Transactional
+    public LearningPathProgressResponse enroll(UUID userId, UUID pathId) {
+        findPath(pathId);
+        jdbcTemplate.update(ENROLL_SQL, UUID.randomUUID(), userId, pathId, userId, pathId);
+        return getProgress(userId, pathId);
+    }
+
+    @Transactional(readOnly = true)
+    public LearningPathProgressResponse getProgress(UUID userId, UUID pathId) {
+        return jdbcTemplate.query(PROGRESS_COLUMNS + "WHERE user_id = ? AND path_id = ?", PROGRESS_MAPPER, userId, pathId)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new TrainingNotFoundException("User is not enrolled in learning path: " + pathId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LearningPathProgressResponse> getUserProgress(UUID userId) {
+        return jdbcTemplate.query(PROGRESS_COLUMNS + "WHERE user_id = ? ORDER BY updated_at DESC", PROGRESS_MAPPER, userId);
+    }
+
+    /**
+     * Recount every path of the user containing the training after its enrollment was completed, reopened or
+     * dropped; repeated calls are harmless. The rows are locked first, so the recount reads the enrollments
+     * committed by any concurrent recount of the same rows
+     */
+    @Transactional
+    public void refreshProgress(UUID userId, UUID trainingId) {
+        if (jdbcTemplate.queryForList(LOCK_USER_PATHS_SQL, UUID.class, trainingId, userId).isEmpty()) {
+            return;
+        }
+        int updated = jdbcTemplate.update(USER_RECOUNT_SQL, userId, trainingId);
+        log.debug("Training {} recounted {} learning paths of user {}", trainingId, updated, userId);
+    }
+
+    private LearningPath findPath(UUID pathId) {
+        return learningPathRepository.findById(pathId)
+                .orElseThrow(() -> new TrainingNotFoundException("Learning path not found with id: " + pathId));
+    }
+
+    private List<UUID> validateTrainings(List<UUID> requested) {
+        List<UUID> trainingIds = new ArrayList<>(new LinkedHashSet<>(requested));
+        if (trainingIds.contains(null)) {
+            throw new TrainingException("Training IDs must not be null");
+        }
+        if (trainingRepository.findAllById(trainingIds).size() != trainingIds.size()) {
+            throw new TrainingNotFoundException("One or more trainings of the learning path were not found");
+        }
+        return trainingIds;
+    }
+
+    private void insertTrainings(UUID pathId, List<UUID> trainingIds) {
+        List<Object[]> rows = new ArrayList<>(trainingIds.size());
+        for (int i = 0; i < trainingIds.size(); i++) {
+            rows.add(new Object[]{pathId, trainingIds.get(i), i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO learning_path_trainings (path_id, training_id, position) VALUES (?, ?, ?)", rows);
+    }
+
+    private List<UUID> getTrainingIds(UUID pathId) {
+        return jdbcTemplate.queryForList(
+                "SELECT training_id FROM learning_path_trainings WHERE path_id = ? ORDER BY position", UUID.class, pathId);
+    }
+
+    private LearningPathResponse mapToResponse(LearningPath path, List<UUID> trainingIds) {
+        return LearningPathResponse.builder()
+                .id(path.getId())
+                .title(path.getTitle())
+                .description(path.getDescription())
+                .trainingIds(trainingIds)
+                .createdBy(path.getCreatedBy())
+                .createdAt(path.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.lms.trainingservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for an SMTP relay: messages are logged and counted, nothing leaves the instance
+ */
+@Component
+@Slf4j
+public class LoggingEmailGateway implements EmailGateway {
+
+    private final AtomicLong sent = new AtomicLong();
+
+    @Override
+    public void send(EmailMessage message) {
+        sent.incrementAndGet();
+        log.debug("Email to {}: {}", message.to(), message.subject());
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+}
@@ -0,0 +1,146 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.AssignmentProgressResponse;
+import com.lms.trainingservice.dto.MandatoryTrainingRequest;
+import com.lms.trainingservice.dto.MandatoryTrainingResponse;
+import com.lms.trainingservice.entity.Assignment;
+import com.lms.trainingservice.entity.MandatoryTraining;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.repository.AssignmentRepository;
+import com.lms.trainingservice.repository.MandatoryTrainingRepository;
+import com.lms.trainingservice.repository.TrainingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for managing mandatory training rules and their assignments
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MandatoryTrainingService {
+
+    private final MandatoryTrainingRepository mandatoryTrainingRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final TrainingRepository trainingRepository;
+    private final AssignmentEngine assignmentEngine;
+
+    /**
+     * Create a mandatory training rule; rules already in effect start assigning right away
+     */
+    @Transactional
+    public MandatoryTrainingResponse createMandatoryTraining(UUID userId, MandatoryTrainingRequest request) {
+        if (!trainingRepository.existsById(request.getTrainingId())) {
+            throw new TrainingNotFoundException("Training not found with id: " + request.getTrainingId());
+        }
+
+        MandatoryTraining rule = mandatoryTrainingRepository.save(MandatoryTraining.builder()
+                .trainingId(request.getTrainingId())
+                .role(blankToNull(request.getRole()))
+                .department(blankToNull(request.getDepartment()))
+                .effectiveFrom(request.getEffectiveFrom() != null ? request.getEffectiveFrom() : LocalDateTime.now())
+                .createdBy(userId)
+                .build());
+
+        Assignment assignment = assignmentRepository.save(Assignment.builder()
+                .trainingId(rule.getTrainingId())
+                .assignedBy(userId)
+                .assignmentType(AppConstants.ASSIGNMENT_TYPE_MANDATORY)
+                .dueDate(request.getDueDate())
+                .mandatoryTrainingId(rule.getId())
+                .status(AppConstants.ASSIGNMENT_STATUS_PENDING)
+                .usersScanned(0)
+                .usersAssigned(0)
+                .build());
+        log.info("Created mandatory training rule {} for training {} (role={}, department={})",
+                rule.getId(), rule.getTrainingId(), rule.getRole(), rule.getDepartment());
+
+        if (!rule.getEffectiveFrom().isAfter(LocalDateTime.now())) {
+            startAfterCommit(assignment.getId());
+        }
+        return mapToResponse(rule, assignment);
+    }
+
+    /**
+     * Get all mandatory training rules with their assignment progress
+     */
+    @Transactional(readOnly = true)
+    public List<MandatoryTrainingResponse> getMandatoryTrainings() {
+        return mandatoryTrainingRepository.findAll().stream()
+                .map(rule -> mapToResponse(rule, assignmentRepository.findByMandatoryTrainingId(rule.getId()).orElse(null)))
+                .toList();
+    }
+
+    /**
+     * Get the assignment progress of a rule
+     */
+    @Transactional(readOnly = true)
+    public AssignmentProgressResponse getProgress(UUID mandatoryTrainingId) {
+        return mapToProgress(findAssignment(mandatoryTrainingId));
+    }
+
+    /**
+     * Re-run the fan-out of a rule in the background; already assigned users are skipped
+     */
+    @Transactional(readOnly = true)
+    public AssignmentProgressResponse rerun(UUID mandatoryTrainingId) {
+        Assignment assignment = findAssignment(mandatoryTrainingId);
+        if (AppConstants.ASSIGNMENT_STATUS_RUNNING.equals(assignment.getStatus())) {
+            throw new TrainingException("Assignment is already running");
+        }
+        assignmentEngine.runAsync(assignment.getId());
+        return mapToProgress(assignment);
+    }
+
+    private Assignment findAssignment(UUID mandatoryTrainingId) {
+        return assignmentRepository.findByMandatoryTrainingId(mandatoryTrainingId)
+                .orElseThrow(() -> new TrainingNotFoundException("Mandatory training not found with id: " + mandatoryTrainingId));
+    }
+
+    private void startAfterCommit(UUID assignmentId) {
+        // The async run reads the rows created here, so it may only start once they are visible
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                assignmentEngine.runAsync(assignmentId);
+            }
+        });
+    }
+
+    private static String blankToNull(String value) {
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+
+    private MandatoryTrainingResponse mapToResponse(MandatoryTraining rule, Assignment assignment) {
+        return MandatoryTrainingResponse.builder()
+                .id(rule.getId())
+                .trainingId(rule.getTrainingId())
+                .role(rule.getRole())
+                .department(rule.getDepartment())
+                .effectiveFrom(rule.getEffectiveFrom())
+                .assignment(assignment != null ? mapToProgress(assignment) : null)
+                .build();
+    }
+
+    private AssignmentProgressResponse mapToProgress(Assignment assignment) {
+        return AssignmentProgressResponse.builder()
+                .assignmentId(assignment.getId())
+                .trainingId(assignment.getTrainingId())
+                .status(assignment.getStatus())
+                .usersScanned(assignment.getUsersScanned())
+                .usersAssigned(assignment.getUsersAssigned())
+                .dueDate(assignment.getDueDate())
+                .updatedAt(assignment.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.lms.trainingservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads duration, resolution and codec from the moov box of an MP4/QuickTime file
+ * Only box headers are read until moov is found, so a file whose moov sits at the end costs a few small
+ * range reads plus the moov box itself, never the media data
+ */
+public final class Mp4Probe {
+
+    private static final int MAX_MOOV_BYTES = 64 * 1024 * 1024;
+
+    private Mp4Probe() {
+    }
+
+    /**
+     * Opens a byte range of the file being probed
+     */
+    @FunctionalInterface
+    public interface RangeSource {
+        InputStream open(long offset, long length) throws IOException;
+    }
+
+    /**
+     * What the probe found; fields are null when the file does not say
+     */
+    public record VideoInfo(Integer durationSeconds, String resolution, String codec) {
+    }
+
+    /**
+     * Probe a file of the given size; returns null when it is not an MP4 with a readable moov box
+     */
+    public static VideoInfo probe(RangeSource source, long size) throws IOException {
+        long offset = 0;
+        while (offset + 8 <= size) {
+            ByteBuffer header = ByteBuffer.wrap(read(source, offset, (int) Math.min(16, size - offset)));
+            long boxSize = Integer.toUnsignedLong(header.getInt(0));
+            String type = fourcc(header, 4);
+            int headerSize = 8;
+            if (boxSize == 1) {
+                if (header.limit() < 16) {
+                    return null;
+                }
+                boxSize = header.getLong(8);
+                headerSize = 16;
+            } else if (boxSize == 0) {
+                boxSize = size - offset;
+            }
+            if (boxSize < headerSize || offset + boxSize > size) {
+                return null;
+            }
+            if ("moov".equals(type)) {
+                if (boxSize - headerSize > MAX_MOOV_BYTES) {
+                    return null;
+                }
+                return parseMoov(ByteBuffer.wrap(read(source, offset + headerSize, (int) (boxSize - headerSize))));
+            }
+            offset += boxSize;
+        }
+        return null;
+    }
+
+    private static VideoInfo parseMoov(ByteBuffer moov) {
+        Integer duration = null;
+        String resolution = null;
+        String codec = null;
+        for (int at = 0; at + 8 <= moov.limit(); ) {
+            int size = moov.getInt(at);
+            String type = fourcc(moov, at + 4);
+            if (size < 8 || at + size > moov.limit()) {
+                break;
+            }
+            ByteBuffer body = moov.slice(at + 8, size - 8);
+            if ("mvhd".equals(type)) {
+                duration = movieDuration(body);
+            } else if ("trak".equals(type) && codec == null) {
+                ByteBuffer mdia = child(body, "mdia");
+                ByteBuffer hdlr = mdia != null ? child(mdia, "hdlr") : null;
+                if (hdlr != null && hdlr.limit() >= 12 && "vide".equals(fourcc(hdlr, 8))) {
+                    resolution = trackResolution(child(body, "tkhd"));
+                    codec = sampleFormat(mdia);
+                }
+            }
+            at += size;
+        }
+        if (duration == null && resolution == null && codec == null) {
+            return null;
+        }
+        return new VideoInfo(duration, resolution, codec);
+    }
+
+    private static Integer movieDuration(ByteBuffer mvhd) {
+        int version = mvhd.get(0);
+        long timescale;
+        long duration;
+        if (version == 1 && mvhd.limit() >= 32) {
+            timescale = Integer.toUnsignedLong(mvhd.getInt(20));
+            duration = mvhd.getLong(24);
+        } else if (mvhd.limit() >= 20) {
+            timescale = Integer.toUnsignedLong(mvhd.getInt(12));
+            duration = Integer.toUnsignedLong(mvhd.getInt(16));
+        } else {
+            return null;
+        }
+        return timescale > 0 && duration >= 0 ? (int) Math.round((double) duration / timescale) : null;
+    }
+
+    private static String trackResolution(ByteBuffer tkhd) {
+        if (tkhd == null) {
+            return null;
+        }
+        int at = tkhd.get(0) == 1 ? 88 : 76;
+        if (tkhd.limit() < at + 8) {
+            return null;
+        }
+        // 16.16 fixed point
+        int width = tkhd.getInt(at) >>> 16;
+        int height = tkhd.getInt(at + 4) >>> 16;
+        return width > 0 && height > 0 ? width + "x" + height : null;
+    }
+
+    private static String sampleFormat(ByteBuffer mdia) {
+        ByteBuffer minf = child(mdia, "minf");
+        ByteBuffer stbl = minf != null ? child(minf, "stbl") : null;
+        ByteBuffer stsd = stbl != null ? child(stbl, "stsd") : null;
+        if (stsd == null || stsd.limit() < 16) {
+            return null;
+        }
+        String format = fourcc(stsd, 12);
+        return switch (format) {
+            case "avc1", "avc3" -> "h264";
+            case "hvc1", "hev1" -> "h265";
+            case "vp09" -> "vp9";
+            case "av01" -> "av1";
+            default -> format.trim();
+        };
+    }
+
+    private static ByteBuffer child(ByteBuffer parent, String wanted) {
+        for (int at = 0; at + 8 <= parent.limit(); ) {
+            int size = parent.getInt(at);
+            if (size < 8 || at + size > parent.limit()) {
+                return null;
+            }
+            if (wanted.equals(fourcc(parent, at + 4))) {
+                return parent.slice(at + 8, size - 8);
+            }
+            at += size;
+        }
+        return null;
+    }
+
+    private static String fourcc(ByteBuffer buffer, int at) {
+        byte[] chars = new byte[4];
+        buffer.get(at, chars);
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] read(RangeSource source, long offset, int length) throws IOException {
+        try (InputStream in = source.open(offset, length)) {
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length < length) {
+                throw new IOException("Unexpected end of file at " + (offset + bytes.length));
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.lms.trainingservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming reader for multipart/form-data request bodies
+ * Parts are handed out one at a time as streams over the request body itself; only a fixed window of
+ * bytes is held to spot the next boundary, so a part of any size passes through without temp files.
+ * Reading the next part skips whatever is left of the current one
+ */
+public final class MultipartStreamReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private PartStream current;
+    private boolean finished;
+
+    public MultipartStreamReader(InputStream in, String boundary) {
+        if (boundary == null || boundary.isEmpty() || boundary.length() > 70) {
+            throw new IllegalArgumentException("Invalid multipart boundary");
+        }
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[BUFFER_SIZE];
+        // The first delimiter has no preceding line break; supply one so every delimiter looks the same
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        this.limit = 2;
+        // Anything before the first delimiter is preamble
+        this.current = new PartStream();
+    }
+
+    /**
+     * Boundary parameter of a multipart Content-Type header, or null
+     */
+    public static String boundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return null;
+        }
+        String value = parameter(contentType, "boundary");
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
+    /**
+     * One part of the body; the stream ends at the part's closing boundary
+     */
+    public record Part(Map<String, String> headers, String name, String fileName, String contentType,
+                       InputStream body) {
+    }
+
+    /**
+     * The next part, or null after the closing boundary
+     */
+    public Part nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        current.skipRemaining();
+        if (!ensure(2)) {
+            throw new IOException("Multipart body ended without a closing boundary");
+        }
+        if (buffer[pos] == '-' && buffer[pos + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        skipLinearWhitespace();
+        if (!ensure(2) || buffer[pos] != '\r' || buffer[pos + 1] != '\n') {
+            throw new IOException("Malformed multipart boundary line");
+        }
+        pos += 2;
+
+        Map<String, String> headers = readHeaders();
+        String disposition = headers.getOrDefault("content-disposition", "");
+        current = new PartStream();
+        return new Part(headers, parameter(disposition, "name"), parameter(disposition, "filename"),
+                headers.get("content-type"), current);
+    }
+
+    private Map<String, String> readHeaders() throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        int read = 0;
+        while (true) {
+            StringBuilder line = new StringBuilder();
+            while (true) {
+                if (!ensure(1)) {
+                    throw new IOException("Multipart body ended inside part headers");
+                }
+                byte b = buffer[pos++];
+                if (++read > MAX_HEADER_BYTES) {
+                    throw new IOException("Multipart part headers are too large");
+                }
+                if (b == '\n') {
+                    break;
+                }
+                if (b != '\r') {
+                    line.append((char) (b & 0xff));
+                }
+            }
+            if (line.length() == 0) {
+                return headers;
+            }
+            int colon = line.indexOf(":");
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                        new String(line.substring(colon + 1).trim().getBytes(StandardCharsets.ISO_8859_1),
+                                StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private void skipLinearWhitespace() throws IOException {
+        while (ensure(1) && (buffer[pos] == ' ' || buffer[pos] == '\t')) {
+            pos++;
+        }
+    }
+
+    /**
+     * Make at least count bytes available from pos; false if the body ends first
+     */
+    private boolean ensure(int count) throws IOException {
+        while (limit - pos < count) {
+            if (eof) {
+                return false;
+            }
+            if (pos > 0) {
+                System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+            }
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+        return true;
+    }
+
+    private int indexOfDelimiter() {
+        int last = limit - delimiter.length;
+        outer:
+        for (int i = pos; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static String parameter(String header, String name) {
+        for (String token : header.split(";")) {
+            int equals = token.indexOf('=');
+            if (equals > 0 && token.substring(0, equals).trim().equalsIgnoreCase(name)) {
+                String value = token.substring(equals + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Body of the current part, ending just before the next delimiter
+     */
+    private final class PartStream extends InputStream {
+
+        private boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (ended || current != this) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            while (true) {
+                ensure(delimiter.length);
+                int found = indexOfDelimiter();
+                int available;
+                if (found >= 0) {
+                    available = found - pos;
+                    if (available == 0) {
+                        pos += delimiter.length;
+                        ended = true;
+                        return -1;
+                    }
+                } else {
+                    // The tail could be the start of a delimiter split across reads
+                    available = limit - pos - (delimiter.length - 1);
+                    if (available <= 0) {
+                        if (eof) {
+                            throw new IOException("Multipart body ended inside a part");
+                        }
+                        // Need more input before anything can be released
+                        compactAndRead();
+                        continue;
+                    }
+                }
+                int count = Math.min(length, available);
+                System.arraycopy(buffer, pos, target, offset, count);
+                pos += count;
+                return count;
+            }
+        }
+
+        void skipRemaining() throws IOException {
+            byte[] scratch = new byte[8192];
+            while (read(scratch, 0, scratch.length) >= 0) {
+                // discard
+            }
+        }
+
+        private void compactAndRead() throws IOException {
+            ensure(limit - pos + 1);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sends email deliveries: immediate ones as soon as they are due, the rest coalesced into one digest per user
+ * Users are paged by id, so a user's pending notifications always land in a single digest. Rows are claimed as
+ * SENDING with SKIP LOCKED before anything is sent, so instances polling or running the same cron never email a
+ * user twice. Claims left behind by an instance that died mid-send are released after stale-sending-ms
+ */
+@Component
+@Slf4j
+public class NotificationDigestJob {
+
+    private static final UUID MIN_USER_ID = new UUID(0L, 0L);
+
+    private static final String USERS_SQL =
+            "SELECT DISTINCT n.user_id FROM notification_delivery_log l "
+                    + "JOIN notifications n ON n.id = l.notification_id "
+                    + "LEFT JOIN notification_preferences p ON p.user_id = n.user_id "
+                    + "WHERE l.status = 'PENDING' AND l.channel = 'EMAIL' "
+                    + "AND COALESCE(p.digest_frequency, 'DAILY') = ? AND n.user_id > ? "
+                    + "ORDER BY n.user_id LIMIT ?";
+
+    private static final String CLAIM_USERS_SQL =
+            "UPDATE notification_delivery_log SET status = 'SENDING', claimed_at = CURRENT_TIMESTAMP "
+                    + "WHERE id IN (SELECT l.id FROM notification_delivery_log l "
+                    + "JOIN notifications n ON n.id = l.notification_id "
+                    + "WHERE l.status = 'PENDING' AND l.channel = 'EMAIL' AND n.user_id = ANY(?) "
+                    + "FOR UPDATE OF l SKIP LOCKED) RETURNING id";
+
+    private static final String CLAIM_DUE_SQL =
+            "UPDATE notification_delivery_log SET status = 'SENDING', claimed_at = CURRENT_TIMESTAMP "
+                    + "WHERE id IN (SELECT id FROM notification_delivery_log "
+                    + "WHERE status = 'PENDING' AND next_attempt_at <= CURRENT_TIMESTAMP "
+                    + "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING id";
+
+    // Digest items of users who switched to immediate delivery since they were queued
+    private static final String PROMOTE_SQL =
+            "UPDATE notification_delivery_log l SET next_attempt_at = CURRENT_TIMESTAMP "
+                    + "FROM notifications n JOIN notification_preferences p ON p.user_id = n.user_id "
+                    + "WHERE n.id = l.notification_id AND l.status = 'PENDING' AND l.channel = 'EMAIL' "
+                    + "AND l.next_attempt_at IS NULL AND p.digest_frequency = 'IMMEDIATE'";
+
+    private static final String RELEASE_STALE_SQL =
+            "UPDATE notification_delivery_log SET status = 'PENDING', claimed_at = NULL "
+                    + "WHERE status = 'SENDING' AND claimed_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 millisecond'";
+
+    private static final String ITEMS_SQL =
+            "SELECT l.id, n.user_id, u.email, u.first_name, n.title, n.message FROM notification_delivery_log l "
+                    + "JOIN notifications n ON n.id = l.notification_id JOIN users u ON u.id = n.user_id "
+                    + "WHERE l.id = ANY(?) ORDER BY n.user_id, n.created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationDispatcher dispatcher;
+    private final int usersPerPage;
+    private final long staleSendingMs;
+
+    public NotificationDigestJob(JdbcTemplate jdbcTemplate,
+                                 NotificationDispatcher dispatcher,
+                                 @Value("${notifications.digest.users-per-page:500}") int usersPerPage,
+                                 @Value("${notifications.delivery.stale-sending-ms:1800000}") long staleSendingMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dispatcher = dispatcher;
+        this.usersPerPage = usersPerPage;
+        this.staleSendingMs = staleSendingMs;
+    }
+
+    @Scheduled(cron = "${notifications.digest.daily-cron:0 0 8 * * *}")
+    public void sendDailyDigests() {
+        send(AppConstants.DIGEST_DAILY);
+    }
+
+    @Scheduled(cron = "${notifications.digest.weekly-cron:0 0 8 * * MON}")
+    public void sendWeeklyDigests() {
+        send(AppConstants.DIGEST_WEEKLY);
+    }
+
+    /**
+     * Release claims abandoned mid-send, and queue digest items of users now on immediate delivery
+     */
+    @Scheduled(fixedDelayString = "${notifications.delivery.retry-interval-ms:300000}",
+            initialDelayString = "${notifications.delivery.retry-interval-ms:300000}")
+    public void retryDeliveries() {
+        int released = jdbcTemplate.update(RELEASE_STALE_SQL, staleSendingMs);
+        if (released > 0) {
+            log.warn("Released {} email deliveries left in SENDING", released);
+        }
+        int promoted = jdbcTemplate.update(PROMOTE_SQL);
+        if (promoted > 0) {
+            log.info("Queued {} digest items of users on immediate delivery", promoted);
+        }
+    }
+
+    /**
+     * Send due immediate emails one by one, new ones and retries of failed ones
+     */
+    @Scheduled(fixedDelayString = "${notifications.delivery.poll-interval-ms:2000}")
+    public void sendImmediate() {
+        int sent = 0;
+        while (true) {
+            List<UUID> claimed = jdbcTemplate.queryForList(CLAIM_DUE_SQL, UUID.class, usersPerPage);
+            if (claimed.isEmpty()) {
+                break;
+            }
+            List<NotificationDispatcher.PendingEmail> emails = new ArrayList<>(claimed.size());
+            jdbcTemplate.query(ITEMS_SQL,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", claimed.toArray())),
+                    rs -> {
+                        emails.add(new NotificationDispatcher.PendingEmail(List.of(rs.getObject("id", UUID.class)),
+                                new EmailGateway.EmailMessage(rs.getString("email"), rs.getString("title"),
+                                        rs.getString("message"))));
+                    });
+            dispatcher.deliver(emails);
+            sent += emails.size();
+            if (claimed.size() < usersPerPage) {
+                break;
+            }
+        }
+        if (sent > 0) {
+            log.debug("Sent {} immediate emails", sent);
+        }
+    }
+
+    /**
+     * Send the digests of every user on the given frequency; returns the number of digests sent
+     */
+    public int send(String frequency) {
+        long started = System.currentTimeMillis();
+        int digests = 0;
+        UUID afterUserId = MIN_USER_ID;
+        while (true) {
+            List<UUID> userIds = jdbcTemplate.queryForList(USERS_SQL, UUID.class, frequency, afterUserId, usersPerPage);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<UUID> claimed = jdbcTemplate.query(CLAIM_USERS_SQL,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", userIds.toArray())),
+                    (rs, rowNum) -> rs.getObject(1, UUID.class));
+            afterUserId = userIds.get(userIds.size() - 1);
+            if (claimed.isEmpty()) {
+                continue;
+            }
+            List<NotificationDispatcher.PendingEmail> emails = buildDigests(claimed);
+            dispatcher.deliver(emails);
+            digests += emails.size();
+        }
+        log.info("Sent {} {} notification digests in {} ms", digests, frequency, System.currentTimeMillis() - started);
+        return digests;
+    }
+
+    private List<NotificationDispatcher.PendingEmail> buildDigests(List<UUID> deliveryIds) {
+        List<NotificationDispatcher.PendingEmail> emails = new ArrayList<>();
+        DigestBuilder[] current = new DigestBuilder[1];
+        jdbcTemplate.query(ITEMS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", deliveryIds.toArray())),
+                rs -> {
+                    UUID userId = rs.getObject("user_id", UUID.class);
+                    if (current[0] == null || !current[0].userId.equals(userId)) {
+                        if (current[0] != null) {
+                            emails.add(current[0].build());
+                        }
+                        current[0] = new DigestBuilder(userId, rs.getString("email"), rs.getString("first_name"));
+                    }
+                    current[0].add(rs.getObject("id", UUID.class), rs.getString("title"), rs.getString("message"));
+                });
+        if (current[0] != null) {
+            emails.add(current[0].build());
+        }
+        return emails;
+    }
+
+    /**
+     * Accumulates one user's pending notifications into a single message
+     */
+    private static final class DigestBuilder {
+
+        private final UUID userId;
+        private final String email;
+        private final StringBuilder body = new StringBuilder();
+        private final List<UUID> deliveryIds = new ArrayList<>();
+
+        DigestBuilder(UUID userId, String email, String name) {
+            this.userId = userId;
+            this.email = email;
+            body.append("Hello ").append(name != null ? name : "").append(",\n\n");
+        }
+
+        void add(UUID deliveryId, String title, String message) {
+            deliveryIds.add(deliveryId);
+            body.append("- ").append(title).append(": ").append(message).append('\n');
+        }
+
+        NotificationDispatcher.PendingEmail build() {
+            String subject = deliveryIds.size() == 1 ? "You have 1 new notification"
+                    : "You have " + deliveryIds.size() + " new notifications";
+            return new NotificationDispatcher.PendingEmail(deliveryIds,
+                    new EmailGateway.EmailMessage(email, subject, body.toString()));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.NotificationResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fans one notification out to many users
+ * Recipients are processed in chunks: one query for preferences and addresses, templates rendered
+ * from their compiled form, then in-app notifications and email delivery log rows written as two JDBC
+ * batches. Emails are never sent here: rows of users on IMMEDIATE delivery are written due right away and
+ * NotificationDigestJob claims and sends them, everyone else's wait for their digest. A failed send goes back to
+ * PENDING for another attempt until max-attempts, then stays FAILED. Notifications created for an event carry
+ * its id, and users the event already notified are skipped, so a redelivered or retried fan-out adds nothing
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private static final String RECIPIENTS_SQL =
+            "SELECT u.id, u.email, u.first_name, "
+                    + "COALESCE(p.in_app_enabled, TRUE) AS in_app_enabled, "
+                    + "COALESCE(p.email_enabled, TRUE) AS email_enabled, "
+                    + "COALESCE(p.digest_frequency, 'DAILY') AS digest_frequency "
+                    + "FROM users u LEFT JOIN notification_preferences p ON p.user_id = u.id "
+                    + "WHERE u.id = ANY(?)";
+
+    // Users who turned in-app notifications off still get the record, already read so it never shows as unread
+    private static final String NOTIFICATION_SQL =
+            "INSERT INTO notifications (id, user_id, type, title, message, read_status, action_url, created_at, "
+                    + "event_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String NOTIFIED_SQL =
+            "SELECT user_id FROM notifications WHERE event_id = ? AND user_id = ANY(?)";
+
+    // Parameters: id, notification id, channel, whether the email is sent right away rather than in a digest
+    private static final String DELIVERY_SQL =
+            "INSERT INTO notification_delivery_log (id, notification_id, channel, status, sent_at, next_attempt_at) "
+                    + "VALUES (?, ?, ?, 'PENDING', NULL, CASE WHEN ? THEN CURRENT_TIMESTAMP END)";
+
+    private static final String SENT_SQL =
+            "UPDATE notification_delivery_log SET status = ?, sent_at = CURRENT_TIMESTAMP WHERE id = ANY(?)";
+
+    // Immediate emails become due again after attempts x retry-backoff-ms, so an outage does not burn every attempt
+    // at once; digest items keep a NULL next_attempt_at and go out with the next digest
+    private static final String FAILED_SQL =
+            "UPDATE notification_delivery_log SET attempts = attempts + 1, error_message = ?, claimed_at = NULL, "
+                    + "next_attempt_at = CASE WHEN next_attempt_at IS NOT NULL "
+                    + "THEN CURRENT_TIMESTAMP + (attempts + 1) * ? * INTERVAL '1 millisecond' END, "
+                    + "status = CASE WHEN attempts + 1 >= ? THEN 'FAILED' ELSE 'PENDING' END WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationTemplateRegistry templateRegistry;
+    private final EmailGateway emailGateway;
+    private final NotificationInboxCache inboxCache;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    public NotificationDispatcher(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  NotificationTemplateRegistry templateRegistry,
+                                  EmailGateway emailGateway,
+                                  NotificationInboxCache inboxCache,
+                                  @Value("${notifications.batch-size:1000}") int batchSize,
+                                  @Value("${notifications.delivery.max-attempts:5}") int maxAttempts,
+                                  @Value("${notifications.delivery.retry-backoff-ms:60000}") long retryBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.templateRegistry = templateRegistry;
+        this.emailGateway = emailGateway;
+        this.inboxCache = inboxCache;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    /**
+     * Email ready to send, covering one or more delivery log rows
+     */
+    public record PendingEmail(List<UUID> deliveryIds, EmailGateway.EmailMessage message) {
+    }
+
+    private record Recipient(UUID id, String email, String name, boolean inApp, boolean emailEnabled, String digest) {
+    }
+
+    /**
+     * Notify the given users; variables are shared by all recipients, user_name is filled in per user
+     */
+    public int dispatch(String type, List<UUID> userIds, Map<String, String> variables, String actionUrl) {
+        return dispatch(type, userIds, variables, actionUrl, null);
+    }
+
+    /**
+     * Notify the given users of an event; users it already notified, e.g. before a redelivery, are skipped
+     */
+    public int dispatch(String type, List<UUID> userIds, Map<String, String> variables, String actionUrl,
+                        UUID eventId) {
+        NotificationTemplateRegistry.CompiledTemplate template = templateRegistry.get(type);
+        long started = System.currentTimeMillis();
+        int notified = 0;
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            notified += dispatchChunk(template, userIds.subList(from, Math.min(from + batchSize, userIds.size())),
+                    variables, actionUrl, eventId);
+        }
+        log.info("Dispatched {} {} notifications in {} ms", notified, type, System.currentTimeMillis() - started);
+        return notified;
+    }
+
+    /**
+     * Send emails claimed as SENDING and record the outcome on their delivery log rows, successes with one statement
+     */
+    public void deliver(List<PendingEmail> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        List<UUID> sent = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+        for (PendingEmail email : emails) {
+            try {
+                emailGateway.send(email.message());
+                sent.addAll(email.deliveryIds());
+            } catch (RuntimeException e) {
+                log.warn("Email to {} failed: {}", email.message().to(), e.getMessage());
+                for (UUID deliveryId : email.deliveryIds()) {
+                    failed.add(new Object[]{e.getMessage(), retryBackoffMs, maxAttempts, deliveryId});
+                }
+            }
+        }
+        if (!sent.isEmpty()) {
+            jdbcTemplate.update(SENT_SQL, ps -> {
+                ps.setString(1, AppConstants.DELIVERY_STATUS_SENT);
+                ps.setArray(2, ps.getConnection().createArrayOf("uuid", sent.toArray()));
+            });
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(FAILED_SQL, failed);
+        }
+    }
+
+    private int dispatchChunk(NotificationTemplateRegistry.CompiledTemplate template, List<UUID> userIds,
+                              Map<String, String> variables, String actionUrl, UUID eventId) {
+        List<Recipient> recipients = findRecipients(eventId != null ? notYetNotified(eventId, userIds) : userIds);
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, String> values = new HashMap<>(variables);
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        List<NotificationResponse> notifications = new ArrayList<>(recipients.size());
+        List<Object[]> deliveries = new ArrayList<>();
+        for (Recipient recipient : recipients) {
+            values.put("user_name", recipient.name() != null ? recipient.name() : "");
+            String title = template.subject().render(values);
+            String message = template.body().render(values);
+            NotificationResponse row = NotificationResponse.builder()
+                    .id(UUID.randomUUID())
+                    .userId(recipient.id())
+                    .type(template.type())
+                    .title(title)
+                    .message(message)
+                    .readStatus(!recipient.inApp())
+                    .actionUrl(actionUrl)
+                    .createdAt(now)
+                    .build();
+            notifications.add(row);
+
+            if (recipient.emailEnabled() && recipient.email() != null) {
+                deliveries.add(new Object[]{UUID.randomUUID(), row.getId(), AppConstants.NOTIFICATION_CHANNEL_EMAIL,
+                        AppConstants.DIGEST_IMMEDIATE.equals(recipient.digest())});
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(NOTIFICATION_SQL, notifications, notifications.size(), (ps, row) -> {
+                ps.setObject(1, row.getId());
+                ps.setObject(2, row.getUserId());
+                ps.setString(3, row.getType());
+                ps.setString(4, row.getTitle());
+                ps.setString(5, row.getMessage());
+                ps.setBoolean(6, row.getReadStatus());
+                ps.setString(7, row.getActionUrl());
+                ps.setTimestamp(8, createdAt);
+                ps.setObject(9, eventId);
+            });
+            if (!deliveries.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELIVERY_SQL, deliveries);
+            }
+        });
+
+        inboxCache.onInserted(notifications);
+        return notifications.size();
+    }
+
+    private List<UUID> notYetNotified(UUID eventId, List<UUID> userIds) {
+        List<UUID> notified = jdbcTemplate.query(NOTIFIED_SQL, ps -> {
+            ps.setObject(1, eventId);
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", userIds.toArray()));
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+        if (notified.isEmpty()) {
+            return userIds;
+        }
+        log.info("Skipping {} users already notified of event {}", notified.size(), eventId);
+        List<UUID> remaining = new ArrayList<>(userIds);
+        remaining.removeAll(new HashSet<>(notified));
+        return remaining;
+    }
+
+    private List<Recipient> findRecipients(List<UUID> userIds) {
+        return jdbcTemplate.query(RECIPIENTS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", userIds.toArray())),
+                (rs, rowNum) -> new Recipient(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("email"),
+                        rs.getString("first_name"),
+                        rs.getBoolean("in_app_enabled"),
+                        rs.getBoolean("email_enabled"),
+                        rs.getString("digest_frequency")));
+    }
+}
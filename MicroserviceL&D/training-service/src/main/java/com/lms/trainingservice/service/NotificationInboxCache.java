@@ -0,0 +1,235 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.NotificationResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis read model of each user's unread count and most recent notifications
+ * Postgres stays the source of truth: keys expire, are only updated while present, and are reloaded
+ * from Postgres when missing. Every update is one Lua script, so counter and inbox change together.
+ * Redis failures are logged and reported as a miss so callers fall back to Postgres
+ */
+@Component
+@Slf4j
+public class NotificationInboxCache {
+
+    // KEYS: unread, inbox; ARGV: json, unread (0/1), inbox size
+    private static final byte[] INSERT_SCRIPT = ("""
+            if ARGV[2] == '1' and redis.call('EXISTS', KEYS[1]) == 1 then redis.call('INCR', KEYS[1]) end
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+              redis.call('LPUSH', KEYS[2], ARGV[1])
+              redis.call('LTRIM', KEYS[2], 0, tonumber(ARGV[3]) - 1)
+            end
+            return 1""").getBytes(StandardCharsets.UTF_8);
+
+    // KEYS: unread, read; ARGV: notification id, ttl seconds
+    private static final RedisScript<Long> MARK_READ_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 and redis.call('DECR', KEYS[1]) < 0 then
+              redis.call('DEL', KEYS[1])
+            end
+            redis.call('SADD', KEYS[2], ARGV[1])
+            redis.call('EXPIRE', KEYS[2], ARGV[2])
+            return 1""", Long.class);
+
+    // KEYS: unread, inbox, read; ARGV: unread count, ttl seconds
+    private static final RedisScript<Long> MARK_ALL_READ_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+            redis.call('DEL', KEYS[2], KEYS[3])
+            return 1""", Long.class);
+
+    // KEYS: inbox; ARGV: ttl seconds, entries...; a concurrently loaded inbox wins
+    private static final RedisScript<Long> LOAD_INBOX_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end
+            for i = 2, #ARGV do redis.call('RPUSH', KEYS[1], ARGV[i]) end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1""", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final int inboxSize;
+    private final long ttlSeconds;
+
+    public NotificationInboxCache(StringRedisTemplate redisTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${notifications.inbox.size:50}") int inboxSize,
+                                  @Value("${notifications.inbox.ttl-seconds:600}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.inboxSize = inboxSize;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public int getInboxSize() {
+        return inboxSize;
+    }
+
+    /**
+     * Cached unread count, or null when it has to be loaded from Postgres
+     */
+    public Long getUnreadCount(UUID userId) {
+        try {
+            String value = redisTemplate.opsForValue().get(unreadKey(userId));
+            return value != null ? Long.valueOf(value) : null;
+        } catch (RuntimeException e) {
+            log.error("Error reading unread count of user {}", userId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Store a count loaded from Postgres unless a fresher one was stored meanwhile
+     */
+    public void putUnreadCount(UUID userId, long count) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(unreadKey(userId), Long.toString(count), ttlSeconds, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            log.error("Error caching unread count of user {}", userId, e);
+        }
+    }
+
+    /**
+     * Replace a count found to disagree with Postgres
+     */
+    public void repairUnreadCount(UUID userId, long count) {
+        try {
+            redisTemplate.opsForValue().set(unreadKey(userId), Long.toString(count), ttlSeconds, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            log.error("Error repairing unread count of user {}", userId, e);
+        }
+    }
+
+    /**
+     * Cached recent notifications, newest first, with read state applied; null when not cached
+     */
+    public List<NotificationResponse> getInbox(UUID userId) {
+        try {
+            List<String> entries = redisTemplate.opsForList().range(inboxKey(userId), 0, inboxSize - 1);
+            if (entries == null || entries.isEmpty()) {
+                return null;
+            }
+            Set<String> read = redisTemplate.opsForSet().members(readKey(userId));
+            List<NotificationResponse> inbox = new ArrayList<>(entries.size());
+            for (String entry : entries) {
+                NotificationResponse notification = objectMapper.readValue(entry, NotificationResponse.class);
+                if (read != null && read.contains(notification.getId().toString())) {
+                    notification.setReadStatus(true);
+                }
+                inbox.add(notification);
+            }
+            return inbox;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Error reading notification inbox of user {}", userId, e);
+            return null;
+        }
+    }
+
+    public void putInbox(UUID userId, List<NotificationResponse> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> args = new ArrayList<>(notifications.size() + 1);
+            args.add(Long.toString(ttlSeconds));
+            for (NotificationResponse notification : notifications) {
+                args.add(objectMapper.writeValueAsString(notification));
+            }
+            redisTemplate.execute(LOAD_INBOX_SCRIPT, List.of(inboxKey(userId)), args.toArray());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Error caching notification inbox of user {}", userId, e);
+        }
+    }
+
+    /**
+     * Apply newly inserted notifications, one pipelined script per notification
+     */
+    public void onInserted(List<NotificationResponse> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        try {
+            List<byte[][]> calls = new ArrayList<>(notifications.size());
+            for (NotificationResponse notification : notifications) {
+                calls.add(new byte[][]{
+                        bytes(unreadKey(notification.getUserId())),
+                        bytes(inboxKey(notification.getUserId())),
+                        objectMapper.writeValueAsBytes(notification),
+                        bytes(Boolean.TRUE.equals(notification.getReadStatus()) ? "0" : "1"),
+                        bytes(Integer.toString(inboxSize))});
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (byte[][] keysAndArgs : calls) {
+                    eval(connection, keysAndArgs);
+                }
+                return null;
+            });
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Error caching {} new notifications", notifications.size(), e);
+        }
+    }
+
+    public void onRead(UUID userId, UUID notificationId) {
+        try {
+            redisTemplate.execute(MARK_READ_SCRIPT, List.of(unreadKey(userId), readKey(userId)),
+                    notificationId.toString(), Long.toString(ttlSeconds));
+        } catch (RuntimeException e) {
+            log.error("Error caching read state of notification {}", notificationId, e);
+            evict(userId);
+        }
+    }
+
+    public void onAllRead(UUID userId, long unreadCount) {
+        try {
+            redisTemplate.execute(MARK_ALL_READ_SCRIPT, List.of(unreadKey(userId), inboxKey(userId), readKey(userId)),
+                    Long.toString(unreadCount), Long.toString(ttlSeconds));
+        } catch (RuntimeException e) {
+            log.error("Error caching read state of user {}", userId, e);
+            evict(userId);
+        }
+    }
+
+    private void evict(UUID userId) {
+        try {
+            redisTemplate.delete(List.of(unreadKey(userId), inboxKey(userId), readKey(userId)));
+        } catch (RuntimeException e) {
+            log.error("Error evicting notification cache of user {}", userId, e);
+        }
+    }
+
+    private static void eval(RedisConnection connection, byte[][] keysAndArgs) {
+        connection.scriptingCommands().eval(INSERT_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String unreadKey(UUID userId) {
+        return AppConstants.REDIS_KEY_NOTIFICATION_UNREAD + userId;
+    }
+
+    private static String inboxKey(UUID userId) {
+        return AppConstants.REDIS_KEY_NOTIFICATION_INBOX + userId;
+    }
+
+    private static String readKey(UUID userId) {
+        return AppConstants.REDIS_KEY_NOTIFICATION_READ + userId;
+    }
+}
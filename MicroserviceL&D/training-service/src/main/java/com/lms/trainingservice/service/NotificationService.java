@@ -0,0 +1,144 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.NotificationResponse;
+import com.lms.trainingservice.dto.UnreadCountResponse;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for the notification inbox of the current user
+ * The unread badge and the first inbox page are served from NotificationInboxCache; older pages and
+ * cache misses read Postgres through the partial unread index and the (user_id, created_at) index
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationService {
+
+    private static final String COLUMNS =
+            "SELECT id, user_id, type, title, message, read_status, action_url, created_at FROM notifications ";
+
+    private static final RowMapper<NotificationResponse> NOTIFICATION_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return NotificationResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .userId(rs.getObject("user_id", UUID.class))
+                .type(rs.getString("type"))
+                .title(rs.getString("title"))
+                .message(rs.getString("message"))
+                .readStatus(rs.getBoolean("read_status"))
+                .actionUrl(rs.getString("action_url"))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationInboxCache inboxCache;
+
+    public UnreadCountResponse getUnreadCount(UUID userId) {
+        Long cached = inboxCache.getUnreadCount(userId);
+        if (cached != null) {
+            return new UnreadCountResponse(cached);
+        }
+        long count = countUnread(userId);
+        inboxCache.putUnreadCount(userId, count);
+        return new UnreadCountResponse(count);
+    }
+
+    /**
+     * Newest notifications first; without a cursor the first page comes from the cached inbox
+     */
+    public List<NotificationResponse> getNotifications(UUID userId, LocalDateTime before, int size) {
+        if (before == null && size <= inboxCache.getInboxSize()) {
+            List<NotificationResponse> inbox = inboxCache.getInbox(userId);
+            if (inbox == null) {
+                inbox = jdbcTemplate.query(COLUMNS + "WHERE user_id = ? ORDER BY created_at DESC LIMIT ?",
+                        NOTIFICATION_MAPPER, userId, inboxCache.getInboxSize());
+                inboxCache.putInbox(userId, inbox);
+                checkUnreadCount(userId, inbox);
+            }
+            return inbox.size() > size ? inbox.subList(0, size) : inbox;
+        }
+        return jdbcTemplate.query(COLUMNS + "WHERE user_id = ? AND created_at < ? ORDER BY created_at DESC LIMIT ?",
+                NOTIFICATION_MAPPER, userId, Timestamp.valueOf(before != null ? before : LocalDateTime.now()), size);
+    }
+
+    @Transactional
+    public void markRead(UUID userId, UUID notificationId) {
+        int updated = jdbcTemplate.update(
+                "UPDATE notifications SET read_status = TRUE WHERE id = ? AND user_id = ? AND read_status = FALSE",
+                notificationId, userId);
+        if (updated == 0) {
+            Integer exists = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM notifications WHERE id = ? AND user_id = ?", Integer.class, notificationId, userId);
+            if (exists == null || exists == 0) {
+                throw new TrainingNotFoundException("Notification not found with id: " + notificationId);
+            }
+            return;
+        }
+        afterCommit(() -> inboxCache.onRead(userId, notificationId));
+    }
+
+    /**
+     * Mark every unread notification of the user read with one set-based update
+     */
+    @Transactional
+    public int markAllRead(UUID userId) {
+        int updated = jdbcTemplate.update(
+                "UPDATE notifications SET read_status = TRUE WHERE user_id = ? AND read_status = FALSE", userId);
+        // Notifications inserted concurrently are not covered by the update, so store what is still unread
+        long remaining = countUnread(userId);
+        afterCommit(() -> inboxCache.onAllRead(userId, remaining));
+        log.debug("Marked {} notifications of user {} read", updated, userId);
+        return updated;
+    }
+
+    private long countUnread(UUID userId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE user_id = ? AND read_status = FALSE", Long.class, userId);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Lazy repair: check the cached counter against the freshly loaded inbox. A short inbox holds every
+     * notification of the user, so its unread entries are the exact count; a full one gives a lower bound
+     */
+    private void checkUnreadCount(UUID userId, List<NotificationResponse> inbox) {
+        Long cached = inboxCache.getUnreadCount(userId);
+        if (cached == null) {
+            return;
+        }
+        long unreadInInbox = inbox.stream().filter(n -> !Boolean.TRUE.equals(n.getReadStatus())).count();
+        boolean complete = inbox.size() < inboxCache.getInboxSize();
+        if (complete ? unreadInInbox != cached : unreadInInbox > cached) {
+            long actual = complete ? unreadInInbox : countUnread(userId);
+            log.info("Repairing unread count of user {}: cached {}, actual {}", userId, cached, actual);
+            inboxCache.repairUnreadCount(userId, actual);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
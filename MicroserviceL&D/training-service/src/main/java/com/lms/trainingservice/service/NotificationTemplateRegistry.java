@@ -0,0 +1,71 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.exception.TrainingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Notification templates compiled once from notification_templates and refreshed periodically
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationTemplateRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Map<String, CompiledTemplate> templates;
+
+    public record CompiledTemplate(String type, String channel, NotificationTemplate subject, NotificationTemplate body) {
+    }
+
+    public CompiledTemplate get(String type) {
+        CompiledTemplate template = templates().get(type);
+        if (template == null) {
+            throw new TrainingException("No notification template for type: " + type);
+        }
+        return template;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.template-refresh-ms:300000}",
+            initialDelayString = "${notifications.template-refresh-ms:300000}")
+    public void refresh() {
+        try {
+            templates = load();
+        } catch (RuntimeException e) {
+            log.warn("Notification template refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, CompiledTemplate> templates() {
+        Map<String, CompiledTemplate> current = templates;
+        if (current == null) {
+            synchronized (this) {
+                current = templates;
+                if (current == null) {
+                    current = load();
+                    templates = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<String, CompiledTemplate> load() {
+        Map<String, CompiledTemplate> loaded = new HashMap<>();
+        jdbcTemplate.query("SELECT type, channel, subject, body_template FROM notification_templates", rs -> {
+            String type = rs.getString("type");
+            loaded.put(type, new CompiledTemplate(type, rs.getString("channel"),
+                    NotificationTemplate.compile(rs.getString("subject")),
+                    NotificationTemplate.compile(rs.getString("body_template"))));
+        });
+        log.debug("Compiled {} notification templates", loaded.size());
+        return Map.copyOf(loaded);
+    }
+}
@@ -0,0 +1,296 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.exception.TrainingException;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Access to stored content files, either on the local content volume or in the S3-compatible object store
+ * Content URLs use "s3://bucket/key" (or "minio://") for objects and "file:" or a relative path for local files
+ */
+@Service
+@Slf4j
+public class ObjectStorageService {
+
+    // MinIO's minimum multipart part size; at most one part is buffered per upload
+    private static final long UPLOAD_PART_SIZE = 5L * 1024 * 1024;
+    private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+
+    private final MinioClient minioClient;
+    private final Path localRoot;
+    private final String defaultBucket;
+
+    public ObjectStorageService(MinioClient minioClient,
+                                @Value("${storage.local.root:/var/lms/content}") String localRoot,
+                                @Value("${storage.minio.bucket:training-content}") String defaultBucket) {
+        this.minioClient = minioClient;
+        this.localRoot = Paths.get(localRoot).toAbsolutePath().normalize();
+        this.defaultBucket = defaultBucket;
+    }
+
+    /**
+     * Resolve a content URL to a storage location
+     */
+    public StorageLocation resolve(String contentUrl) {
+        if (contentUrl == null || contentUrl.isBlank()) {
+            throw new TrainingException("Content has no stored file");
+        }
+
+        URI uri = URI.create(contentUrl.replace(" ", "%20"));
+        String scheme = uri.getScheme();
+        if ("s3".equalsIgnoreCase(scheme) || "minio".equalsIgnoreCase(scheme)) {
+            String key = uri.getPath().startsWith("/") ? uri.getPath().substring(1) : uri.getPath();
+            return StorageLocation.object(uri.getHost() != null ? uri.getHost() : defaultBucket, key);
+        }
+        if (scheme == null || "file".equalsIgnoreCase(scheme)) {
+            String path = scheme == null ? contentUrl : uri.getPath();
+            Path resolved = localRoot.resolve(path.startsWith("/") ? path.substring(1) : path).normalize();
+            // Refuse anything that escapes the content volume
+            if (!resolved.startsWith(localRoot)) {
+                throw new TrainingException("Content path is outside the content root");
+            }
+            return StorageLocation.local(resolved);
+        }
+        throw new TrainingException("Unsupported content location: " + scheme);
+    }
+
+    /**
+     * Size, type and version tag of a stored file
+     */
+    public ObjectInfo stat(StorageLocation location) {
+        try {
+            if (location.isLocal()) {
+                Path path = location.path();
+                if (!Files.isRegularFile(path)) {
+                    throw new TrainingException("Content file not found");
+                }
+                long size = Files.size(path);
+                long modified = Files.getLastModifiedTime(path).toMillis();
+                return new ObjectInfo(size, Files.probeContentType(path),
+                        "\"" + Long.toHexString(size) + "-" + Long.toHexString(modified) + "\"");
+            }
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(location.bucket())
+                    .object(location.key())
+                    .build());
+            return new ObjectInfo(stat.size(), stat.contentType(), "\"" + stat.etag() + "\"");
+        } catch (TrainingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new TrainingException("Failed to read content metadata", e);
+        }
+    }
+
+    /**
+     * Open a byte range of a stored file; object-store ranges are read from the network as they are consumed
+     */
+    public InputStream openRange(StorageLocation location, long offset, long length) {
+        try {
+            if (location.isLocal()) {
+                SeekableByteChannel channel = Files.newByteChannel(location.path());
+                channel.position(offset);
+                return new BoundedInputStream(Channels.newInputStream(channel), length);
+            }
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(location.bucket())
+                    .object(location.key())
+                    .offset(offset)
+                    .length(length)
+                    .build());
+        } catch (Exception e) {
+            throw new TrainingException("Failed to open content stream", e);
+        }
+    }
+
+    /**
+     * Open a whole stored file for reading
+     */
+    public InputStream open(StorageLocation location) {
+        try {
+            if (location.isLocal()) {
+                return Files.newInputStream(location.path());
+            }
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(location.bucket())
+                    .object(location.key())
+                    .build());
+        } catch (Exception e) {
+            throw new TrainingException("Failed to open stored file", e);
+        }
+    }
+
+    /**
+     * Open a stream that writes a file of unknown length without buffering it whole
+     * Objects are uploaded in multipart chunks while the caller writes; close() waits for the upload
+     * and fails if it did
+     */
+    public OutputStream create(StorageLocation location, String contentType) {
+        try {
+            if (location.isLocal()) {
+                Files.createDirectories(location.path().getParent());
+                return Files.newOutputStream(location.path());
+            }
+            PipedInputStream source = new PipedInputStream(PIPE_BUFFER_SIZE);
+            PipedOutputStream sink = new PipedOutputStream(source);
+            CompletableFuture<Void> upload = CompletableFuture.runAsync(() -> {
+                try (source) {
+                    minioClient.putObject(PutObjectArgs.builder()
+                            .bucket(location.bucket())
+                            .object(location.key())
+                            .stream(source, -1, UPLOAD_PART_SIZE)
+                            .contentType(contentType)
+                            .build());
+                } catch (Exception e) {
+                    throw new TrainingException("Failed to upload " + location.cacheKey(), e);
+                }
+            }, runnable -> {
+                Thread thread = new Thread(runnable, "object-upload-" + location.key());
+                thread.setDaemon(true);
+                thread.start();
+            });
+            return new UploadOutputStream(sink, upload);
+        } catch (IOException e) {
+            throw new TrainingException("Failed to create stored file", e);
+        }
+    }
+
+    /**
+     * Remove a stored file; a missing file is not an error
+     */
+    public void delete(StorageLocation location) {
+        try {
+            if (location.isLocal()) {
+                Files.deleteIfExists(location.path());
+            } else {
+                minioClient.removeObject(RemoveObjectArgs.builder()
+                        .bucket(location.bucket())
+                        .object(location.key())
+                        .build());
+            }
+        } catch (Exception e) {
+            throw new TrainingException("Failed to delete " + location.cacheKey(), e);
+        }
+    }
+
+    /**
+     * Stops after a fixed number of bytes of the underlying stream
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Write side of a streaming upload
+     */
+    private static final class UploadOutputStream extends FilterOutputStream {
+
+        private final CompletableFuture<Void> upload;
+
+        UploadOutputStream(OutputStream sink, CompletableFuture<Void> upload) {
+            super(sink);
+            this.upload = upload;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (upload.isCompletedExceptionally()) {
+                throw new IOException("Upload failed");
+            }
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            try {
+                upload.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while finishing upload", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Upload failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Where a content file lives: a local path or a bucket/key pair
+     */
+    public record StorageLocation(Path path, String bucket, String key) {
+
+        static StorageLocation local(Path path) {
+            return new StorageLocation(path, null, null);
+        }
+
+        static StorageLocation object(String bucket, String key) {
+            return new StorageLocation(null, bucket, key);
+        }
+
+        public boolean isLocal() {
+            return path != null;
+        }
+
+        public String cacheKey() {
+            return isLocal() ? path.toString() : bucket + "/" + key;
+        }
+    }
+
+    /**
+     * Stored file attributes needed to answer a range request
+     */
+    public record ObjectInfo(long size, String contentType, String etag) {
+    }
+}
@@ -0,0 +1,257 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.exception.TrainingException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Training prerequisite DAG with the transitive closure of every training precomputed as a bitset
+ * Trainings are mapped to a dense index, so "are all prerequisites completed" is one andNot against
+ * the user's completed-training bitset. Edge changes update only the closures of the affected trainings
+ */
+@Slf4j
+public class PrerequisiteGraph {
+
+    private final Map<UUID, Integer> index = new HashMap<>();
+    private final List<UUID> ids = new ArrayList<>();
+    private final List<BitSet> direct = new ArrayList<>();
+    private final List<BitSet> dependents = new ArrayList<>();
+    private final List<BitSet> closure = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Build a graph from (training, prerequisite) pairs
+     * An edge that would close a cycle is skipped and logged, so one bad row cannot block every enrollment
+     */
+    public static PrerequisiteGraph of(Collection<UUID[]> edges) {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        for (UUID[] edge : edges) {
+            if (graph.wouldCreateCycle(edge[0], edge[1])) {
+                log.error("Skipping prerequisite {} of training {}: it closes a cycle in training_prerequisites",
+                        edge[1], edge[0]);
+                continue;
+            }
+            graph.addPrerequisite(edge[0], edge[1]);
+        }
+        return graph;
+    }
+
+    /**
+     * Add an edge "training requires prerequisite"; rejected if it would close a cycle
+     */
+    public void addPrerequisite(UUID trainingId, UUID prerequisiteId) {
+        lock.writeLock().lock();
+        try {
+            int training = indexOf(trainingId);
+            int prerequisite = indexOf(prerequisiteId);
+            if (training == prerequisite || closure.get(prerequisite).get(training)) {
+                throw new TrainingException("Prerequisite " + prerequisiteId + " of training " + trainingId
+                        + " would create a cycle");
+            }
+            if (!direct.get(training).get(prerequisite)) {
+                direct.get(training).set(prerequisite);
+                dependents.get(prerequisite).set(training);
+            }
+
+            // Everything that requires the training now also requires the prerequisite and its closure
+            BitSet added = (BitSet) closure.get(prerequisite).clone();
+            added.set(prerequisite);
+            BitSet affected = transitiveDependents(training);
+            affected.set(training);
+            for (int t = affected.nextSetBit(0); t >= 0; t = affected.nextSetBit(t + 1)) {
+                closure.get(t).or(added);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an edge and recompute the closures that may have depended on it
+     */
+    public void removePrerequisite(UUID trainingId, UUID prerequisiteId) {
+        lock.writeLock().lock();
+        try {
+            Integer training = index.get(trainingId);
+            Integer prerequisite = index.get(prerequisiteId);
+            if (training == null || prerequisite == null || !direct.get(training).get(prerequisite)) {
+                return;
+            }
+            direct.get(training).clear(prerequisite);
+            dependents.get(prerequisite).clear(training);
+
+            BitSet affected = transitiveDependents(training);
+            affected.set(training);
+            recompute(affected);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether adding the edge would create a cycle
+     */
+    public boolean wouldCreateCycle(UUID trainingId, UUID prerequisiteId) {
+        lock.readLock().lock();
+        try {
+            if (trainingId.equals(prerequisiteId)) {
+                return true;
+            }
+            Integer training = index.get(trainingId);
+            Integer prerequisite = index.get(prerequisiteId);
+            return training != null && prerequisite != null && closure.get(prerequisite).get(training);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<UUID> directPrerequisites(UUID trainingId) {
+        return toIds(trainingId, direct);
+    }
+
+    public List<UUID> transitivePrerequisites(UUID trainingId) {
+        return toIds(trainingId, closure);
+    }
+
+    /**
+     * Bitset over the dense index of the given trainings; unknown trainings have no prerequisites and are skipped
+     */
+    public BitSet bitsetOf(Collection<UUID> trainingIds) {
+        lock.readLock().lock();
+        try {
+            BitSet bits = new BitSet(ids.size());
+            for (UUID id : trainingIds) {
+                Integer i = index.get(id);
+                if (i != null) {
+                    bits.set(i);
+                }
+            }
+            return bits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Transitive prerequisites of a training missing from the completed set
+     */
+    public List<UUID> missingPrerequisites(UUID trainingId, BitSet completed) {
+        lock.readLock().lock();
+        try {
+            Integer training = index.get(trainingId);
+            if (training == null) {
+                return List.of();
+            }
+            BitSet missing = (BitSet) closure.get(training).clone();
+            missing.andNot(completed);
+            return idsOf(missing);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int indexOf(UUID trainingId) {
+        Integer existing = index.get(trainingId);
+        if (existing != null) {
+            return existing;
+        }
+        int i = ids.size();
+        index.put(trainingId, i);
+        ids.add(trainingId);
+        direct.add(new BitSet());
+        dependents.add(new BitSet());
+        closure.add(new BitSet());
+        return i;
+    }
+
+    private BitSet transitiveDependents(int training) {
+        BitSet seen = new BitSet(ids.size());
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(training);
+        while (!queue.isEmpty()) {
+            BitSet next = dependents.get(queue.poll());
+            for (int d = next.nextSetBit(0); d >= 0; d = next.nextSetBit(d + 1)) {
+                if (!seen.get(d)) {
+                    seen.set(d);
+                    queue.add(d);
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Recompute closures of the affected trainings, prerequisites first; unaffected closures are reused as-is
+     */
+    private void recompute(BitSet affected) {
+        BitSet done = new BitSet(ids.size());
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int start = affected.nextSetBit(0); start >= 0; start = affected.nextSetBit(start + 1)) {
+            stack.push(start);
+            while (!stack.isEmpty()) {
+                int t = stack.peek();
+                if (done.get(t)) {
+                    stack.pop();
+                    continue;
+                }
+                boolean ready = true;
+                BitSet prerequisites = direct.get(t);
+                for (int p = prerequisites.nextSetBit(0); p >= 0; p = prerequisites.nextSetBit(p + 1)) {
+                    if (affected.get(p) && !done.get(p)) {
+                        stack.push(p);
+                        ready = false;
+                    }
+                }
+                if (!ready) {
+                    continue;
+                }
+                BitSet result = new BitSet(ids.size());
+                for (int p = prerequisites.nextSetBit(0); p >= 0; p = prerequisites.nextSetBit(p + 1)) {
+                    result.set(p);
+                    result.or(closure.get(p));
+                }
+                closure.set(t, result);
+                done.set(t);
+                stack.pop();
+            }
+        }
+    }
+
+    private List<UUID> toIds(UUID trainingId, List<BitSet> sets) {
+        lock.readLock().lock();
+        try {
+            Integer training = index.get(trainingId);
+            return training != null ? idsOf(sets.get(training)) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<UUID> idsOf(BitSet bits) {
+        List<UUID> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(ids.get(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.PrerequisiteCheckResponse;
+import com.lms.trainingservice.dto.PrerequisiteResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.repository.TrainingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for training prerequisites
+ * Enrollment checks run against the in-memory PrerequisiteGraph instead of recursive queries. Local writes
+ * apply their edge to the graph in place and undo it if the transaction rolls back; only the cycle check of a
+ * new edge walks the committed edges, so it also sees writes from other instances
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PrerequisiteService {
+
+    private static final String EDGES_SQL = "SELECT training_id, prerequisite_training_id FROM training_prerequisites";
+
+    private static final String COMPLETED_SQL =
+            "SELECT training_id FROM training_enrollments WHERE user_id = ? AND enrollment_status = 'COMPLETED'";
+
+    // Serializes prerequisite writes across instances so two concurrent edges cannot form a cycle together
+    private static final String WRITE_LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('training_prerequisites'))";
+
+    // Whether the prerequisite already requires the training, directly or transitively
+    private static final String REACHES_SQL =
+            "WITH RECURSIVE required(id) AS ("
+                    + "SELECT prerequisite_training_id FROM training_prerequisites WHERE training_id = ? "
+                    + "UNION SELECT p.prerequisite_training_id FROM training_prerequisites p "
+                    + "JOIN required r ON p.training_id = r.id) "
+                    + "SELECT EXISTS (SELECT 1 FROM required WHERE id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TrainingRepository trainingRepository;
+
+    private volatile PrerequisiteGraph graph;
+
+    /**
+     * Throw if the user has not completed every transitive prerequisite of the training
+     */
+    public void checkPrerequisites(UUID userId, UUID trainingId) {
+        List<UUID> missing = missingPrerequisites(userId, trainingId);
+        if (!missing.isEmpty()) {
+            throw new TrainingException("Prerequisites not completed: " + missing);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PrerequisiteCheckResponse check(UUID userId, UUID trainingId) {
+        List<UUID> missing = missingPrerequisites(userId, trainingId);
+        return PrerequisiteCheckResponse.builder()
+                .trainingId(trainingId)
+                .eligible(missing.isEmpty())
+                .missingPrerequisites(missing)
+                .build();
+    }
+
+    public PrerequisiteResponse getPrerequisites(UUID trainingId) {
+        PrerequisiteGraph current = graph();
+        return PrerequisiteResponse.builder()
+                .trainingId(trainingId)
+                .directPrerequisites(current.directPrerequisites(trainingId))
+                .transitivePrerequisites(current.transitivePrerequisites(trainingId))
+                .build();
+    }
+
+    /**
+     * Add a prerequisite; rejected when it would make the prerequisite graph cyclic
+     */
+    @Transactional
+    public PrerequisiteResponse addPrerequisite(UUID trainingId, UUID prerequisiteId) {
+        if (!trainingRepository.existsById(trainingId)) {
+            throw new TrainingNotFoundException("Training not found with id: " + trainingId);
+        }
+        if (!trainingRepository.existsById(prerequisiteId)) {
+            throw new TrainingNotFoundException("Training not found with id: " + prerequisiteId);
+        }
+
+        jdbcTemplate.query(WRITE_LOCK_SQL, rs -> { });
+        // Other instances may have changed edges; check the cycle against the committed edges
+        if (trainingId.equals(prerequisiteId)
+                || Boolean.TRUE.equals(jdbcTemplate.queryForObject(REACHES_SQL, Boolean.class, prerequisiteId, trainingId))) {
+            throw new TrainingException("Prerequisite would create a cycle");
+        }
+        int inserted = jdbcTemplate.update("INSERT INTO training_prerequisites (training_id, prerequisite_training_id) "
+                + "VALUES (?, ?) ON CONFLICT DO NOTHING", trainingId, prerequisiteId);
+
+        PrerequisiteGraph current = graph();
+        if (inserted > 0) {
+            applyEdgeChange(current, trainingId, prerequisiteId, true);
+        }
+        log.info("Added prerequisite {} to training {}", prerequisiteId, trainingId);
+        return PrerequisiteResponse.builder()
+                .trainingId(trainingId)
+                .directPrerequisites(current.directPrerequisites(trainingId))
+                .transitivePrerequisites(current.transitivePrerequisites(trainingId))
+                .build();
+    }
+
+    @Transactional
+    public void removePrerequisite(UUID trainingId, UUID prerequisiteId) {
+        jdbcTemplate.query(WRITE_LOCK_SQL, rs -> { });
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM training_prerequisites WHERE training_id = ? AND prerequisite_training_id = ?",
+                trainingId, prerequisiteId);
+        if (deleted > 0) {
+            applyEdgeChange(graph(), trainingId, prerequisiteId, false);
+        }
+        log.info("Removed prerequisite {} from training {}", prerequisiteId, trainingId);
+    }
+
+    /**
+     * Pick up edges written by other instances
+     */
+    @Scheduled(fixedDelayString = "${prerequisites.refresh-interval-ms:60000}",
+            initialDelayString = "${prerequisites.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Prerequisite graph refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private List<UUID> missingPrerequisites(UUID userId, UUID trainingId) {
+        PrerequisiteGraph current = graph();
+        if (current.transitivePrerequisites(trainingId).isEmpty()) {
+            return List.of();
+        }
+        List<UUID> completed = jdbcTemplate.queryForList(COMPLETED_SQL, UUID.class, userId);
+        BitSet completedBits = current.bitsetOf(completed);
+        return current.missingPrerequisites(trainingId, completedBits);
+    }
+
+    private PrerequisiteGraph graph() {
+        PrerequisiteGraph current = graph;
+        if (current == null) {
+            synchronized (this) {
+                current = graph;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    private PrerequisiteGraph reload() {
+        PrerequisiteGraph loaded = load();
+        graph = loaded;
+        return loaded;
+    }
+
+    private PrerequisiteGraph load() {
+        List<UUID[]> edges = jdbcTemplate.query(EDGES_SQL, (rs, rowNum) -> new UUID[]{
+                rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)});
+        PrerequisiteGraph loaded = PrerequisiteGraph.of(edges);
+        log.debug("Loaded prerequisite graph with {} edges over {} trainings", edges.size(), loaded.size());
+        return loaded;
+    }
+
+    /**
+     * Apply a written edge to the shared graph now and undo it if the transaction does not commit
+     */
+    private void applyEdgeChange(PrerequisiteGraph current, UUID trainingId, UUID prerequisiteId, boolean add) {
+        try {
+            if (add) {
+                current.addPrerequisite(trainingId, prerequisiteId);
+            } else {
+                current.removePrerequisite(trainingId, prerequisiteId);
+            }
+        } catch (TrainingException e) {
+            // The local graph still holds an edge another instance removed; the committed edges are acyclic
+            reloadAfterCompletion();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    if (add) {
+                        current.removePrerequisite(trainingId, prerequisiteId);
+                    } else {
+                        current.addPrerequisite(trainingId, prerequisiteId);
+                    }
+                } catch (TrainingException e) {
+                    refresh();
+                }
+            }
+        });
+    }
+
+    private void reloadAfterCompletion() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                refresh();
+            }
+        });
+    }
+}
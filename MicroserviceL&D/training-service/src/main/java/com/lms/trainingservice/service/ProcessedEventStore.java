@@ -0,0 +1,57 @@
+package com.lms.trainingservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Remembers the Kafka events each consumer group has handled, so a redelivered event is recognised and skipped
+ * A consumer that writes in a transaction marks the event inside it, so the mark commits or rolls back with its effects
+ */
+@Component
+@Slf4j
+public class ProcessedEventStore {
+
+    private static final String MARK_SQL =
+            "INSERT INTO processed_events (consumer_group, event_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM processed_events WHERE processed_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 day'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+
+    public ProcessedEventStore(JdbcTemplate jdbcTemplate,
+                               @Value("${processed-events.retention-days:7}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Record the event as handled by the group; false when it already was. Events without a usable id
+     * cannot be recognised and always count as new
+     */
+    public boolean markProcessed(String consumerGroup, Object eventId) {
+        UUID id;
+        try {
+            id = eventId != null ? UUID.fromString(eventId.toString()) : null;
+        } catch (IllegalArgumentException e) {
+            id = null;
+        }
+        if (id == null) {
+            log.debug("Event without a usable id for {}: {}", consumerGroup, eventId);
+            return true;
+        }
+        return jdbcTemplate.update(MARK_SQL, consumerGroup, id) > 0;
+    }
+
+    @Scheduled(cron = "${processed-events.purge-cron:0 20 4 * * *}")
+    public void purge() {
+        int purged = jdbcTemplate.update(PURGE_SQL, retentionDays);
+        log.info("Purged {} processed event ids older than {} days", purged, retentionDays);
+    }
+}
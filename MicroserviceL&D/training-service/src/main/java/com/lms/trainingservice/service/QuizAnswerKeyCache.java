@@ -0,0 +1,107 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.entity.Quiz;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.repository.QuizQuestionRepository;
+import com.lms.trainingservice.repository.QuizRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of compiled quiz answer keys, one entry per quiz at its current version
+ * The version is re-read at most once per revalidation interval, so other instances' edits are picked up
+ */
+@Component
+@Slf4j
+public class QuizAnswerKeyCache {
+
+    private final QuizRepository quizRepository;
+    private final QuizQuestionRepository quizQuestionRepository;
+    private final ObjectMapper objectMapper;
+    private final long revalidateMillis;
+    private final Map<UUID, CompiledQuiz> compiledQuizzes = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<CompiledQuiz>> compilations = new ConcurrentHashMap<>();
+
+    public QuizAnswerKeyCache(QuizRepository quizRepository,
+                              QuizQuestionRepository quizQuestionRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${quiz.answer-key.revalidate-ms:5000}") long revalidateMillis) {
+        this.quizRepository = quizRepository;
+        this.quizQuestionRepository = quizQuestionRepository;
+        this.objectMapper = objectMapper;
+        this.revalidateMillis = revalidateMillis;
+    }
+
+    /**
+     * Get the compiled answer key for a quiz, compiling it on first use or after a version change
+     */
+    public CompiledQuiz get(UUID quizId) {
+        long now = System.currentTimeMillis();
+        CompiledQuiz cached = compiledQuizzes.get(quizId);
+        if (cached != null && now - cached.getCheckedAtMillis() < revalidateMillis) {
+            return cached;
+        }
+
+        int version = quizRepository.findVersionById(quizId)
+                .orElseThrow(() -> new TrainingNotFoundException("Quiz not found with ID: " + quizId));
+
+        if (cached != null && cached.getVersion() == version) {
+            cached.markChecked(now);
+            return cached;
+        }
+
+        // Concurrent submissions for a cold quiz wait on a single compilation, which runs outside the map's locks
+        CompletableFuture<CompiledQuiz> compilation = new CompletableFuture<>();
+        CompletableFuture<CompiledQuiz> running = compilations.putIfAbsent(quizId, compilation);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            CompiledQuiz compiled = compile(quizId);
+            compiled.markChecked(now);
+            compiledQuizzes.put(quizId, compiled);
+            compilation.complete(compiled);
+            return compiled;
+        } catch (RuntimeException e) {
+            compilation.completeExceptionally(e);
+            throw e;
+        } finally {
+            compilations.remove(quizId, compilation);
+        }
+    }
+
+    /**
+     * Drop the compiled key after a local change to the quiz or its questions
+     */
+    public void invalidate(UUID quizId) {
+        compiledQuizzes.remove(quizId);
+    }
+
+    private static CompiledQuiz await(CompletableFuture<CompiledQuiz> compilation) {
+        try {
+            return compilation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CompiledQuiz compile(UUID quizId) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new TrainingNotFoundException("Quiz not found with ID: " + quizId));
+        CompiledQuiz compiled = CompiledQuiz.compile(quiz, quizQuestionRepository.findByQuizId(quizId), objectMapper);
+        log.info("Compiled answer key for quiz {} version {} ({} questions)",
+                quizId, compiled.getVersion(), compiled.getQuestionCount());
+        return compiled;
+    }
+}
@@ -0,0 +1,106 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.dto.QuizAttemptResponse;
+import com.lms.trainingservice.dto.QuizSubmissionRequest;
+import com.lms.trainingservice.entity.QuizAttempt;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.kafka.QuizEventProducer;
+import com.lms.trainingservice.repository.QuizAttemptRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for grading quiz submissions and recording attempts
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuizAttemptService {
+
+    private final QuizAnswerKeyCache quizAnswerKeyCache;
+    private final QuizAttemptWriter quizAttemptWriter;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final ObjectMapper objectMapper;
+    private final QuizEventProducer quizEventProducer;
+
+    /**
+     * Grade a submission against the compiled answer key and store the attempt through the batching writer
+     */
+    public QuizAttemptResponse submitAttempt(UUID userId, UUID quizId, QuizSubmissionRequest request) {
+        CompiledQuiz answerKey = quizAnswerKeyCache.get(quizId);
+        CompiledQuiz.GradeResult result = answerKey.grade(request.getAnswers());
+
+        QuizAttempt attempt = QuizAttempt.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .quizId(quizId)
+                .score(result.score())
+                .maxScore(result.maxScore())
+                .answers(serializeAnswers(request))
+                .completedAt(LocalDateTime.now())
+                .build();
+        quizAttemptWriter.write(attempt);
+        quizEventProducer.publishGraded(userId, quizId, result.score(), result.maxScore());
+
+        log.debug("Graded quiz {} for user {}: {}/{}", quizId, userId, result.score(), result.maxScore());
+
+        return QuizAttemptResponse.builder()
+                .id(attempt.getId())
+                .quizId(quizId)
+                .userId(userId)
+                .score(result.score())
+                .maxScore(result.maxScore())
+                .correctAnswers(result.correctAnswers())
+                .totalQuestions(result.totalQuestions())
+                .passed(result.passed())
+                .completedAt(attempt.getCompletedAt())
+                .build();
+    }
+
+    /**
+     * Get a user's attempts for a quiz, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<QuizAttemptResponse> getUserAttempts(UUID userId, UUID quizId) {
+        CompiledQuiz answerKey = quizAnswerKeyCache.get(quizId);
+        return quizAttemptRepository.findByUserIdAndQuizIdOrderByCompletedAtDesc(userId, quizId)
+                .stream()
+                .map(attempt -> convertToResponse(attempt, answerKey))
+                .toList();
+    }
+
+    private String serializeAnswers(QuizSubmissionRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request.getAnswers());
+        } catch (JsonProcessingException e) {
+            throw new TrainingException("Failed to serialize quiz answers", e);
+        }
+    }
+
+    /**
+     * Convert QuizAttempt entity to Response DTO
+     */
+    private QuizAttemptResponse convertToResponse(QuizAttempt attempt, CompiledQuiz answerKey) {
+        boolean passed = attempt.getMaxScore() != null && attempt.getMaxScore() > 0 && attempt.getScore() != null
+                && attempt.getScore() * 100L >= (long) answerKey.getPassingScore() * attempt.getMaxScore();
+        return QuizAttemptResponse.builder()
+                .id(attempt.getId())
+                .quizId(attempt.getQuizId())
+                .userId(attempt.getUserId())
+                .score(attempt.getScore())
+                .maxScore(attempt.getMaxScore())
+                .passed(passed)
+                .attemptNumber(attempt.getAttemptNumber())
+                .completedAt(attempt.getCompletedAt())
+                .build();
+    }
+
+}
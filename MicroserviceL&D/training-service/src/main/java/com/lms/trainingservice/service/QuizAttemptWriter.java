@@ -0,0 +1,173 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.entity.QuizAttempt;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes graded quiz attempts with group-committed JDBC batch inserts
+ * A submitting thread queues its attempt and then either becomes the writer, inserting everything queued so far
+ * in one transaction, or waits while the current writer's batch commits. Callers return only once their attempt
+ * is stored, so nothing is lost on shutdown and a read right after submitting sees it. Attempt numbers are
+ * assigned in the insert itself; UNIQUE (user_id, quiz_id, attempt_number) turns a race between instances into
+ * a duplicate key, which is retried with a fresh number
+ */
+@Component
+@Slf4j
+public class QuizAttemptWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO quiz_attempts (id, user_id, quiz_id, score, max_score, attempt_number, answers, completed_at) "
+                    + "SELECT ?, ?, ?, ?, ?, COALESCE(MAX(attempt_number), 0) + 1, CAST(? AS jsonb), ? "
+                    + "FROM quiz_attempts WHERE user_id = ? AND quiz_id = ?";
+
+    private static final int MAX_NUMBER_RETRIES = 3;
+    private static final long WAIT_SLICE_MS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long writeTimeoutMs;
+    private final BlockingQueue<Pending> pending;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public QuizAttemptWriter(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${quiz.attempts.batch-size:500}") int batchSize,
+                             @Value("${quiz.attempts.queue-capacity:20000}") int queueCapacity,
+                             @Value("${quiz.attempts.write-timeout-ms:10000}") long writeTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Store an attempt, sharing the insert batch with concurrent submissions; returns once it is committed
+     * A timeout is only reported while the attempt is still queued, and it is taken off the queue, so a failed
+     * submission is never stored behind the caller's back; once a writer holds it, its outcome is awaited
+     */
+    public void write(QuizAttempt attempt) {
+        Pending entry = new Pending(attempt, new CompletableFuture<>());
+        long deadline = System.currentTimeMillis() + writeTimeoutMs;
+        while (!pending.offer(entry)) {
+            flushIfIdle();
+            checkDeadline(deadline, attempt);
+        }
+        while (true) {
+            flushIfIdle();
+            try {
+                entry.done().get(WAIT_SLICE_MS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                if (System.currentTimeMillis() > deadline && pending.remove(entry)) {
+                    throw new IllegalStateException("Timed out recording quiz attempt " + attempt.getId());
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to record quiz attempt " + attempt.getId(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while recording quiz attempt " + attempt.getId(), e);
+            }
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private void flushIfIdle() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            while (pending.drainTo(batch, batchSize) > 0) {
+                try {
+                    insert(batch);
+                } catch (RuntimeException e) {
+                    // E.g. no connection for the transaction; waiters must hear about it rather than time out
+                    log.error("Insert of {} quiz attempts failed: {}", batch.size(), e.getMessage());
+                    batch.forEach(entry -> entry.done().completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void insert(List<Pending> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    INSERT_SQL, batch, batch.size(), (ps, entry) -> bind(ps, entry.attempt())));
+            batch.forEach(entry -> entry.done().complete(null));
+            log.debug("Inserted {} quiz attempts", batch.size());
+        } catch (DataAccessException e) {
+            // The batch rolled back as a whole; one bad row or number race must not fail the others
+            log.warn("Batch insert of {} quiz attempts failed, retrying individually: {}", batch.size(), e.getMessage());
+            batch.forEach(this::insertOne);
+        }
+    }
+
+    private void insertOne(Pending entry) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, entry.attempt()));
+                entry.done().complete(null);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_NUMBER_RETRIES) {
+                    entry.done().completeExceptionally(e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to insert quiz attempt {} for user {}: {}",
+                        entry.attempt().getId(), entry.attempt().getUserId(), e.getMessage());
+                entry.done().completeExceptionally(e);
+                return;
+            }
+        }
+    }
+
+    private void checkDeadline(long deadline, QuizAttempt attempt) {
+        if (System.currentTimeMillis() > deadline) {
+            throw new IllegalStateException("Timed out recording quiz attempt " + attempt.getId());
+        }
+    }
+
+    private void bind(PreparedStatement ps, QuizAttempt attempt) throws SQLException {
+        ps.setObject(1, attempt.getId());
+        ps.setObject(2, attempt.getUserId());
+        ps.setObject(3, attempt.getQuizId());
+        ps.setInt(4, attempt.getScore());
+        ps.setInt(5, attempt.getMaxScore());
+        ps.setString(6, attempt.getAnswers());
+        ps.setTimestamp(7, Timestamp.valueOf(attempt.getCompletedAt()));
+        ps.setObject(8, attempt.getUserId());
+        ps.setObject(9, attempt.getQuizId());
+    }
+
+    private record Pending(QuizAttempt attempt, CompletableFuture<Void> done) {
+    }
+}
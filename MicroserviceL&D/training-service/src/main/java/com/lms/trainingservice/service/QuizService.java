@@ -23,6 +23,7 @@ import java.util.UUID;
 public class QuizService {
 
     private final QuizRepository quizRepository;
+    private final QuizAnswerKeyCache quizAnswerKeyCache;
 
     /**
      * Create a quiz for a module
@@ -35,6 +36,7 @@ public class QuizService {
                 .title(request.getTitle())
                 .passingScore(request.getPassingScore())
                 .timeLimitMinutes(request.getTimeLimitMinutes())
+                .version(1)
                 .build();
 
         Quiz savedQuiz = quizRepository.save(quiz);
@@ -68,8 +70,11 @@ public class QuizService {
         quiz.setTitle(request.getTitle());
         quiz.setPassingScore(request.getPassingScore());
         quiz.setTimeLimitMinutes(request.getTimeLimitMinutes());
+        // Passing score is part of the compiled answer key
+        quiz.setVersion(quiz.getVersion() != null ? quiz.getVersion() + 1 : 2);
 
         Quiz updatedQuiz = quizRepository.save(quiz);
+        quizAnswerKeyCache.invalidate(id);
         log.info("Quiz updated successfully");
 
         return convertToResponse(updatedQuiz);
@@ -86,6 +91,7 @@ public class QuizService {
         }
 
         quizRepository.deleteById(id);
+        quizAnswerKeyCache.invalidate(id);
         log.info("Quiz deleted successfully");
     }
 
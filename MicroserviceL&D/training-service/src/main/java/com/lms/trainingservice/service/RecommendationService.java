@@ -0,0 +1,244 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.RecommendationRebuildResponse;
+import com.lms.trainingservice.dto.TrainingRecommendationResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service for "learners also took" and per-user training recommendations
+ * A periodic rebuild streams training_enrollments into a CoEnrollmentMatrix and keeps the top-k similar
+ * published trainings of each one. Requests are answered from that in-memory index alone, apart from one
+ * lookup of the user's own enrollments; until the first build completes they fall back to nothing
+ */
+@Service
+@Slf4j
+public class RecommendationService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private static final String TRAININGS_SQL =
+            "SELECT id, title, category, difficulty_level FROM trainings WHERE status = 'PUBLISHED'";
+
+    private static final String ENROLLMENTS_SQL =
+            "SELECT user_id, training_id FROM training_enrollments "
+                    + "WHERE user_id IS NOT NULL AND training_id IS NOT NULL ORDER BY user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int neighbors;
+    private final int minCommon;
+    private final int maxTrainingsPerUser;
+    private final int parallelism;
+    private final int fetchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Index index;
+
+    public RecommendationService(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${recommendations.neighbors:20}") int neighbors,
+                                 @Value("${recommendations.min-common-learners:2}") int minCommon,
+                                 @Value("${recommendations.max-trainings-per-user:200}") int maxTrainingsPerUser,
+                                 @Value("${recommendations.parallelism:0}") int parallelism,
+                                 @Value("${recommendations.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.neighbors = Math.max(1, neighbors);
+        this.minCommon = Math.max(1, minCommon);
+        this.maxTrainingsPerUser = maxTrainingsPerUser;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Published trainings by dense index, with their top-k neighbors and popularity order
+     */
+    private record Index(UUID[] ids, Map<UUID, Integer> positions, String[][] details,
+                         CoEnrollmentMatrix.SimilarItems similar, int[] popular) {
+    }
+
+    @Scheduled(fixedDelayString = "${recommendations.rebuild-interval-ms:3600000}",
+            initialDelayString = "${recommendations.initial-delay-ms:30000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (TrainingException e) {
+            log.warn("Scheduled recommendation rebuild skipped: {}", e.getMessage());
+        }
+    }
+
+    public RecommendationRebuildResponse rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new TrainingException("Recommendation rebuild is already running");
+        }
+        try {
+            long started = System.currentTimeMillis();
+            List<UUID> ids = new ArrayList<>();
+            List<String[]> details = new ArrayList<>();
+            jdbcTemplate.query(TRAININGS_SQL, rs -> {
+                ids.add(rs.getObject("id", UUID.class));
+                details.add(new String[]{rs.getString("title"), rs.getString("category"), rs.getString("difficulty_level")});
+            });
+            Map<UUID, Integer> positions = new HashMap<>(ids.size() * 2);
+            for (int i = 0; i < ids.size(); i++) {
+                positions.put(ids.get(i), i);
+            }
+
+            CoEnrollmentMatrix.Builder builder = CoEnrollmentMatrix.builder(ids.size(), maxTrainingsPerUser);
+            UUID[] current = new UUID[1];
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                // PostgreSQL only honors the fetch size inside a transaction
+                PreparedStatement statement = connection.prepareStatement(ENROLLMENTS_SQL);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, rs -> {
+                UUID userId = rs.getObject("user_id", UUID.class);
+                if (!userId.equals(current[0])) {
+                    if (current[0] != null) {
+                        builder.endUser();
+                    }
+                    current[0] = userId;
+                }
+                Integer position = positions.get(rs.getObject("training_id", UUID.class));
+                if (position != null) {
+                    builder.add(position);
+                }
+            }));
+            CoEnrollmentMatrix matrix = builder.build();
+            CoEnrollmentMatrix.SimilarItems similar = matrix.similarItems(neighbors, minCommon, parallelism);
+
+            int[] popular = popularity(matrix);
+            index = new Index(ids.toArray(new UUID[0]), positions, details.toArray(new String[0][]),
+                    similar, popular);
+
+            long duration = System.currentTimeMillis() - started;
+            log.info("Rebuilt recommendations for {} trainings from {} enrollments of {} learners in {} ms",
+                    matrix.itemCount(), matrix.enrollmentCount(), matrix.userCount(), duration);
+            return RecommendationRebuildResponse.builder()
+                    .trainings(matrix.itemCount())
+                    .learners(matrix.userCount())
+                    .enrollments((long) matrix.enrollmentCount())
+                    .durationMillis(duration)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TrainingException("Recommendation rebuild interrupted", e);
+        } catch (RuntimeException e) {
+            throw e instanceof TrainingException ? e : new TrainingException("Recommendation rebuild failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Trainings most often taken by learners of the given training
+     */
+    public List<TrainingRecommendationResponse> getSimilarTrainings(UUID trainingId, int limit) {
+        Index current = index;
+        if (current == null) {
+            return List.of();
+        }
+        Integer item = current.positions().get(trainingId);
+        if (item == null) {
+            throw new TrainingNotFoundException("Published training not found with id: " + trainingId);
+        }
+        int size = Math.max(1, Math.min(limit, current.similar().k()));
+        List<TrainingRecommendationResponse> results = new ArrayList<>(size);
+        for (int position = 0; position < size; position++) {
+            int neighbor = current.similar().neighbor(item, position);
+            if (neighbor < 0) {
+                break;
+            }
+            results.add(response(current, neighbor, (double) current.similar().score(item, position)));
+        }
+        return results;
+    }
+
+    /**
+     * Trainings similar to what the user already took, summed over those trainings; topped up with the
+     * most popular trainings for new learners
+     */
+    public List<TrainingRecommendationResponse> getRecommendations(UUID userId, int limit) {
+        Index current = index;
+        if (current == null) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Set<Integer> taken = new HashSet<>();
+        for (UUID trainingId : jdbcTemplate.queryForList(
+                "SELECT training_id FROM training_enrollments WHERE user_id = ?", UUID.class, userId)) {
+            Integer item = current.positions().get(trainingId);
+            if (item != null) {
+                taken.add(item);
+            }
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        CoEnrollmentMatrix.SimilarItems similar = current.similar();
+        for (int item : taken) {
+            for (int position = 0; position < similar.k(); position++) {
+                int neighbor = similar.neighbor(item, position);
+                if (neighbor < 0) {
+                    break;
+                }
+                if (!taken.contains(neighbor)) {
+                    scores.merge(neighbor, (double) similar.score(item, position), Double::sum);
+                }
+            }
+        }
+
+        List<TrainingRecommendationResponse> results = new ArrayList<>(size);
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(size)
+                .forEach(entry -> results.add(response(current, entry.getKey(), entry.getValue())));
+        for (int i = 0; i < current.popular().length && results.size() < size; i++) {
+            int item = current.popular()[i];
+            if (!taken.contains(item) && !scores.containsKey(item)) {
+                results.add(response(current, item, null));
+            }
+        }
+        return results;
+    }
+
+    private static int[] popularity(CoEnrollmentMatrix matrix) {
+        Integer[] order = new Integer[matrix.itemCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(matrix.degree(b), matrix.degree(a)));
+        int[] popular = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            popular[i] = order[i];
+        }
+        return popular;
+    }
+
+    private static TrainingRecommendationResponse response(Index index, int item, Double score) {
+        String[] details = index.details()[item];
+        return TrainingRecommendationResponse.builder()
+                .trainingId(index.ids()[item])
+                .title(details[0])
+                .category(details[1])
+                .difficultyLevel(details[2])
+                .score(score)
+                .build();
+    }
+}
@@ -0,0 +1,370 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires assignment_reminders through the notification pipeline
+ * Reminders are spread over the partitions in reminder_leases; each instance leases a fair share and only
+ * loads its own. Unsent reminders due within the look-ahead window are paged in by (scheduled_at, id) into
+ * a TimingWheel, so the database is read once per reminder rather than scanned every tick. Due reminders
+ * are marked sent with one conditional UPDATE per batch before they are dispatched, so a reminder another
+ * instance already took is skipped; reminders of completed assignments are marked without notifying.
+ * One thread owns the wheel, the cursor and the leases
+ */
+@Component
+@Slf4j
+public class ReminderScheduler {
+
+    private static final DateTimeFormatter DUE_DATE = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    private static final String RENEW_SQL =
+            "UPDATE reminder_leases SET lease_until = CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond' "
+                    + "WHERE owner = ? AND lease_until > CURRENT_TIMESTAMP RETURNING partition_key";
+
+    private static final String CLAIM_SQL =
+            "UPDATE reminder_leases SET owner = ?, lease_until = CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond' "
+                    + "WHERE partition_key IN (SELECT partition_key FROM reminder_leases "
+                    + "WHERE owner IS NULL OR lease_until <= CURRENT_TIMESTAMP "
+                    + "ORDER BY partition_key LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING partition_key";
+
+    private static final String RELEASE_SQL =
+            "UPDATE reminder_leases SET owner = NULL, lease_until = CURRENT_TIMESTAMP "
+                    + "WHERE owner = ? AND partition_key = ANY(?)";
+
+    private static final String REMINDER_COLUMNS =
+            "SELECT r.id, r.partition_key, r.reminder_type, r.scheduled_at, ua.user_id, a.training_id, a.due_date "
+                    + "FROM assignment_reminders r JOIN user_assignments ua ON ua.id = r.user_assignment_id "
+                    + "JOIN assignments a ON a.id = ua.assignment_id "
+                    + "WHERE r.sent_at IS NULL AND r.partition_key = ANY(?) ";
+
+    private static final String WINDOW_SQL = REMINDER_COLUMNS
+            + "AND (r.scheduled_at, r.id) > (?, ?) AND r.scheduled_at <= ? ORDER BY r.scheduled_at, r.id LIMIT ?";
+
+    // Reminders written after their slot of the window was already paged in
+    private static final String LATE_SQL = REMINDER_COLUMNS
+            + "AND r.scheduled_at <= ? AND r.created_at >= ?";
+
+    // Completion lives on the learner's enrollment in the assigned training; user_assignments.status is not kept in step
+    private static final String MARK_SENT_SQL =
+            "UPDATE assignment_reminders r SET sent_at = CURRENT_TIMESTAMP "
+                    + "FROM user_assignments ua JOIN assignments a ON a.id = ua.assignment_id "
+                    + "WHERE r.id = ANY(?) AND r.sent_at IS NULL AND ua.id = r.user_assignment_id "
+                    + "RETURNING r.id, EXISTS (SELECT 1 FROM training_enrollments e WHERE e.user_id = ua.user_id "
+                    + "AND e.training_id = a.training_id AND e.enrollment_status = 'COMPLETED') AS completed";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationDispatcher dispatcher;
+    private final boolean enabled;
+    private final long tickMs;
+    private final long windowMs;
+    private final long pageIntervalMs;
+    private final long leaseMs;
+    private final int pageSize;
+    private final int maxScheduled;
+    private final int batchSize;
+    private final long lateSlackMs;
+    private final String owner = UUID.randomUUID().toString();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reminder-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Confined to the scheduler thread
+    private TimingWheel<Reminder> wheel;
+    private final Set<UUID> scheduled = new HashSet<>();
+    private volatile Set<Integer> partitions = Set.of();
+    private Timestamp cursorTime;
+    private UUID cursorId;
+    private long lastPageAt;
+    private long nextLeaseAt;
+    private long nextPageAt;
+
+    public ReminderScheduler(JdbcTemplate jdbcTemplate,
+                             NotificationDispatcher dispatcher,
+                             @Value("${reminders.enabled:true}") boolean enabled,
+                             @Value("${reminders.tick-ms:1000}") long tickMs,
+                             @Value("${reminders.window-ms:900000}") long windowMs,
+                             @Value("${reminders.page-interval-ms:60000}") long pageIntervalMs,
+                             @Value("${reminders.lease-ms:60000}") long leaseMs,
+                             @Value("${reminders.page-size:1000}") int pageSize,
+                             @Value("${reminders.max-scheduled:100000}") int maxScheduled,
+                             @Value("${reminders.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dispatcher = dispatcher;
+        this.enabled = enabled;
+        this.tickMs = tickMs;
+        this.windowMs = windowMs;
+        this.pageIntervalMs = pageIntervalMs;
+        this.leaseMs = leaseMs;
+        this.pageSize = pageSize;
+        this.maxScheduled = maxScheduled;
+        this.batchSize = batchSize;
+        this.lateSlackMs = Math.max(pageIntervalMs, 300000);
+    }
+
+    private record Reminder(UUID id, int partition, String type, long dueAt, UUID userId, UUID trainingId,
+                            LocalDateTime dueDate) {
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        wheel = new TimingWheel<>(tickMs, 64, 4, now);
+        executor.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Reminder scheduler {} started", owner);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        if (enabled && !partitions.isEmpty()) {
+            try {
+                release(partitions);
+            } catch (RuntimeException e) {
+                log.debug("Could not release reminder leases on shutdown: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        try {
+            if (now >= nextLeaseAt) {
+                nextLeaseAt = now + leaseMs / 3;
+                renewLeases();
+            }
+            if (now >= nextPageAt && !partitions.isEmpty()) {
+                nextPageAt = now + pageIntervalMs;
+                pageIn(now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Reminder scheduler maintenance failed: {}", e.getMessage());
+        }
+
+        List<Reminder> due = new ArrayList<>();
+        wheel.advance(now, due::add);
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Reminder> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                fire(batch);
+                batch.forEach(reminder -> scheduled.remove(reminder.id()));
+            } catch (RuntimeException e) {
+                // Nothing was marked sent; try the batch again shortly
+                log.warn("Firing {} reminders failed, retrying: {}", batch.size(), e.getMessage());
+                for (Reminder reminder : batch) {
+                    wheel.add(now + Math.max(tickMs, 5000), reminder);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keep our leases alive and move towards an equal share of the partitions among live instances
+     */
+    private void renewLeases() {
+        Set<Integer> owned = new HashSet<>(jdbcTemplate.queryForList(RENEW_SQL, Integer.class, leaseMs, owner));
+        Integer total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reminder_leases", Integer.class);
+        Integer others = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT owner) FROM reminder_leases WHERE owner <> ? AND lease_until > CURRENT_TIMESTAMP",
+                Integer.class, owner);
+        int share = (int) Math.ceil((total != null ? total : 0) / (double) ((others != null ? others : 0) + 1));
+
+        if (owned.size() < share) {
+            owned.addAll(jdbcTemplate.queryForList(CLAIM_SQL, Integer.class, owner, leaseMs, share - owned.size()));
+        } else if (owned.size() > share) {
+            Set<Integer> surplus = new HashSet<>();
+            for (Integer partition : owned) {
+                if (surplus.size() < owned.size() - share) {
+                    surplus.add(partition);
+                }
+            }
+            owned.removeAll(surplus);
+            release(surplus);
+        }
+
+        if (!owned.equals(partitions)) {
+            drop(owned);
+            log.info("Reminder scheduler {} now leases {} of {} partitions", owner, owned.size(), total);
+            partitions = Set.copyOf(owned);
+            // Newly leased partitions have to be read from the start of the window
+            cursorTime = null;
+            cursorId = null;
+            nextPageAt = 0;
+        }
+    }
+
+    /**
+     * Forget scheduled reminders of partitions we no longer lease, before anyone else can take them
+     */
+    private void drop(Set<Integer> keep) {
+        wheel.removeIf(reminder -> {
+            if (keep.contains(reminder.partition())) {
+                return false;
+            }
+            scheduled.remove(reminder.id());
+            return true;
+        });
+    }
+
+    private void release(Set<Integer> surplus) {
+        if (!surplus.isEmpty()) {
+            jdbcTemplate.update(RELEASE_SQL, ps -> {
+                ps.setString(1, owner);
+                ps.setArray(2, ps.getConnection().createArrayOf("smallint", surplus.toArray()));
+            });
+        }
+    }
+
+    /**
+     * Load reminders due before the end of the window, continuing after the last one loaded
+     */
+    private void pageIn(long now) {
+        Timestamp horizon = new Timestamp(now + windowMs);
+        Object[] keys = partitions.toArray();
+        int loaded = 0;
+
+        if (cursorTime != null) {
+            Timestamp lateSince = new Timestamp(lastPageAt - lateSlackMs);
+            for (Reminder reminder : query(LATE_SQL, keys, cursorTime, lateSince)) {
+                loaded += schedule(reminder);
+            }
+        }
+        lastPageAt = now;
+
+        Timestamp fromTime = cursorTime != null ? cursorTime : new Timestamp(0);
+        UUID fromId = cursorId != null ? cursorId : new UUID(0L, 0L);
+        while (wheel.size() < maxScheduled) {
+            List<Reminder> page = query(WINDOW_SQL, keys, fromTime, fromId, horizon, pageSize);
+            for (Reminder reminder : page) {
+                loaded += schedule(reminder);
+            }
+            if (page.size() < pageSize) {
+                fromTime = horizon;
+                fromId = MAX_ID;
+                break;
+            }
+            Reminder last = page.get(page.size() - 1);
+            fromTime = new Timestamp(last.dueAt());
+            fromId = last.id();
+        }
+        cursorTime = fromTime;
+        cursorId = fromId;
+        if (loaded > 0) {
+            log.debug("Paged {} reminders into the timing wheel ({} scheduled)", loaded, wheel.size());
+        }
+    }
+
+    private int schedule(Reminder reminder) {
+        if (!scheduled.add(reminder.id())) {
+            return 0;
+        }
+        if (!wheel.add(reminder.dueAt(), reminder)) {
+            // Already due; fire on the next tick
+            wheel.add(System.currentTimeMillis() + tickMs, reminder);
+        }
+        return 1;
+    }
+
+    private List<Reminder> query(String sql, Object[] keys, Object... args) {
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("smallint", keys));
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 2, args[i]);
+            }
+        }, (rs, rowNum) -> {
+            Timestamp dueDate = rs.getTimestamp("due_date");
+            return new Reminder(
+                    rs.getObject("id", UUID.class),
+                    rs.getInt("partition_key"),
+                    rs.getString("reminder_type"),
+                    rs.getTimestamp("scheduled_at").getTime(),
+                    rs.getObject("user_id", UUID.class),
+                    rs.getObject("training_id", UUID.class),
+                    dueDate != null ? dueDate.toLocalDateTime() : null);
+        });
+    }
+
+    /**
+     * Mark a batch sent, then notify its still-open assignments, one dispatch per training, type and due date
+     */
+    private void fire(List<Reminder> batch) {
+        Map<UUID, Reminder> byId = new HashMap<>(batch.size() * 2);
+        for (Reminder reminder : batch) {
+            byId.put(reminder.id(), reminder);
+        }
+        Map<List<Object>, List<UUID>> groups = new LinkedHashMap<>();
+        jdbcTemplate.query(MARK_SENT_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", byId.keySet().toArray())),
+                rs -> {
+                    Reminder reminder = byId.get(rs.getObject("id", UUID.class));
+                    if (reminder != null && !rs.getBoolean("completed")) {
+                        groups.computeIfAbsent(List.of(notificationType(reminder.type()), reminder.trainingId(),
+                                        reminder.dueDate() != null ? reminder.dueDate() : LocalDateTime.MIN),
+                                key -> new ArrayList<>()).add(reminder.userId());
+                    }
+                });
+
+        Map<UUID, String> titles = titles(groups.keySet());
+        for (Map.Entry<List<Object>, List<UUID>> group : groups.entrySet()) {
+            String type = (String) group.getKey().get(0);
+            UUID trainingId = (UUID) group.getKey().get(1);
+            LocalDateTime dueDate = (LocalDateTime) group.getKey().get(2);
+            Map<String, String> variables = new HashMap<>();
+            variables.put("training_title", titles.getOrDefault(trainingId, ""));
+            variables.put("due_date", LocalDateTime.MIN.equals(dueDate) ? "" : DUE_DATE.format(dueDate));
+            try {
+                dispatcher.dispatch(type, group.getValue(), variables, "/trainings/" + trainingId);
+            } catch (RuntimeException e) {
+                // Already marked sent; a reminder is not worth a duplicate
+                log.error("Dispatching {} {} reminders for training {} failed: {}",
+                        group.getValue().size(), type, trainingId, e.getMessage());
+            }
+        }
+    }
+
+    private Map<UUID, String> titles(Set<List<Object>> groups) {
+        Map<UUID, String> titles = new HashMap<>();
+        Object[] trainingIds = groups.stream().map(key -> key.get(1)).distinct().toArray();
+        if (trainingIds.length > 0) {
+            jdbcTemplate.query("SELECT id, title FROM trainings WHERE id = ANY(?)",
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", trainingIds)),
+                    rs -> {
+                        titles.put(rs.getObject("id", UUID.class), rs.getString("title"));
+                    });
+        }
+        return titles;
+    }
+
+    private static String notificationType(String reminderType) {
+        return AppConstants.REMINDER_TYPE_OVERDUE.equals(reminderType)
+                ? AppConstants.NOTIFICATION_TYPE_TRAINING_OVERDUE
+                : AppConstants.NOTIFICATION_TYPE_TRAINING_DUE_SOON;
+    }
+}
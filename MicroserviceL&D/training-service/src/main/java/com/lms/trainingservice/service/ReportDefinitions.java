@@ -0,0 +1,123 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.exception.TrainingException;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * SQL and columns of each report type, with the request filters bound as parameters
+ * Queries have no ORDER BY so rows stream from the cursor as soon as they are found
+ */
+public final class ReportDefinitions {
+
+    public static final String ENROLLMENTS = "ENROLLMENTS";
+    public static final String COMPLIANCE = "COMPLIANCE";
+
+    public static final Set<String> TYPES = Set.of(ENROLLMENTS, COMPLIANCE);
+
+    private static final List<String> ENROLLMENT_COLUMNS = List.of("Email", "First Name", "Last Name", "Department",
+            "Training", "Status", "Progress %", "Enrolled At", "Completed At");
+
+    private static final String ENROLLMENT_SQL =
+            "SELECT u.email, u.first_name, u.last_name, u.department, t.title, e.enrollment_status, "
+                    + "e.progress_percentage, e.enrolled_at, e.completed_at "
+                    + "FROM training_enrollments e JOIN trainings t ON t.id = e.training_id "
+                    + "LEFT JOIN users u ON u.id = e.user_id WHERE TRUE";
+
+    private static final List<String> COMPLIANCE_COLUMNS = List.of("Email", "First Name", "Last Name", "Department",
+            "Training", "Assignment Type", "Due Date", "Status", "Progress %", "Completed At", "Overdue");
+
+    private static final String COMPLIANCE_SQL =
+            "SELECT u.email, u.first_name, u.last_name, u.department, t.title, a.assignment_type, a.due_date, "
+                    + "COALESCE(e.enrollment_status, 'NOT_STARTED'), COALESCE(e.progress_percentage, 0), e.completed_at, "
+                    + "(e.completed_at IS NULL AND a.due_date < CURRENT_TIMESTAMP) "
+                    + "FROM user_assignments ua JOIN assignments a ON a.id = ua.assignment_id "
+                    + "JOIN trainings t ON t.id = a.training_id "
+                    + "LEFT JOIN users u ON u.id = ua.user_id "
+                    + "LEFT JOIN training_enrollments e ON e.user_id = ua.user_id AND e.training_id = a.training_id "
+                    + "WHERE TRUE";
+
+    private ReportDefinitions() {
+    }
+
+    public record ReportQuery(String sql, Object[] args, List<String> columns) {
+    }
+
+    /**
+     * Build the query of a report; throws on unknown types and malformed filters
+     */
+    public static ReportQuery build(String type, Map<String, Object> filters) {
+        Map<String, Object> f = filters != null ? filters : Map.of();
+        StringBuilder sql = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        List<String> columns;
+        String trainingColumn;
+        String statusColumn;
+        String dateColumn;
+
+        switch (type) {
+            case ENROLLMENTS -> {
+                sql.append(ENROLLMENT_SQL);
+                columns = ENROLLMENT_COLUMNS;
+                trainingColumn = "e.training_id";
+                statusColumn = "e.enrollment_status";
+                dateColumn = "e.enrolled_at";
+            }
+            case COMPLIANCE -> {
+                sql.append(COMPLIANCE_SQL);
+                columns = COMPLIANCE_COLUMNS;
+                trainingColumn = "a.training_id";
+                statusColumn = "COALESCE(e.enrollment_status, 'NOT_STARTED')";
+                dateColumn = "ua.assigned_at";
+            }
+            default -> throw new TrainingException("Unsupported report type: " + type);
+        }
+
+        if (f.get("trainingId") != null) {
+            sql.append(" AND ").append(trainingColumn).append(" = ?");
+            args.add(uuid(f.get("trainingId")));
+        }
+        if (f.get("department") != null) {
+            sql.append(" AND u.department = ?");
+            args.add(f.get("department").toString());
+        }
+        if (f.get("status") != null) {
+            sql.append(" AND ").append(statusColumn).append(" = ?");
+            args.add(f.get("status").toString());
+        }
+        if (f.get("from") != null) {
+            sql.append(" AND ").append(dateColumn).append(" >= ?");
+            args.add(timestamp(f.get("from")));
+        }
+        if (f.get("to") != null) {
+            sql.append(" AND ").append(dateColumn).append(" < ?");
+            args.add(timestamp(f.get("to")));
+        }
+        return new ReportQuery(sql.toString(), args.toArray(), columns);
+    }
+
+    private static UUID uuid(Object value) {
+        try {
+            return UUID.fromString(value.toString());
+        } catch (IllegalArgumentException e) {
+            throw new TrainingException("Invalid trainingId filter: " + value);
+        }
+    }
+
+    private static Timestamp timestamp(Object value) {
+        String text = value.toString();
+        try {
+            return Timestamp.valueOf(text.length() == 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text));
+        } catch (DateTimeParseException e) {
+            throw new TrainingException("Invalid date filter: " + text);
+        }
+    }
+}
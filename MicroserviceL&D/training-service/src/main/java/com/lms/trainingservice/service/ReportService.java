@@ -0,0 +1,137 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.ReportRequest;
+import com.lms.trainingservice.dto.ReportResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service for submitting reports and fetching their results; generation runs in ReportWorker
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportService {
+
+    private static final String COLUMNS =
+            "SELECT id, report_type, format, status, progress_rows, file_url, error_message, created_at, completed_at "
+                    + "FROM report_requests ";
+
+    private static final RowMapper<ReportResponse> REPORT_MAPPER = (rs, rowNum) -> {
+        UUID id = rs.getObject("id", UUID.class);
+        String status = rs.getString("status");
+        return ReportResponse.builder()
+                .id(id)
+                .reportType(rs.getString("report_type"))
+                .format(rs.getString("format"))
+                .status(status)
+                .progressRows(rs.getLong("progress_rows"))
+                .downloadUrl(AppConstants.REPORT_STATUS_COMPLETED.equals(status) ? "/api/reports/" + id + "/download" : null)
+                .errorMessage(rs.getString("error_message"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .completedAt(toLocalDateTime(rs.getTimestamp("completed_at")))
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectStorageService storageService;
+    private final ReportWorker reportWorker;
+
+    /**
+     * Queue a report; it starts as soon as a worker is free
+     */
+    @Transactional
+    public ReportResponse submit(UUID userId, ReportRequest request) {
+        String type = request.getReportType().trim().toUpperCase(Locale.ROOT);
+        String format = request.getFormat() != null ? request.getFormat().trim().toUpperCase(Locale.ROOT)
+                : ReportWriter.FORMAT_CSV;
+        if (!ReportWriter.FORMAT_CSV.equals(format) && !ReportWriter.FORMAT_XLSX.equals(format)) {
+            throw new TrainingException("Unsupported report format: " + format);
+        }
+        // Fails fast on unknown types and malformed filters instead of in the worker
+        ReportDefinitions.build(type, request.getFilters());
+
+        UUID id = UUID.randomUUID();
+        try {
+            jdbcTemplate.update("INSERT INTO report_requests (id, requested_by, report_type, format, filters, status, "
+                            + "progress_rows, created_at, updated_at) "
+                            + "VALUES (?, ?, ?, ?, ?::jsonb, ?, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                    id, userId, type, format,
+                    objectMapper.writeValueAsString(request.getFilters() != null ? request.getFilters() : Map.of()),
+                    AppConstants.REPORT_STATUS_PENDING);
+        } catch (JsonProcessingException e) {
+            throw new TrainingException("Invalid report filters", e);
+        }
+        log.info("User {} requested {} report {} as {}", userId, type, id, format);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reportWorker.poll();
+            }
+        });
+        return getReport(userId, id);
+    }
+
+    @Transactional(readOnly = true)
+    public ReportResponse getReport(UUID userId, UUID reportId) {
+        return jdbcTemplate.query(COLUMNS + "WHERE id = ? AND requested_by = ?", REPORT_MAPPER, reportId, userId)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new TrainingNotFoundException("Report not found with id: " + reportId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportResponse> getReports(UUID userId) {
+        return jdbcTemplate.query(COLUMNS + "WHERE requested_by = ? ORDER BY created_at DESC LIMIT 50", REPORT_MAPPER, userId);
+    }
+
+    /**
+     * Open a finished report for download
+     */
+    public ReportFile openReport(UUID userId, UUID reportId) {
+        List<String[]> found = jdbcTemplate.query(
+                "SELECT status, format, file_url FROM report_requests WHERE id = ? AND requested_by = ?",
+                (rs, rowNum) -> new String[]{rs.getString("status"), rs.getString("format"), rs.getString("file_url")},
+                reportId, userId);
+        if (found.isEmpty()) {
+            throw new TrainingNotFoundException("Report not found with id: " + reportId);
+        }
+        String[] report = found.get(0);
+        if (!AppConstants.REPORT_STATUS_COMPLETED.equals(report[0])) {
+            throw new TrainingException("Report is not ready: " + report[0]);
+        }
+        InputStream stream = storageService.open(storageService.resolve(report[2]));
+        return new ReportFile(stream, ReportWriter.contentType(report[1]), "report-" + reportId + ReportWriter.extension(report[1]));
+    }
+
+    /**
+     * An opened report file; the caller closes the stream
+     */
+    public record ReportFile(InputStream stream, String contentType, String fileName) {
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
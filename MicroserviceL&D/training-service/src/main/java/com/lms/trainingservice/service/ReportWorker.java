@@ -0,0 +1,247 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.constant.AppConstants;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates queued reports on a fixed number of worker threads
+ * Each report streams its rows from a server-side cursor (autocommit off, fetch size set) straight into
+ * a CSV or XLSX writer on storage, so memory stays constant whatever the report size. Workers claim
+ * PENDING rows with SKIP LOCKED, so several instances share the queue, and the worker count caps how
+ * many pool connections reports can hold at once. Running reports heartbeat on a timer, so only a dead
+ * worker's report goes stale; one that keeps dying is failed after a bounded number of attempts
+ */
+@Component
+@Slf4j
+public class ReportWorker {
+
+    private static final String CLAIM_SQL =
+            "UPDATE report_requests SET status = 'RUNNING', started_at = CURRENT_TIMESTAMP, "
+                    + "updated_at = CURRENT_TIMESTAMP, progress_rows = 0, error_message = NULL, "
+                    + "attempts = COALESCE(attempts, 0) + 1 "
+                    + "WHERE id = (SELECT id FROM report_requests WHERE status = 'PENDING' "
+                    + "ORDER BY created_at LIMIT 1 FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING id, report_type, format, filters::text AS filters";
+
+    private static final String ABANDON_SQL =
+            "UPDATE report_requests SET status = 'FAILED', updated_at = CURRENT_TIMESTAMP, "
+                    + "error_message = 'Abandoned after ' || attempts || ' attempts' "
+                    + "WHERE status = 'RUNNING' AND updated_at < ? AND attempts >= ?";
+
+    private static final String RECOVER_SQL =
+            "UPDATE report_requests SET status = 'PENDING' WHERE status = 'RUNNING' AND updated_at < ?";
+
+    private static final String HEARTBEAT_SQL =
+            "UPDATE report_requests SET updated_at = CURRENT_TIMESTAMP WHERE id = ANY(?) AND status = 'RUNNING'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectStorageService storageService;
+    private final ObjectMapper objectMapper;
+    private final String locationPrefix;
+    private final int fetchSize;
+    private final long progressEveryRows;
+    private final long staleRunMillis;
+    private final int maxAttempts;
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+    private final Semaphore slots;
+    private final ExecutorService executor;
+
+    public ReportWorker(JdbcTemplate jdbcTemplate,
+                        DataSource dataSource,
+                        ObjectStorageService storageService,
+                        ObjectMapper objectMapper,
+                        @Value("${reports.location-prefix:file:reports/}") String locationPrefix,
+                        @Value("${reports.max-concurrent:2}") int maxConcurrent,
+                        @Value("${reports.fetch-size:1000}") int fetchSize,
+                        @Value("${reports.progress-every-rows:10000}") long progressEveryRows,
+                        @Value("${reports.stale-run-ms:900000}") long staleRunMillis,
+                        @Value("${reports.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.storageService = storageService;
+        this.objectMapper = objectMapper;
+        this.locationPrefix = locationPrefix;
+        this.fetchSize = fetchSize;
+        this.progressEveryRows = progressEveryRows;
+        this.staleRunMillis = staleRunMillis;
+        this.maxAttempts = maxAttempts;
+        this.slots = new Semaphore(maxConcurrent);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "report-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private record ClaimedReport(UUID id, String type, String format, String filters) {
+    }
+
+    /**
+     * Start queued reports while worker slots are free; called on submit and when a report finishes
+     */
+    public void poll() {
+        while (slots.tryAcquire()) {
+            ClaimedReport report;
+            try {
+                report = claim();
+            } catch (RuntimeException e) {
+                slots.release();
+                log.error("Failed to claim report: {}", e.getMessage());
+                return;
+            }
+            if (report == null) {
+                slots.release();
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(report);
+                    } finally {
+                        slots.release();
+                        poll();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                jdbcTemplate.update("UPDATE report_requests SET status = 'PENDING', attempts = attempts - 1 "
+                        + "WHERE id = ?", report.id());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Requeue reports whose worker died and pick up reports submitted on other instances
+     */
+    @Scheduled(fixedDelayString = "${reports.poll-interval-ms:30000}")
+    public void sweep() {
+        try {
+            Timestamp staleBefore = new Timestamp(System.currentTimeMillis() - staleRunMillis);
+            int abandoned = jdbcTemplate.update(ABANDON_SQL, staleBefore, maxAttempts);
+            if (abandoned > 0) {
+                log.error("Failed {} stale reports after {} attempts", abandoned, maxAttempts);
+            }
+            int recovered = jdbcTemplate.update(RECOVER_SQL, staleBefore);
+            if (recovered > 0) {
+                log.warn("Requeued {} stale reports", recovered);
+            }
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Report sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Keep this instance's running reports fresh, including while a slow query has not returned a row yet
+     */
+    @Scheduled(fixedDelayString = "${reports.heartbeat-ms:60000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        UUID[] ids = running.toArray(new UUID[0]);
+        try {
+            jdbcTemplate.update(HEARTBEAT_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)));
+        } catch (RuntimeException e) {
+            log.warn("Report heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ClaimedReport claim() {
+        List<ClaimedReport> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ClaimedReport(
+                rs.getObject("id", UUID.class),
+                rs.getString("report_type"),
+                rs.getString("format"),
+                rs.getString("filters")));
+        return claimed.isEmpty() ? null : claimed.get(0);
+    }
+
+    private void run(ClaimedReport report) {
+        long started = System.currentTimeMillis();
+        String fileUrl = locationPrefix + report.id() + ReportWriter.extension(report.format());
+        long rows = 0;
+        running.add(report.id());
+        try {
+            ReportDefinitions.ReportQuery query = ReportDefinitions.build(report.type(), parseFilters(report.filters()));
+            ObjectStorageService.StorageLocation location = storageService.resolve(fileUrl);
+            try (Connection connection = dataSource.getConnection()) {
+                // PostgreSQL only streams with a fetch size when autocommit is off
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+                try (PreparedStatement statement = connection.prepareStatement(query.sql(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(fetchSize);
+                    for (int i = 0; i < query.args().length; i++) {
+                        statement.setObject(i + 1, query.args()[i]);
+                    }
+                    try (ResultSet rs = statement.executeQuery();
+                         ReportWriter writer = ReportWriter.create(report.format(),
+                                 storageService.create(location, ReportWriter.contentType(report.format())))) {
+                        writer.writeHeader(query.columns());
+                        Object[] row = new Object[rs.getMetaData().getColumnCount()];
+                        while (rs.next()) {
+                            for (int i = 0; i < row.length; i++) {
+                                row[i] = rs.getObject(i + 1);
+                            }
+                            writer.writeRow(row);
+                            if (++rows % progressEveryRows == 0) {
+                                jdbcTemplate.update("UPDATE report_requests SET progress_rows = ?, "
+                                        + "updated_at = CURRENT_TIMESTAMP WHERE id = ?", rows, report.id());
+                            }
+                        }
+                    }
+                } finally {
+                    connection.rollback();
+                }
+            }
+            jdbcTemplate.update("UPDATE report_requests SET status = ?, file_url = ?, progress_rows = ?, "
+                            + "completed_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+                    AppConstants.REPORT_STATUS_COMPLETED, fileUrl, rows, report.id());
+            log.info("Report {} ({} {}) wrote {} rows in {} ms", report.id(), report.type(), report.format(), rows,
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Report {} failed after {} rows: {}", report.id(), rows, e.getMessage());
+            jdbcTemplate.update("UPDATE report_requests SET status = ?, error_message = ?, progress_rows = ?, "
+                            + "updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+                    AppConstants.REPORT_STATUS_FAILED, e.getMessage(), rows, report.id());
+        } finally {
+            running.remove(report.id());
+        }
+    }
+
+    private Map<String, Object> parseFilters(String json) throws JsonProcessingException {
+        return json != null ? objectMapper.readValue(json, new TypeReference<Map<String, Object>>() { }) : Map.of();
+    }
+}
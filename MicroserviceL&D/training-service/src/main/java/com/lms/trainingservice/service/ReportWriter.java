@@ -0,0 +1,58 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.exception.TrainingException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Row-at-a-time report output; nothing but the current row is held in memory
+ */
+public interface ReportWriter extends AutoCloseable {
+
+    String FORMAT_CSV = "CSV";
+    String FORMAT_XLSX = "XLSX";
+
+    static ReportWriter create(String format, OutputStream out) throws IOException {
+        return switch (format) {
+            case FORMAT_CSV -> new CsvReportWriter(out);
+            case FORMAT_XLSX -> new XlsxReportWriter(out);
+            default -> throw new TrainingException("Unsupported report format: " + format);
+        };
+    }
+
+    static String extension(String format) {
+        return FORMAT_XLSX.equals(format) ? ".xlsx" : ".csv";
+    }
+
+    static String contentType(String format) {
+        return FORMAT_XLSX.equals(format)
+                ? "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
+                : "text/csv";
+    }
+
+    void writeHeader(List<String> columns) throws IOException;
+
+    /**
+     * Write one row; values are strings, numbers, booleans, timestamps or null
+     */
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Finish the document and close the underlying stream
+     */
+    @Override
+    void close() throws IOException;
+
+    static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,197 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.exception.TrainingException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of pre-serialized JSON responses for hot read-only endpoints
+ * Stores the identity and gzip encodings as byte arrays so cache hits skip Jackson entirely.
+ * Invalidation only reaches the local instance, so entries also expire after a short TTL that bounds how long
+ * other instances keep serving a training after it changed
+ */
+@Component
+@Slf4j
+public class ResponseBytesCache {
+
+    public static final String PUBLISHED_PREFIX = "published:";
+    public static final String PUBLIC_PREFIX = "public:";
+    public static final String OUTLINE_PREFIX = "outline:";
+    public static final String CERTIFICATE_PREFIX = "certificate:";
+    public static final String BROWSE_PREFIX = "browse:";
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Cached> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final String cacheControl;
+    private final long ttlMillis;
+
+    public ResponseBytesCache(ObjectMapper objectMapper,
+                              @Value("${catalog.response-cache.max-entries:256}") int maxEntries,
+                              @Value("${catalog.response-cache.ttl-ms:30000}") long ttlMillis,
+                              @Value("${catalog.response-cache.cache-control:public, max-age=10, stale-while-revalidate=30}") String cacheControl) {
+        this.objectMapper = objectMapper;
+        this.cacheControl = cacheControl;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the cached entry for a key, serializing the loader result on a miss
+     */
+    public Entry get(String key, Supplier<Object> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Cached cached = entries.get(key);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    return cached.entry();
+                }
+                entries.remove(key);
+            }
+        }
+
+        // Remember the generation so an invalidation racing with the load is not overwritten
+        long loadGeneration = generation.get();
+        Entry entry = encode(loader.get());
+
+        synchronized (entries) {
+            if (generation.get() == loadGeneration) {
+                entries.put(key, new Cached(entry, now + ttlMillis));
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Write a cached entry straight to the servlet output stream
+     * Honors If-None-Match and picks the gzip variant when the client accepts it
+     */
+    public void write(Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? entry.getGzipEtag() : entry.getEtag();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(entry.getEtag()) || ifNoneMatch.contains(entry.getGzipEtag()))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = gzip ? entry.getGzip() : entry.getIdentity();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Drop every cached response that can contain the given training
+     * Deferred until commit when called inside a transaction so readers cannot re-cache stale rows
+     */
+    public void invalidateTraining(UUID trainingId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictTraining(trainingId);
+                }
+            });
+        } else {
+            evictTraining(trainingId);
+        }
+    }
+
+    /**
+     * Drop every cached faceted browse response, after the facet index changed
+     */
+    public void invalidateBrowse() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.keySet().removeIf(key -> key.startsWith(BROWSE_PREFIX));
+        }
+    }
+
+    private void evictTraining(UUID trainingId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(PUBLIC_PREFIX + trainingId);
+            entries.remove(OUTLINE_PREFIX + trainingId);
+            entries.keySet().removeIf(key -> key.startsWith(PUBLISHED_PREFIX));
+        }
+        log.debug("Invalidated cached responses for training {}", trainingId);
+    }
+
+    private Entry encode(Object body) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = gzip(identity);
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(identity), 0, 16);
+            return new Entry(identity, gzip, "\"" + hash + "\"", "\"" + hash + "-gz\"");
+        } catch (JsonProcessingException e) {
+            throw new TrainingException("Failed to serialize response", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] identity) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, identity.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(identity);
+        } catch (IOException e) {
+            throw new TrainingException("Failed to compress response", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private record Cached(Entry entry, long expiresAt) {
+    }
+
+    /**
+     * Encoded response bodies with their entity tags
+     */
+    @lombok.Value
+    public static class Entry {
+        byte[] identity;
+        byte[] gzip;
+        String etag;
+        String gzipEtag;
+    }
+}
@@ -0,0 +1,138 @@
+package com.lms.trainingservice.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical timing wheel
+ * Level 0 has wheelSize buckets of tickMs each; every level above has buckets wheelSize times wider. An item
+ * lands in the lowest level whose range covers its deadline, and each time a higher-level bucket comes due
+ * its items cascade down, so add and expiry are O(1) whatever the number of scheduled items. Deadlines past
+ * the top level are parked in its farthest bucket and re-placed as it cascades. Not thread-safe
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] ticks;
+    private final List<List<Entry<T>>> buckets;
+    private long currentTick;
+    private int size;
+
+    private record Entry<T>(long deadlineMs, T item) {
+    }
+
+    public TimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.ticks = new long[levels];
+        this.buckets = new ArrayList<>(levels * wheelSize);
+        long levelTicks = 1;
+        for (int level = 0; level < levels; level++) {
+            ticks[level] = levelTicks;
+            levelTicks = Math.multiplyExact(levelTicks, wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+        this.currentTick = Math.floorDiv(startMs, tickMs);
+    }
+
+    /**
+     * Schedule an item; returns false without keeping it when its deadline has already been reached
+     */
+    public boolean add(long deadlineMs, T item) {
+        if (!place(new Entry<>(deadlineMs, item))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Move the wheel up to nowMs, handing every item that came due to the consumer in deadline-bucket order
+     */
+    public void advance(long nowMs, Consumer<T> expired) {
+        long target = Math.floorDiv(nowMs, tickMs);
+        while (currentTick < target) {
+            currentTick++;
+            for (int level = ticks.length - 1; level > 0; level--) {
+                if (currentTick % ticks[level] == 0) {
+                    cascade(level, expired);
+                }
+            }
+            List<Entry<T>> due = bucket(0, currentTick);
+            for (Entry<T> entry : due) {
+                expired.accept(entry.item());
+            }
+            size -= due.size();
+            due.clear();
+        }
+    }
+
+    /**
+     * Drop every scheduled item matching the filter; scans all buckets
+     */
+    public int removeIf(Predicate<T> filter) {
+        int removed = 0;
+        for (List<Entry<T>> bucket : buckets) {
+            Iterator<Entry<T>> iterator = bucket.iterator();
+            while (iterator.hasNext()) {
+                if (filter.test(iterator.next().item())) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        size -= removed;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level, Consumer<T> expired) {
+        List<Entry<T>> bucket = bucket(level, currentTick / ticks[level]);
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Entry<T>> moving = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Entry<T> entry : moving) {
+            if (!place(entry)) {
+                expired.accept(entry.item());
+                size--;
+            }
+        }
+    }
+
+    private boolean place(Entry<T> entry) {
+        // Round up so nothing fires before its deadline
+        long deadlineTick = Math.floorDiv(entry.deadlineMs() + tickMs - 1, tickMs);
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        for (int level = 0; level < ticks.length; level++) {
+            long deadlineSlot = deadlineTick / ticks[level];
+            long currentSlot = currentTick / ticks[level];
+            if (deadlineSlot - currentSlot < wheelSize) {
+                bucket(level, deadlineSlot).add(entry);
+                return true;
+            }
+        }
+        int top = ticks.length - 1;
+        bucket(top, currentTick / ticks[top] + wheelSize - 1).add(entry);
+        return true;
+    }
+
+    private List<Entry<T>> bucket(int level, long slot) {
+        return buckets.get(level * wheelSize + (int) Math.floorMod(slot, (long) wheelSize));
+    }
+}
@@ -0,0 +1,299 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.TrainingAnalyticsResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Maintains training_analytics incrementally from enrollment events
+ * Events only touch in-memory counter deltas; deltas are checkpointed as additive batched updates,
+ * and reads combine the last loaded row with the unflushed delta without scanning enrollments.
+ * Deltas are kept per second of event time: a row rebuilt from enrollments at rebuilt_at already counts
+ * the events before it, so those seconds are dropped at checkpoint instead of being added twice
+ */
+@Component
+@Slf4j
+public class TrainingAnalyticsAggregator {
+
+    private static final String SELECT_SQL =
+            "SELECT total_enrollments, total_completions, average_completion_time_hours, calculated_at "
+                    + "FROM training_analytics WHERE training_id = ?";
+
+    // Parameters: dEnrollments, dCompletions, dTimed, dHours, dTimed, dEnrollments, dCompletions, dEnrollments,
+    // trainingId, event second
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE training_analytics SET "
+                    + "total_enrollments = GREATEST(COALESCE(total_enrollments, 0) + ?, 0), "
+                    + "total_completions = GREATEST(COALESCE(total_completions, 0) + ?, 0), "
+                    + "average_completion_time_hours = CASE WHEN COALESCE(total_completions, 0) + ? > 0 "
+                    + "THEN GREATEST((COALESCE(average_completion_time_hours, 0) * COALESCE(total_completions, 0) + ?) "
+                    + "/ (COALESCE(total_completions, 0) + ?), 0) END, "
+                    + "completion_rate = CASE WHEN COALESCE(total_enrollments, 0) + ? > 0 "
+                    + "THEN LEAST(GREATEST(COALESCE(total_completions, 0) + ?, 0) * 100.0 / (COALESCE(total_enrollments, 0) + ?), 100) "
+                    + "ELSE 0 END, "
+                    + "calculated_at = CURRENT_TIMESTAMP "
+                    + "WHERE training_id = ? AND (rebuilt_at IS NULL OR rebuilt_at <= to_timestamp(?))";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO training_analytics (training_id, total_enrollments, total_completions, "
+                    + "average_completion_time_hours, completion_rate, calculated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP) ON CONFLICT (training_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long viewTtlMillis;
+    private final Map<UUID, Delta> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, View> views = new ConcurrentHashMap<>();
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    public TrainingAnalyticsAggregator(JdbcTemplate jdbcTemplate,
+                                       @Value("${analytics.view-ttl-ms:60000}") long viewTtlMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.viewTtlMillis = viewTtlMillis;
+    }
+
+    public void onEnrolled(UUID trainingId, long eventMillis) {
+        apply(trainingId, eventMillis / 1000, new Counters(1, 0, 0, 0));
+    }
+
+    public void onCompleted(UUID trainingId, Double completionHours, long eventMillis) {
+        boolean timed = completionHours != null;
+        apply(trainingId, eventMillis / 1000, new Counters(0, 1, timed ? 1 : 0, timed ? completionHours : 0));
+    }
+
+    public void onDropped(UUID trainingId, boolean completed, Double completionHours, long eventMillis) {
+        boolean timed = completed && completionHours != null;
+        apply(trainingId, eventMillis / 1000,
+                new Counters(-1, completed ? -1 : 0, timed ? -1 : 0, timed ? -completionHours : 0));
+    }
+
+    /**
+     * Current analytics of a training: the cached row plus whatever this instance has not checkpointed yet
+     */
+    public TrainingAnalyticsResponse get(UUID trainingId) {
+        long now = System.currentTimeMillis();
+        View view = views.get(trainingId);
+        if (view == null || now - view.loadedAtMillis > viewTtlMillis) {
+            view = load(trainingId, now);
+            views.put(trainingId, view);
+        }
+
+        Delta delta = pending.get(trainingId);
+        Counters counters = delta != null ? view.counters().plus(delta.snapshot()) : view.counters();
+        return counters.toResponse(trainingId, view.calculatedAt());
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.checkpoint-interval-ms:30000}")
+    public void checkpoint() {
+        checkpointLock.lock();
+        try {
+            List<Change> batch = new ArrayList<>();
+            for (UUID trainingId : pending.keySet()) {
+                Delta delta = pending.remove(trainingId);
+                if (delta == null) {
+                    continue;
+                }
+                Counters total = Counters.EMPTY;
+                for (Map.Entry<Long, Counters> second : delta.seal().entrySet()) {
+                    if (!second.getValue().isEmpty()) {
+                        batch.add(new Change(trainingId, second.getKey(), second.getValue()));
+                        total = total.sum(second.getValue());
+                    }
+                }
+                Counters counters = total;
+                // Keep local reads consistent until the view is next reloaded
+                views.computeIfPresent(trainingId, (id, view) -> view.plus(counters));
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    /**
+     * Run a job that rewrites training_analytics while no checkpoint can interleave with it
+     */
+    public <T> T exclusive(Supplier<T> job) {
+        checkpointLock.lock();
+        try {
+            checkpoint();
+            return job.get();
+        } finally {
+            views.clear();
+            checkpointLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private void apply(UUID trainingId, long second, Counters change) {
+        // A delta sealed by a concurrent checkpoint rejects the change; retry on a fresh one
+        while (!pending.computeIfAbsent(trainingId, id -> new Delta()).add(second, change)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void write(List<Change> batch) {
+        try {
+            int[] updated = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, batch, batch.size(), (ps, change) -> {
+                Counters d = change.counters();
+                ps.setLong(1, d.enrollments());
+                ps.setLong(2, d.completions());
+                ps.setLong(3, d.timedCompletions());
+                ps.setDouble(4, d.completionHours());
+                ps.setLong(5, d.timedCompletions());
+                ps.setLong(6, d.enrollments());
+                ps.setLong(7, d.completions());
+                ps.setLong(8, d.enrollments());
+                ps.setObject(9, change.trainingId());
+                ps.setLong(10, change.second());
+            })[0];
+
+            // Not updated: either there is no row yet, or the row was rebuilt after the event and already counts it.
+            // The insert only creates missing rows, with all of the training's skipped seconds at once
+            Map<UUID, Counters> skipped = new HashMap<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    skipped.merge(batch.get(i).trainingId(), batch.get(i).counters(), Counters::sum);
+                }
+            }
+            List<Map.Entry<UUID, Counters>> missing = new ArrayList<>(skipped.entrySet());
+            if (!missing.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, missing, missing.size(), (ps, entry) -> {
+                    Counters initial = Counters.EMPTY.plus(entry.getValue());
+                    ps.setObject(1, entry.getKey());
+                    ps.setLong(2, initial.enrollments());
+                    ps.setLong(3, initial.completions());
+                    ps.setObject(4, initial.averageCompletionHours());
+                    ps.setDouble(5, initial.completionRate());
+                });
+            }
+            log.debug("Checkpointed {} analytics deltas ({} trainings not updated)", batch.size(), missing.size());
+        } catch (DataAccessException e) {
+            log.error("Analytics checkpoint of {} deltas failed, will retry: {}", batch.size(), e.getMessage());
+            for (Change change : batch) {
+                apply(change.trainingId(), change.second(), change.counters());
+                views.remove(change.trainingId());
+            }
+        }
+    }
+
+    private View load(UUID trainingId, long now) {
+        List<View> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            long completions = rs.getLong("total_completions");
+            double average = rs.getDouble("average_completion_time_hours");
+            Timestamp calculatedAt = rs.getTimestamp("calculated_at");
+            return new View(new Counters(rs.getLong("total_enrollments"), completions, completions, average * completions),
+                    calculatedAt != null ? calculatedAt.toLocalDateTime() : null, now);
+        }, trainingId);
+        return rows.isEmpty() ? new View(Counters.EMPTY, null, now) : rows.get(0);
+    }
+
+    /**
+     * Counter values, used both as absolute totals and as deltas
+     * Hours are summed over timed completions so averages can be merged exactly
+     */
+    record Counters(long enrollments, long completions, long timedCompletions, double completionHours) {
+
+        static final Counters EMPTY = new Counters(0, 0, 0, 0);
+
+        Counters plus(Counters delta) {
+            long timed = Math.max(timedCompletions + delta.timedCompletions, 0);
+            return new Counters(Math.max(enrollments + delta.enrollments, 0),
+                    Math.max(completions + delta.completions, 0),
+                    timed, timed > 0 ? Math.max(completionHours + delta.completionHours, 0) : 0);
+        }
+
+        Counters sum(Counters other) {
+            return new Counters(enrollments + other.enrollments, completions + other.completions,
+                    timedCompletions + other.timedCompletions, completionHours + other.completionHours);
+        }
+
+        boolean isEmpty() {
+            return enrollments == 0 && completions == 0 && timedCompletions == 0 && completionHours == 0;
+        }
+
+        Double averageCompletionHours() {
+            return timedCompletions > 0 ? completionHours / timedCompletions : null;
+        }
+
+        double completionRate() {
+            return enrollments > 0 ? Math.min(completions * 100.0 / enrollments, 100) : 0;
+        }
+
+        TrainingAnalyticsResponse toResponse(UUID trainingId, LocalDateTime calculatedAt) {
+            Double average = averageCompletionHours();
+            return TrainingAnalyticsResponse.builder()
+                    .trainingId(trainingId)
+                    .totalEnrollments(enrollments)
+                    .totalCompletions(completions)
+                    .completionRate(Math.round(completionRate() * 100) / 100.0)
+                    .averageCompletionTimeHours(average != null ? Math.round(average * 100) / 100.0 : null)
+                    .calculatedAt(calculatedAt)
+                    .build();
+        }
+    }
+
+    private record View(Counters counters, LocalDateTime calculatedAt, long loadedAtMillis) {
+
+        View plus(Counters delta) {
+            return new View(counters.plus(delta), LocalDateTime.now(), loadedAtMillis);
+        }
+    }
+
+    /**
+     * Checkpointed change of one training in one second of event time
+     */
+    private record Change(UUID trainingId, long second, Counters counters) {
+    }
+
+    /**
+     * Unflushed changes of one training, by second of event time
+     */
+    private static final class Delta {
+
+        private final Map<Long, Counters> bySecond = new HashMap<>();
+        private boolean sealed;
+
+        synchronized boolean add(long second, Counters change) {
+            if (sealed) {
+                return false;
+            }
+            bySecond.merge(second, change, Counters::sum);
+            return true;
+        }
+
+        synchronized Counters snapshot() {
+            Counters total = Counters.EMPTY;
+            for (Counters counters : bySecond.values()) {
+                total = total.sum(counters);
+            }
+            return total;
+        }
+
+        synchronized Map<Long, Counters> seal() {
+            sealed = true;
+            return bySecond;
+        }
+    }
+}
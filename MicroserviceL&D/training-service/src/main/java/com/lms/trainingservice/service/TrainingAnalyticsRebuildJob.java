@@ -0,0 +1,132 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.AnalyticsRebuildResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recomputes training_analytics from training_enrollments in parallel chunks of trainings
+ * Used for backfill and to reconcile drift of the incremental aggregates, e.g. events lost in a crash.
+ * One instance rebuilds at a time under a Postgres advisory lock. Each row records when it was rebuilt, and
+ * aggregators on every instance drop their deltas of events before that instead of adding them again
+ */
+@Component
+@Slf4j
+public class TrainingAnalyticsRebuildJob {
+
+    private static final String COMPLETED = "e.enrollment_status = 'COMPLETED'";
+    private static final String TIMED = COMPLETED + " AND e.completed_at IS NOT NULL AND e.enrolled_at IS NOT NULL";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO training_analytics (training_id, total_enrollments, total_completions, "
+                    + "average_completion_time_hours, completion_rate, calculated_at, rebuilt_at) "
+                    + "SELECT t.id, COUNT(e.id), COUNT(e.id) FILTER (WHERE " + COMPLETED + "), "
+                    + "AVG(GREATEST(EXTRACT(EPOCH FROM (e.completed_at - e.enrolled_at)), 0) / 3600) FILTER (WHERE " + TIMED + "), "
+                    + "CASE WHEN COUNT(e.id) > 0 THEN COUNT(e.id) FILTER (WHERE " + COMPLETED + ") * 100.0 / COUNT(e.id) ELSE 0 END, "
+                    + "LOCALTIMESTAMP, CURRENT_TIMESTAMP "
+                    + "FROM trainings t LEFT JOIN training_enrollments e ON e.training_id = t.id "
+                    + "WHERE t.id = ANY(?) GROUP BY t.id "
+                    + "ON CONFLICT (training_id) DO UPDATE SET "
+                    + "total_enrollments = EXCLUDED.total_enrollments, "
+                    + "total_completions = EXCLUDED.total_completions, "
+                    + "average_completion_time_hours = EXCLUDED.average_completion_time_hours, "
+                    + "completion_rate = EXCLUDED.completion_rate, "
+                    + "calculated_at = EXCLUDED.calculated_at, "
+                    + "rebuilt_at = EXCLUDED.rebuilt_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrainingAnalyticsAggregator analyticsAggregator;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public TrainingAnalyticsRebuildJob(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       TrainingAnalyticsAggregator analyticsAggregator,
+                                       @Value("${analytics.rebuild.chunk-size:200}") int chunkSize,
+                                       @Value("${analytics.rebuild.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.analyticsAggregator = analyticsAggregator;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    @Scheduled(cron = "${analytics.rebuild.cron:0 30 2 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (TrainingException e) {
+            log.warn("Scheduled analytics rebuild skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild analytics of every training; pending incremental deltas are checkpointed first
+     */
+    public AnalyticsRebuildResponse rebuild() {
+        // The chunks run on their own connections; this transaction only holds the lock until they are done
+        return transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(hashtext('analytics_rebuild'))", Boolean.class);
+            if (!Boolean.TRUE.equals(locked)) {
+                throw new TrainingException("Analytics rebuild is already running");
+            }
+            return analyticsAggregator.exclusive(this::rebuildAll);
+        });
+    }
+
+    private AnalyticsRebuildResponse rebuildAll() {
+        long started = System.currentTimeMillis();
+        List<UUID> trainingIds = jdbcTemplate.queryForList("SELECT id FROM trainings ORDER BY id", UUID.class);
+
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < trainingIds.size(); from += chunkSize) {
+            chunks.add(trainingIds.subList(from, Math.min(from + chunkSize, trainingIds.size())));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, chunks.size())));
+        try {
+            List<Future<Integer>> results = new ArrayList<>(chunks.size());
+            for (List<UUID> chunk : chunks) {
+                results.add(executor.submit(() -> rebuildChunk(chunk)));
+            }
+            for (Future<Integer> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TrainingException("Analytics rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new TrainingException("Analytics rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long duration = System.currentTimeMillis() - started;
+        log.info("Rebuilt analytics of {} trainings in {} chunks in {} ms", trainingIds.size(), chunks.size(), duration);
+        return AnalyticsRebuildResponse.builder()
+                .trainings(trainingIds.size())
+                .chunks(chunks.size())
+                .durationMillis(duration)
+                .build();
+    }
+
+    private int rebuildChunk(List<UUID> trainingIds) {
+        return jdbcTemplate.update(REBUILD_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", trainingIds.toArray())));
+    }
+}
@@ -6,6 +6,7 @@ import com.lms.trainingservice.entity.Training;
 import com.lms.trainingservice.entity.TrainingEnrollment;
 import com.lms.trainingservice.exception.TrainingException;
 import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.kafka.EnrollmentEventProducer;
 import com.lms.trainingservice.repository.TrainingEnrollmentRepository;
 import com.lms.trainingservice.repository.TrainingRepository;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,10 @@ public class TrainingEnrollmentService {
 
     private final TrainingEnrollmentRepository enrollmentRepository;
     private final TrainingRepository trainingRepository;
+    private final EnrollmentEventProducer enrollmentEventProducer;
+    private final PrerequisiteService prerequisiteService;
+    private final LearningPathService learningPathService;
+    private final CertificateService certificateService;
 
     /**
      * Enroll a user in a training
@@ -40,6 +45,8 @@ public class TrainingEnrollmentService {
         Training training = trainingRepository.findById(request.getTrainingId())
                 .orElseThrow(() -> new TrainingNotFoundException("Training not found with id: " + request.getTrainingId()));
 
+        prerequisiteService.checkPrerequisites(userId, request.getTrainingId());
+
         // Check if already enrolled
         if (enrollmentRepository.existsByUserIdAndTrainingId(userId, request.getTrainingId())) {
             throw new TrainingException("User is already enrolled in this training");
@@ -56,6 +63,7 @@ public class TrainingEnrollmentService {
                 .build();
 
         enrollment = enrollmentRepository.save(enrollment);
+        enrollmentEventProducer.publishEnrolled(enrollment);
         log.info("User {} successfully enrolled in training {}", userId, request.getTrainingId());
 
         return mapToResponse(enrollment);
@@ -88,9 +96,11 @@ public class TrainingEnrollmentService {
     public EnrollmentResponse updateProgress(UUID userId, UUID trainingId, Integer progressPercentage) {
         log.info("Updating progress for user {} in training {} to {}%", userId, trainingId, progressPercentage);
 
-        TrainingEnrollment enrollment = enrollmentRepository.findByUserIdAndTrainingId(userId, trainingId)
+        // Locked, so concurrent updates and the video rollup see each other's transition to COMPLETED
+        TrainingEnrollment enrollment = enrollmentRepository.findForUpdate(userId, trainingId)
                 .orElseThrow(() -> new TrainingNotFoundException("Enrollment not found"));
 
+        boolean wasCompleted = "COMPLETED".equals(enrollment.getEnrollmentStatus());
         enrollment.setProgressPercentage(progressPercentage);
         enrollment.setLastAccessedAt(LocalDateTime.now());
 
@@ -101,7 +111,17 @@ public class TrainingEnrollmentService {
             enrollment.setEnrollmentStatus("IN_PROGRESS");
         }
 
-        enrollment = enrollmentRepository.save(enrollment);
+        enrollment = enrollmentRepository.saveAndFlush(enrollment);
+        boolean completed = "COMPLETED".equals(enrollment.getEnrollmentStatus());
+        if (completed != wasCompleted) {
+            learningPathService.refreshProgress(userId, trainingId);
+        }
+        if (!wasCompleted && completed) {
+            certificateService.requestCertificate(userId, trainingId);
+            enrollmentEventProducer.publishCompleted(userId, trainingId, enrollment.getEnrolledAt(), enrollment.getCompletedAt());
+        } else {
+            enrollmentEventProducer.publishProgress(enrollment);
+        }
         return mapToResponse(enrollment);
     }
 
@@ -116,6 +136,11 @@ public class TrainingEnrollmentService {
                 .orElseThrow(() -> new TrainingNotFoundException("Enrollment not found"));
 
         enrollmentRepository.delete(enrollment);
+        if ("COMPLETED".equals(enrollment.getEnrollmentStatus())) {
+            enrollmentRepository.flush();
+            learningPathService.refreshProgress(userId, trainingId);
+        }
+        enrollmentEventProducer.publishDropped(enrollment);
         log.info("User {} successfully unenrolled from training {}", userId, trainingId);
     }
 
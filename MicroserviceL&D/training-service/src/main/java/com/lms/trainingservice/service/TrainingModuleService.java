@@ -23,6 +23,7 @@ import java.util.UUID;
 public class TrainingModuleService {
 
     private final TrainingModuleRepository trainingModuleRepository;
+    private final ResponseBytesCache responseBytesCache;
 
     /**
      * Create a new module for a training
@@ -41,6 +42,7 @@ public class TrainingModuleService {
 
         TrainingModule savedModule = trainingModuleRepository.save(module);
         log.info("Module created successfully with ID: {}", savedModule.getId());
+        responseBytesCache.invalidateTraining(savedModule.getTrainingId());
 
         return convertToResponse(savedModule);
     }
@@ -75,6 +77,7 @@ public class TrainingModuleService {
 
         TrainingModule updatedModule = trainingModuleRepository.save(module);
         log.info("Module updated successfully");
+        responseBytesCache.invalidateTraining(updatedModule.getTrainingId());
 
         return convertToResponse(updatedModule);
     }
@@ -85,12 +88,12 @@ public class TrainingModuleService {
     public void deleteModule(UUID id) {
         log.info("Deleting module with ID: {}", id);
 
-        if (!trainingModuleRepository.existsById(id)) {
-            throw new TrainingNotFoundException("Module not found with ID: " + id);
-        }
+        TrainingModule module = trainingModuleRepository.findById(id)
+                .orElseThrow(() -> new TrainingNotFoundException("Module not found with ID: " + id));
 
-        trainingModuleRepository.deleteById(id);
+        trainingModuleRepository.delete(module);
         log.info("Module deleted successfully");
+        responseBytesCache.invalidateTraining(module.getTrainingId());
     }
 
     /**
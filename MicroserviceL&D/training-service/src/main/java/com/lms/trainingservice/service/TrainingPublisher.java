@@ -0,0 +1,65 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.entity.Training;
+import com.lms.trainingservice.repository.TrainingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Changes the publication status of trainings
+ * Publishes directly when no approval workflow is configured, otherwise once TRAINING_PUBLICATION is approved;
+ * a rejected publication returns the training to DRAFT
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrainingPublisher implements WorkflowCompletionHandler {
+
+    private final TrainingRepository trainingRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ResponseBytesCache responseBytesCache;
+    private final CatalogBrowseService catalogBrowseService;
+
+    public Training publish(Training training) {
+        Training publishedTraining = updateStatus(training, "PUBLISHED");
+        log.info("Training published successfully");
+
+        try {
+            kafkaTemplate.send("training.published", publishedTraining.getId().toString());
+            log.info("Published event to topic: training.published");
+        } catch (Exception e) {
+            log.error("Failed to publish event to topic: training.published", e);
+        }
+        return publishedTraining;
+    }
+
+    public Training updateStatus(Training training, String status) {
+        training.setStatus(status);
+        Training saved = trainingRepository.save(training);
+        responseBytesCache.invalidateTraining(saved.getId());
+        catalogBrowseService.trainingChanged(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public String workflowType() {
+        return AppConstants.WORKFLOW_TYPE_TRAINING_PUBLICATION;
+    }
+
+    @Override
+    public void onCompleted(UUID trainingId, String status) {
+        trainingRepository.findById(trainingId).ifPresentOrElse(training -> {
+            if (AppConstants.WORKFLOW_STATUS_APPROVED.equals(status)) {
+                publish(training);
+            } else {
+                updateStatus(training, "DRAFT");
+                log.info("Publication of training {} was rejected", trainingId);
+            }
+        }, () -> log.warn("Training {} of a finished publication workflow no longer exists", trainingId));
+    }
+}
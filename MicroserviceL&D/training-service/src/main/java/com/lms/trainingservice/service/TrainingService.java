@@ -1,9 +1,13 @@
 package com.lms.trainingservice.service;
 
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.TrainingModuleResponse;
 import com.lms.trainingservice.dto.TrainingRequest;
 import com.lms.trainingservice.dto.TrainingResponse;
 import com.lms.trainingservice.entity.Training;
+import com.lms.trainingservice.exception.TrainingException;
 import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.repository.TrainingModuleRepository;
 import com.lms.trainingservice.repository.TrainingRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +17,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,13 +30,19 @@ import java.util.UUID;
 public class TrainingService {
 
     private final TrainingRepository trainingRepository;
+    private final TrainingModuleRepository trainingModuleRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ResponseBytesCache responseBytesCache;
+    private final CatalogBrowseService catalogBrowseService;
+    private final WorkflowEngine workflowEngine;
+    private final TrainingPublisher trainingPublisher;
 
     /**
      * Create a new training
      */
     public TrainingResponse createTraining(TrainingRequest request, UUID createdBy) {
         log.info("Creating new training: {}", request.getTitle());
+        checkStatusChange(request.getStatus(), null);
 
         Training training = Training.builder()
                 .title(request.getTitle())
@@ -46,6 +57,8 @@ public class TrainingService {
 
         Training savedTraining = trainingRepository.save(training);
         log.info("Training created successfully with ID: {}", savedTraining.getId());
+        responseBytesCache.invalidateTraining(savedTraining.getId());
+        catalogBrowseService.trainingChanged(savedTraining.getId());
 
         // Publish event
         publishTrainingEvent("training.created", savedTraining.getId());
@@ -81,13 +94,16 @@ public class TrainingService {
         training.setDifficultyLevel(request.getDifficultyLevel());
         training.setDurationHours(request.getDurationHours());
         training.setThumbnailUrl(request.getThumbnailUrl());
-        
+
+        checkStatusChange(request.getStatus(), training.getStatus());
         if (request.getStatus() != null) {
             training.setStatus(request.getStatus());
         }
 
         Training updatedTraining = trainingRepository.save(training);
         log.info("Training updated successfully");
+        responseBytesCache.invalidateTraining(updatedTraining.getId());
+        catalogBrowseService.trainingChanged(updatedTraining.getId());
 
         // Publish event
         publishTrainingEvent("training.updated", updatedTraining.getId());
@@ -107,6 +123,8 @@ public class TrainingService {
 
         trainingRepository.deleteById(id);
         log.info("Training deleted successfully");
+        responseBytesCache.invalidateTraining(id);
+        catalogBrowseService.trainingChanged(id);
 
         // Publish event
         publishTrainingEvent("training.deleted", id);
@@ -182,23 +200,75 @@ public class TrainingService {
                 .map(this::convertToResponse);
     }
 
+    /**
+     * Get a published training for the public catalog
+     */
+    @Transactional(readOnly = true)
+    public TrainingResponse getPublicTraining(UUID id) {
+        return convertToResponse(findPublishedTraining(id));
+    }
+
+    /**
+     * Get a published training together with its ordered modules
+     */
+    @Transactional(readOnly = true)
+    public TrainingResponse getTrainingOutline(UUID id) {
+        log.info("Fetching outline for training with ID: {}", id);
+
+        TrainingResponse response = convertToResponse(findPublishedTraining(id));
+        List<TrainingModuleResponse> modules = trainingModuleRepository.findByTrainingIdOrderBySequenceOrder(id)
+                .stream()
+                .map(module -> TrainingModuleResponse.builder()
+                        .id(module.getId())
+                        .trainingId(module.getTrainingId())
+                        .title(module.getTitle())
+                        .description(module.getDescription())
+                        .sequenceOrder(module.getSequenceOrder())
+                        .contentType(module.getContentType())
+                        .estimatedDurationMinutes(module.getEstimatedDurationMinutes())
+                        .build())
+                .toList();
+        response.setModules(modules);
+        return response;
+    }
+
     /**
      * Publish a training (change status to PUBLISHED)
+     * When a TRAINING_PUBLICATION workflow template exists the training waits in PENDING_APPROVAL until
+     * its approval workflow finishes; otherwise it is published right away
      */
-    public TrainingResponse publishTraining(UUID id) {
+    public TrainingResponse publishTraining(UUID id, UUID requestedBy) {
         log.info("Publishing training with ID: {}", id);
 
         Training training = trainingRepository.findById(id)
                 .orElseThrow(() -> new TrainingNotFoundException("Training not found with ID: " + id));
+        if ("PUBLISHED".equals(training.getStatus())) {
+            return convertToResponse(training);
+        }
 
-        training.setStatus("PUBLISHED");
-        Training publishedTraining = trainingRepository.save(training);
-        log.info("Training published successfully");
+        if (workflowEngine.isConfigured(AppConstants.WORKFLOW_TYPE_TRAINING_PUBLICATION)) {
+            workflowEngine.start(AppConstants.WORKFLOW_TYPE_TRAINING_PUBLICATION,
+                    AppConstants.WORKFLOW_ENTITY_TRAINING, id, requestedBy);
+            return convertToResponse(trainingPublisher.updateStatus(training, "PENDING_APPROVAL"));
+        }
+        return convertToResponse(trainingPublisher.publish(training));
+    }
 
-        // Publish event
-        publishTrainingEvent("training.published", publishedTraining.getId());
+    /**
+     * Publication states are only reached through publishTraining, so a pending approval cannot be skipped;
+     * resending a training's current status is allowed
+     */
+    private void checkStatusChange(String requested, String current) {
+        if (requested != null && !requested.equals(current)
+                && ("PUBLISHED".equals(requested) || "PENDING_APPROVAL".equals(requested))) {
+            throw new TrainingException("Status " + requested + " can only be reached by publishing the training");
+        }
+    }
 
-        return convertToResponse(publishedTraining);
+    private Training findPublishedTraining(UUID id) {
+        return trainingRepository.findById(id)
+                .filter(training -> "PUBLISHED".equals(training.getStatus()))
+                .orElseThrow(() -> new TrainingNotFoundException("Training not found with ID: " + id));
     }
 
     /**
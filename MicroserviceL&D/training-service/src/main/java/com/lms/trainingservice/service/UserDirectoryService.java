@@ -0,0 +1,71 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.UserDirectoryEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Streams the users table page by page, so bulk jobs never hold more than one page of raw entries
+ * Reads the shared database directly, like the other bulk jobs that join users
+ */
+@Service
+@Slf4j
+public class UserDirectoryService {
+
+    private static final String PAGE_SQL =
+            "SELECT id, department, role, status FROM users "
+                    + "WHERE (CAST(? AS uuid) IS NULL OR id > ?) "
+                    + "AND (CAST(? AS varchar) IS NULL OR department = ?) "
+                    + "AND (CAST(? AS varchar) IS NULL OR role = ?) "
+                    + "ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int pageSize;
+
+    public UserDirectoryService(JdbcTemplate jdbcTemplate,
+                                @Value("${user-directory.page-size:2000}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Hand every directory page to the consumer in user id order; returns the number of users read
+     */
+    public int forEachPage(Consumer<List<UserDirectoryEntry>> consumer) {
+        return forEachPage(null, null, null, consumer);
+    }
+
+    /**
+     * Hand the directory pages of users matching department and role (either may be null) to the consumer,
+     * starting after the given user id so an interrupted scan can resume
+     */
+    public int forEachPage(String department, String role, UUID startAfter, Consumer<List<UserDirectoryEntry>> consumer) {
+        int total = 0;
+        UUID afterId = startAfter;
+        while (true) {
+            List<UserDirectoryEntry> page = jdbcTemplate.query(PAGE_SQL, (rs, rowNum) -> UserDirectoryEntry.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .department(rs.getString("department"))
+                    .role(rs.getString("role"))
+                    .status(rs.getString("status"))
+                    .build(), afterId, afterId, department, department, role, role, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            consumer.accept(page);
+            total += page.size();
+            if (page.size() < pageSize) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        log.debug("Read {} users from the user directory", total);
+        return total;
+    }
+}
@@ -0,0 +1,363 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.VideoHeartbeatRequest;
+import com.lms.trainingservice.kafka.EnrollmentEventProducer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Merges video heartbeats in memory per (user, video) and flushes them as batched upserts
+ * Each viewer costs at most one video_progress write per flush interval, however often the player reports.
+ * The watched ranges are stored with the row: a state is seeded from them before its first flush, and the upsert
+ * takes the union with whatever is stored, so sessions on other instances, after eviction or across restarts add up.
+ * Completion is measured against the duration probed at upload (video_metadata), never the one the player reports
+ */
+@Component
+@Slf4j
+public class VideoProgressAggregator {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO video_progress (id, user_id, video_id, watched_ranges, watched_duration, total_duration, "
+                    + "last_position, completed) VALUES (?, ?, ?, ?::int4multirange, ?, ?, ?, ?) "
+                    + "ON CONFLICT (user_id, video_id) DO UPDATE SET "
+                    + "watched_ranges = video_progress.watched_ranges + EXCLUDED.watched_ranges, "
+                    + "watched_duration = (SELECT COALESCE(SUM(upper(r) - lower(r)), 0) "
+                    + "FROM unnest(video_progress.watched_ranges + EXCLUDED.watched_ranges) AS r), "
+                    + "total_duration = COALESCE(EXCLUDED.total_duration, video_progress.total_duration), "
+                    + "last_position = GREATEST(video_progress.last_position, EXCLUDED.last_position), "
+                    + "completed = video_progress.completed OR EXCLUDED.completed";
+
+    // One row per viewer, with nothing watched when there is no stored progress yet
+    private static final String STORED_SQL =
+            "SELECT k.user_id, k.video_id, COALESCE(vp.completed, FALSE) AS completed, vm.duration_seconds, "
+                    + "ARRAY(SELECT lower(r) FROM unnest(vp.watched_ranges) AS r) AS starts, "
+                    + "ARRAY(SELECT upper(r) FROM unnest(vp.watched_ranges) AS r) AS ends "
+                    + "FROM unnest(?::uuid[], ?::uuid[]) AS k(user_id, video_id) "
+                    + "LEFT JOIN video_progress vp ON vp.user_id = k.user_id AND vp.video_id = k.video_id "
+                    + "LEFT JOIN video_metadata vm ON vm.content_id = k.video_id";
+
+    // Share of the training's videos the user has completed, applied to the enrollment if it moves forward
+    private static final String ROLLUP_SQL =
+            "WITH t AS (SELECT m.training_id FROM training_content c "
+                    + "JOIN training_modules m ON m.id = c.module_id WHERE c.id = ?), "
+                    + "p AS (SELECT COUNT(vp.id) * 100 / NULLIF(COUNT(c.id), 0) AS pct "
+                    + "FROM training_content c JOIN training_modules m ON m.id = c.module_id "
+                    + "LEFT JOIN video_progress vp ON vp.video_id = c.id AND vp.user_id = ? AND vp.completed "
+                    + "WHERE m.training_id = (SELECT training_id FROM t) AND c.content_type = 'VIDEO') "
+                    + "UPDATE training_enrollments e SET "
+                    + "progress_percentage = p.pct, "
+                    + "enrollment_status = CASE WHEN p.pct >= 100 THEN 'COMPLETED' ELSE 'IN_PROGRESS' END, "
+                    + "completed_at = CASE WHEN p.pct >= 100 THEN COALESCE(e.completed_at, CURRENT_TIMESTAMP) ELSE e.completed_at END, "
+                    + "last_accessed_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP "
+                    + "FROM p WHERE e.user_id = ? AND e.training_id = (SELECT training_id FROM t) "
+                    + "AND p.pct > COALESCE(e.progress_percentage, 0) "
+                    + "RETURNING e.training_id, e.enrollment_status, e.enrolled_at, e.completed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EnrollmentEventProducer enrollmentEventProducer;
+    private final LearningPathService learningPathService;
+    private final CertificateService certificateService;
+    private final int maxIntervalSeconds;
+    private final int completionPercent;
+    private final long idleEvictMillis;
+    private final Map<ProgressKey, ProgressState> states = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public VideoProgressAggregator(JdbcTemplate jdbcTemplate,
+                                   EnrollmentEventProducer enrollmentEventProducer,
+                                   LearningPathService learningPathService,
+                                   CertificateService certificateService,
+                                   @Value("${video.progress.max-interval-seconds:30}") int maxIntervalSeconds,
+                                   @Value("${video.progress.completion-percent:90}") int completionPercent,
+                                   @Value("${video.progress.idle-evict-ms:1800000}") long idleEvictMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enrollmentEventProducer = enrollmentEventProducer;
+        this.learningPathService = learningPathService;
+        this.certificateService = certificateService;
+        this.maxIntervalSeconds = maxIntervalSeconds;
+        this.completionPercent = completionPercent;
+        this.idleEvictMillis = idleEvictMillis;
+    }
+
+    /**
+     * Merge one heartbeat into the in-memory state of the viewer
+     */
+    public void record(UUID userId, VideoHeartbeatRequest heartbeat) {
+        ProgressKey key = new ProgressKey(userId, heartbeat.getVideoId());
+        long now = System.currentTimeMillis();
+        // A state evicted between lookup and merge rejects the heartbeat; retry on a fresh one
+        while (!states.computeIfAbsent(key, ProgressState::new).merge(heartbeat, now)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Unflushed progress held in memory, or null when this instance has none for the viewer
+     */
+    public Snapshot peek(UUID userId, UUID videoId) {
+        ProgressState state = states.get(new ProgressKey(userId, videoId));
+        return state != null ? state.snapshot(false) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${video.progress.flush-interval-ms:15000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            List<ProgressState> dirtyStates = new ArrayList<>();
+            Iterator<Map.Entry<ProgressKey, ProgressState>> iterator = states.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<ProgressKey, ProgressState> entry = iterator.next();
+                if (entry.getValue().isDirty()) {
+                    dirtyStates.add(entry.getValue());
+                } else if (entry.getValue().evictIfIdle(now, idleEvictMillis)) {
+                    iterator.remove();
+                }
+            }
+            if (dirtyStates.isEmpty() || !seed(dirtyStates)) {
+                return;
+            }
+            List<Pending> dirty = new ArrayList<>(dirtyStates.size());
+            for (ProgressState state : dirtyStates) {
+                Pending pending = state.drainIfDirty();
+                if (pending != null) {
+                    dirty.add(pending);
+                }
+            }
+            write(dirty);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Merge the stored watched ranges into states that have not seen them yet; false if they could not be read
+     */
+    private boolean seed(List<ProgressState> dirtyStates) {
+        List<ProgressState> unseeded = dirtyStates.stream().filter(ProgressState::needsSeed).toList();
+        if (unseeded.isEmpty()) {
+            return true;
+        }
+        Map<ProgressKey, ProgressState> byKey = new HashMap<>();
+        unseeded.forEach(state -> byKey.put(new ProgressKey(state.userId, state.videoId), state));
+        try {
+            jdbcTemplate.query(STORED_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("uuid", unseeded.stream().map(st -> st.userId).toArray()));
+                ps.setArray(2, ps.getConnection().createArrayOf("uuid", unseeded.stream().map(st -> st.videoId).toArray()));
+            }, rs -> {
+                ProgressState state = byKey.get(new ProgressKey(
+                        rs.getObject("user_id", UUID.class), rs.getObject("video_id", UUID.class)));
+                if (state != null) {
+                    state.seed((Integer[]) rs.getArray("starts").getArray(), (Integer[]) rs.getArray("ends").getArray(),
+                            rs.getBoolean("completed"), rs.getObject("duration_seconds", Integer.class));
+                }
+            });
+        } catch (DataAccessException e) {
+            log.error("Loading stored video progress for {} viewers failed, will retry: {}", unseeded.size(), e.getMessage());
+            return false;
+        }
+        unseeded.forEach(state -> state.seed(new Integer[0], new Integer[0], false, null));
+        return true;
+    }
+
+    private void write(List<Pending> dirty) {
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, dirty, dirty.size(), (ps, pending) -> {
+                Snapshot snapshot = pending.snapshot();
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, snapshot.userId());
+                ps.setObject(3, snapshot.videoId());
+                ps.setString(4, pending.ranges());
+                ps.setInt(5, snapshot.watchedDuration());
+                ps.setObject(6, snapshot.totalDuration());
+                ps.setInt(7, snapshot.lastPosition());
+                ps.setBoolean(8, snapshot.completed());
+            });
+
+            // Video completions are rare next to heartbeats, so the rollup runs per row to see its result
+            List<Snapshot> completions = dirty.stream().map(Pending::snapshot).filter(Snapshot::newlyCompleted).toList();
+            for (Snapshot snapshot : completions) {
+                jdbcTemplate.query(ROLLUP_SQL, rs -> {
+                    if ("COMPLETED".equals(rs.getString("enrollment_status"))) {
+                        UUID trainingId = rs.getObject("training_id", UUID.class);
+                        learningPathService.refreshProgress(snapshot.userId(), trainingId);
+                        certificateService.requestCertificate(snapshot.userId(), trainingId);
+                        enrollmentEventProducer.publishCompleted(snapshot.userId(), trainingId,
+                                toLocalDateTime(rs.getTimestamp("enrolled_at")),
+                                toLocalDateTime(rs.getTimestamp("completed_at")));
+                    }
+                }, snapshot.videoId(), snapshot.userId(), snapshot.userId());
+            }
+            log.debug("Flushed {} video progress rows ({} completions)", dirty.size(), completions.size());
+        } catch (DataAccessException e) {
+            log.error("Video progress flush of {} rows failed, will retry: {}", dirty.size(), e.getMessage());
+            for (Pending pending : dirty) {
+                Snapshot snapshot = pending.snapshot();
+                ProgressState state = states.get(new ProgressKey(snapshot.userId(), snapshot.videoId()));
+                if (state != null) {
+                    state.markDirty(snapshot.newlyCompleted());
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Merged progress of one viewer on one video
+     */
+    private final class ProgressState {
+
+        private final WatchedIntervals watched = new WatchedIntervals();
+        private final UUID userId;
+        private final UUID videoId;
+        private Integer totalDuration;
+        // Duration probed from the file; null for videos without metadata, which heartbeats cannot complete
+        private Integer knownDuration;
+        private int maxPosition;
+        private boolean completed;
+        private boolean newlyCompleted;
+        private boolean dirty;
+        private boolean seeded;
+        private boolean evicted;
+        private long lastSeenMillis;
+
+        ProgressState(ProgressKey key) {
+            this.userId = key.userId();
+            this.videoId = key.videoId();
+        }
+
+        synchronized boolean merge(VideoHeartbeatRequest heartbeat, long now) {
+            if (evicted) {
+                return false;
+            }
+            if (heartbeat.getTotalDuration() != null) {
+                totalDuration = knownDuration != null
+                        ? Math.min(heartbeat.getTotalDuration(), knownDuration) : heartbeat.getTotalDuration();
+            }
+
+            int end = heartbeat.getPosition();
+            if (knownDuration != null) {
+                end = Math.min(end, knownDuration);
+            }
+            // A single heartbeat may not claim more than one reporting window of watching
+            int start = Math.max(heartbeat.getStartPosition(), end - maxIntervalSeconds);
+            watched.add(start, end);
+            maxPosition = Math.max(maxPosition, end);
+            checkCompletion();
+            dirty = true;
+            lastSeenMillis = now;
+            return true;
+        }
+
+        synchronized boolean isDirty() {
+            return dirty;
+        }
+
+        synchronized boolean needsSeed() {
+            return !seeded;
+        }
+
+        synchronized void seed(Integer[] starts, Integer[] ends, boolean storedCompleted, Integer duration) {
+            if (seeded) {
+                return;
+            }
+            seeded = true;
+            if (duration != null && duration > 0) {
+                knownDuration = duration;
+                totalDuration = knownDuration;
+                maxPosition = Math.min(maxPosition, knownDuration);
+            }
+            for (int i = 0; i < starts.length; i++) {
+                watched.add(starts[i], ends[i]);
+            }
+            if (knownDuration != null) {
+                // Heartbeats merged before the duration was known may reach past the end
+                watched.truncate(knownDuration);
+            }
+            // Completion was already rolled up when the stored row completed
+            completed |= storedCompleted;
+            newlyCompleted &= !storedCompleted;
+            checkCompletion();
+        }
+
+        private void checkCompletion() {
+            // Only a seeded state knows the full watched time, so completion waits for the stored ranges
+            if (seeded && !completed && knownDuration != null
+                    && watched.total() * 100L >= (long) knownDuration * completionPercent) {
+                completed = true;
+                newlyCompleted = true;
+            }
+        }
+
+        synchronized Pending drainIfDirty() {
+            if (!dirty) {
+                return null;
+            }
+            StringBuilder ranges = new StringBuilder("{");
+            for (int i = 0; i < watched.rangeCount(); i++) {
+                ranges.append(i > 0 ? ",[" : "[").append(watched.start(i)).append(',').append(watched.end(i)).append(')');
+            }
+            Pending pending = new Pending(snapshot(true), ranges.append('}').toString());
+            dirty = false;
+            newlyCompleted = false;
+            return pending;
+        }
+
+        synchronized Snapshot snapshot(boolean includeCompletion) {
+            return new Snapshot(userId, videoId, watched.total(), totalDuration, maxPosition, completed,
+                    includeCompletion && newlyCompleted);
+        }
+
+        synchronized void markDirty(boolean completion) {
+            dirty = true;
+            newlyCompleted |= completion;
+        }
+
+        synchronized boolean evictIfIdle(long now, long idleMillis) {
+            if (!dirty && now - lastSeenMillis > idleMillis) {
+                evicted = true;
+            }
+            return evicted;
+        }
+    }
+
+    private record ProgressKey(UUID userId, UUID videoId) {
+    }
+
+    /**
+     * Snapshot to write, with its watched ranges as an int4multirange literal
+     */
+    private record Pending(Snapshot snapshot, String ranges) {
+    }
+
+    /**
+     * Point-in-time copy of a viewer's progress
+     */
+    public record Snapshot(UUID userId, UUID videoId, int watchedDuration, Integer totalDuration,
+                           int lastPosition, boolean completed, boolean newlyCompleted) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.dto.VideoHeartbeatBatchRequest;
+import com.lms.trainingservice.dto.VideoHeartbeatRequest;
+import com.lms.trainingservice.dto.VideoProgressResponse;
+import com.lms.trainingservice.entity.VideoProgress;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import com.lms.trainingservice.repository.VideoProgressRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Service for video progress heartbeats
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VideoProgressService {
+
+    private final VideoProgressAggregator videoProgressAggregator;
+    private final VideoProgressRepository videoProgressRepository;
+
+    /**
+     * Accept a batch of heartbeats; they are persisted on the aggregator's next flush
+     */
+    public int recordHeartbeats(UUID userId, VideoHeartbeatBatchRequest request) {
+        int accepted = 0;
+        for (VideoHeartbeatRequest heartbeat : request.getHeartbeats()) {
+            if (heartbeat.getPosition() < heartbeat.getStartPosition()) {
+                continue;
+            }
+            videoProgressAggregator.record(userId, heartbeat);
+            accepted++;
+        }
+        log.debug("Accepted {} of {} heartbeats from user {}", accepted, request.getHeartbeats().size(), userId);
+        return accepted;
+    }
+
+    /**
+     * Get a user's progress on a video, including heartbeats not yet flushed
+     */
+    @Transactional(readOnly = true)
+    public VideoProgressResponse getProgress(UUID userId, UUID videoId) {
+        VideoProgress stored = videoProgressRepository.findByUserIdAndVideoId(userId, videoId).orElse(null);
+        VideoProgressAggregator.Snapshot pending = videoProgressAggregator.peek(userId, videoId);
+        if (stored == null && pending == null) {
+            throw new TrainingNotFoundException("No progress recorded for video: " + videoId);
+        }
+
+        int watched = stored != null && stored.getWatchedDuration() != null ? stored.getWatchedDuration() : 0;
+        int position = stored != null && stored.getLastPosition() != null ? stored.getLastPosition() : 0;
+        boolean completed = stored != null && Boolean.TRUE.equals(stored.getCompleted());
+        Integer total = stored != null ? stored.getTotalDuration() : null;
+        if (pending != null) {
+            watched = Math.max(watched, pending.watchedDuration());
+            position = Math.max(position, pending.lastPosition());
+            completed |= pending.completed();
+            total = pending.totalDuration() != null ? pending.totalDuration() : total;
+        }
+
+        return VideoProgressResponse.builder()
+                .videoId(videoId)
+                .userId(userId)
+                .watchedDuration(watched)
+                .totalDuration(total)
+                .lastPosition(position)
+                .completed(completed)
+                .build();
+    }
+}
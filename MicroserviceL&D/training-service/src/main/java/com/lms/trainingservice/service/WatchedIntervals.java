@@ -0,0 +1,95 @@
+package com.lms.trainingservice.service;
+
+import java.util.Arrays;
+
+/**
+ * Union of watched [start, end) second ranges of one video, kept sorted and non-overlapping
+ * Re-watching a section never counts twice towards the watched duration
+ */
+public class WatchedIntervals {
+
+    private int[] starts = new int[4];
+    private int[] ends = new int[4];
+    private int size;
+    private int total;
+
+    /**
+     * Add a range and merge it with any ranges it touches
+     */
+    public void add(int start, int end) {
+        if (end <= start) {
+            return;
+        }
+
+        // First range whose end reaches the new start
+        int first = 0;
+        while (first < size && ends[first] < start) {
+            first++;
+        }
+        // Ranges [first, last) overlap or touch the new one
+        int last = first;
+        while (last < size && starts[last] <= end) {
+            start = Math.min(start, starts[last]);
+            end = Math.max(end, ends[last]);
+            total -= ends[last] - starts[last];
+            last++;
+        }
+
+        int removed = last - first;
+        if (removed == 0) {
+            ensureCapacity(size + 1);
+            System.arraycopy(starts, first, starts, first + 1, size - first);
+            System.arraycopy(ends, first, ends, first + 1, size - first);
+            size++;
+        } else if (removed > 1) {
+            System.arraycopy(starts, last, starts, first + 1, size - last);
+            System.arraycopy(ends, last, ends, first + 1, size - last);
+            size -= removed - 1;
+        }
+        starts[first] = start;
+        ends[first] = end;
+        total += end - start;
+    }
+
+    /**
+     * Drop everything at or past the limit, e.g. ranges reported beyond the end of the video
+     */
+    public void truncate(int limit) {
+        while (size > 0 && ends[size - 1] > limit) {
+            int last = size - 1;
+            total -= ends[last] - starts[last];
+            if (starts[last] < limit) {
+                ends[last] = limit;
+                total += limit - starts[last];
+                return;
+            }
+            size--;
+        }
+    }
+
+    /**
+     * Total seconds covered by the union
+     */
+    public int total() {
+        return total;
+    }
+
+    public int rangeCount() {
+        return size;
+    }
+
+    public int start(int index) {
+        return starts[index];
+    }
+
+    public int end(int index) {
+        return ends[index];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > starts.length) {
+            starts = Arrays.copyOf(starts, capacity * 2);
+            ends = Arrays.copyOf(ends, capacity * 2);
+        }
+    }
+}
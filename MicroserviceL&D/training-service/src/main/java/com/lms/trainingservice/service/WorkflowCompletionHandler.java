@@ -0,0 +1,14 @@
+package com.lms.trainingservice.service;
+
+import java.util.UUID;
+
+/**
+ * Applies the outcome of a finished workflow to its entity
+ * Called by WorkflowEngine inside the transaction that decides the last step
+ */
+public interface WorkflowCompletionHandler {
+
+    String workflowType();
+
+    void onCompleted(UUID entityId, String status);
+}
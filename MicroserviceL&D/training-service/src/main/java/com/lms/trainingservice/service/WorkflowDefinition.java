@@ -0,0 +1,76 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.exception.TrainingException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Approval workflow compiled from a workflow_templates row
+ * The steps column is a JSON array of approver roles, either as strings or as {"approverRole": "..."} objects.
+ * States are the 1-based step numbers: approving a step moves to the next one or finishes APPROVED,
+ * rejecting any step finishes REJECTED
+ */
+public final class WorkflowDefinition {
+
+    private final String type;
+    private final List<String> approverRoles;
+
+    private WorkflowDefinition(String type, List<String> approverRoles) {
+        this.type = type;
+        this.approverRoles = approverRoles;
+    }
+
+    /**
+     * Outcome of deciding a step; nextStep is 0 once the workflow is finished
+     */
+    public record Transition(int nextStep, String status) {
+
+        public boolean finished() {
+            return nextStep == 0;
+        }
+    }
+
+    public static WorkflowDefinition compile(String type, JsonNode steps) {
+        if (steps == null || !steps.isArray() || steps.isEmpty()) {
+            throw new TrainingException("Workflow template " + type + " has no steps");
+        }
+        List<String> roles = new ArrayList<>(steps.size());
+        for (JsonNode step : steps) {
+            JsonNode role = step.isTextual() ? step : step.get("approverRole");
+            if (role == null || !role.isTextual() || role.asText().isBlank()) {
+                throw new TrainingException("Workflow template " + type + " has a step without approverRole: " + step);
+            }
+            roles.add(role.asText().trim());
+        }
+        return new WorkflowDefinition(type, List.copyOf(roles));
+    }
+
+    public String type() {
+        return type;
+    }
+
+    public int stepCount() {
+        return approverRoles.size();
+    }
+
+    public String approverRole(int step) {
+        if (step < 1 || step > approverRoles.size()) {
+            throw new TrainingException("Workflow " + type + " has no step " + step);
+        }
+        return approverRoles.get(step - 1);
+    }
+
+    public Transition decide(int step, boolean approved) {
+        approverRole(step);
+        if (!approved) {
+            return new Transition(0, AppConstants.WORKFLOW_STATUS_REJECTED);
+        }
+        if (step == approverRoles.size()) {
+            return new Transition(0, AppConstants.WORKFLOW_STATUS_APPROVED);
+        }
+        return new Transition(step + 1, AppConstants.WORKFLOW_STATUS_PENDING);
+    }
+}
@@ -0,0 +1,233 @@
+package com.lms.trainingservice.service;
+
+import com.lms.trainingservice.constant.AppConstants;
+import com.lms.trainingservice.dto.ApprovalInboxEntry;
+import com.lms.trainingservice.dto.WorkflowResponse;
+import com.lms.trainingservice.dto.WorkflowStepResponse;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.exception.TrainingNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Approval workflow engine over workflows and workflow_steps
+ * Each workflow follows the WorkflowDefinition compiled from its template. Only the current step has a
+ * PENDING row; deciding it bumps workflows.version with a compare-and-set, so two approvers acting at once
+ * cannot both advance the workflow. The last decision applies the outcome through the type's
+ * WorkflowCompletionHandler in the same transaction, so nothing polls for finished workflows
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowEngine {
+
+    public static final String ROLE_SUPER_ADMIN = "SUPER_ADMIN";
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String START_SQL =
+            "INSERT INTO workflows (id, workflow_type, entity_id, entity_type, initiated_by, status, current_step, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, 1, 0) "
+                    + "ON CONFLICT (workflow_type, entity_id) WHERE status = 'PENDING' DO NOTHING";
+
+    private static final String STEP_SQL =
+            "INSERT INTO workflow_steps (id, workflow_id, step_number, approver_role, status) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String CURRENT_STEP_SQL =
+            "SELECT s.step_number, s.approver_role, s.status AS step_status, w.id AS workflow_id, w.workflow_type, "
+                    + "w.entity_id, w.status, w.current_step, w.version "
+                    + "FROM workflow_steps s JOIN workflows w ON w.id = s.workflow_id WHERE s.id = ?";
+
+    private static final String ADVANCE_SQL =
+            "UPDATE workflows SET status = ?, current_step = ?, version = version + 1, completed_at = ? "
+                    + "WHERE id = ? AND version = ? AND status = 'PENDING'";
+
+    private static final String DECIDE_STEP_SQL =
+            "UPDATE workflow_steps SET status = ?, approver_id = ?, comments = ?, approved_at = ? "
+                    + "WHERE id = ? AND status = 'PENDING'";
+
+    private static final String INBOX_SQL =
+            "SELECT s.id AS step_id, s.step_number, s.approver_role, s.created_at, w.id AS workflow_id, w.workflow_type, "
+                    + "w.entity_type, w.entity_id, w.initiated_by, w.version, t.title "
+                    + "FROM workflow_steps s JOIN workflows w ON w.id = s.workflow_id "
+                    + "LEFT JOIN trainings t ON w.entity_type = 'TRAINING' AND t.id = w.entity_id "
+                    + "WHERE s.approver_role = ? AND s.status = 'PENDING' "
+                    + "ORDER BY s.created_at LIMIT ? OFFSET ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkflowTemplateRegistry templateRegistry;
+    private final List<WorkflowCompletionHandler> completionHandlers;
+
+    public boolean isConfigured(String workflowType) {
+        return templateRegistry.find(workflowType) != null;
+    }
+
+    /**
+     * Start a workflow for an entity; returns the open one if the entity already has one of this type
+     */
+    @Transactional
+    public WorkflowResponse start(String workflowType, String entityType, UUID entityId, UUID initiatedBy) {
+        WorkflowDefinition definition = definition(workflowType);
+        UUID workflowId = UUID.randomUUID();
+        int created = jdbcTemplate.update(START_SQL, workflowId, workflowType, entityId, entityType, initiatedBy,
+                AppConstants.WORKFLOW_STATUS_PENDING);
+        if (created == 0) {
+            workflowId = jdbcTemplate.queryForObject(
+                    "SELECT id FROM workflows WHERE workflow_type = ? AND entity_id = ? AND status = 'PENDING'",
+                    UUID.class, workflowType, entityId);
+            log.info("{} workflow for {} {} is already open", workflowType, entityType, entityId);
+        } else {
+            jdbcTemplate.update(STEP_SQL, UUID.randomUUID(), workflowId, 1, definition.approverRole(1),
+                    AppConstants.WORKFLOW_STATUS_PENDING);
+            log.info("Started {} workflow {} for {} {}", workflowType, workflowId, entityType, entityId);
+        }
+        return getWorkflow(workflowId);
+    }
+
+    /**
+     * Approve or reject the pending step; the caller must hold the step's role (or SUPER_ADMIN)
+     */
+    @Transactional
+    public WorkflowResponse decide(UUID stepId, UUID userId, String role, boolean approved,
+                                   String comments, Integer expectedVersion) {
+        List<StepState> rows = jdbcTemplate.query(CURRENT_STEP_SQL, (rs, rowNum) -> new StepState(
+                rs.getInt("step_number"),
+                rs.getString("approver_role"),
+                rs.getString("step_status"),
+                rs.getObject("workflow_id", UUID.class),
+                rs.getString("workflow_type"),
+                rs.getObject("entity_id", UUID.class),
+                rs.getString("status"),
+                rs.getInt("current_step"),
+                rs.getInt("version")), stepId);
+        if (rows.isEmpty()) {
+            throw new TrainingNotFoundException("Workflow step not found with id: " + stepId);
+        }
+        StepState step = rows.get(0);
+        if (!AppConstants.WORKFLOW_STATUS_PENDING.equals(step.stepStatus())
+                || !AppConstants.WORKFLOW_STATUS_PENDING.equals(step.workflowStatus())
+                || step.currentStep() != step.stepNumber()) {
+            throw new TrainingException("Workflow step " + stepId + " is not awaiting a decision");
+        }
+        if (role == null || (!role.equals(step.approverRole()) && !ROLE_SUPER_ADMIN.equals(role))) {
+            throw new TrainingException("Workflow step " + stepId + " needs approval by role " + step.approverRole());
+        }
+        if (expectedVersion != null && expectedVersion != step.version()) {
+            throw new TrainingException("Workflow " + step.workflowId() + " has changed; reload it and decide again");
+        }
+
+        WorkflowDefinition.Transition transition = definition(step.workflowType()).decide(step.stepNumber(), approved);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int advanced = jdbcTemplate.update(ADVANCE_SQL, transition.status(),
+                transition.finished() ? step.stepNumber() : transition.nextStep(),
+                transition.finished() ? now : null, step.workflowId(), step.version());
+        if (advanced == 0) {
+            throw new TrainingException("Workflow " + step.workflowId() + " has changed; reload it and decide again");
+        }
+        jdbcTemplate.update(DECIDE_STEP_SQL,
+                approved ? AppConstants.WORKFLOW_STATUS_APPROVED : AppConstants.WORKFLOW_STATUS_REJECTED,
+                userId, comments, now, stepId);
+
+        if (transition.finished()) {
+            handler(step.workflowType()).onCompleted(step.entityId(), transition.status());
+            log.info("Workflow {} finished {}", step.workflowId(), transition.status());
+        } else {
+            jdbcTemplate.update(STEP_SQL, UUID.randomUUID(), step.workflowId(), transition.nextStep(),
+                    definition(step.workflowType()).approverRole(transition.nextStep()),
+                    AppConstants.WORKFLOW_STATUS_PENDING);
+            log.info("Workflow {} advanced to step {}", step.workflowId(), transition.nextStep());
+        }
+        return getWorkflow(step.workflowId());
+    }
+
+    /**
+     * Steps awaiting a role, oldest first; served by the partial index on pending steps
+     */
+    @Transactional(readOnly = true)
+    public List<ApprovalInboxEntry> getInbox(String role, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return jdbcTemplate.query(INBOX_SQL, (rs, rowNum) -> ApprovalInboxEntry.builder()
+                .stepId(rs.getObject("step_id", UUID.class))
+                .workflowId(rs.getObject("workflow_id", UUID.class))
+                .workflowType(rs.getString("workflow_type"))
+                .stepNumber(rs.getInt("step_number"))
+                .approverRole(rs.getString("approver_role"))
+                .entityType(rs.getString("entity_type"))
+                .entityId(rs.getObject("entity_id", UUID.class))
+                .entityTitle(rs.getString("title"))
+                .initiatedBy(rs.getObject("initiated_by", UUID.class))
+                .version(rs.getInt("version"))
+                .requestedAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .build(), role, pageSize, (long) Math.max(0, page) * pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public WorkflowResponse getWorkflow(UUID workflowId) {
+        List<WorkflowResponse> workflows = jdbcTemplate.query(
+                "SELECT id, workflow_type, entity_type, entity_id, initiated_by, status, current_step, version, "
+                        + "created_at, completed_at FROM workflows WHERE id = ?",
+                (rs, rowNum) -> WorkflowResponse.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .workflowType(rs.getString("workflow_type"))
+                        .entityType(rs.getString("entity_type"))
+                        .entityId(rs.getObject("entity_id", UUID.class))
+                        .initiatedBy(rs.getObject("initiated_by", UUID.class))
+                        .status(rs.getString("status"))
+                        .currentStep(rs.getInt("current_step"))
+                        .version(rs.getInt("version"))
+                        .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                        .completedAt(toLocalDateTime(rs.getTimestamp("completed_at")))
+                        .build(), workflowId);
+        if (workflows.isEmpty()) {
+            throw new TrainingNotFoundException("Workflow not found with id: " + workflowId);
+        }
+        WorkflowResponse workflow = workflows.get(0);
+        workflow.setSteps(jdbcTemplate.query(
+                "SELECT id, step_number, approver_role, approver_id, status, comments, created_at, approved_at "
+                        + "FROM workflow_steps WHERE workflow_id = ? ORDER BY step_number",
+                (rs, rowNum) -> WorkflowStepResponse.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .stepNumber(rs.getInt("step_number"))
+                        .approverRole(rs.getString("approver_role"))
+                        .approverId(rs.getObject("approver_id", UUID.class))
+                        .status(rs.getString("status"))
+                        .comments(rs.getString("comments"))
+                        .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                        .approvedAt(toLocalDateTime(rs.getTimestamp("approved_at")))
+                        .build(), workflowId));
+        return workflow;
+    }
+
+    private WorkflowDefinition definition(String workflowType) {
+        WorkflowDefinition definition = templateRegistry.find(workflowType);
+        if (definition == null) {
+            throw new TrainingException("No workflow template for type: " + workflowType);
+        }
+        return definition;
+    }
+
+    private WorkflowCompletionHandler handler(String workflowType) {
+        for (WorkflowCompletionHandler handler : completionHandlers) {
+            if (handler.workflowType().equals(workflowType)) {
+                return handler;
+            }
+        }
+        throw new TrainingException("No completion handler for workflow type: " + workflowType);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record StepState(int stepNumber, String approverRole, String stepStatus, UUID workflowId,
+                             String workflowType, UUID entityId, String workflowStatus, int currentStep, int version) {
+    }
+}
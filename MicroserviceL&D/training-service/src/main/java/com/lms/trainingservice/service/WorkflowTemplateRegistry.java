@@ -0,0 +1,72 @@
+package com.lms.trainingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Workflow templates compiled once from workflow_templates and refreshed periodically
+ * A template that fails to compile is logged and left out, so its workflow type behaves as unconfigured
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowTemplateRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private volatile Map<String, WorkflowDefinition> definitions;
+
+    /**
+     * The compiled template of a workflow type, or null when none is configured
+     */
+    public WorkflowDefinition find(String type) {
+        return definitions().get(type);
+    }
+
+    @Scheduled(fixedDelayString = "${workflows.template-refresh-ms:300000}",
+            initialDelayString = "${workflows.template-refresh-ms:300000}")
+    public void refresh() {
+        try {
+            definitions = load();
+        } catch (RuntimeException e) {
+            log.warn("Workflow template refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, WorkflowDefinition> definitions() {
+        Map<String, WorkflowDefinition> current = definitions;
+        if (current == null) {
+            synchronized (this) {
+                current = definitions;
+                if (current == null) {
+                    current = load();
+                    definitions = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<String, WorkflowDefinition> load() {
+        Map<String, WorkflowDefinition> loaded = new HashMap<>();
+        jdbcTemplate.query("SELECT workflow_type, steps FROM workflow_templates", rs -> {
+            String type = rs.getString("workflow_type");
+            try {
+                loaded.put(type, WorkflowDefinition.compile(type, objectMapper.readTree(rs.getString("steps"))));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.error("Skipping invalid workflow template {}: {}", type, e.getMessage());
+            }
+        });
+        log.debug("Compiled {} workflow templates", loaded.size());
+        return Map.copyOf(loaded);
+    }
+}
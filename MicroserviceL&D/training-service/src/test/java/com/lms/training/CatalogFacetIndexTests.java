@@ -0,0 +1,62 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lms.trainingservice.service.CatalogFacetIndex;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+class CatalogFacetIndexTests {
+
+    private static CatalogFacetIndex.Document training(String title, String category, String difficulty,
+                                                       String hours, String... tags) {
+        return new CatalogFacetIndex.Document(UUID.randomUUID(), title, null, category, difficulty,
+                new BigDecimal(hours), null, null, null, null, Set.of(tags));
+    }
+
+    private final CatalogFacetIndex index = CatalogFacetIndex.of(List.of(
+            training("Java Basics", "Programming", "BEGINNER", "2", "java"),
+            training("Advanced Java", "Programming", "ADVANCED", "10", "java", "jvm"),
+            training("Negotiation", "Soft Skills", "BEGINNER", "0.5")));
+
+    @Test
+    void countsEachFacetWithoutItsOwnSelection() {
+        CatalogFacetIndex.Result result = index.query(Map.of(
+                CatalogFacetIndex.CATEGORY, Set.of("Programming"),
+                CatalogFacetIndex.DIFFICULTY, Set.of("BEGINNER")), 0, 10);
+
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.documents()).extracting(CatalogFacetIndex.Document::title).containsExactly("Java Basics");
+        assertThat(result.counts().get(CatalogFacetIndex.CATEGORY))
+                .containsExactly(Map.entry("Programming", 1), Map.entry("Soft Skills", 1));
+        assertThat(result.counts().get(CatalogFacetIndex.DIFFICULTY))
+                .containsExactly(Map.entry("ADVANCED", 1), Map.entry("BEGINNER", 1));
+        assertThat(result.counts().get(CatalogFacetIndex.TAG)).containsExactly(Map.entry("java", 1));
+        assertThat(result.counts().get(CatalogFacetIndex.DURATION)).containsExactly(Map.entry("1-3h", 1));
+    }
+
+    @Test
+    void replacesAndRemovesTrainings() {
+        CatalogFacetIndex.Document moved = training("Cloud", "Programming", "BEGINNER", "4", "aws");
+        index.put(moved);
+        index.put(new CatalogFacetIndex.Document(moved.id(), "Cloud", null, "Infrastructure", "BEGINNER",
+                new BigDecimal("4"), null, null, null, null, Set.of()));
+
+        CatalogFacetIndex.Result result = index.query(Map.of(), 0, 2);
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.documents()).extracting(CatalogFacetIndex.Document::title)
+                .containsExactly("Advanced Java", "Cloud");
+        assertThat(result.counts().get(CatalogFacetIndex.CATEGORY)).containsEntry("Infrastructure", 1)
+                .containsEntry("Programming", 2);
+        assertThat(result.counts().get(CatalogFacetIndex.TAG)).doesNotContainKey("aws");
+
+        index.remove(moved.id());
+        assertThat(index.query(Map.of(CatalogFacetIndex.CATEGORY, Set.of("Infrastructure")), 0, 10).total()).isZero();
+        assertThat(index.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,76 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.service.CertificateCodes;
+import com.lms.trainingservice.service.CertificateTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class CertificateTests {
+
+    @Test
+    void codesAreDistinctAndShort() {
+        CertificateCodes codes = new CertificateCodes(42L);
+        Set<String> seen = new HashSet<>();
+        for (long sequence = 1; sequence <= 200_000; sequence++) {
+            String code = codes.encode(sequence);
+            assertThat(code).hasSize(CertificateCodes.LENGTH).matches("[0-9A-HJKMNP-TV-Z]+");
+            assertThat(seen.add(code)).isTrue();
+        }
+        assertThat(codes.encode(1)).isNotEqualTo(new CertificateCodes(43L).encode(1));
+        assertThatThrownBy(() -> codes.encode(CertificateCodes.CAPACITY)).isInstanceOf(TrainingException.class);
+    }
+
+    @Test
+    void typedCodesAreNormalized() {
+        String code = new CertificateCodes(42L).encode(7);
+
+        assertThat(CertificateCodes.normalize(code.toLowerCase())).isEqualTo(code);
+        assertThat(CertificateCodes.normalize(code.substring(0, 4) + "-" + code.substring(4))).isEqualTo(code);
+        assertThat(CertificateCodes.normalize("o0il-1234")).isEqualTo("00111234");
+        assertThat(CertificateCodes.normalize("ABC")).isNull();
+        assertThat(CertificateCodes.normalize("ABCD12345")).isNull();
+        assertThat(CertificateCodes.normalize("ABCD123U")).isNull();
+        assertThat(CertificateCodes.normalize(null)).isNull();
+    }
+
+    @Test
+    void rendersPdfWithValidXref() {
+        byte[] pdf = new CertificateTemplate(CertificateTemplate.DEFAULT_LAYOUT).render(Map.of(
+                "user_name", "Zoë (QA) O'Neil",
+                "training_title", "Secure Coding",
+                "issued_on", "January 5, 2026",
+                "verification_code", "ABCD1234"));
+        String text = new String(pdf, StandardCharsets.ISO_8859_1);
+
+        assertThat(text).startsWith("%PDF-1.4").endsWith("%%EOF\n");
+        assertThat(text).contains("(Zoë \\(QA\\) O'Neil) Tj", "(Secure Coding) Tj", "ABCD1234");
+
+        Matcher startxref = Pattern.compile("startxref\n(\\d+)\n").matcher(text);
+        assertThat(startxref.find()).isTrue();
+        int xref = Integer.parseInt(startxref.group(1));
+        assertThat(text.substring(xref)).startsWith("xref\n0 7\n");
+
+        Matcher entries = Pattern.compile("(\\d{10}) 00000 n \n").matcher(text.substring(xref));
+        int object = 1;
+        while (entries.find()) {
+            int offset = Integer.parseInt(entries.group(1));
+            assertThat(text.substring(offset)).startsWith(object + " 0 obj\n");
+            object++;
+        }
+        assertThat(object).isEqualTo(7);
+
+        Matcher length = Pattern.compile("/Length (\\d+) >>\nstream\n").matcher(text);
+        assertThat(length.find()).isTrue();
+        assertThat(text.substring(length.end() + Integer.parseInt(length.group(1)))).startsWith("\nendstream");
+    }
+}
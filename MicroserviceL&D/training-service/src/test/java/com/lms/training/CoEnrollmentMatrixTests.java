@@ -0,0 +1,48 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.lms.trainingservice.service.CoEnrollmentMatrix;
+import org.junit.jupiter.api.Test;
+
+class CoEnrollmentMatrixTests {
+
+    private static CoEnrollmentMatrix matrix(int maxItemsPerUser, int[]... users) {
+        CoEnrollmentMatrix.Builder builder = CoEnrollmentMatrix.builder(3, maxItemsPerUser);
+        for (int[] items : users) {
+            for (int item : items) {
+                builder.add(item);
+            }
+            builder.endUser();
+        }
+        return builder.build();
+    }
+
+    @Test
+    void ranksNeighborsByCosineSimilarity() throws InterruptedException {
+        CoEnrollmentMatrix matrix = matrix(10, new int[]{0, 1}, new int[]{1, 0}, new int[]{0, 2}, new int[]{1, 1});
+
+        assertThat(matrix.degree(0)).isEqualTo(3);
+        assertThat(matrix.degree(1)).isEqualTo(3);
+        CoEnrollmentMatrix.SimilarItems similar = matrix.similarItems(2, 1, 2);
+        assertThat(similar.neighbor(0, 0)).isEqualTo(1);
+        assertThat(similar.score(0, 0)).isCloseTo(2 / 3f, within(1e-6f));
+        assertThat(similar.neighbor(0, 1)).isEqualTo(2);
+        assertThat(similar.score(0, 1)).isCloseTo((float) (1 / Math.sqrt(3)), within(1e-6f));
+        assertThat(similar.neighbor(2, 0)).isEqualTo(0);
+        assertThat(similar.neighbor(2, 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void dropsWeakPairsAndHeavyUsers() throws InterruptedException {
+        CoEnrollmentMatrix matrix = matrix(2, new int[]{0, 1}, new int[]{0, 1}, new int[]{0, 2}, new int[]{0, 1, 2});
+
+        assertThat(matrix.userCount()).isEqualTo(3);
+        assertThat(matrix.enrollmentCount()).isEqualTo(6);
+        CoEnrollmentMatrix.SimilarItems similar = matrix.similarItems(2, 2, 1);
+        assertThat(similar.neighbor(0, 0)).isEqualTo(1);
+        assertThat(similar.neighbor(0, 1)).isEqualTo(-1);
+        assertThat(similar.neighbor(2, 0)).isEqualTo(-1);
+    }
+}
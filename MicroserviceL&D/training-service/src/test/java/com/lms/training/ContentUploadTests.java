@@ -0,0 +1,118 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.lms.trainingservice.service.Mp4Probe;
+import com.lms.trainingservice.service.MultipartStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ContentUploadTests {
+
+    private static final String BOUNDARY = "----upload7MA4YWxkTrZu0gW";
+
+    @Test
+    void streamsPartsAcrossArbitraryReadBoundaries() throws IOException {
+        byte[] file = new byte[200_000];
+        new Random(7).nextBytes(file);
+        // A near-miss of the delimiter inside the payload must pass through untouched
+        byte[] nearMiss = ("\r\n--" + BOUNDARY.substring(0, 10)).getBytes(StandardCharsets.ISO_8859_1);
+        System.arraycopy(nearMiss, 0, file, 1000, nearMiss.length);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("preamble\r\n--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"title\"\r\n\r\n"
+                + "Intro\r\n--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"C:\\clips\\intro.mp4\"\r\n"
+                + "Content-Type: video/mp4\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        body.writeBytes(file);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        MultipartStreamReader reader = new MultipartStreamReader(
+                new TrickleInputStream(new ByteArrayInputStream(body.toByteArray())), BOUNDARY);
+
+        MultipartStreamReader.Part title = reader.nextPart();
+        assertThat(title.name()).isEqualTo("title");
+        assertThat(title.fileName()).isNull();
+        assertThat(new String(title.body().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("Intro");
+
+        MultipartStreamReader.Part upload = reader.nextPart();
+        assertThat(upload.fileName()).isEqualTo("C:\\clips\\intro.mp4");
+        assertThat(upload.contentType()).isEqualTo("video/mp4");
+        assertThat(Arrays.equals(upload.body().readAllBytes(), file)).isTrue();
+
+        assertThat(reader.nextPart()).isNull();
+        assertThat(MultipartStreamReader.boundary("multipart/form-data; boundary=\"" + BOUNDARY + "\""))
+                .isEqualTo(BOUNDARY);
+    }
+
+    @Test
+    void rejectsTruncatedBodies() {
+        byte[] body = ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"a.pdf\"\r\n\r\n"
+                + "partial data").getBytes(StandardCharsets.ISO_8859_1);
+        MultipartStreamReader reader = new MultipartStreamReader(new ByteArrayInputStream(body), BOUNDARY);
+
+        assertThatThrownBy(() -> reader.nextPart().body().readAllBytes()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void probesVideoTrackFromMoovAfterMediaData() throws IOException {
+        byte[] mvhd = new byte[100];
+        ByteBuffer.wrap(mvhd).putInt(12, 1000).putInt(16, 93_400);
+        byte[] tkhd = new byte[84];
+        ByteBuffer.wrap(tkhd).putInt(76, 1280 << 16).putInt(80, 720 << 16);
+        byte[] hdlr = new byte[24];
+        System.arraycopy("vide".getBytes(StandardCharsets.ISO_8859_1), 0, hdlr, 8, 4);
+        byte[] stsd = new byte[16];
+        System.arraycopy("avc1".getBytes(StandardCharsets.ISO_8859_1), 0, stsd, 12, 4);
+        byte[] trak = concat(box("tkhd", tkhd),
+                box("mdia", concat(box("hdlr", hdlr), box("minf", box("stbl", box("stsd", stsd))))));
+        byte[] mp4 = concat(box("ftyp", new byte[8]), box("mdat", new byte[50_000]),
+                box("moov", concat(box("mvhd", mvhd), box("trak", trak))));
+
+        Mp4Probe.VideoInfo info = Mp4Probe.probe(
+                (offset, length) -> new ByteArrayInputStream(mp4, (int) offset, (int) length), mp4.length);
+
+        assertThat(info).isEqualTo(new Mp4Probe.VideoInfo(93, "1280x720", "h264"));
+        assertThat(Mp4Probe.probe((offset, length) -> new ByteArrayInputStream(new byte[32]), 32)).isNull();
+    }
+
+    private static byte[] box(String type, byte[] payload) {
+        return ByteBuffer.allocate(8 + payload.length).putInt(8 + payload.length)
+                .put(type.getBytes(StandardCharsets.ISO_8859_1)).put(payload).array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns at most a few bytes per read, like a slow network connection
+     */
+    private static final class TrickleInputStream extends FilterInputStream {
+
+        private final Random random = new Random(11);
+
+        TrickleInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, 1 + random.nextInt(4096)));
+        }
+    }
+}
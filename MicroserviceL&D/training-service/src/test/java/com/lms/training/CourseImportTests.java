@@ -0,0 +1,82 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.dto.CourseImportRequest;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.service.CourseImportService;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CourseImportTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void missingOrdersFollowTheHighestOrderSoFar() {
+        List<CourseImportRequest.Module> modules = List.of(
+            module(null), module(10), module(null), module(4), module(null), module(null));
+
+        assertThat(CourseImportService.sequenceOrders(3, modules)).containsExactly(4, 10, 11, 4, 12, 13);
+        assertThat(CourseImportService.sequenceOrders(0, List.of(module(null), module(null)))).containsExactly(1, 2);
+        assertThat(CourseImportService.sequenceOrders(7, List.of())).isEmpty();
+    }
+
+    @Test
+    void countsEveryNodeOfTheTree() {
+        CourseImportRequest.Quiz quiz = CourseImportRequest.Quiz.builder().title("Check")
+            .questions(List.of(question("[\"a\"]", "\"a\""), question(null, "\"b\""))).build();
+        CourseImportRequest request = CourseImportRequest.builder().modules(List.of(
+            CourseImportRequest.Module.builder().title("One")
+                .contents(List.of(content("{\"pages\": 3}"), content(null)))
+                .quizzes(List.of(quiz, CourseImportRequest.Quiz.builder().title("Empty").build()))
+                .build(),
+            module(null))).build();
+
+        // 2 modules, 2 content items, 2 quizzes and 2 questions
+        assertThat(CourseImportService.countNodes(request)).isEqualTo(8);
+    }
+
+    @Test
+    void acceptsValidAndMissingJson() {
+        CourseImportRequest request = request(content("{\"pages\": 3}"), question("[1, 2]", "null"));
+
+        assertThatCode(() -> CourseImportService.validateJson(request, objectMapper)).doesNotThrowAnyException();
+        assertThatCode(() -> CourseImportService.validateJson(request(content(null), question(null, null)), objectMapper))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsMalformedJsonWithItsPath() {
+        assertThatThrownBy(() -> CourseImportService.validateJson(
+            request(content("{\"pages\": "), question(null, null)), objectMapper))
+            .isInstanceOf(TrainingException.class)
+            .hasMessage("modules[0].contents[0].metadata is not valid JSON");
+        assertThatThrownBy(() -> CourseImportService.validateJson(
+            request(content(null), question("[\"a\"]", "  ")), objectMapper))
+            .isInstanceOf(TrainingException.class)
+            .hasMessage("modules[0].quizzes[0].questions[0].correctAnswer is not valid JSON");
+    }
+
+    private static CourseImportRequest request(CourseImportRequest.Content content, CourseImportRequest.Question question) {
+        CourseImportRequest.Quiz quiz = CourseImportRequest.Quiz.builder().title("Quiz").questions(List.of(question)).build();
+        return CourseImportRequest.builder().modules(List.of(CourseImportRequest.Module.builder().title("Module")
+            .contents(List.of(content)).quizzes(List.of(quiz)).build())).build();
+    }
+
+    private static CourseImportRequest.Module module(Integer sequenceOrder) {
+        return CourseImportRequest.Module.builder().title("Module").sequenceOrder(sequenceOrder).build();
+    }
+
+    private static CourseImportRequest.Content content(String metadata) {
+        return CourseImportRequest.Content.builder().contentUrl("https://cdn.example.com/a.pdf").metadata(metadata).build();
+    }
+
+    private static CourseImportRequest.Question question(String options, String correctAnswer) {
+        return CourseImportRequest.Question.builder().questionText("Pick one").questionType("MULTIPLE_CHOICE")
+            .options(options).correctAnswer(correctAnswer).build();
+    }
+}
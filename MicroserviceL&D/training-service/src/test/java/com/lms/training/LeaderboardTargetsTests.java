@@ -0,0 +1,37 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lms.trainingservice.service.LeaderboardService;
+import com.lms.trainingservice.service.LeaderboardStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+class LeaderboardTargetsTests {
+
+    private static final UUID USER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Test
+    void creditsUserDepartmentBoardAndDepartment() {
+        List<LeaderboardStore.Target> targets = LeaderboardService.targets("COMPLETIONS", USER, "Engineering", "2026-10");
+
+        assertThat(targets).extracting(LeaderboardStore.Target::board).containsExactly(
+                "COMPLETIONS:ALL:users",
+                "COMPLETIONS:ALL:department:Engineering",
+                "COMPLETIONS:ALL:departments",
+                "COMPLETIONS:2026-10:users",
+                "COMPLETIONS:2026-10:department:Engineering",
+                "COMPLETIONS:2026-10:departments");
+        assertThat(targets).extracting(LeaderboardStore.Target::member).containsExactly(
+                USER.toString(), USER.toString(), "Engineering", USER.toString(), USER.toString(), "Engineering");
+    }
+
+    @Test
+    void usersWithoutDepartmentOnlyReachUserBoards() {
+        assertThat(LeaderboardService.targets("QUIZ_POINTS", USER, " ", "2026-10"))
+                .extracting(LeaderboardStore.Target::board)
+                .containsExactly("QUIZ_POINTS:ALL:users", "QUIZ_POINTS:2026-10:users");
+    }
+}
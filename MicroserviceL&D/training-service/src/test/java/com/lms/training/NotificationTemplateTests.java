@@ -0,0 +1,37 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lms.trainingservice.service.NotificationTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class NotificationTemplateTests {
+
+    @Test
+    void rendersVariables() {
+        NotificationTemplate template = NotificationTemplate.compile(
+            "Hello {{user_name}}, you have been assigned a new training: {{training_title}}");
+
+        assertThat(template.variables()).containsExactly("user_name", "training_title");
+        assertThat(template.render(Map.of("user_name", "Asha", "training_title", "Secure Coding")))
+            .isEqualTo("Hello Asha, you have been assigned a new training: Secure Coding");
+    }
+
+    @Test
+    void missingVariablesRenderEmpty() {
+        NotificationTemplate template = NotificationTemplate.compile("Reminder: {{ training_title }} is overdue");
+
+        assertThat(template.render(Map.of())).isEqualTo("Reminder:  is overdue");
+        assertThat(template.render(Map.of("training_title", "GDPR"))).isEqualTo("Reminder: GDPR is overdue");
+    }
+
+    @Test
+    void textWithoutVariablesIsKept() {
+        assertThat(NotificationTemplate.compile("Training Completed").render(Map.of())).isEqualTo("Training Completed");
+        assertThat(NotificationTemplate.compile("Open {{brace").render(Map.of())).isEqualTo("Open {{brace");
+        assertThat(NotificationTemplate.compile(null).render(Map.of())).isEmpty();
+        assertThat(NotificationTemplate.compile("{{a}}{{b}}").render(Map.of("a", "1", "b", "2"))).isEqualTo("12");
+    }
+}
@@ -0,0 +1,98 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.service.PrerequisiteGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+class PrerequisiteGraphTests {
+
+    private UUID basics;
+    private UUID intermediate;
+    private UUID advanced;
+    private UUID security;
+    private PrerequisiteGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        basics = UUID.randomUUID();
+        intermediate = UUID.randomUUID();
+        advanced = UUID.randomUUID();
+        security = UUID.randomUUID();
+        // advanced -> intermediate -> basics, advanced -> security -> basics
+        graph = PrerequisiteGraph.of(List.of(
+            new UUID[]{intermediate, basics},
+            new UUID[]{advanced, intermediate},
+            new UUID[]{advanced, security},
+            new UUID[]{security, basics}
+        ));
+    }
+
+    @Test
+    void closureContainsIndirectPrerequisites() {
+        assertThat(graph.directPrerequisites(advanced)).containsExactlyInAnyOrder(intermediate, security);
+        assertThat(graph.transitivePrerequisites(advanced)).containsExactlyInAnyOrder(intermediate, security, basics);
+        assertThat(graph.transitivePrerequisites(basics)).isEmpty();
+        assertThat(graph.transitivePrerequisites(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void addingPrerequisiteExtendsDependentClosures() {
+        UUID onboarding = UUID.randomUUID();
+        graph.addPrerequisite(basics, onboarding);
+
+        assertThat(graph.transitivePrerequisites(intermediate)).containsExactlyInAnyOrder(basics, onboarding);
+        assertThat(graph.transitivePrerequisites(advanced)).contains(onboarding);
+    }
+
+    @Test
+    void cyclesAreRejected() {
+        assertThat(graph.wouldCreateCycle(basics, advanced)).isTrue();
+        assertThat(graph.wouldCreateCycle(basics, basics)).isTrue();
+        assertThat(graph.wouldCreateCycle(security, intermediate)).isFalse();
+
+        assertThatThrownBy(() -> graph.addPrerequisite(basics, advanced))
+            .isInstanceOf(TrainingException.class);
+        assertThat(graph.transitivePrerequisites(basics)).isEmpty();
+    }
+
+    @Test
+    void cyclicStoredEdgesAreSkipped() {
+        PrerequisiteGraph loaded = PrerequisiteGraph.of(List.of(
+            new UUID[]{intermediate, basics},
+            new UUID[]{basics, intermediate},
+            new UUID[]{advanced, advanced},
+            new UUID[]{advanced, intermediate}
+        ));
+
+        assertThat(loaded.transitivePrerequisites(advanced)).containsExactlyInAnyOrder(intermediate, basics);
+        assertThat(loaded.transitivePrerequisites(basics)).isEmpty();
+    }
+
+    @Test
+    void removingPrerequisiteKeepsPathsThatRemain() {
+        graph.removePrerequisite(intermediate, basics);
+
+        assertThat(graph.transitivePrerequisites(intermediate)).isEmpty();
+        // basics is still reachable through security
+        assertThat(graph.transitivePrerequisites(advanced)).containsExactlyInAnyOrder(intermediate, security, basics);
+
+        graph.removePrerequisite(security, basics);
+        assertThat(graph.transitivePrerequisites(advanced)).containsExactlyInAnyOrder(intermediate, security);
+    }
+
+    @Test
+    void missingPrerequisitesAreTheUncompletedClosure() {
+        List<UUID> missing = graph.missingPrerequisites(advanced, graph.bitsetOf(List.of(basics, security)));
+        assertThat(missing).containsExactly(intermediate);
+
+        assertThat(graph.missingPrerequisites(advanced,
+            graph.bitsetOf(List.of(basics, intermediate, security, UUID.randomUUID())))).isEmpty();
+    }
+}
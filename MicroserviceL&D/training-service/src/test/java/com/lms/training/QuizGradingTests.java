@@ -0,0 +1,112 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.dto.QuizAnswerRequest;
+import com.lms.trainingservice.entity.Quiz;
+import com.lms.trainingservice.entity.QuizQuestion;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.service.CompiledQuiz;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+class QuizGradingTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UUID singleChoiceId;
+    private UUID multiChoiceId;
+    private UUID shortAnswerId;
+    private CompiledQuiz compiledQuiz;
+
+    @BeforeEach
+    void setUp() {
+        singleChoiceId = UUID.randomUUID();
+        multiChoiceId = UUID.randomUUID();
+        shortAnswerId = UUID.randomUUID();
+
+        Quiz quiz = Quiz.builder().id(UUID.randomUUID()).passingScore(70).version(3).build();
+        List<QuizQuestion> questions = List.of(
+            question(singleChoiceId, "MULTIPLE_CHOICE", "[\"Red\", \"Green\", \"Blue\"]", "\"Green\"", 2),
+            question(multiChoiceId, "MULTIPLE_SELECT",
+                "[{\"id\": \"a\", \"text\": \"TLS\"}, {\"id\": \"b\", \"text\": \"FTP\"}, {\"id\": \"c\", \"text\": \"SSH\"}]",
+                "[\"a\", \"c\"]", 3),
+            question(shortAnswerId, "SHORT_ANSWER", null, "[\"Least Privilege\", \"principle of least privilege\"]", 5)
+        );
+
+        compiledQuiz = CompiledQuiz.compile(quiz, questions, objectMapper);
+    }
+
+    @Test
+    void testAllCorrectAnswersPass() {
+        CompiledQuiz.GradeResult result = compiledQuiz.grade(List.of(
+            choice(singleChoiceId, 1),
+            choice(multiChoiceId, 2, 0),
+            text(shortAnswerId, "  least   PRIVILEGE ")
+        ));
+
+        assertThat(result.score()).isEqualTo(10);
+        assertThat(result.maxScore()).isEqualTo(10);
+        assertThat(result.correctAnswers()).isEqualTo(3);
+        assertThat(result.passed()).isTrue();
+        assertThat(compiledQuiz.getVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void testPartialMultiSelectScoresZero() {
+        CompiledQuiz.GradeResult result = compiledQuiz.grade(List.of(
+            choice(singleChoiceId, 1),
+            choice(multiChoiceId, 0),
+            text(shortAnswerId, "need to know")
+        ));
+
+        assertThat(result.score()).isEqualTo(2);
+        assertThat(result.correctAnswers()).isEqualTo(1);
+        assertThat(result.passed()).isFalse();
+    }
+
+    @Test
+    void testDuplicateAndUnknownAnswersIgnored() {
+        CompiledQuiz.GradeResult result = compiledQuiz.grade(List.of(
+            choice(singleChoiceId, 1),
+            choice(singleChoiceId, 1),
+            choice(UUID.randomUUID(), 0)
+        ));
+
+        assertThat(result.score()).isEqualTo(2);
+        assertThat(result.totalQuestions()).isEqualTo(3);
+    }
+
+    @Test
+    void testAnswerKeyNotMatchingOptionsIsRejected() {
+        Quiz quiz = Quiz.builder().id(UUID.randomUUID()).build();
+        List<QuizQuestion> questions = List.of(
+            question(UUID.randomUUID(), "MULTIPLE_CHOICE", "[\"Yes\", \"No\"]", "\"Maybe\"", 1));
+
+        assertThatThrownBy(() -> CompiledQuiz.compile(quiz, questions, objectMapper))
+            .isInstanceOf(TrainingException.class);
+    }
+
+    private static QuizQuestion question(UUID id, String type, String options, String correctAnswer, int points) {
+        return QuizQuestion.builder()
+            .id(id)
+            .questionType(type)
+            .options(options)
+            .correctAnswer(correctAnswer)
+            .points(points)
+            .build();
+    }
+
+    private static QuizAnswerRequest choice(UUID questionId, Integer... selected) {
+        return QuizAnswerRequest.builder().questionId(questionId).selectedOptions(List.of(selected)).build();
+    }
+
+    private static QuizAnswerRequest text(UUID questionId, String answer) {
+        return QuizAnswerRequest.builder().questionId(questionId).textAnswer(answer).build();
+    }
+}
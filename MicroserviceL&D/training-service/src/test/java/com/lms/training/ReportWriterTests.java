@@ -0,0 +1,77 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.service.ReportDefinitions;
+import com.lms.trainingservice.service.ReportWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+class ReportWriterTests {
+
+    @Test
+    void csvQuotesOnlyWhenNeeded() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportWriter writer = ReportWriter.create(ReportWriter.FORMAT_CSV, out)) {
+            writer.writeHeader(List.of("Name", "Training", "Progress %", "Completed At"));
+            writer.writeRow(new Object[]{"Asha", "Security, Part \"1\"", 100,
+                Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 9, 30))});
+            writer.writeRow(new Object[]{"Ravi", null, 0, null});
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "Name,Training,Progress %,Completed At\r\n"
+                + "Asha,\"Security, Part \"\"1\"\"\",100,2024-05-01T09:30\r\n"
+                + "Ravi,,0,\r\n");
+    }
+
+    @Test
+    void xlsxIsAZipWithStreamedSheet() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportWriter writer = ReportWriter.create(ReportWriter.FORMAT_XLSX, out)) {
+            writer.writeHeader(List.of("Name", "Progress %"));
+            writer.writeRow(new Object[]{"A <b> & \"c\"\u0001", 75});
+        }
+
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertThat(parts).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+            "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml");
+        String sheet = parts.get("xl/worksheets/sheet1.xml");
+        assertThat(sheet).contains("<row r=\"1\">", "<row r=\"2\">", "<c><v>75</v></c>",
+            "A &lt;b&gt; &amp; &quot;c&quot;</t>");
+        assertThat(sheet).endsWith("</sheetData></worksheet>");
+    }
+
+    @Test
+    void filtersBecomeBoundParameters() {
+        ReportDefinitions.ReportQuery query = ReportDefinitions.build(ReportDefinitions.COMPLIANCE,
+            Map.of("department", "Engineering", "from", "2024-01-01"));
+
+        assertThat(query.sql()).contains("u.department = ?", "ua.assigned_at >= ?");
+        assertThat(query.args()).containsExactlyInAnyOrder("Engineering",
+            Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)));
+
+        assertThatThrownBy(() -> ReportDefinitions.build("PAYROLL", Map.of()))
+            .isInstanceOf(TrainingException.class);
+        assertThatThrownBy(() -> ReportDefinitions.build(ReportDefinitions.ENROLLMENTS, Map.of("trainingId", "x")))
+            .isInstanceOf(TrainingException.class);
+    }
+}
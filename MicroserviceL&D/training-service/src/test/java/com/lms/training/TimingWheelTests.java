@@ -0,0 +1,49 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lms.trainingservice.service.TimingWheel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTests {
+
+    @Test
+    void firesItemsInDeadlineOrderAcrossLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 3, 0);
+        assertThat(wheel.add(500, "far")).isTrue();
+        assertThat(wheel.add(35, "near")).isTrue();
+        assertThat(wheel.add(170, "middle")).isTrue();
+        assertThat(wheel.add(5_000, "parked")).isTrue();
+        assertThat(wheel.add(0, "due")).isFalse();
+        assertThat(wheel.size()).isEqualTo(4);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(30, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(40, fired::add);
+        assertThat(fired).containsExactly("near");
+        wheel.advance(160, fired::add);
+        assertThat(fired).containsExactly("near");
+        wheel.advance(600, fired::add);
+        assertThat(fired).containsExactly("near", "middle", "far");
+        wheel.advance(5_010, fired::add);
+        assertThat(fired).containsExactly("near", "middle", "far", "parked");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void removedItemsNeverFire() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 8, 2, 1_000);
+        for (int i = 1; i <= 40; i++) {
+            wheel.add(1_000 + i, i);
+        }
+        assertThat(wheel.removeIf(i -> i % 2 == 0)).isEqualTo(20);
+
+        List<Integer> fired = new ArrayList<>();
+        wheel.advance(1_100, fired::add);
+        assertThat(fired).hasSize(20).allMatch(i -> i % 2 == 1).isSorted();
+        assertThat(wheel.size()).isZero();
+    }
+}
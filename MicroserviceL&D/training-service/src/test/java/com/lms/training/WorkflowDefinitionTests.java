@@ -0,0 +1,35 @@
+package com.lms.training;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.trainingservice.exception.TrainingException;
+import com.lms.trainingservice.service.WorkflowDefinition;
+import org.junit.jupiter.api.Test;
+
+class WorkflowDefinitionTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void approvalsWalkTheStepsAndRejectionEndsTheWorkflow() throws Exception {
+        WorkflowDefinition definition = WorkflowDefinition.compile("TRAINING_PUBLICATION",
+                objectMapper.readTree("[{\"approverRole\": \"ADMIN\"}, \"SUPER_ADMIN\"]"));
+
+        assertThat(definition.stepCount()).isEqualTo(2);
+        assertThat(definition.approverRole(2)).isEqualTo("SUPER_ADMIN");
+        assertThat(definition.decide(1, true)).isEqualTo(new WorkflowDefinition.Transition(2, "PENDING"));
+        assertThat(definition.decide(2, true)).isEqualTo(new WorkflowDefinition.Transition(0, "APPROVED"));
+        assertThat(definition.decide(1, false).finished()).isTrue();
+        assertThat(definition.decide(1, false).status()).isEqualTo("REJECTED");
+    }
+
+    @Test
+    void rejectsTemplatesWithoutRoles() throws Exception {
+        assertThatThrownBy(() -> WorkflowDefinition.compile("EMPTY", objectMapper.readTree("[]")))
+                .isInstanceOf(TrainingException.class);
+        assertThatThrownBy(() -> WorkflowDefinition.compile("BROKEN", objectMapper.readTree("[{\"role\": \"ADMIN\"}]")))
+                .isInstanceOf(TrainingException.class);
+    }
+}